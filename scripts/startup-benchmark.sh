@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the application packaged as:
+#   - the fat jar (java -jar), the baseline
+#   - the fat jar with the build-time AOT bean definitions and repositories (spring.aot.enabled)
+#   - the exploded jar with AOT and an AppCDS archive, as built by the Dockerfile
+#   - the native executable, as built by Dockerfile.native
+#
+# Build the artifacts first (the native one is optional and skipped when missing):
+#   ./mvnw -DskipTests package                    -> target/StudentManagement-0.0.1-SNAPSHOT.jar
+#   ./mvnw -Pnative -DskipTests native:compile    -> target/student-management
+# and start the database with `docker compose up -d postgres`. The CDS layout is extracted and
+# trained into target/cds from the jar on every invocation.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Each run starts the application on a free port, waits for /actuator/health to report UP and
+# records the wall-clock time from launch, the "Started ... in N seconds" figure Spring logs and
+# the process RSS at that point. Results are printed as a Markdown table.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCHMARK_PORT:-9190}"
+JAR="${JAR:-target/StudentManagement-0.0.1-SNAPSHOT.jar}"
+NATIVE="${NATIVE:-target/student-management}"
+CDS_DIR="target/cds"
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  local label="$1"
+  shift
+  local total_wall=0 total_started=0 total_rss=0
+
+  for ((i = 1; i <= RUNS; i++)); do
+    local start pid wall started rss
+    start="$(now_ms)"
+    SERVER_PORT="$PORT" SPRING_JPA_SHOW_SQL=false "$@" > "$LOG" 2>&1 &
+    pid=$!
+
+    until curl -fs "http://localhost:${PORT}/actuator/health" | grep -q '"UP"'; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$label exited before becoming healthy:" >&2
+        tail -n 40 "$LOG" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+
+    wall=$(($(now_ms) - start))
+    rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+    started="$(grep -oE 'Started [A-Za-z]+ in [0-9.]+ seconds' "$LOG" | grep -oE '[0-9.]+' | head -n 1)"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    total_wall=$((total_wall + wall))
+    total_rss=$((total_rss + rss))
+    total_started="$(echo "$total_started + ${started:-0}" | bc)"
+  done
+
+  printf '| %s | %d | %s | %d |\n' "$label" \
+    $((total_wall / RUNS)) \
+    "$(echo "scale=3; $total_started / $RUNS" | bc)" \
+    $((total_rss / RUNS / 1024))
+}
+
+# Same steps as the Dockerfile: extract the layers, then a training run that exits after refresh
+prepare_cds() {
+  rm -rf "$CDS_DIR"
+  java -Djarmode=tools -jar "$JAR" extract --layers --destination "$CDS_DIR/extracted" > /dev/null
+  mkdir -p "$CDS_DIR/app"
+  cp -r "$CDS_DIR"/extracted/*/. "$CDS_DIR/app/"
+  (cd "$CDS_DIR/app" && java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    -Dapp.enrollment.manage-partitions=false \
+    -jar "$(basename "$JAR")" > /dev/null)
+}
+
+prepare_cds
+
+echo "Averages over $RUNS runs"
+echo
+echo "| Build | Time to healthy (ms) | Spring reported startup (s) | RSS when healthy (MiB) |"
+echo "|-------|----------------------|-----------------------------|------------------------|"
+measure "JVM (java -jar)" java -jar "$JAR"
+measure "JVM + AOT" java -Dspring.aot.enabled=true -jar "$JAR"
+measure "JVM + AOT, exploded + AppCDS" sh -c \
+  "cd $CDS_DIR/app && exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar $(basename "$JAR")"
+if [[ -x "$NATIVE" ]]; then
+  measure "Native image" "$NATIVE"
+fi
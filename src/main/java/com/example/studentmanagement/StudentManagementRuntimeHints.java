@@ -0,0 +1,106 @@
+package com.example.studentmanagement;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.BatchEnrollmentDto;
+import com.example.studentmanagement.dto.ChangeDto;
+import com.example.studentmanagement.dto.ClassRankDto;
+import com.example.studentmanagement.dto.ChangeFeedPage;
+import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.dto.CourseMeetingDto;
+import com.example.studentmanagement.dto.CoursePrerequisitesDto;
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
+import com.example.studentmanagement.dto.DepartmentDto;
+import com.example.studentmanagement.dto.GradeDistributionDto;
+import com.example.studentmanagement.dto.GradeDto;
+import com.example.studentmanagement.dto.LoginDto;
+import com.example.studentmanagement.dto.StudentRegistrationDto;
+import com.example.studentmanagement.dto.TeacherRegistrationDto;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
+import com.example.studentmanagement.dto.TimetableEntry;
+import com.example.studentmanagement.dto.TranscriptDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.CourseMeeting;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.entity.User;
+import com.example.studentmanagement.schedule.ScheduleConflict;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.data.web.PagedModel;
+
+import java.sql.Connection;
+
+/**
+ * Reachability hints for the native image build.
+ * <p>
+ * Spring AOT already covers beans, configuration properties, JPA managed types and the declared
+ * parameter/return types of controller methods. It cannot see what ends up inside
+ * {@link ApiResponse#getData()} because that is typed as {@code Object}, so the entities and DTOs
+ * that are serialized through it are registered here for Jackson (including the {@code Role} enum
+ * and the nested department/course/teacher graphs). Lombok needs nothing: its accessors are
+ * generated at compile time and are plain methods by the time the image is built. The JDBC
+ * connection proxy of the connection pool diagnostics is registered as well.
+ * <p>
+ * DTOs that native queries return are classes, never interface projections, so Spring Data builds
+ * them through their constructor and needs no JDK proxy. Their constructors are registered on
+ * their own rather than left to the Jackson hints.
+ */
+public class StudentManagementRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+            ApiResponse.class,
+            User.class,
+            Student.class,
+            Teacher.class,
+            Course.class,
+            Department.class,
+            EnrollmentEvent.class,
+            EnrollmentEventRollup.class,
+            ChangeDto.class,
+            ChangeFeedPage.class,
+            CourseDto.class,
+            CourseMeeting.class,
+            CourseMeetingDto.class,
+            CoursePrerequisitesDto.class,
+            BatchEnrollmentDto.class,
+            TimetableEntry.class,
+            ScheduleConflict.class,
+            Grade.class,
+            GradeDto.class,
+            TranscriptDto.class,
+            TranscriptEntry.class,
+            GradeDistributionDto.class,
+            ClassRankDto.class,
+            DepartmentDeletionProgress.class,
+            DepartmentDto.class,
+            LoginDto.class,
+            StudentRegistrationDto.class,
+            TeacherRegistrationDto.class,
+            TeacherWorkloadDto.class,
+            PagedModel.class
+    };
+
+    private static final Class<?>[] QUERY_RESULT_TYPES = {
+            TeacherWorkloadDto.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+        for (Class<?> type : QUERY_RESULT_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("static/**");
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.studentmanagement.archive;
+
+import com.example.studentmanagement.changes.ChangeTombstones;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves soft-deleted students and courses, together with their {@code student_courses} rows, from
+ * the hot tables into {@code students_archive}, {@code courses_archive} and
+ * {@code student_courses_archive}.
+ * <p>
+ * Rows are moved in chunks of {@link ArchiveProperties#getChunkSize()}, one transaction per chunk.
+ * Each chunk is claimed with {@code FOR UPDATE SKIP LOCKED}, so replicas running the job at the same
+ * time split the work instead of archiving the same rows twice. Courses go first because their
+ * enrollment rows may belong to students that are not deleted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchivalJob {
+
+    private static final String CLAIM_COURSES = """
+            SELECT id FROM courses WHERE deleted_at < :cutoff
+            ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String ARCHIVE_COURSES = """
+            INSERT INTO courses_archive (id, course_code, course_name, description, credits,
+                                         department_id, teacher_id, deleted_at, archived_at)
+            SELECT id, course_code, course_name, description, credits, department_id, teacher_id, deleted_at, :now
+            FROM courses WHERE id IN (:ids)
+            """;
+
+    private static final String ARCHIVE_COURSE_ENROLLMENTS = """
+            INSERT INTO student_courses_archive (student_id, course_id, term, grade, graded_credits, archived_at)
+            SELECT student_id, course_id, term, grade, graded_credits, :now FROM student_courses WHERE course_id IN (:ids)
+            """;
+
+    private static final String CLAIM_STUDENTS = """
+            SELECT id FROM users WHERE deleted_at < :cutoff AND id IN (SELECT id FROM students)
+            ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String ARCHIVE_STUDENTS = """
+            INSERT INTO students_archive (id, username, email, full_name, student_id, phone_number,
+                                          department_id, deleted_at, archived_at)
+            SELECT u.id, u.username, u.email, u.full_name, s.student_id, s.phone_number,
+                   s.department_id, u.deleted_at, :now
+            FROM students s JOIN users u ON u.id = s.id
+            WHERE s.id IN (:ids)
+            """;
+
+    private static final String ARCHIVE_STUDENT_ENROLLMENTS = """
+            INSERT INTO student_courses_archive (student_id, course_id, term, grade, graded_credits, archived_at)
+            SELECT student_id, course_id, term, grade, graded_credits, :now FROM student_courses WHERE student_id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final ChangeTombstones changeTombstones;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:1h}", initialDelayString = "${app.archive.interval:1h}")
+    public void archiveExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ArchiveResult result = archiveDeletedBefore(Instant.now().minus(properties.getRetention()));
+        if (result.courses() > 0 || result.students() > 0) {
+            log.info("Archived {} courses, {} students and {} enrollments",
+                    result.courses(), result.students(), result.enrollments());
+        }
+    }
+
+    public ArchiveResult archiveDeletedBefore(Instant cutoff) {
+        ArchiveResult total = new ArchiveResult(0, 0, 0);
+        ArchiveResult chunk;
+        while ((chunk = transactionTemplate.execute(status -> archiveCourseChunk(cutoff))).courses() > 0) {
+            total = total.plus(chunk);
+        }
+        while ((chunk = transactionTemplate.execute(status -> archiveStudentChunk(cutoff))).students() > 0) {
+            total = total.plus(chunk);
+        }
+        return total;
+    }
+
+    private ArchiveResult archiveCourseChunk(Instant cutoff) {
+        List<Long> ids = claim(CLAIM_COURSES, cutoff);
+        if (ids.isEmpty()) {
+            return new ArchiveResult(0, 0, 0);
+        }
+        MapSqlParameterSource params = chunkParams(ids);
+        jdbcTemplate.update(ARCHIVE_COURSES, params);
+        int enrollments = jdbcTemplate.update(ARCHIVE_COURSE_ENROLLMENTS, params);
+        // The soft-deleted rows reported the courses as deleted only while they existed: a consumer
+        // further behind would miss the delete once they are gone, so both get tombstones
+        changeTombstones.recordEnrollmentsOfCourses(ids);
+        changeTombstones.recordCourses(ids);
+        jdbcTemplate.update("DELETE FROM student_courses WHERE course_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM courses WHERE id IN (:ids)", params);
+        return new ArchiveResult(ids.size(), 0, enrollments);
+    }
+
+    private ArchiveResult archiveStudentChunk(Instant cutoff) {
+        List<Long> ids = claim(CLAIM_STUDENTS, cutoff);
+        if (ids.isEmpty()) {
+            return new ArchiveResult(0, 0, 0);
+        }
+        MapSqlParameterSource params = chunkParams(ids);
+        jdbcTemplate.update(ARCHIVE_STUDENTS, params);
+        int enrollments = jdbcTemplate.update(ARCHIVE_STUDENT_ENROLLMENTS, params);
+        changeTombstones.recordEnrollmentsOfStudents(ids);
+        changeTombstones.recordStudents(ids);
+        jdbcTemplate.update("DELETE FROM student_courses WHERE student_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM students WHERE id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (:ids)", params);
+        return new ArchiveResult(0, ids.size(), enrollments);
+    }
+
+    private List<Long> claim(String sql, Instant cutoff) {
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", properties.getChunkSize()), Long.class);
+    }
+
+    private MapSqlParameterSource chunkParams(List<Long> ids) {
+        return new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.from(Instant.now()));
+    }
+
+    public record ArchiveResult(int courses, int students, int enrollments) {
+
+        ArchiveResult plus(ArchiveResult other) {
+            return new ArchiveResult(courses + other.courses, students + other.students,
+                    enrollments + other.enrollments);
+        }
+    }
+}
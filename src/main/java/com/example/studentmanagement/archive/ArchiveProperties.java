@@ -0,0 +1,22 @@
+package com.example.studentmanagement.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    // How long soft-deleted students and courses stay in the hot tables before they are archived
+    private Duration retention = Duration.ofDays(30);
+
+    // Delay between runs, read by the @Scheduled trigger on ArchivalJob
+    private Duration interval = Duration.ofHours(1);
+
+    // Rows moved per transaction
+    private int chunkSize = 500;
+}
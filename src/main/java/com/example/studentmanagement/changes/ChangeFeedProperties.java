@@ -0,0 +1,30 @@
+package com.example.studentmanagement.changes;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    // Turns the background stamping off; tests stamp explicitly
+    private boolean stampingEnabled = true;
+
+    // Delay between stamping runs, read by the @Scheduled trigger on ChangeVersionStamper. Also
+    // the typical delay before a committed change shows up in the feed
+    private Duration stampInterval = Duration.ofMillis(500);
+
+    // Rows stamped per table per transaction
+    private int batchSize = 1000;
+
+    // How long tombstones are kept. A consumer whose token is older has to resync from scratch
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    // Lifetime of a /api/changes/stream connection; clients reconnect with Last-Event-ID
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    // Comment lines sent on idle streams so proxies do not close them
+    private Duration heartbeat = Duration.ofSeconds(30);
+}
@@ -0,0 +1,89 @@
+package com.example.studentmanagement.changes;
+
+import com.example.studentmanagement.enrollment.EnrollmentChanged;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+// Records hard deletes for the change feed. Must run in the deleting transaction, before the
+// rows are gone; the tombstones are versioned by ChangeVersionStamper like any other change.
+// Soft deletes need no tombstone: the row itself is reported as deleted
+@Component
+@RequiredArgsConstructor
+public class ChangeTombstones {
+
+    public static final String STUDENT = "student";
+    public static final String TEACHER = "teacher";
+    public static final String COURSE = "course";
+    public static final String DEPARTMENT = "department";
+    public static final String ENROLLMENT = "enrollment";
+
+    private static final String INSERT = """
+            INSERT INTO change_tombstones (entity, entity_key, deleted_at) VALUES (:entity, :key, :now)
+            """;
+
+    private static final String INSERT_IDS = """
+            INSERT INTO change_tombstones (entity, entity_key, deleted_at)
+            SELECT :entity, CAST(id AS VARCHAR(64)), :now FROM %s WHERE id IN (:ids)
+            """;
+
+    private static final String INSERT_ENROLLMENTS = """
+            INSERT INTO change_tombstones (entity, entity_key, deleted_at)
+            SELECT 'enrollment', %s, :now FROM student_courses WHERE %s IN (:ids)
+            """.formatted(EnrollmentKeys.SQL, "%s");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void record(String entity, String key) {
+        jdbcTemplate.update(INSERT, new MapSqlParameterSource()
+                .addValue("entity", entity)
+                .addValue("key", key)
+                .addValue("now", Timestamp.from(Instant.now())));
+    }
+
+    public void recordEnrollment(Long studentId, Long courseId, String term) {
+        record(ENROLLMENT, EnrollmentKeys.of(studentId, courseId, term));
+    }
+
+    // A drop deletes the enrollment row; the tombstone joins the dropping transaction
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEnrollmentChanged(EnrollmentChanged event) {
+        if (event.type() == EnrollmentEvent.Type.DROPPED) {
+            recordEnrollment(event.studentId(), event.courseId(), event.term());
+        }
+    }
+
+    public int recordStudents(Collection<Long> ids) {
+        return recordIds(STUDENT, "students", ids);
+    }
+
+    public int recordCourses(Collection<Long> ids) {
+        return recordIds(COURSE, "courses", ids);
+    }
+
+    public int recordEnrollmentsOfStudents(Collection<Long> studentIds) {
+        return jdbcTemplate.update(INSERT_ENROLLMENTS.formatted("student_id"), idParams(studentIds));
+    }
+
+    public int recordEnrollmentsOfCourses(Collection<Long> courseIds) {
+        return jdbcTemplate.update(INSERT_ENROLLMENTS.formatted("course_id"), idParams(courseIds));
+    }
+
+    private int recordIds(String entity, String table, Collection<Long> ids) {
+        return jdbcTemplate.update(INSERT_IDS.formatted(table), idParams(ids).addValue("entity", entity));
+    }
+
+    private MapSqlParameterSource idParams(Collection<Long> ids) {
+        return new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.from(Instant.now()));
+    }
+}
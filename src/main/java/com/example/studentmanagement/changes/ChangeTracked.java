@@ -0,0 +1,19 @@
+package com.example.studentmanagement.changes;
+
+// An entity whose table carries a change_version column. The version is cleared on every update
+// and assigned again by ChangeVersionStamper once the update has committed.
+//
+// Hibernate never writes the entity's value: the column is mapped with
+// @ColumnTransformer(write = ChangeTracked.WRITE_NULL), so inserts and updates always store NULL.
+// ChangeTrackingListener only changes the in-memory value, to make the column dirty: under
+// @DynamicUpdate an unchanged column is left out of the UPDATE, and a row stamped after it was
+// loaded would keep its old version
+public interface ChangeTracked {
+
+    // Exactly one placeholder is required; the bound value is ignored
+    String WRITE_NULL = "CASE WHEN ? IS NULL THEN CAST(NULL AS BIGINT) END";
+
+    Long getChangeVersion();
+
+    void setChangeVersion(Long changeVersion);
+}
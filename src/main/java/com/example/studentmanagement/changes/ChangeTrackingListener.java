@@ -0,0 +1,19 @@
+package com.example.studentmanagement.changes;
+
+import jakarta.persistence.PreUpdate;
+
+// Registered with @EntityListeners on every ChangeTracked entity. Bulk SQL updates bypass it and
+// clear change_version themselves
+public class ChangeTrackingListener {
+
+    // Any value other than the loaded or last flushed one makes Hibernate include change_version
+    // in the UPDATE, where ChangeTracked.WRITE_NULL turns it into NULL. Stamped versions are
+    // positive, so a negative marker that moves on with every flush always differs
+    @PreUpdate
+    void markPending(Object entity) {
+        if (entity instanceof ChangeTracked tracked) {
+            Long current = tracked.getChangeVersion();
+            tracked.setChangeVersion(current != null && current < 0 ? current - 1 : -1L);
+        }
+    }
+}
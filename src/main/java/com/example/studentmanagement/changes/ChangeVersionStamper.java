@@ -0,0 +1,183 @@
+package com.example.studentmanagement.changes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns change versions to rows that were inserted or updated since the last run.
+ * <p>
+ * Writers never pick a version themselves: they leave {@code change_version} NULL, and this job
+ * numbers the committed NULL rows in a single transaction that holds the lock on the
+ * {@code change_feed_state} row. Versions therefore become visible in the order they were handed
+ * out, and a consumer that has read up to version N can never later find a newly committed row
+ * below N. A sequence value taken inside the writing transaction would not guarantee that, since
+ * transactions commit in a different order than they start.
+ * <p>
+ * Rows still locked by a running transaction are skipped ({@code SKIP LOCKED}) and picked up by a
+ * later run, so a long transaction never holds up the feed. Replicas take turns on the state row.
+ */
+@Slf4j
+@Component
+public class ChangeVersionStamper {
+
+    private static final List<Source> SOURCES = List.of(
+            new Source("users", "id"),
+            new Source("courses", "id"),
+            new Source("departments", "id"),
+            new Source("student_courses", "student_id", "course_id", "term"),
+            new Source("change_tombstones", "id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeedProperties properties;
+
+    public ChangeVersionStamper(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher, ChangeFeedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.stamp-interval:500ms}")
+    public void stampScheduled() {
+        if (properties.isStampingEnabled()) {
+            stampPending();
+        }
+    }
+
+    // Returns the number of rows stamped
+    public int stampPending() {
+        ensureState();
+        int total = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> stampBatch());
+            total += batch.rows();
+        } while (batch.full());
+        if (total > 0) {
+            eventPublisher.publishEvent(new ChangesStamped(batch.head()));
+        }
+        return total;
+    }
+
+    // Highest version handed out so far
+    public long head() {
+        Long head = jdbcTemplate.query("SELECT head FROM change_feed_state WHERE id = 1",
+                rs -> rs.next() ? rs.getLong(1) : 0L);
+        return head != null ? head : 0L;
+    }
+
+    // Versions at or below this may have lost their tombstones
+    public long prunedThrough() {
+        Long pruned = jdbcTemplate.query("SELECT pruned_through FROM change_feed_state WHERE id = 1",
+                rs -> rs.next() ? rs.getLong(1) : 0L);
+        return pruned != null ? pruned : 0L;
+    }
+
+    @Scheduled(cron = "0 45 3 * * *")
+    public void pruneScheduled() {
+        if (properties.isStampingEnabled()) {
+            int pruned = pruneTombstonesBefore(Instant.now().minus(properties.getTombstoneRetention()));
+            if (pruned > 0) {
+                log.info("Pruned {} change feed tombstones", pruned);
+            }
+        }
+    }
+
+    public int pruneTombstonesBefore(Instant cutoff) {
+        ensureState();
+        Integer pruned = transactionTemplate.execute(status -> {
+            lockState();
+            Timestamp before = Timestamp.from(cutoff);
+            Long through = jdbcTemplate.queryForObject(
+                    "SELECT MAX(change_version) FROM change_tombstones WHERE deleted_at < ? AND change_version IS NOT NULL",
+                    Long.class, before);
+            if (through == null) {
+                return 0;
+            }
+            jdbcTemplate.update("UPDATE change_feed_state SET pruned_through = ? WHERE id = 1 AND pruned_through < ?",
+                    through, through);
+            return jdbcTemplate.update("DELETE FROM change_tombstones WHERE change_version <= ?", through);
+        });
+        return pruned != null ? pruned : 0;
+    }
+
+    private Batch stampBatch() {
+        long head = lockState();
+        long next = head;
+        boolean full = false;
+        for (Source source : SOURCES) {
+            List<Object[]> keys = jdbcTemplate.query(source.claimSql(properties.getBatchSize()), (rs, rowNum) -> {
+                Object[] key = new Object[source.keyColumns().length];
+                for (int i = 0; i < key.length; i++) {
+                    key[i] = rs.getObject(i + 1);
+                }
+                return key;
+            });
+            List<Object[]> updates = new ArrayList<>(keys.size());
+            for (Object[] key : keys) {
+                Object[] args = new Object[key.length + 1];
+                args[0] = ++next;
+                System.arraycopy(key, 0, args, 1, key.length);
+                updates.add(args);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(source.stampSql(), updates);
+            }
+            full |= keys.size() == properties.getBatchSize();
+        }
+        if (next > head) {
+            jdbcTemplate.update("UPDATE change_feed_state SET head = ? WHERE id = 1", next);
+        }
+        return new Batch((int) (next - head), next, full);
+    }
+
+    // Serializes stampers (and pruning) across replicas
+    private long lockState() {
+        return jdbcTemplate.queryForObject("SELECT head FROM change_feed_state WHERE id = 1 FOR UPDATE", Long.class);
+    }
+
+    // Creates the state row on first use, outside any transaction: a failed insert would abort
+    // the surrounding transaction on PostgreSQL
+    private void ensureState() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_feed_state WHERE id = 1", Integer.class);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO change_feed_state (id, head, pruned_through) VALUES (1, 0, 0)");
+        } catch (DuplicateKeyException e) {
+            // Another replica created it first
+        }
+    }
+
+    private record Source(String table, String... keyColumns) {
+
+        String claimSql(int limit) {
+            String keys = String.join(", ", keyColumns);
+            return "SELECT " + keys + " FROM " + table + " WHERE change_version IS NULL ORDER BY " + keys
+                    + " LIMIT " + limit + " FOR UPDATE SKIP LOCKED";
+        }
+
+        String stampSql() {
+            return "UPDATE " + table + " SET change_version = ? WHERE "
+                    + String.join(" AND ", Arrays.stream(keyColumns).map(c -> c + " = ?").toList());
+        }
+    }
+
+    private record Batch(int rows, long head, boolean full) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.studentmanagement.changes;
+
+// Published after a stamping transaction commits; head is the highest change version now visible
+public record ChangesStamped(long head) {
+}
@@ -0,0 +1,14 @@
+package com.example.studentmanagement.changes;
+
+// An enrollment's key in the change feed: "studentId:courseId:term"
+final class EnrollmentKeys {
+
+    static final String SQL = "CONCAT(student_id, ':', course_id, ':', term)";
+
+    private EnrollmentKeys() {
+    }
+
+    static String of(Long studentId, Long courseId, String term) {
+        return studentId + ":" + courseId + ":" + term;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.studentmanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are Caffeine-backed; names and expiry are set with spring.cache.* in application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TEACHER_WORKLOAD = "teacherWorkload";
+}
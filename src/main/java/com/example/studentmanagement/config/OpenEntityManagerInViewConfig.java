@@ -0,0 +1,26 @@
+package com.example.studentmanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Kept out of WebConfig: the interceptor needs the EntityManagerFactory, which MVC slice tests do not have
+@Configuration
+public class OpenEntityManagerInViewConfig {
+
+    @Bean
+    public StreamingAwareOpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new StreamingAwareOpenEntityManagerInViewInterceptor();
+    }
+
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewConfigurer(StreamingAwareOpenEntityManagerInViewInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.studentmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs such as ArchivalJob run on Spring Boot's auto-configured scheduler
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
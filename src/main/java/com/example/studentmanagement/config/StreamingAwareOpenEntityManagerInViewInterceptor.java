@@ -0,0 +1,63 @@
+package com.example.studentmanagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.ui.ModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Set;
+
+/**
+ * Open EntityManager in View for every request except the streamed lists.
+ * <p>
+ * {@code GET /api/students} and {@code GET /api/courses} read their table in chunks, each in its
+ * own short transaction, and write every chunk before reading the next. Hibernate keeps the JDBC
+ * connection of a request-wide EntityManager until that EntityManager closes, so with it bound the
+ * connection would stay checked out for as long as the client takes to read the whole list. Those
+ * two requests get no request-wide EntityManager; their chunks load the to-one associations
+ * themselves and do not rely on lazy loading during serialization.
+ * <p>
+ * Declaring this bean replaces Spring Boot's own interceptor ({@code spring.jpa.open-in-view}).
+ */
+public class StreamingAwareOpenEntityManagerInViewInterceptor extends OpenEntityManagerInViewInterceptor {
+
+    private static final Set<String> STREAMED_LISTS = Set.of("/api/students", "/api/courses");
+
+    @Override
+    public void preHandle(WebRequest request) {
+        if (!isStreamedList(request)) {
+            super.preHandle(request);
+        }
+    }
+
+    @Override
+    public void postHandle(WebRequest request, ModelMap model) {
+        if (!isStreamedList(request)) {
+            super.postHandle(request, model);
+        }
+    }
+
+    @Override
+    public void afterCompletion(WebRequest request, Exception ex) {
+        if (!isStreamedList(request)) {
+            super.afterCompletion(request, ex);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(WebRequest request) {
+        if (!isStreamedList(request)) {
+            super.afterConcurrentHandlingStarted(request);
+        }
+    }
+
+    private static boolean isStreamedList(WebRequest request) {
+        if (!(request instanceof ServletWebRequest servletWebRequest)) {
+            return false;
+        }
+        HttpServletRequest servletRequest = servletWebRequest.getRequest();
+        String path = servletRequest.getRequestURI().substring(servletRequest.getContextPath().length());
+        return "GET".equals(servletRequest.getMethod()) && STREAMED_LISTS.contains(path);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.studentmanagement.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Writes a successful list response in the {@link com.example.studentmanagement.dto.ApiResponse}
+ * shape while the items are still being read.
+ * <p>
+ * {@code success} and {@code message} are written first, then every item handed to the sink goes
+ * straight through a cached per-type {@link ObjectWriter}. The list, the envelope and the full
+ * entity graph are never held in memory at once. Supports the same formats as the message
+ * converters (JSON, CBOR, Smile), chosen from the Accept header.
+ */
+@Component
+public class ApiResponseWriter {
+
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final Map<WriterKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ApiResponseWriter(ContentNegotiationManager contentNegotiationManager, JsonMapper jsonMapper,
+                             ObjectProvider<CBORMapper> cborMapper) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        // JSON first: it is the answer for */* and for clients that send no Accept header
+        mappers.put(MediaType.APPLICATION_JSON, jsonMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, cborMapper.getIfAvailable(() -> CBORMapper.builder().build()));
+        mappers.put(APPLICATION_SMILE, SmileMapper.builder().build());
+    }
+
+    /**
+     * Answers 200 with {@code {"success":true,"message":...,"data":[...]}}, where {@code data}
+     * holds every item the source passes to its sink.
+     */
+    public <T> void writeList(HttpServletRequest request, HttpServletResponse response, String message,
+                              Class<T> type, Consumer<Consumer<T>> source) throws IOException {
+        MediaType mediaType = negotiate(request);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(mediaType.toString());
+        writeList(response.getOutputStream(), mediaType, message, type, source);
+    }
+
+    public <T> void writeList(OutputStream out, MediaType mediaType, String message,
+                              Class<T> type, Consumer<Consumer<T>> source) {
+        ObjectMapper mapper = mappers.get(mediaType);
+        ObjectWriter itemWriter = writers.computeIfAbsent(new WriterKey(mediaType, type),
+                key -> mapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanProperty("success", true);
+            generator.writeStringProperty("message", message);
+            generator.writeArrayPropertyStart("data");
+            source.accept(item -> itemWriter.writeValue(generator, item));
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private MediaType negotiate(HttpServletRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType candidate : acceptable) {
+            for (MediaType supported : mappers.keySet()) {
+                if (candidate.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private record WriterKey(MediaType mediaType, Class<?> type) {
+    }
+}
@@ -5,6 +5,7 @@ import com.example.studentmanagement.dto.StudentRegistrationDto;
 import com.example.studentmanagement.dto.TeacherRegistrationDto;
 import com.example.studentmanagement.entity.Student;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.security.PasswordHashingBusyException;
 import com.example.studentmanagement.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,9 @@ public class AuthController {
             Student student = authService.registerStudent(dto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "Student registered successfully", student));
+        } catch (PasswordHashingBusyException e) {
+            // Overload, not a bad request; GlobalExceptionHandler answers 503 with Retry-After
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -37,6 +41,9 @@ public class AuthController {
             Teacher teacher = authService.registerTeacher(dto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "Teacher registered successfully", teacher));
+        } catch (PasswordHashingBusyException e) {
+            // Overload, not a bad request; GlobalExceptionHandler answers 503 with Retry-After
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
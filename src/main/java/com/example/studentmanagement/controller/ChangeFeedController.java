@@ -0,0 +1,41 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.ChangeFeedPage;
+import com.example.studentmanagement.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('TEACHER')")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    // Poll with ?since=<next from the previous page>; no token starts from the beginning
+    @GetMapping
+    public ResponseEntity<ApiResponse> getChanges(@RequestParam(required = false) String since,
+                                                  @RequestParam(defaultValue = "500") int limit) {
+        try {
+            ChangeFeedPage page = changeFeedService.getChanges(since, limit);
+            return ResponseEntity.ok(new ApiResponse(true, "Changes retrieved successfully", page));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Live tail as server-sent events: each "changes" event carries a list of changes and has the
+    // next token as its id. A reconnecting EventSource sends it back as Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String since,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeedService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -2,15 +2,26 @@ package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.ApiResponse;
 import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.dto.CourseMeetingDto;
+import com.example.studentmanagement.dto.GradeDto;
 import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.service.CourseService;
+import com.example.studentmanagement.service.GradeService;
+import com.example.studentmanagement.service.PrerequisiteService;
+import com.example.studentmanagement.service.TimetableService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,18 +30,22 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final TimetableService timetableService;
+    private final PrerequisiteService prerequisiteService;
+    private final GradeService gradeService;
+    private final ApiResponseWriter apiResponseWriter;
 
+    // Streamed: the full list is never materialized, see ApiResponseWriter
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(new ApiResponse(true, "Courses retrieved successfully", courses));
+    public void getAllCourses(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        apiResponseWriter.writeList(request, response, "Courses retrieved successfully", Course.class, courseService::forEachCourse);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getCourseById(@PathVariable Long id) {
         try {
             Course course = courseService.getCourseById(id);
-            return ResponseEntity.ok(new ApiResponse(true, "Course retrieved successfully", course));
+            return EntityVersions.ok("Course retrieved successfully", course, course.getVersion());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -57,15 +72,121 @@ public class CourseController {
         }
     }
 
-    // Only TEACHER can update courses
+    // Only TEACHER can update courses. If-Match (or a version in the body) turns a lost update
+    // into 412/409, see EntityVersions
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<ApiResponse> updateCourse(
             @PathVariable Long id,
-            @Valid @RequestBody CourseDto dto) {
+            @Valid @RequestBody CourseDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            dto.setVersion(EntityVersions.expectedVersion(ifMatch, dto.getVersion()));
             Course course = courseService.updateCourse(id, dto);
-            return ResponseEntity.ok(new ApiResponse(true, "Course updated successfully", course));
+            return EntityVersions.ok("Course updated successfully", course, course.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Partial update: only the fields present in the body are changed
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> patchCourse(
+            @PathVariable Long id,
+            @RequestBody CourseDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            dto.setVersion(EntityVersions.expectedVersion(ifMatch, dto.getVersion()));
+            Course course = courseService.patchCourse(id, dto);
+            return EntityVersions.ok("Course updated successfully", course, course.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/meetings")
+    public ResponseEntity<ApiResponse> getMeetings(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Meetings retrieved successfully",
+                    timetableService.getMeetings(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Only TEACHER can schedule courses. Replaces all weekly meetings of the course
+    @PutMapping("/{id}/meetings")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> replaceMeetings(
+            @PathVariable Long id,
+            @RequestBody List<CourseMeetingDto> meetings) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Meetings updated successfully",
+                    timetableService.replaceMeetings(id, meetings)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Direct prerequisites and everything they in turn require
+    @GetMapping("/{id}/prerequisites")
+    public ResponseEntity<ApiResponse> getPrerequisites(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Prerequisites retrieved successfully",
+                    prerequisiteService.getPrerequisites(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Only TEACHER can change prerequisites. Replaces the direct prerequisites of the course
+    @PutMapping("/{id}/prerequisites")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> replacePrerequisites(
+            @PathVariable Long id,
+            @RequestBody List<Long> prerequisiteIds) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Prerequisites updated successfully",
+                    prerequisiteService.replacePrerequisites(id, prerequisiteIds)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Only TEACHER can grade. Sets, changes or (with no grade) clears one student's grade
+    @PutMapping("/{id}/grades")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> recordGrade(
+            @PathVariable Long id,
+            @Valid @RequestBody GradeDto gradeDto) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Grade recorded successfully",
+                    gradeService.recordGrade(id, gradeDto)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Number of students per grade, over all terms or the given one
+    @GetMapping("/{id}/grades/distribution")
+    public ResponseEntity<ApiResponse> getGradeDistribution(
+            @PathVariable Long id,
+            @RequestParam(required = false) String term) {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Grade distribution retrieved successfully",
+                    gradeService.getGradeDistribution(id, term)));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -1,16 +1,21 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
 import com.example.studentmanagement.dto.DepartmentDto;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.service.DepartmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -30,7 +35,7 @@ public class DepartmentController {
     public ResponseEntity<ApiResponse> getDepartmentById(@PathVariable Long id) {
         try {
             Department department = departmentService.getDepartmentById(id);
-            return ResponseEntity.ok(new ApiResponse(true, "Department retrieved successfully", department));
+            return EntityVersions.ok("Department retrieved successfully", department, department.getVersion());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -50,24 +55,57 @@ public class DepartmentController {
         }
     }
 
+    // If-Match (or a version in the body) turns a lost update into 412/409, see EntityVersions
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<ApiResponse> updateDepartment(
             @PathVariable Long id,
-            @Valid @RequestBody DepartmentDto dto) {
+            @Valid @RequestBody DepartmentDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            dto.setVersion(EntityVersions.expectedVersion(ifMatch, dto.getVersion()));
             Department department = departmentService.updateDepartment(id, dto);
-            return ResponseEntity.ok(new ApiResponse(true, "Department updated successfully", department));
+            return EntityVersions.ok("Department updated successfully", department, department.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
 
+    // Partial update: only the fields present in the body are changed
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> patchDepartment(
+            @PathVariable Long id,
+            @RequestBody DepartmentDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            dto.setVersion(EntityVersions.expectedVersion(ifMatch, dto.getVersion()));
+            Department department = departmentService.patchDepartment(id, dto);
+            return EntityVersions.ok("Department updated successfully", department, department.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // async=true answers 202 right away; large departments are then purged in the background
+    // and the outcome is read from GET /{id}/deletion
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<ApiResponse> deleteDepartment(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse> deleteDepartment(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "false") boolean async) {
         try {
+            if (async) {
+                DepartmentDeletionProgress progress = departmentService.startDepartmentDeletion(id);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/departments/" + id + "/deletion"))
+                        .body(new ApiResponse(true, "Department deletion started", progress));
+            }
             departmentService.deleteDepartment(id);
             return ResponseEntity.ok(new ApiResponse(true, "Department deleted successfully"));
         } catch (RuntimeException e) {
@@ -75,4 +113,15 @@ public class DepartmentController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ApiResponse> getDeletionProgress(@PathVariable Long id) {
+        try {
+            DepartmentDeletionProgress progress = departmentService.getDeletionProgress(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Department deletion progress retrieved successfully", progress));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import com.example.studentmanagement.service.EnrollmentHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/enrollment-events")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('TEACHER')")
+public class EnrollmentEventController {
+
+    private final EnrollmentHistoryService enrollmentHistoryService;
+
+    // e.g. ?courseId=7&from=2026-10-12T00:00:00Z: who enrolled in or dropped course 7 since then
+    @GetMapping
+    public ResponseEntity<ApiResponse> getEvents(@RequestParam(required = false) Long courseId,
+                                                 @RequestParam(required = false) Long studentId,
+                                                 @RequestParam(required = false) Instant from,
+                                                 @RequestParam(required = false) Instant to,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "50") int size) {
+        try {
+            Page<EnrollmentEvent> events = enrollmentHistoryService.getEvents(courseId, studentId, from, to, page, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Enrollment events retrieved successfully",
+                    new PagedModel<>(events)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<ApiResponse> getDailyCounts(@RequestParam Long courseId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<EnrollmentEventRollup> counts = enrollmentHistoryService.getDailyCounts(courseId, from, to);
+            return ResponseEntity.ok(new ApiResponse(true, "Daily enrollment counts retrieved successfully", counts));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.exception.VersionConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETag / If-Match handling shared by the controllers of versioned entities. The ETag of an entity
+ * is its {@code @Version} value, so a client can send back what it read as {@code If-Match} on
+ * PUT or PATCH and get 412 instead of silently overwriting a newer change.
+ */
+final class EntityVersions {
+
+    static final String CONFLICT_MESSAGE = "The resource was modified by another request, reload it and retry";
+
+    private EntityVersions() {
+    }
+
+    /**
+     * The version the client expects to update: the {@code If-Match} header when present,
+     * otherwise the {@code version} field of the body. {@code *} and a missing header mean no
+     * check beyond the {@code @Version} column itself.
+     */
+    static Long expectedVersion(String ifMatch, Long bodyVersion) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return bodyVersion;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new RuntimeException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+
+    static ResponseEntity<ApiResponse> ok(String message, Object data, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag("\"" + version + "\"");
+        }
+        return builder.body(new ApiResponse(true, message, data));
+    }
+
+    // A stale If-Match is a failed precondition; a stale body version, or a concurrent update
+    // caught by the @Version column at flush, is a plain conflict
+    static ResponseEntity<ApiResponse> conflict(String ifMatch, RuntimeException e) {
+        HttpStatus status = ifMatch != null && !ifMatch.isBlank() ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        String message = e instanceof VersionConflictException ? e.getMessage() : CONFLICT_MESSAGE;
+        return ResponseEntity.status(status).body(new ApiResponse(false, message));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.export.ExportRequest;
+import com.example.studentmanagement.export.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('TEACHER')")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    // e.g. /api/export/enrollments?format=columnar&term=2026-FALL. Streamed: a rejected request
+    // gets the usual JSON error, an accepted one is written row by row and returns null.
+    // gzip comes from server.compression when the client sends Accept-Encoding
+    @GetMapping("/{entity}")
+    public ResponseEntity<ApiResponse> export(@PathVariable String entity,
+                                              @RequestParam(defaultValue = "csv") String format,
+                                              @RequestParam(required = false) Long afterId,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String term,
+                                              HttpServletResponse response) throws IOException {
+        ExportRequest request;
+        try {
+            request = exportService.prepare(entity, format, afterId, limit, term);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(request.format().getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(request.fileName()).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        exportService.export(request, response.getOutputStream());
+        return null;
+    }
+}
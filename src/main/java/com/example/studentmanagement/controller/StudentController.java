@@ -1,13 +1,26 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.BatchEnrollmentDto;
 import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.exception.VersionConflictException;
+import com.example.studentmanagement.service.GradeService;
+import com.example.studentmanagement.service.PrerequisiteService;
 import com.example.studentmanagement.service.StudentService;
+import com.example.studentmanagement.service.TimetableService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,18 +29,22 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final TimetableService timetableService;
+    private final PrerequisiteService prerequisiteService;
+    private final GradeService gradeService;
+    private final ApiResponseWriter apiResponseWriter;
 
+    // Streamed: the full list is never materialized, see ApiResponseWriter
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(new ApiResponse(true, "Students retrieved successfully", students));
+    public void getAllStudents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        apiResponseWriter.writeList(request, response, "Students retrieved successfully", Student.class, studentService::forEachStudent);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getStudentById(@PathVariable Long id) {
         try {
             Student student = studentService.getStudentById(id);
-            return ResponseEntity.ok(new ApiResponse(true, "Student retrieved successfully", student));
+            return EntityVersions.ok("Student retrieved successfully", student, student.getVersion());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -40,11 +57,32 @@ public class StudentController {
         return ResponseEntity.ok(new ApiResponse(true, "Students retrieved successfully", students));
     }
 
+    // If-Match (or a version in the body) turns a lost update into 412/409, see EntityVersions
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse> updateStudent(@PathVariable Long id, @RequestBody Student student) {
+    public ResponseEntity<ApiResponse> updateStudent(@PathVariable Long id, @RequestBody Student student,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            student.setVersion(EntityVersions.expectedVersion(ifMatch, student.getVersion()));
             Student updatedStudent = studentService.updateStudent(id, student);
-            return ResponseEntity.ok(new ApiResponse(true, "Student updated successfully", updatedStudent));
+            return EntityVersions.ok("Student updated successfully", updatedStudent, updatedStudent.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Partial update: only the fields present in the body are changed
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponse> patchStudent(@PathVariable Long id, @RequestBody Student student,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            student.setVersion(EntityVersions.expectedVersion(ifMatch, student.getVersion()));
+            Student updatedStudent = studentService.patchStudent(id, student);
+            return EntityVersions.ok("Student updated successfully", updatedStudent, updatedStudent.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -71,6 +109,80 @@ public class StudentController {
         try {
             Student student = studentService.enrollInCourse(studentId, courseId);
             return ResponseEntity.ok(new ApiResponse(true, "Enrolled in course successfully", student));
+        } catch (ScheduleConflictException e) {
+            return scheduleConflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Several courses at once, all or nothing; overlapping meeting times are answered with 409 and
+    // the conflicts in data
+    @PostMapping("/{studentId}/courses")
+    public ResponseEntity<ApiResponse> enrollInCourses(
+            @PathVariable Long studentId,
+            @Valid @RequestBody BatchEnrollmentDto dto) {
+        try {
+            Student student = studentService.enrollInCourses(studentId, dto.getCourseIds());
+            return ResponseEntity.ok(new ApiResponse(true, "Enrolled in courses successfully", student));
+        } catch (ScheduleConflictException e) {
+            return scheduleConflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // The current term's meetings of the student's courses, by day and time
+    @GetMapping("/{id}/timetable")
+    public ResponseEntity<ApiResponse> getTimetable(@PathVariable Long id) {
+        try {
+            studentService.getStudentById(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Timetable retrieved successfully",
+                    timetableService.getTimetable(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // "What can I take next": courses of the student's department whose prerequisites are completed
+    @GetMapping("/{id}/next-courses")
+    public ResponseEntity<ApiResponse> getNextCourses(@PathVariable Long id) {
+        try {
+            Student student = studentService.getStudentById(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Courses retrieved successfully",
+                    prerequisiteService.getNextCourses(student)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Every course the student has taken with its grade, and the GPA and credit totals. Only the
+    // student themselves or a TEACHER may read it, like the rank below
+    @GetMapping("/{id}/transcript")
+    @PreAuthorize("hasRole('TEACHER') or @studentService.isCurrentStudent(#id)")
+    public ResponseEntity<ApiResponse> getTranscript(@PathVariable Long id) {
+        try {
+            studentService.getStudentById(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Transcript retrieved successfully",
+                    gradeService.getTranscript(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Position by GPA among the students of the same department; equal GPAs share a rank
+    @GetMapping("/{id}/rank")
+    @PreAuthorize("hasRole('TEACHER') or @studentService.isCurrentStudent(#id)")
+    public ResponseEntity<ApiResponse> getClassRank(@PathVariable Long id) {
+        try {
+            Student student = studentService.getStudentById(id);
+            return ResponseEntity.ok(new ApiResponse(true, "Class rank retrieved successfully",
+                    gradeService.getClassRank(student)));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -102,4 +214,9 @@ public class StudentController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    private static ResponseEntity<ApiResponse> scheduleConflict(ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse(false, e.getMessage(), e.getConflicts()));
+    }
 }
@@ -1,9 +1,15 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.service.TeacherService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,23 +29,58 @@ public class TeacherController {
         return ResponseEntity.ok(new ApiResponse(true, "Teachers retrieved successfully", teachers));
     }
 
+    @GetMapping("/workload")
+    public ResponseEntity<ApiResponse> getTeacherWorkload(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            Page<TeacherWorkloadDto> workload = teacherService.getTeacherWorkload(page, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Teacher workload retrieved successfully",
+                    new PagedModel<>(workload)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getTeacherById(@PathVariable Long id) {
         try {
             Teacher teacher = teacherService.getTeacherById(id);
-            return ResponseEntity.ok(new ApiResponse(true, "Teacher retrieved successfully", teacher));
+            return EntityVersions.ok("Teacher retrieved successfully", teacher, teacher.getVersion());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
 
+    // If-Match (or a version in the body) turns a lost update into 412/409, see EntityVersions
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<ApiResponse> updateTeacher(@PathVariable Long id, @RequestBody Teacher teacher) {
+    public ResponseEntity<ApiResponse> updateTeacher(@PathVariable Long id, @RequestBody Teacher teacher,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            teacher.setVersion(EntityVersions.expectedVersion(ifMatch, teacher.getVersion()));
             Teacher updatedTeacher = teacherService.updateTeacher(id, teacher);
-            return ResponseEntity.ok(new ApiResponse(true, "Teacher updated successfully", updatedTeacher));
+            return EntityVersions.ok("Teacher updated successfully", updatedTeacher, updatedTeacher.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Partial update: only the fields present in the body are changed
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ApiResponse> patchTeacher(@PathVariable Long id, @RequestBody Teacher teacher,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            teacher.setVersion(EntityVersions.expectedVersion(ifMatch, teacher.getVersion()));
+            Teacher updatedTeacher = teacherService.patchTeacher(id, teacher);
+            return EntityVersions.ok("Teacher updated successfully", updatedTeacher, updatedTeacher.getVersion());
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            return EntityVersions.conflict(ifMatch, e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
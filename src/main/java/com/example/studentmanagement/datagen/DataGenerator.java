@@ -0,0 +1,374 @@
+package com.example.studentmanagement.datagen;
+
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the schema with synthetic departments, teachers, courses, students and current-term
+ * enrollments at production volume, see {@link DataGeneratorProperties}.
+ * <p>
+ * Every phase is split into chunks that a pool of producer threads generates and writes in
+ * parallel, one transaction per chunk, with {@code COPY} on PostgreSQL. Ids are reserved from the
+ * tables' identity sequences up front, so chunks can reference each other's rows without reading
+ * anything back and the application can keep running meanwhile. Each chunk draws from its own
+ * random generator seeded from {@code seed} and its index, so a run is reproducible whatever the
+ * thread scheduling.
+ * <p>
+ * Students take courses of their own department, as enrollment requires. Course popularity
+ * follows a Zipf distribution within each department: a student's courses are drawn by popularity
+ * rank, and every department deals its ranks out to its courses in its own shuffled order.
+ */
+@Slf4j
+@Component
+public class DataGenerator {
+
+    private static final List<String> USER_COLUMNS =
+            List.of("id", "username", "password", "email", "full_name", "role", "version");
+    private static final List<String> TEACHER_COLUMNS = List.of("id", "employee_id", "phone_number", "designation");
+    private static final List<String> STUDENT_COLUMNS = List.of("id", "student_id", "phone_number", "department_id");
+    private static final List<String> DEPARTMENT_COLUMNS = List.of("id", "name", "description", "version");
+    private static final List<String> COURSE_COLUMNS = List.of("id", "course_code", "course_name", "description",
+            "credits", "department_id", "teacher_id", "version");
+    private static final List<String> ENROLLMENT_COLUMNS = List.of("student_id", "course_id", "term", "enrolled_at");
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Ahmed", "Fatima", "Wei", "Mei", "Carlos", "Sofia",
+            "Ivan", "Olga", "Kwame", "Amara", "Raj", "Priya", "Kenji", "Yuki", "Liam", "Emma", "Noah", "Ava"};
+    private static final String[] LAST_NAMES = {"Smith", "Khan", "Chen", "Garcia", "Ivanov", "Mensah", "Patel",
+            "Tanaka", "Brown", "Rahman", "Silva", "Nguyen", "Müller", "Kim", "Hossain", "Rossi", "Cohen", "Okafor"};
+    private static final String[] SUBJECTS = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+            "Economics", "History", "Philosophy", "Linguistics", "Electrical Engineering", "Civil Engineering",
+            "Psychology", "Sociology", "Statistics", "Business Administration"};
+    private static final String[] DESIGNATIONS = {"Lecturer", "Lecturer", "Assistant Professor",
+            "Associate Professor", "Professor"};
+    // Three-credit courses are the norm
+    private static final int[] CREDITS = {3, 3, 3, 3, 4, 4, 2, 1};
+
+    // Enrollment timestamps are spread over the registration weeks before the run
+    private static final Duration REGISTRATION_PERIOD = Duration.ofDays(21);
+
+    public record Result(int departments, int teachers, int courses, int students, long enrollments,
+                         Duration elapsed) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final AcademicCalendar academicCalendar;
+    private final DataGeneratorProperties properties;
+
+    public DataGenerator(DataSource dataSource, JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                         AcademicCalendar academicCalendar, DataGeneratorProperties properties) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.academicCalendar = academicCalendar;
+        this.properties = properties;
+    }
+
+    public Result generate() {
+        return generate(properties);
+    }
+
+    public Result generate(DataGeneratorProperties settings) {
+        validate(settings);
+        long start = System.nanoTime();
+        Run run = new Run(settings);
+        log.info("Generating {} departments, {} courses, {} teachers and {} students with prefix '{}' into {}",
+                settings.getDepartments(), run.courses, settings.getTeachers(), settings.getStudents(),
+                settings.getPrefix(), run.copy ? "PostgreSQL (COPY)" : "batched INSERTs");
+
+        run.phase("departments", settings.getDepartments(), run::writeDepartments);
+        run.phase("teachers", settings.getTeachers(), run::writeTeachers);
+        run.phase("courses", run.courses, run::writeCourses);
+        long enrollments = run.phase("students", settings.getStudents(), run::writeStudents);
+        run.finishIds();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Result result = new Result(settings.getDepartments(), settings.getTeachers(), run.courses,
+                settings.getStudents(), enrollments, elapsed);
+        log.info("Generated {} in {} s", result, elapsed.toSeconds());
+        return result;
+    }
+
+    private void validate(DataGeneratorProperties settings) {
+        if (settings.getDepartments() <= 0 || settings.getCoursesPerDepartment() <= 0 || settings.getTeachers() <= 0) {
+            throw new IllegalArgumentException("Departments, courses per department and teachers must be positive");
+        }
+        if (settings.getStudents() < 0 || settings.getEnrollmentsPerStudent() <= 0 || settings.getChunkSize() <= 0) {
+            throw new IllegalArgumentException("Students, enrollments per student and chunk size must be positive");
+        }
+        int courses = settings.getDepartments() * settings.getCoursesPerDepartment();
+        if (2 * settings.getEnrollmentsPerStudent() - 1 > courses) {
+            throw new IllegalArgumentException("Up to " + (2 * settings.getEnrollmentsPerStudent() - 1)
+                    + " enrollments per student need at least as many courses, there are " + courses);
+        }
+        if (!settings.getPrefix().matches("[a-z][a-z0-9]*")) {
+            throw new IllegalArgumentException("Prefix must be lower-case letters and digits: " + settings.getPrefix());
+        }
+        Integer taken = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Integer.class,
+                settings.getPrefix() + "-teacher-1");
+        if (taken != null && taken > 0) {
+            throw new IllegalStateException("Data with prefix '" + settings.getPrefix()
+                    + "' has already been generated; set app.datagen.prefix to another value");
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+
+        // Writes items [from, to) and returns the number of enrollment rows written
+        long write(Connection connection, int from, int to, SplittableRandom random) throws SQLException;
+    }
+
+    // State of one generate() call: reserved id ranges and the values every chunk shares
+    private final class Run {
+
+        private final DataGeneratorProperties settings;
+        private final String prefix;
+        private final String codePrefix;
+        private final boolean copy;
+        private final BulkWriter writer;
+        private final int courses;
+        private final int producers;
+        private final String term;
+        private final String passwordHash;
+        private final Instant now = Instant.now();
+        private final ZipfDistribution popularity;
+        // Per department: rank to course offset within the department
+        private final int[][] courseByRank;
+        private final long firstDepartment;
+        private final long firstTeacher;
+        private final long firstStudent;
+        private final long firstCourse;
+        private int phaseIndex;
+
+        Run(DataGeneratorProperties settings) {
+            this.settings = settings;
+            this.prefix = settings.getPrefix();
+            this.codePrefix = prefix.toUpperCase(Locale.ROOT);
+            this.copy = "PostgreSQL".equals(jdbcTemplate.execute((Connection connection) ->
+                    connection.getMetaData().getDatabaseProductName()));
+            this.writer = new BulkWriter(copy);
+            this.courses = settings.getDepartments() * settings.getCoursesPerDepartment();
+            this.producers = settings.getProducers() > 0
+                    ? settings.getProducers() : Runtime.getRuntime().availableProcessors();
+            this.term = academicCalendar.currentTerm().code();
+            // One hash for everyone: hashing millions of passwords would take hours
+            this.passwordHash = passwordEncoder.encode(settings.getPassword());
+            this.popularity = new ZipfDistribution(settings.getCoursesPerDepartment(), settings.getPopularitySkew());
+            SplittableRandom ranks = new SplittableRandom(settings.getSeed());
+            this.courseByRank = new int[settings.getDepartments()][];
+            for (int department = 0; department < courseByRank.length; department++) {
+                courseByRank[department] = shuffledRange(settings.getCoursesPerDepartment(), ranks);
+            }
+            this.firstDepartment = reserveIds("departments", settings.getDepartments());
+            this.firstTeacher = reserveIds("users", settings.getTeachers() + settings.getStudents());
+            this.firstStudent = firstTeacher + settings.getTeachers();
+            this.firstCourse = reserveIds("courses", courses);
+        }
+
+        // Runs a phase's chunks on the producer pool; returns the enrollment rows written
+        long phase(String name, int total, ChunkWriter chunkWriter) {
+            long start = System.nanoTime();
+            int phase = phaseIndex++;
+            int chunkSize = settings.getChunkSize();
+            List<Future<Long>> chunks = new ArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, producers));
+            try {
+                for (int from = 0; from < total; from += chunkSize) {
+                    int chunkFrom = from;
+                    int chunkTo = Math.min(total, from + chunkSize);
+                    SplittableRandom random = new SplittableRandom(
+                            settings.getSeed() * 1_000_003L + phase * 65_537L + from / chunkSize);
+                    chunks.add(executor.submit(() -> writeChunk(chunkWriter, chunkFrom, chunkTo, random)));
+                }
+                long enrollments = 0;
+                for (Future<Long> chunk : chunks) {
+                    enrollments += chunk.get();
+                }
+                long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                log.info("Wrote {} {} in {} ms ({}/s)", total, name, millis, total * 1000L / millis);
+                return enrollments;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating " + name, e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Generating " + name + " failed", e);
+            } finally {
+                // Stops the remaining chunks after a failure; a no-op once all of them are done
+                executor.shutdownNow();
+            }
+        }
+
+        private long writeChunk(ChunkWriter chunkWriter, int from, int to, SplittableRandom random) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    long rows = chunkWriter.write(connection, from, to, random);
+                    connection.commit();
+                    return rows;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+
+        long writeDepartments(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+            List<Object[]> departments = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String subject = SUBJECTS[i % SUBJECTS.length];
+                departments.add(new Object[]{firstDepartment + i, prefix + " " + subject + " " + (i + 1),
+                        "Department of " + subject, 0});
+            }
+            writer.write(connection, "departments", DEPARTMENT_COLUMNS, departments);
+            return 0;
+        }
+
+        long writeTeachers(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+            List<Object[]> users = new ArrayList<>(to - from);
+            List<Object[]> teachers = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long id = firstTeacher + i;
+                users.add(user(id, prefix + "-teacher-" + (i + 1), "ROLE_TEACHER", random));
+                teachers.add(new Object[]{id, codePrefix + "-T" + (i + 1), phoneNumber(random),
+                        DESIGNATIONS[random.nextInt(DESIGNATIONS.length)]});
+            }
+            writer.write(connection, "users", USER_COLUMNS, users);
+            writer.write(connection, "teachers", TEACHER_COLUMNS, teachers);
+            return 0;
+        }
+
+        long writeCourses(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int department = i / settings.getCoursesPerDepartment();
+                int level = 100 * (1 + random.nextInt(4)) + i % settings.getCoursesPerDepartment() + 1;
+                String subject = SUBJECTS[department % SUBJECTS.length];
+                rows.add(new Object[]{firstCourse + i, String.format("%s-%07d", codePrefix, i + 1),
+                        subject + " " + level, "Synthetic " + subject.toLowerCase(Locale.ROOT) + " course",
+                        CREDITS[random.nextInt(CREDITS.length)], firstDepartment + department,
+                        firstTeacher + random.nextInt(settings.getTeachers()), 0});
+            }
+            writer.write(connection, "courses", COURSE_COLUMNS, rows);
+            return 0;
+        }
+
+        long writeStudents(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+            int mean = settings.getEnrollmentsPerStudent();
+            List<Object[]> users = new ArrayList<>(to - from);
+            List<Object[]> students = new ArrayList<>(to - from);
+            List<Object[]> enrollments = new ArrayList<>((to - from) * mean);
+            int[] taken = new int[2 * mean - 1];
+            for (int i = from; i < to; i++) {
+                long id = firstStudent + i;
+                int department = random.nextInt(settings.getDepartments());
+                users.add(user(id, prefix + "-student-" + (i + 1), "ROLE_STUDENT", random));
+                students.add(new Object[]{id, codePrefix + "-S" + (i + 1), phoneNumber(random),
+                        firstDepartment + department});
+
+                int wanted = 1 + random.nextInt(taken.length);
+                int count = 0;
+                // Popular courses are drawn again and again under a strong skew; give up on the rest
+                // of a student's courses after a bounded number of draws rather than loop
+                for (int draws = 0; count < wanted && draws < 20 * wanted; draws++) {
+                    int course = department * settings.getCoursesPerDepartment()
+                            + courseByRank[department][popularity.sample(random)];
+                    if (!contains(taken, count, course)) {
+                        taken[count++] = course;
+                        enrollments.add(new Object[]{id, firstCourse + course, term, enrolledAt(random)});
+                    }
+                }
+            }
+            writer.write(connection, "users", USER_COLUMNS, users);
+            writer.write(connection, "students", STUDENT_COLUMNS, students);
+            writer.write(connection, "student_courses", ENROLLMENT_COLUMNS, enrollments);
+            return enrollments.size();
+        }
+
+        private Object[] user(long id, String username, String role, SplittableRandom random) {
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            return new Object[]{id, username, passwordHash, username + "@example.edu", fullName, role, 0};
+        }
+
+        private OffsetDateTime enrolledAt(SplittableRandom random) {
+            return now.minusSeconds(random.nextLong(REGISTRATION_PERIOD.toSeconds())).atOffset(ZoneOffset.UTC);
+        }
+
+        // Ids are handed out by the identity sequence on PostgreSQL, so the range is reserved by
+        // moving the sequence past it. Elsewhere (H2 in tests) the generator is assumed to be alone:
+        // it continues after the highest id and restarts the identity after the run
+        private long reserveIds(String table, int count) {
+            if (count == 0) {
+                return 0;
+            }
+            if (copy) {
+                Long last = jdbcTemplate.queryForObject(
+                        "SELECT setval(pg_get_serial_sequence(?, 'id'), nextval(pg_get_serial_sequence(?, 'id')) + ? - 1)",
+                        Long.class, table, table, count);
+                return last - count + 1;
+            }
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            return max + 1;
+        }
+
+        void finishIds() {
+            if (copy) {
+                return;
+            }
+            restartIdentity("departments", firstDepartment + settings.getDepartments());
+            restartIdentity("users", firstStudent + settings.getStudents());
+            restartIdentity("courses", firstCourse + courses);
+        }
+
+        private void restartIdentity(String table, long next) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private static String phoneNumber(SplittableRandom random) {
+        return String.format("555%07d", random.nextInt(10_000_000));
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] shuffledRange(int n, SplittableRandom random) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
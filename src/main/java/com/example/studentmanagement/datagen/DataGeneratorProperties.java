@@ -0,0 +1,42 @@
+package com.example.studentmanagement.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+
+    // Generate on startup (the datagen profile turns this on) and exit when done
+    private boolean enabled = false;
+
+    private boolean exitWhenDone = true;
+
+    // Starts usernames, course codes and department names, so several runs can share a database
+    private String prefix = "gen";
+
+    private int departments = 50;
+
+    private int coursesPerDepartment = 40;
+
+    private int teachers = 2_000;
+
+    private int students = 1_000_000;
+
+    // Mean courses per student in the current term; each student takes 1 to 2 * mean - 1
+    private int enrollmentsPerStudent = 5;
+
+    // Zipf exponent of course popularity: 0 is uniform, around 1 a few courses draw most students
+    private double popularitySkew = 1.0;
+
+    // Password of every generated user
+    private String password = "password";
+
+    // Threads generating and writing chunks; 0 means one per CPU
+    private int producers = 0;
+
+    // Students (or teachers, courses) per chunk; each chunk is one transaction
+    private int chunkSize = 10_000;
+
+    private long seed = 42;
+}
@@ -0,0 +1,40 @@
+package com.example.studentmanagement.datagen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Ranks 0..n-1 where rank k is drawn with probability proportional to 1 / (k + 1)^exponent.
+// Sampling is a binary search of the precomputed cumulative distribution
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Zipf exponent must not be negative: " + exponent);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // Not found: -(insertion point) - 1, the first rank whose cumulative probability exceeds u
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
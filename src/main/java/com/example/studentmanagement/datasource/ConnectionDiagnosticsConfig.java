@@ -0,0 +1,28 @@
+package com.example.studentmanagement.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class ConnectionDiagnosticsConfig {
+
+    // Static and lazy on the tracker so that registering the post-processor does not initialize
+    // the meter registry early. Always registered: app.datasource.diagnostics.enabled is checked
+    // per connection, which also keeps it switchable in the AOT build
+    @Bean
+    static BeanPostProcessor holdTrackingDataSourcePostProcessor(ObjectProvider<ConnectionHoldTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof HoldTrackingDataSource)) {
+                    return new HoldTrackingDataSource(dataSource, tracker.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.studentmanagement.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.diagnostics")
+public class ConnectionDiagnosticsProperties {
+
+    // Measure how long each connection is waited for and held, per request path
+    private boolean enabled = true;
+
+    // Longest individual holds kept for the connectionpool endpoint
+    private int slowestHolders = 20;
+
+    // Distinct paths tracked before the rest are counted under "other"; bounds the metric tags
+    private int maxPaths = 200;
+}
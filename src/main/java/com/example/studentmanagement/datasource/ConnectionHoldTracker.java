@@ -0,0 +1,187 @@
+package com.example.studentmanagement.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Connection acquire and hold times, attributed to what the thread was doing when it took the
+ * connection.
+ * <p>
+ * A request is labelled by its method and matched route ({@code GET /api/courses/{id}}), so the
+ * number of labels stays bounded by the number of endpoints. Work outside a request is labelled by
+ * its thread name without the trailing counter ({@code background enrollment-events}). Both times
+ * are published as the {@code db.connection.acquire} and {@code db.connection.hold} timers tagged
+ * with the label, and summarized since startup (or the last reset) for {@link ConnectionPoolEndpoint}
+ * together with the slowest individual holds.
+ */
+@Component
+public class ConnectionHoldTracker {
+
+    static final String OTHER = "other";
+    private static final String UNMAPPED = "(unmapped)";
+    private static final Pattern THREAD_COUNTER = Pattern.compile("[-\\d]+$");
+
+    private final MeterRegistry meterRegistry;
+    private final ConnectionDiagnosticsProperties properties;
+    private final Map<String, PathStats> paths = new ConcurrentHashMap<>();
+    private final PriorityQueue<Hold> slowest = new PriorityQueue<>(Comparator.comparingLong(Hold::heldNanos));
+
+    // Shortest hold in a full slowest list; shorter holds skip the lock
+    private volatile long slowestThreshold;
+
+    public ConnectionHoldTracker(MeterRegistry meterRegistry, ConnectionDiagnosticsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The label of the current thread's work, see the class comment.
+     */
+    public String currentPath() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+        }
+        String thread = THREAD_COUNTER.matcher(Thread.currentThread().getName()).replaceAll("");
+        return thread.isEmpty() ? "background" : "background " + thread;
+    }
+
+    public void recordAcquire(String path, long waitNanos) {
+        PathStats stats = stats(path);
+        stats.acquireWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        stats.acquireNanos.add(waitNanos);
+        stats.maxAcquireNanos.accumulate(waitNanos);
+    }
+
+    public void recordHold(String path, String thread, Instant acquiredAt, long heldNanos) {
+        PathStats stats = stats(path);
+        stats.hold.record(heldNanos, TimeUnit.NANOSECONDS);
+        stats.holds.increment();
+        stats.holdNanos.add(heldNanos);
+        stats.maxHoldNanos.accumulate(heldNanos);
+
+        if (heldNanos > slowestThreshold) {
+            synchronized (slowest) {
+                slowest.add(new Hold(stats.path, thread, acquiredAt, heldNanos));
+                if (slowest.size() > properties.getSlowestHolders()) {
+                    slowest.poll();
+                }
+                if (slowest.size() >= properties.getSlowestHolders()) {
+                    slowestThreshold = slowest.peek().heldNanos();
+                }
+            }
+        }
+    }
+
+    // Busiest paths first, by total time holding connections
+    public List<PathSummary> pathSummaries() {
+        return paths.values().stream()
+                .filter(stats -> stats.holds.sum() > 0)
+                .map(PathStats::summary)
+                .sorted(Comparator.comparing(PathSummary::totalHold).reversed())
+                .toList();
+    }
+
+    // Longest first
+    public List<SlowHold> slowestHolds() {
+        List<Hold> holds;
+        synchronized (slowest) {
+            holds = new ArrayList<>(slowest);
+        }
+        return holds.stream()
+                .sorted(Comparator.comparingLong(Hold::heldNanos).reversed())
+                .map(hold -> new SlowHold(hold.path(), hold.thread(), hold.acquiredAt(), Duration.ofNanos(hold.heldNanos())))
+                .toList();
+    }
+
+    // Clears the summaries; the Micrometer timers keep counting
+    public void reset() {
+        paths.values().forEach(PathStats::reset);
+        synchronized (slowest) {
+            slowest.clear();
+            slowestThreshold = 0;
+        }
+    }
+
+    private PathStats stats(String path) {
+        PathStats stats = paths.get(path);
+        if (stats != null) {
+            return stats;
+        }
+        String label = paths.size() < properties.getMaxPaths() ? path : OTHER;
+        return paths.computeIfAbsent(label, key -> new PathStats(key, meterRegistry));
+    }
+
+    public record PathSummary(String path, long holds, Duration totalHold, Duration meanHold, Duration maxHold,
+                              Duration totalAcquireWait, Duration maxAcquireWait) {
+    }
+
+    public record SlowHold(String path, String thread, Instant acquiredAt, Duration held) {
+    }
+
+    private record Hold(String path, String thread, Instant acquiredAt, long heldNanos) {
+    }
+
+    private static final class PathStats {
+
+        private final String path;
+        private final Timer acquireWait;
+        private final Timer hold;
+        private final LongAdder holds = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAccumulator maxHoldNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAccumulator maxAcquireNanos = new LongAccumulator(Long::max, 0);
+
+        PathStats(String path, MeterRegistry meterRegistry) {
+            this.path = path;
+            this.acquireWait = Timer.builder("db.connection.acquire")
+                    .description("Time spent waiting for a pooled connection")
+                    .tag("path", path)
+                    .register(meterRegistry);
+            this.hold = Timer.builder("db.connection.hold")
+                    .description("Time a pooled connection was held before it was returned")
+                    .tag("path", path)
+                    .register(meterRegistry);
+        }
+
+        PathSummary summary() {
+            long count = holds.sum();
+            long total = holdNanos.sum();
+            return new PathSummary(path, count, Duration.ofNanos(total), Duration.ofNanos(count == 0 ? 0 : total / count),
+                    Duration.ofNanos(maxHoldNanos.get()), Duration.ofNanos(acquireNanos.sum()),
+                    Duration.ofNanos(maxAcquireNanos.get()));
+        }
+
+        void reset() {
+            holds.reset();
+            holdNanos.reset();
+            maxHoldNanos.reset();
+            acquireNanos.reset();
+            maxAcquireNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.studentmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/connectionpool}: the pool's current state (including threads waiting for a
+ * connection), which paths hold connections longest, and the slowest individual holds. DELETE
+ * clears the summaries. Teachers only, see SecurityConfig.
+ */
+@Component
+@Endpoint(id = "connectionpool")
+public class ConnectionPoolEndpoint {
+
+    private final DataSource dataSource;
+    private final ConnectionHoldTracker tracker;
+
+    public ConnectionPoolEndpoint(DataSource dataSource, ConnectionHoldTracker tracker) {
+        this.dataSource = dataSource;
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public ConnectionPoolReport report() {
+        return new ConnectionPoolReport(pool(), tracker.pathSummaries(), tracker.slowestHolds());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        tracker.reset();
+    }
+
+    private Pool pool() {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return null;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return null;
+        }
+        return new Pool(hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(), Duration.ofMillis(hikari.getConnectionTimeout()),
+                Duration.ofMillis(hikari.getLeakDetectionThreshold()));
+    }
+
+    public record ConnectionPoolReport(Pool pool, List<ConnectionHoldTracker.PathSummary> paths,
+                                       List<ConnectionHoldTracker.SlowHold> slowestHolders) {
+    }
+
+    public record Pool(String name, int maximumPoolSize, int minimumIdle, int active, int idle, int total,
+                       int threadsAwaitingConnection, Duration connectionTimeout, Duration leakDetectionThreshold) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.studentmanagement.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/**
+ * Times every {@link #getConnection()}: the wait for the pool, and how long the caller keeps the
+ * connection until {@code close()} hands it back. The connection is a JDK proxy that only
+ * intercepts {@code close()}; {@code unwrap} still reaches the driver's connection, and Spring
+ * Boot's pool metrics and health check unwrap this data source to the pool underneath.
+ */
+class HoldTrackingDataSource extends DelegatingDataSource {
+
+    private final ConnectionHoldTracker tracker;
+
+    HoldTrackingDataSource(DataSource targetDataSource, ConnectionHoldTracker tracker) {
+        super(targetDataSource);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!tracker.isEnabled()) {
+            return super.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        return track(connection, start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!tracker.isEnabled()) {
+            return super.getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        return track(connection, start);
+    }
+
+    private Connection track(Connection connection, long start) {
+        long acquired = System.nanoTime();
+        Instant acquiredAt = Instant.now();
+        String thread = Thread.currentThread().getName();
+        tracker.recordAcquire(tracker.currentPath(), acquired - start);
+
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0 && !closed[0]) {
+                        closed[0] = true;
+                        // Labelled at close: by then the request has usually been matched to a route
+                        tracker.recordHold(tracker.currentPath(), thread, acquiredAt, System.nanoTime() - acquired);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.studentmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchEnrollmentDto {
+
+    @NotEmpty(message = "At least one course is required")
+    @Size(max = 20, message = "At most 20 courses can be requested at once")
+    private List<Long> courseIds;
+}
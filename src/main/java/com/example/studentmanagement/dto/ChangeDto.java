@@ -0,0 +1,27 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of the change feed. id is the entity's key: the numeric id, or
+// "studentId:courseId:term" for an enrollment. Only the latest change of a row is reported
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDto {
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    // student, teacher, course, department or enrollment
+    private String entity;
+
+    private String id;
+
+    private Operation op;
+
+    private Long version;
+}
@@ -0,0 +1,21 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+
+    private List<ChangeDto> changes;
+
+    // Pass as ?since= on the next call
+    private String next;
+
+    // More changes are already available; poll again right away
+    private boolean hasMore;
+}
@@ -0,0 +1,25 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Rank by GPA among the students of the same department who have one; equal GPAs share a rank.
+// rank is null for a student without a GPA or a department
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassRankDto {
+
+    private Long studentId;
+
+    private Long departmentId;
+
+    private BigDecimal gpa;
+
+    private Integer rank;
+
+    private long classSize;
+}
@@ -21,4 +21,7 @@ public class CourseDto {
     private Integer credits;
 
     private Long departmentId;
+
+    // Optional optimistic-lock check on update; the If-Match header takes precedence
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package com.example.studentmanagement.dto;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+public class CourseMeetingDto {
+
+    private DayOfWeek dayOfWeek;
+
+    // "09:00" or "09:00:00"
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private String location;
+}
@@ -0,0 +1,20 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// A course's direct prerequisites and everything they in turn require, as course ids
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePrerequisitesDto {
+
+    private Long courseId;
+
+    private List<Long> prerequisiteIds;
+
+    private List<Long> allPrerequisiteIds;
+}
@@ -0,0 +1,43 @@
+package com.example.studentmanagement.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+// Written by the deleting thread only and read by status requests, hence volatile
+@Data
+public class DepartmentDeletionProgress {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final Long departmentId;
+
+    private final String departmentName;
+
+    private final Instant startedAt = Instant.now();
+
+    private volatile Status status = Status.RUNNING;
+
+    private volatile long coursesDeleted;
+
+    private volatile long studentsDeleted;
+
+    // student_courses rows, counted once whether removed with the course or with the student
+    private volatile long enrollmentsDeleted;
+
+    private volatile Instant finishedAt;
+
+    private volatile String error;
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    // finishedAt (and the error) are written before the status, so whoever sees a finished status
+    // also sees when it finished
+    public void finish(Status status, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+}
@@ -10,4 +10,7 @@ public class DepartmentDto {
     private String name;
 
     private String description;
+
+    // Optional optimistic-lock check on update; the If-Match header takes precedence
+    private Long version;
 }
@@ -0,0 +1,26 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Graded enrollments of a course per letter, A first; term is null when all terms are counted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeDistributionDto {
+
+    private Long courseId;
+
+    private String term;
+
+    private long graded;
+
+    // Mean grade points of the graded enrollments, null when there are none
+    private BigDecimal averagePoints;
+
+    private Map<String, Long> counts;
+}
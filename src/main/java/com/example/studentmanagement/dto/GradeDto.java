@@ -0,0 +1,18 @@
+package com.example.studentmanagement.dto;
+
+import com.example.studentmanagement.entity.Grade;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class GradeDto {
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    // e.g. 2026-FALL; the current term when left out
+    private String term;
+
+    // The letter, e.g. "B+"; null clears the grade
+    private Grade grade;
+}
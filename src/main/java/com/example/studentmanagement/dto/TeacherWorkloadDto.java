@@ -0,0 +1,26 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Built by Spring Data from the columns of TeacherRepository.findWorkload through the all-args
+// constructor. Keep it a class: an interface projection would be a JDK proxy in the native image
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeacherWorkloadDto {
+
+    private Long teacherId;
+
+    private String fullName;
+
+    private String employeeId;
+
+    private Long courseCount;
+
+    private Long totalCredits;
+
+    // Enrollments summed over the teacher's courses; a student in two of them counts twice
+    private Long enrolledStudents;
+}
@@ -0,0 +1,29 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// One meeting in a student's weekly timetable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimetableEntry {
+
+    private Long courseId;
+
+    private String courseCode;
+
+    private String courseName;
+
+    private DayOfWeek dayOfWeek;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private String location;
+}
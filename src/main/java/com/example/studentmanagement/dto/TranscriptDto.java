@@ -0,0 +1,27 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// The totals come from GradeTotals as stored; the entries are the enrollments, oldest term first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptDto {
+
+    private Long studentId;
+
+    private int gradedCourses;
+
+    private int attemptedCredits;
+
+    private int earnedCredits;
+
+    private BigDecimal gpa;
+
+    private List<TranscriptEntry> entries;
+}
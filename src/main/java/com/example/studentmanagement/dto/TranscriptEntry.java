@@ -0,0 +1,25 @@
+package com.example.studentmanagement.dto;
+
+import com.example.studentmanagement.entity.Grade;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One enrollment on a transcript; grade is null while the course is in progress
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptEntry {
+
+    private String term;
+
+    private Long courseId;
+
+    private String courseCode;
+
+    private String courseName;
+
+    private Integer credits;
+
+    private Grade grade;
+}
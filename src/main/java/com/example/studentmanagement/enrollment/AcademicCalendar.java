@@ -0,0 +1,33 @@
+package com.example.studentmanagement.enrollment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+// Decides which term "current" enrollments belong to
+@Component
+public class AcademicCalendar {
+
+    private final EnrollmentProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public AcademicCalendar(EnrollmentProperties properties) {
+        this(properties, Clock.systemDefaultZone());
+    }
+
+    AcademicCalendar(EnrollmentProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public AcademicTerm currentTerm() {
+        if (StringUtils.hasText(properties.getCurrentTerm())) {
+            return AcademicTerm.parse(properties.getCurrentTerm());
+        }
+        return AcademicTerm.of(LocalDate.now(clock));
+    }
+}
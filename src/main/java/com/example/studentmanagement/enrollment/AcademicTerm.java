@@ -0,0 +1,86 @@
+package com.example.studentmanagement.enrollment;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+
+// An academic term such as 2026-FALL. The code is what is stored in student_courses.term and
+// names the Postgres partition holding that term's enrollments. Terms order chronologically, which
+// their codes do not (2026-FALL sorts before 2026-SPRING)
+public record AcademicTerm(int year, Season season) implements Comparable<AcademicTerm> {
+
+    public enum Season {
+        SPRING(Month.JANUARY),
+        SUMMER(Month.JUNE),
+        FALL(Month.AUGUST);
+
+        private final Month firstMonth;
+
+        Season(Month firstMonth) {
+            this.firstMonth = firstMonth;
+        }
+    }
+
+    public AcademicTerm {
+        if (year < 1000 || year > 9999) {
+            throw new IllegalArgumentException("Invalid academic year: " + year);
+        }
+        if (season == null) {
+            throw new IllegalArgumentException("Season is required");
+        }
+    }
+
+    public static AcademicTerm of(LocalDate date) {
+        Season current = Season.SPRING;
+        for (Season season : Season.values()) {
+            if (date.getMonth().compareTo(season.firstMonth) >= 0) {
+                current = season;
+            }
+        }
+        return new AcademicTerm(date.getYear(), current);
+    }
+
+    // Accepts the format produced by code(), e.g. 2026-FALL
+    public static AcademicTerm parse(String code) {
+        String[] parts = code.trim().split("-");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid academic term: " + code);
+        }
+        try {
+            return new AcademicTerm(Integer.parseInt(parts[0]),
+                    Season.valueOf(parts[1].toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid academic term: " + code, e);
+        }
+    }
+
+    public AcademicTerm next() {
+        Season[] seasons = Season.values();
+        return season.ordinal() == seasons.length - 1
+                ? new AcademicTerm(year + 1, seasons[0])
+                : new AcademicTerm(year, seasons[season.ordinal() + 1]);
+    }
+
+    public boolean isBefore(AcademicTerm other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(AcademicTerm other) {
+        return year != other.year ? Integer.compare(year, other.year) : season.compareTo(other.season);
+    }
+
+    public String code() {
+        return year + "-" + season.name();
+    }
+
+    // Only digits and a fixed enum name, so it is safe to splice into DDL
+    public String partitionName() {
+        return "student_courses_" + year + "_" + season.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return code();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.studentmanagement.enrollment;
+
+import com.example.studentmanagement.entity.EnrollmentEvent;
+
+import java.time.Instant;
+
+// Published by StudentService inside the enrolling transaction; EnrollmentEventLog picks it up
+// once that transaction has committed
+public record EnrollmentChanged(Long studentId, Long courseId, String term, EnrollmentEvent.Type type,
+                                Instant occurredAt, String actor) {
+}
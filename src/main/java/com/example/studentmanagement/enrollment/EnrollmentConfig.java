@@ -0,0 +1,16 @@
+package com.example.studentmanagement.enrollment;
+
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EnrollmentConfig {
+
+    // The partitioned student_courses table has to exist before Hibernate's schema update runs,
+    // otherwise it would create a plain table in its place
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor enrollmentPartitionsDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor(EnrollmentPartitions.class);
+    }
+}
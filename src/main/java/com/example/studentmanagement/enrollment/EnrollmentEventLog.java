@@ -0,0 +1,196 @@
+package com.example.studentmanagement.enrollment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends enrollment events to {@code enrollment_events} off the request path.
+ * <p>
+ * Committed {@link EnrollmentChanged} events go into a bounded in-memory queue, so the enrolling
+ * request only pays for an {@code offer()}. A single writer thread drains the queue and writes
+ * everything that piled up while the previous batch was being written, up to
+ * {@link EnrollmentProperties.Events#getBatchSize()} rows per batched {@code INSERT}: one row per
+ * statement when it is quiet, large batches under load. When the queue is full (the database is
+ * slow) the caller waits up to {@code offer-timeout} and then writes its own event, so a slow
+ * database delays events rather than dropping them. A database that stays down does lose events: a
+ * batch still failing after {@code WRITE_ATTEMPTS} tries, or a caller's own write that fails, is
+ * logged, counted in {@code enrollment.events.dropped} and given up on. Events still queued at
+ * shutdown are written before the context closes.
+ */
+@Slf4j
+@Component
+public class EnrollmentEventLog implements InitializingBean, DisposableBean {
+
+    static final String INSERT = """
+            INSERT INTO enrollment_events (student_id, course_id, term, event_type, occurred_at, actor)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<EnrollmentChanged> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Thread writer;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final Counter written;
+    private final Counter overflow;
+    private final Counter failed;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+
+    public EnrollmentEventLog(JdbcTemplate jdbcTemplate, EnrollmentProperties properties,
+                              MeterRegistry meterRegistry) {
+        EnrollmentProperties.Events events = properties.getEvents();
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(events.getQueueCapacity());
+        this.batchSize = events.getBatchSize();
+        this.offerTimeout = events.getOfferTimeout();
+        this.writer = Thread.ofPlatform().name("enrollment-events").daemon().unstarted(this::drainLoop);
+
+        Gauge.builder("enrollment.events.queued", queue, BlockingQueue::size)
+                .description("Enrollment events waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("enrollment.events.written")
+                .description("Enrollment events written to enrollment_events")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("enrollment.events.overflow")
+                .description("Enrollment events written by the caller because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("enrollment.events.failed")
+                .description("Enrollment events whose write attempt failed, retried or not")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("enrollment.events.dropped")
+                .description("Enrollment events given up on after failed writes; they are not in enrollment_events")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        writer.start();
+    }
+
+    // After commit only: a rolled back enrollment never happened. fallbackExecution covers
+    // callers that run without a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChanged event) {
+        append(event);
+    }
+
+    public void append(EnrollmentChanged event) {
+        try {
+            if (queue.offer(event) || queue.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                enqueued.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflow.increment();
+        try {
+            write(List.of(event));
+        } catch (RuntimeException e) {
+            // The enrollment itself is committed; failing the request now would only confuse the caller
+            failed.increment();
+            dropped.increment();
+            log.error("Could not write enrollment event {}", event, e);
+        }
+    }
+
+    // Waits until every event queued before the call has been written (or given up on)
+    public void flush(Duration timeout) {
+        long target = enqueued.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (drained.get() < target) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Enrollment events not flushed within " + timeout);
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        if (!queue.isEmpty()) {
+            log.warn("{} enrollment events were not written before shutdown", queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<EnrollmentChanged> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EnrollmentChanged first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                drained.addAndGet(batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithRetry(List<EnrollmentChanged> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                if (attempt == WRITE_ATTEMPTS) {
+                    dropped.increment(batch.size());
+                    log.error("Dropping {} enrollment events after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Writing {} enrollment events failed, retrying", batch.size(), e);
+                Thread.sleep(RETRY_BACKOFF.toMillis() * attempt);
+            }
+        }
+    }
+
+    private void write(List<EnrollmentChanged> batch) {
+        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, event) -> {
+            ps.setLong(1, event.studentId());
+            ps.setLong(2, event.courseId());
+            ps.setString(3, event.term());
+            ps.setString(4, event.type().name());
+            ps.setTimestamp(5, Timestamp.from(event.occurredAt()));
+            ps.setString(6, event.actor());
+        });
+        written.increment(batch.size());
+    }
+}
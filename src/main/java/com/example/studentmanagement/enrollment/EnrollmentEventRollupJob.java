@@ -0,0 +1,143 @@
+package com.example.studentmanagement.enrollment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps {@code enrollment_events} small by rolling it up and pruning it.
+ * <p>
+ * Every night the events of each finished day not yet rolled up are counted per course and type
+ * into {@code enrollment_event_rollups}, one day per transaction. Days are rolled up with a lag of
+ * {@link #ROLLUP_LAG_DAYS} so events still in the writer's queue at midnight are included. Raw events
+ * older than the retention period, and already rolled up, are then deleted in chunks. The live
+ * enrollment path never reads either table.
+ * <p>
+ * Every replica runs the job. A day is only inserted while it has no rollup rows, and a replica that
+ * still loses the race on {@code uk_enrollment_event_rollups} skips that day. The prune runs even
+ * when the rollup fails, and only ever deletes days that have rollup rows.
+ */
+@Slf4j
+@Component
+public class EnrollmentEventRollupJob {
+
+    static final int ROLLUP_LAG_DAYS = 2;
+
+    private static final String ROLL_UP_DAY = """
+            INSERT INTO enrollment_event_rollups (course_id, event_day, event_type, events)
+            SELECT course_id, :day, event_type, COUNT(*) FROM enrollment_events
+            WHERE occurred_at >= :start AND occurred_at < :end
+              AND NOT EXISTS (SELECT 1 FROM enrollment_event_rollups WHERE event_day = :day)
+            GROUP BY course_id, event_type
+            """;
+
+    private static final String PRUNE_CHUNK = """
+            DELETE FROM enrollment_events WHERE id IN (
+                SELECT id FROM enrollment_events WHERE occurred_at < :cutoff ORDER BY id LIMIT :limit)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EnrollmentProperties.Events properties;
+    private final Clock clock;
+
+    @Autowired
+    public EnrollmentEventRollupJob(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                    EnrollmentProperties properties) {
+        this(jdbcTemplate, transactionTemplate, properties, Clock.systemUTC());
+    }
+
+    EnrollmentEventRollupJob(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             EnrollmentProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getEvents();
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "0 30 2 * * *", zone = "UTC")
+    public void rollUpAndPrune() {
+        if (!properties.isRollupEnabled()) {
+            return;
+        }
+        LocalDate lastDay = LocalDate.now(clock).minusDays(ROLLUP_LAG_DAYS);
+        int days = 0;
+        try {
+            days = rollUpThrough(lastDay);
+        } catch (RuntimeException e) {
+            log.error("Rolling up enrollment events failed; pruning what is already rolled up", e);
+        }
+        // Raw events are only deleted once their day is in the rollups, whoever rolled it up
+        LocalDate lastRolledUp = lastRolledUpDay();
+        if (lastRolledUp == null) {
+            return;
+        }
+        Instant retentionCutoff = clock.instant().minus(properties.getRetention());
+        Instant rolledUpCutoff = lastRolledUp.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        int pruned = pruneBefore(retentionCutoff.isBefore(rolledUpCutoff) ? retentionCutoff : rolledUpCutoff);
+        if (days > 0 || pruned > 0) {
+            log.info("Rolled up {} days of enrollment events and pruned {} events", days, pruned);
+        }
+    }
+
+    // Rolls up every day after the last rolled-up one, up to and including lastDay; returns the
+    // number of days processed. Days another replica rolled up in the meantime are skipped
+    public int rollUpThrough(LocalDate lastDay) {
+        LocalDate day = firstDayToRollUp();
+        int days = 0;
+        for (; day != null && !day.isAfter(lastDay); day = day.plusDays(1)) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("day", Date.valueOf(day))
+                    .addValue("start", Timestamp.from(day.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                    .addValue("end", Timestamp.from(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(ROLL_UP_DAY, params));
+                days++;
+            } catch (DuplicateKeyException e) {
+                // Both replicas saw the day without rollups; the other one committed first
+                log.debug("Enrollment events of {} were rolled up by another instance", day);
+            }
+        }
+        return days;
+    }
+
+    public int pruneBefore(Instant cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", properties.getBatchSize());
+        int total = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> jdbcTemplate.update(PRUNE_CHUNK, params));
+            total += chunk;
+        } while (chunk == properties.getBatchSize());
+        return total;
+    }
+
+    private LocalDate firstDayToRollUp() {
+        LocalDate lastRolledUp = lastRolledUpDay();
+        if (lastRolledUp != null) {
+            return lastRolledUp.plusDays(1);
+        }
+        Timestamp oldest = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MIN(occurred_at) FROM enrollment_events", Timestamp.class);
+        return oldest == null ? null : LocalDate.ofInstant(oldest.toInstant(), ZoneOffset.UTC);
+    }
+
+    private LocalDate lastRolledUpDay() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MAX(event_day) FROM enrollment_event_rollups", LocalDate.class);
+    }
+}
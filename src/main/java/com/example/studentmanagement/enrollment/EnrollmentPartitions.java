@@ -0,0 +1,161 @@
+package com.example.studentmanagement.enrollment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps {@code student_courses} partitioned by academic term on PostgreSQL.
+ * <p>
+ * The table is {@code PARTITION BY LIST (term)} with one partition per term, so queries that filter
+ * on the current term are pruned to a single partition and past terms can be detached, archived or
+ * dropped as a whole without touching the live one. This bean runs before the EntityManagerFactory
+ * (see {@link EnrollmentConfig}): on a fresh database it creates the partitioned table before
+ * Hibernate's schema update looks for it, and a pre-term, unpartitioned {@code student_courses} is
+ * converted in place, its rows becoming enrollments of the current term. The partitions for the
+ * current and the next term are created at startup and checked again every night, so enrollment
+ * never runs into a missing partition at a term boundary.
+ * <p>
+ * On other databases (H2 in tests) this is a no-op and Hibernate creates a plain table from
+ * {@link com.example.studentmanagement.entity.Enrollment}.
+ */
+@Slf4j
+@Component
+public class EnrollmentPartitions implements InitializingBean {
+
+    private static final String CREATE_PARTITIONED_TABLE = """
+            CREATE TABLE student_courses (
+                student_id BIGINT NOT NULL,
+                course_id BIGINT NOT NULL,
+                term VARCHAR(16) NOT NULL,
+                enrolled_at TIMESTAMP(6) WITH TIME ZONE,
+                change_version BIGINT,
+                grade VARCHAR(7),
+                graded_credits INTEGER,
+                graded_at TIMESTAMP(6) WITH TIME ZONE,
+                CONSTRAINT pk_student_courses_term PRIMARY KEY (student_id, course_id, term)
+            ) PARTITION BY LIST (term)
+            """;
+
+    // The primary key already serves lookups by student; this one serves per-course counts and
+    // deletes. Declared here rather than on the entity so Hibernate's update never tries to
+    // recreate it on the partitioned table
+    private static final String CREATE_COURSE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_student_courses_course ON student_courses (course_id)";
+
+    // For the change feed. The column is added here too because this runs before Hibernate's
+    // schema update would add it to a table created by an earlier version
+    private static final String ADD_CHANGE_VERSION =
+            "ALTER TABLE student_courses ADD COLUMN IF NOT EXISTS change_version BIGINT";
+
+    // Grades, added to tables created before grading existed
+    private static final String ADD_GRADE_COLUMNS = """
+            ALTER TABLE student_courses
+                ADD COLUMN IF NOT EXISTS grade VARCHAR(7),
+                ADD COLUMN IF NOT EXISTS graded_credits INTEGER,
+                ADD COLUMN IF NOT EXISTS graded_at TIMESTAMP(6) WITH TIME ZONE
+            """;
+
+    private static final String CREATE_CHANGE_VERSION_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_student_courses_change_version ON student_courses (change_version)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AcademicCalendar academicCalendar;
+    private final EnrollmentProperties properties;
+
+    private volatile boolean partitioned;
+
+    public EnrollmentPartitions(DataSource dataSource, AcademicCalendar academicCalendar,
+                                EnrollmentProperties properties) {
+        // Not the auto-configured JdbcTemplate: this bean is created before the JPA infrastructure
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.academicCalendar = academicCalendar;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isManagePartitions()) {
+            return;
+        }
+        String database = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.debug("Not partitioning student_courses on {}", database);
+            return;
+        }
+        partitioned = true;
+        ensurePartitions();
+    }
+
+    // Nightly, so the next term's partition exists long before the first enrollment for it
+    @Scheduled(cron = "0 15 3 * * *")
+    public void ensurePartitions() {
+        if (!partitioned) {
+            return;
+        }
+        AcademicTerm current = academicCalendar.currentTerm();
+        jdbcTemplate.execute((Connection connection) -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Replicas starting together take turns; the table kind is read under the lock
+                statement.execute("SELECT pg_advisory_xact_lock(hashtext('student_courses'))");
+                String kind = tableKind(statement);
+                if (kind == null) {
+                    log.info("Creating student_courses partitioned by term");
+                    statement.execute(CREATE_PARTITIONED_TABLE);
+                } else if ("r".equals(kind)) {
+                    convertUnpartitionedTable(statement, current);
+                }
+                statement.execute(CREATE_COURSE_INDEX);
+                statement.execute(ADD_CHANGE_VERSION);
+                statement.execute(ADD_GRADE_COLUMNS);
+                statement.execute(CREATE_CHANGE_VERSION_INDEX);
+                statement.execute(createPartition(current));
+                statement.execute(createPartition(current.next()));
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private void convertUnpartitionedTable(Statement statement, AcademicTerm current) throws SQLException {
+        log.info("Converting student_courses to a partitioned table, existing rows go to {}", current);
+        statement.execute("ALTER TABLE student_courses RENAME TO student_courses_unpartitioned");
+        statement.execute(CREATE_PARTITIONED_TABLE);
+        statement.execute(createPartition(current));
+        int rows = statement.executeUpdate("""
+                INSERT INTO student_courses (student_id, course_id, term, enrolled_at)
+                SELECT student_id, course_id, '%s', now() FROM student_courses_unpartitioned
+                """.formatted(current.code()));
+        statement.execute("DROP TABLE student_courses_unpartitioned");
+        log.info("Moved {} enrollments into {}", rows, current.partitionName());
+    }
+
+    // 'p' partitioned, 'r' plain table, null when it does not exist yet
+    private String tableKind(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT relkind FROM pg_class WHERE oid = to_regclass('student_courses')")) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private String createPartition(AcademicTerm term) {
+        return "CREATE TABLE IF NOT EXISTS %s PARTITION OF student_courses FOR VALUES IN ('%s')"
+                .formatted(term.partitionName(), term.code());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.studentmanagement.enrollment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.enrollment")
+public class EnrollmentProperties {
+
+    // Pins the current term (e.g. 2026-FALL); empty means derive it from today's date
+    private String currentTerm;
+
+    // Create and maintain the per-term partitions of student_courses on PostgreSQL
+    private boolean managePartitions = true;
+
+    private Events events = new Events();
+
+    @Data
+    public static class Events {
+
+        // Events waiting to be written; when full, the caller writes its event itself
+        private int queueCapacity = 10_000;
+
+        // Rows per batched INSERT
+        private int batchSize = 500;
+
+        // How long the writer waits for a batch to fill before writing what it has
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        // How long a caller waits for room in a full queue before writing synchronously
+        private Duration offerTimeout = Duration.ofMillis(50);
+
+        // Raw events older than this are removed once their days are rolled up
+        private Duration retention = Duration.ofDays(90);
+
+        private boolean rollupEnabled = true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Snapshot of a soft-deleted course written by ArchivalJob, see ArchivedStudent
+@Entity
+@Table(name = "courses_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedCourse {
+
+    @Id
+    private Long id;
+
+    private String courseCode;
+
+    private String courseName;
+
+    @Column(length = 1000)
+    private String description;
+
+    private Integer credits;
+
+    private Long departmentId;
+
+    private Long teacherId;
+
+    private Instant deletedAt;
+
+    private Instant archivedAt;
+}
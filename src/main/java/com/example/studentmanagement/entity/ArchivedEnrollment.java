@@ -0,0 +1,38 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// A student_courses row removed together with an archived student or course
+@Entity
+@Table(name = "student_courses_archive", indexes = {
+        @Index(name = "idx_student_courses_archive_student", columnList = "student_id"),
+        @Index(name = "idx_student_courses_archive_course", columnList = "course_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedEnrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long studentId;
+
+    private Long courseId;
+
+    @Column(length = 16)
+    private String term;
+
+    // Kept so a course's archival does not take the grades out of the students' transcripts
+    @Enumerated(EnumType.STRING)
+    @Column(length = 7)
+    private Grade grade;
+
+    private Integer gradedCredits;
+
+    private Instant archivedAt;
+}
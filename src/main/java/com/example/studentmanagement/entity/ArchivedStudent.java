@@ -0,0 +1,35 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Snapshot of a soft-deleted student written by ArchivalJob; keeps the original id and
+// references as plain values so archived rows outlive their department
+@Entity
+@Table(name = "students_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedStudent {
+
+    @Id
+    private Long id;
+
+    private String username;
+
+    private String email;
+
+    private String fullName;
+
+    private String studentId;
+
+    private String phoneNumber;
+
+    private Long departmentId;
+
+    private Instant deletedAt;
+
+    private Instant archivedAt;
+}
@@ -0,0 +1,23 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row (id 1): the highest change version handed out, and the version up to which tombstones
+// have been pruned. Locked by ChangeVersionStamper for every stamping run
+@Entity
+@Table(name = "change_feed_state")
+@Data
+@NoArgsConstructor
+public class ChangeFeedState {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long head;
+
+    @Column(nullable = false)
+    private Long prunedThrough;
+}
@@ -0,0 +1,32 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// A hard-deleted row, reported by the change feed as a DELETE. Written by ChangeTombstones in
+// the deleting transaction, versioned by ChangeVersionStamper and pruned after the retention period
+@Entity
+@Table(name = "change_tombstones", indexes = @Index(name = "idx_change_tombstones_change_version",
+        columnList = "change_version"))
+@Data
+@NoArgsConstructor
+public class ChangeTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String entity;
+
+    @Column(nullable = false, length = 64)
+    private String entityKey;
+
+    private Long changeVersion;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -1,21 +1,37 @@
 package com.example.studentmanagement.entity;
 
+import com.example.studentmanagement.changes.ChangeTracked;
+import com.example.studentmanagement.changes.ChangeTrackingListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.Instant;
 
+// Soft delete, optimistic locking and dynamic updates work the same way as for User
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_courses_change_version", columnList = "change_version"),
+        // PostgreSQL does not index foreign keys by itself: without these, a teacher's courses and a
+        // department's deletion chunks are sequential scans of the catalog
+        @Index(name = "idx_courses_teacher_id", columnList = "teacher_id"),
+        @Index(name = "idx_courses_department_id", columnList = "department_id")
+})
+@EntityListeners(ChangeTrackingListener.class)
+@SQLRestriction("deleted_at IS NULL")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Course {
+public class Course implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,8 +60,16 @@ public class Course {
     @JsonIgnoreProperties({"courses", "password"})
     private Teacher teacher;
 
-    // Many-to-Many relationship with Students
     @JsonIgnore
-    @ManyToMany(mappedBy = "courses")
-    private Set<Student> students = new HashSet<>();
+    private Instant deletedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Position in the change feed, NULL until ChangeVersionStamper numbers the latest change
+    @ColumnTransformer(write = ChangeTracked.WRITE_NULL)
+    @JsonIgnore
+    private Long changeVersion;
 }
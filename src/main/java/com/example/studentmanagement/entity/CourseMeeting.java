@@ -0,0 +1,51 @@
+package com.example.studentmanagement.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// A weekly meeting of a course (one section per course row): lectures, labs and tutorials each
+// get their own row. Replaced as a whole through PUT /api/courses/{id}/meetings
+@Entity
+@Table(name = "course_meetings", indexes = @Index(name = "idx_course_meetings_course_id", columnList = "course_id"))
+@Data
+@NoArgsConstructor
+public class CourseMeeting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 9)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    private String location;
+
+    // Read-only; declares the foreign key with ON DELETE CASCADE, so the set-based course deletes
+    // (department deletion, archival) take the meetings with them
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+}
@@ -0,0 +1,54 @@
+package com.example.studentmanagement.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// An edge of the prerequisite graph: courseId can only be taken once prerequisiteId is completed.
+// Rows are only inserted and deleted, never updated; PrerequisiteIndex relies on that
+@Entity
+@Table(name = "course_prerequisites",
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_prerequisites", columnNames = {"course_id", "prerequisite_id"}),
+        indexes = @Index(name = "idx_course_prerequisites_prerequisite_id", columnList = "prerequisite_id"))
+@Data
+@NoArgsConstructor
+public class CoursePrerequisite {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "prerequisite_id", nullable = false)
+    private Long prerequisiteId;
+
+    // Read-only; declare the foreign keys with ON DELETE CASCADE, so the set-based course deletes
+    // (department deletion, archival) take the edges on both ends with them
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "prerequisite_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course prerequisite;
+
+    public CoursePrerequisite(Long courseId, Long prerequisiteId) {
+        this.courseId = courseId;
+        this.prerequisiteId = prerequisiteId;
+    }
+}
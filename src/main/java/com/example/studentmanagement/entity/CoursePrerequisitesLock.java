@@ -0,0 +1,17 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row (id 1), locked by PrerequisiteService for every change to course_prerequisites, so the
+// cycle check and the write of concurrent changes run one after the other across replicas
+@Entity
+@Table(name = "course_prerequisites_lock")
+@Data
+@NoArgsConstructor
+public class CoursePrerequisitesLock {
+
+    @Id
+    private Integer id;
+}
@@ -1,20 +1,27 @@
 package com.example.studentmanagement.entity;
 
+import com.example.studentmanagement.changes.ChangeTracked;
+import com.example.studentmanagement.changes.ChangeTrackingListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "departments")
+@Table(name = "departments", indexes = @Index(name = "idx_departments_change_version", columnList = "change_version"))
+@EntityListeners(ChangeTrackingListener.class)
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Department {
+public class Department implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +33,17 @@ public class Department {
     @Column(length = 500)
     private String description;
 
+    // Optimistic lock, see User
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Position in the change feed, NULL until ChangeVersionStamper numbers the latest change
+    @ColumnTransformer(write = ChangeTracked.WRITE_NULL)
+    @JsonIgnore
+    private Long changeVersion;
+
     // One Department has Many Students (1:M relationship)
     @JsonIgnore
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -0,0 +1,73 @@
+package com.example.studentmanagement.entity;
+
+import com.example.studentmanagement.changes.ChangeTracked;
+import com.example.studentmanagement.changes.ChangeTrackingListener;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnTransformer;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// A student's enrollment in a course for one academic term. On PostgreSQL the table is partitioned
+// by term, see EnrollmentPartitions
+@Entity
+@Table(name = "student_courses")
+@EntityListeners(ChangeTrackingListener.class)
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@ToString(exclude = {"student", "course"})
+public class Enrollment implements Persistable<EnrollmentId>, ChangeTracked {
+
+    @EmbeddedId
+    private EnrollmentId id;
+
+    private Instant enrolledAt;
+
+    // Position in the change feed, assigned by ChangeVersionStamper. Cleared when a grade is
+    // written, the only update an enrollment gets
+    @ColumnTransformer(write = ChangeTracked.WRITE_NULL)
+    private Long changeVersion;
+
+    // Null until graded. The credits are the course's at grading time, so a later change to
+    // Course.credits does not shift GPAs already summed into GradeTotals
+    @Enumerated(EnumType.STRING)
+    @Column(length = 7)
+    private Grade grade;
+
+    private Integer gradedCredits;
+
+    private Instant gradedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", insertable = false, updatable = false)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", insertable = false, updatable = false)
+    private Course course;
+
+    // The id is assigned, so without this save() would merge, i.e. SELECT before every INSERT
+    @Transient
+    private boolean newEnrollment = true;
+
+    public Enrollment(EnrollmentId id, Instant enrolledAt) {
+        this.id = id;
+        this.enrolledAt = enrolledAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEnrollment;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newEnrollment = false;
+    }
+}
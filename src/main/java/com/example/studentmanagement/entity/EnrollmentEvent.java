@@ -0,0 +1,50 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One enrollment or drop, as it happened. The table is append-only: rows are written in batches by
+// EnrollmentEventLog and only ever deleted by EnrollmentEventRollupJob once rolled up
+@Entity
+@Table(name = "enrollment_events", indexes = {
+        @Index(name = "idx_enrollment_events_course_time", columnList = "course_id, occurred_at"),
+        @Index(name = "idx_enrollment_events_student_time", columnList = "student_id, occurred_at"),
+        @Index(name = "idx_enrollment_events_time", columnList = "occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentEvent {
+
+    public enum Type {
+        ENROLLED,
+        DROPPED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false, length = 16)
+    private String term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    // Username of whoever made the change; null for changes made outside a request
+    private String actor;
+}
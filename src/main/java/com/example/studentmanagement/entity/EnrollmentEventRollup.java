@@ -0,0 +1,34 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Number of enrollment events of one type for one course on one day (UTC), written by
+// EnrollmentEventRollupJob. Outlives the raw events it was computed from
+@Entity
+@Table(name = "enrollment_event_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_enrollment_event_rollups", columnNames = {"course_id", "event_day", "event_type"}))
+@Data
+@NoArgsConstructor
+public class EnrollmentEventRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long courseId;
+
+    @Column(name = "event_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private EnrollmentEvent.Type type;
+
+    @Column(nullable = false)
+    private Long events;
+}
@@ -0,0 +1,27 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// The term is part of the key: it is the partition key of student_courses on PostgreSQL, and a
+// student can take the same course again in a later term
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentId implements Serializable {
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "term", length = 16)
+    private String term;
+}
@@ -0,0 +1,54 @@
+package com.example.studentmanagement.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+
+// Letter grades with their grade points on the 4.0 scale. Stored by name in student_courses.grade,
+// written and read as the letter ("B+") in JSON
+public enum Grade {
+    A("A", 40),
+    A_MINUS("A-", 37),
+    B_PLUS("B+", 33),
+    B("B", 30),
+    B_MINUS("B-", 27),
+    C_PLUS("C+", 23),
+    C("C", 20),
+    C_MINUS("C-", 17),
+    D_PLUS("D+", 13),
+    D("D", 10),
+    F("F", 0);
+
+    private final String letter;
+    private final BigDecimal points;
+
+    Grade(String letter, int tenths) {
+        this.letter = letter;
+        this.points = BigDecimal.valueOf(tenths, 1);
+    }
+
+    @JsonValue
+    public String getLetter() {
+        return letter;
+    }
+
+    public BigDecimal getPoints() {
+        return points;
+    }
+
+    // Credits of a failed course count towards the GPA but are not earned
+    public boolean isPassing() {
+        return this != F;
+    }
+
+    @JsonCreator
+    public static Grade fromLetter(String letter) {
+        for (Grade grade : values()) {
+            if (grade.letter.equalsIgnoreCase(letter.trim())) {
+                return grade;
+            }
+        }
+        throw new IllegalArgumentException("Invalid grade: " + letter);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.studentmanagement.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// A student's running grade totals, kept up to date by GradeService in the transaction that writes
+// each grade, so transcripts and class ranks never sum up the enrollment history. Every graded
+// enrollment counts, retakes included
+@Entity
+@Table(name = "student_grade_totals", indexes = @Index(name = "idx_student_grade_totals_gpa", columnList = "gpa"))
+@Data
+@NoArgsConstructor
+public class GradeTotals {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(nullable = false)
+    private int gradedCourses;
+
+    // Credits of every graded course; the GPA's denominator
+    @Column(nullable = false)
+    private int attemptedCredits;
+
+    // Credits of the passed courses
+    @Column(nullable = false)
+    private int earnedCredits;
+
+    // Sum of grade points times credits
+    @Column(nullable = false, precision = 12, scale = 1)
+    private BigDecimal qualityPoints = BigDecimal.ZERO;
+
+    // Null until a graded course carries credits
+    @Column(precision = 4, scale = 3)
+    private BigDecimal gpa;
+
+    private Instant updatedAt;
+
+    // Read-only; declares the foreign key with ON DELETE CASCADE, so purging a student (archival,
+    // department deletion) takes the totals with it
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    public GradeTotals(Long studentId) {
+        this.studentId = studentId;
+    }
+}
@@ -7,19 +7,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", uniqueConstraints =
+        @UniqueConstraint(name = "uk_students_student_id", columnNames = "student_id"),
+        indexes = @Index(name = "idx_students_department_id", columnList = "department_id"))
+@DynamicUpdate
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {"courses"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student extends User {
 
-    @Column(unique = true)
     private String studentId;  // Roll number or student ID
 
     private String phoneNumber;
@@ -30,13 +33,9 @@ public class Student extends User {
     @JsonIgnoreProperties({"students"})
     private Department department;
 
-    // Many-to-Many relationship with Courses (M:M)
-    @ManyToMany
-    @JoinTable(
-        name = "student_courses",
-        joinColumns = @JoinColumn(name = "student_id"),
-        inverseJoinColumns = @JoinColumn(name = "course_id")
-    )
+    // Courses of the current term. Enrollments are stored per term (see Enrollment), so this is not
+    // mapped; StudentService fills it from the current term's partition
+    @Transient
     @JsonIgnoreProperties({"students", "teacher"})
     private Set<Course> courses = new HashSet<>();
 }
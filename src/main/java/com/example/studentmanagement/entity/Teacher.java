@@ -6,19 +6,21 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "teachers")
+@Table(name = "teachers", uniqueConstraints =
+        @UniqueConstraint(name = "uk_teachers_employee_id", columnNames = "employee_id"))
+@DynamicUpdate
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {"courses"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Teacher extends User {
 
-    @Column(unique = true)
     private String employeeId;
 
     private String phoneNumber;
@@ -1,24 +1,45 @@
 package com.example.studentmanagement.entity;
 
+import com.example.studentmanagement.changes.ChangeTracked;
+import com.example.studentmanagement.changes.ChangeTrackingListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.Instant;
+
+// Soft-deleted users are invisible to every JPA query and association; native queries must
+// filter on deleted_at themselves. Rows are moved to the archive tables by ArchivalJob.
+// @DynamicUpdate: updates name only the changed columns, so concurrent edits of different fields
+// do not write back each other's stale values
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_users_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_users_change_version", columnList = "change_version")
+})
+@EntityListeners(ChangeTrackingListener.class)
+@SQLRestriction("deleted_at IS NULL")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Inheritance(strategy = InheritanceType.JOINED)
-public class User {
+public class User implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @JsonIgnore
@@ -34,4 +55,19 @@ public class User {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
+
+    @JsonIgnore
+    private Instant deletedAt;
+
+    // Optimistic lock, checked on every update and exposed as the ETag of the API responses.
+    // Rows that predate the column start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Position in the change feed, NULL until ChangeVersionStamper numbers the latest change
+    @ColumnTransformer(write = ChangeTracked.WRITE_NULL)
+    @JsonIgnore
+    private Long changeVersion;
 }
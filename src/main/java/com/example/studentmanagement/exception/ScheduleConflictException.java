@@ -0,0 +1,24 @@
+package com.example.studentmanagement.exception;
+
+import com.example.studentmanagement.schedule.ScheduleConflict;
+
+import java.util.List;
+
+/**
+ * Thrown when an enrollment request contains courses that meet at the same time as the student's
+ * other courses. Answered with 409 and the conflicts in {@code data}; nothing of the request is
+ * enrolled.
+ */
+public class ScheduleConflictException extends RuntimeException {
+
+    private final List<ScheduleConflict> conflicts;
+
+    public ScheduleConflictException(List<ScheduleConflict> conflicts) {
+        super("Schedule conflict: " + String.join("; ", conflicts.stream().map(ScheduleConflict::describe).toList()));
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<ScheduleConflict> getConflicts() {
+        return conflicts;
+    }
+}
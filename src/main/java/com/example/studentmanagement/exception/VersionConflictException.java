@@ -0,0 +1,24 @@
+package com.example.studentmanagement.exception;
+
+/**
+ * Thrown when an update names a version of the entity that is no longer current, either from
+ * an {@code If-Match} header or the {@code version} field of the body. Answered with 412 when
+ * the client sent {@code If-Match} and 409 otherwise.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Throws unless {@code expected} is null (the client did not ask for a check) or equal to
+     * {@code current}.
+     */
+    public static void check(String entity, Long id, Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new VersionConflictException(entity + " " + id + " was modified by another request (expected version "
+                    + expected + ", current " + current + ")");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.studentmanagement.export;
+
+public record ExportColumn(String name, Type type) {
+
+    public enum Type {
+        INT64,
+        STRING,
+        TIMESTAMP
+    }
+
+    static ExportColumn int64(String name) {
+        return new ExportColumn(name, Type.INT64);
+    }
+
+    static ExportColumn string(String name) {
+        return new ExportColumn(name, Type.STRING);
+    }
+
+    static ExportColumn timestamp(String name) {
+        return new ExportColumn(name, Type.TIMESTAMP);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.studentmanagement.export;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+
+// What /api/export/{entity} can stream. Every dataset is ordered by a numeric key so an interrupted
+// export resumes with afterId = the last key received; limit caps the number of keys per request
+public enum ExportDataset {
+
+    STUDENTS(List.of(
+            ExportColumn.int64("id"),
+            ExportColumn.string("username"),
+            ExportColumn.string("email"),
+            ExportColumn.string("full_name"),
+            ExportColumn.string("student_id"),
+            ExportColumn.string("phone_number"),
+            ExportColumn.int64("department_id"),
+            ExportColumn.string("department_name")), """
+            SELECT s.id, u.username, u.email, u.full_name, s.student_id, s.phone_number, d.id, d.name
+            FROM students s
+            JOIN users u ON u.id = s.id
+            LEFT JOIN departments d ON d.id = s.department_id
+            WHERE u.deleted_at IS NULL AND s.id > :afterId
+            ORDER BY s.id
+            """, false) {
+        @Override
+        Object[] read(ResultSet rs) throws SQLException {
+            return new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getString(6), nullableLong(rs, 7), rs.getString(8)};
+        }
+    },
+
+    COURSES(List.of(
+            ExportColumn.int64("id"),
+            ExportColumn.string("course_code"),
+            ExportColumn.string("course_name"),
+            ExportColumn.int64("credits"),
+            ExportColumn.int64("department_id"),
+            ExportColumn.string("department_name"),
+            ExportColumn.int64("teacher_id"),
+            ExportColumn.string("teacher_name")), """
+            SELECT c.id, c.course_code, c.course_name, c.credits, d.id, d.name, t.id, t.full_name
+            FROM courses c
+            LEFT JOIN departments d ON d.id = c.department_id
+            LEFT JOIN users t ON t.id = c.teacher_id
+            WHERE c.deleted_at IS NULL AND c.id > :afterId
+            ORDER BY c.id
+            """, false) {
+        @Override
+        Object[] read(ResultSet rs) throws SQLException {
+            return new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), nullableLong(rs, 4),
+                    nullableLong(rs, 5), rs.getString(6), nullableLong(rs, 7), rs.getString(8)};
+        }
+    },
+
+    // Keyed by student: a resumed export never splits one student's enrollments across requests.
+    // {term} and {limit} are replaced with the optional filters, see ExportService
+    ENROLLMENTS(List.of(
+            ExportColumn.int64("student_id"),
+            ExportColumn.int64("course_id"),
+            ExportColumn.string("term"),
+            ExportColumn.timestamp("enrolled_at")), """
+            SELECT sc.student_id, sc.course_id, sc.term, sc.enrolled_at
+            FROM student_courses sc
+            JOIN users u ON u.id = sc.student_id AND u.deleted_at IS NULL
+            JOIN courses c ON c.id = sc.course_id AND c.deleted_at IS NULL
+            WHERE sc.student_id > :afterId {term} {limit}
+            ORDER BY sc.student_id, sc.course_id, sc.term
+            """, true) {
+        @Override
+        Object[] read(ResultSet rs) throws SQLException {
+            OffsetDateTime enrolledAt = rs.getObject(4, OffsetDateTime.class);
+            return new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3),
+                    enrolledAt != null ? enrolledAt.toInstant() : null};
+        }
+    };
+
+    private final List<ExportColumn> columns;
+    private final String sql;
+    private final boolean termFiltered;
+
+    ExportDataset(List<ExportColumn> columns, String sql, boolean termFiltered) {
+        this.columns = columns;
+        this.sql = sql;
+        this.termFiltered = termFiltered;
+    }
+
+    public static ExportDataset parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export entity: " + value);
+        }
+    }
+
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+
+    public boolean isTermFiltered() {
+        return termFiltered;
+    }
+
+    public String getFileName(ExportFormat format) {
+        return name().toLowerCase(Locale.ROOT) + "." + format.getExtension();
+    }
+
+    // The statement for one request. The limit goes on the key, not on rows, for the same reason
+    // ENROLLMENTS is keyed by student
+    String sql(boolean withTerm, boolean withLimit) {
+        if (this != ENROLLMENTS) {
+            return withLimit ? sql + "LIMIT :limit\n" : sql;
+        }
+        return sql
+                .replace("{term}", withTerm ? "AND sc.term = :term" : "")
+                .replace("{limit}", withLimit ? """
+                        AND sc.student_id <= (SELECT MAX(k.student_id) FROM (
+                            SELECT DISTINCT student_id FROM student_courses
+                            WHERE student_id > :afterId%s ORDER BY student_id LIMIT :limit) k)"""
+                        .formatted(withTerm ? " AND term = :term" : "") : "");
+    }
+
+    abstract Object[] read(ResultSet rs) throws SQLException;
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.studentmanagement.export;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.function.Function;
+
+public enum ExportFormat {
+
+    CSV("text/csv", "csv", CsvExportWriter::new),
+    COLUMNAR(ColumnarExportWriter.MEDIA_TYPE, "smcol", ColumnarExportWriter::new);
+
+    private final String mediaType;
+    private final String extension;
+    private final Function<OutputStream, ExportSink> writerFactory;
+
+    ExportFormat(String mediaType, String extension, Function<OutputStream, ExportSink> writerFactory) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.writerFactory = writerFactory;
+    }
+
+    public static ExportFormat parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + value);
+        }
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportSink newWriter(OutputStream out) {
+        return writerFactory.apply(out);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.studentmanagement.export;
+
+// A validated export: afterId is the exclusive resume key (0 for a full export), limit and term
+// are optional
+public record ExportRequest(ExportDataset dataset, ExportFormat format, long afterId, Integer limit, String term) {
+
+    public String fileName() {
+        return dataset.getFileName(format);
+    }
+}
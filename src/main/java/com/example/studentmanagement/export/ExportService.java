@@ -0,0 +1,87 @@
+package com.example.studentmanagement.export;
+
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams an {@link ExportDataset} from a forward-only JDBC cursor into an {@link ExportSink}.
+ * <p>
+ * The query runs on its own {@link JdbcTemplate} with a fixed fetch size, inside a read-only
+ * transaction: pgjdbc only fetches in batches (instead of loading the whole result) when autocommit
+ * is off. Each row is written as soon as it is read, so memory stays flat whatever the export size.
+ * The connection is held for the whole download; clients that cannot finish in one go resume with
+ * {@code afterId}.
+ */
+@Service
+public class ExportService {
+
+    static final int FETCH_SIZE = 1000;
+    static final int MAX_LIMIT = 10_000_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Everything that can be rejected is rejected here, before the response is committed
+    public ExportRequest prepare(String entity, String format, Long afterId, Integer limit, String term) {
+        ExportDataset dataset = ExportDataset.parse(entity);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        if (afterId != null && afterId < 0) {
+            throw new RuntimeException("'afterId' must not be negative");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new RuntimeException("'limit' must be between 1 and " + MAX_LIMIT);
+        }
+        if (term != null && !dataset.isTermFiltered()) {
+            throw new RuntimeException("'term' is only supported for enrollments");
+        }
+        String termCode = term != null ? AcademicTerm.parse(term).code() : null;
+        return new ExportRequest(dataset, exportFormat, afterId != null ? afterId : 0L, limit, termCode);
+    }
+
+    // Returns the number of rows written
+    public long export(ExportRequest request, OutputStream out) throws IOException {
+        ExportSink sink = request.format().newWriter(out);
+        ExportDataset dataset = request.dataset();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", request.afterId())
+                .addValue("limit", request.limit())
+                .addValue("term", request.term());
+        String sql = dataset.sql(request.term() != null, request.limit() != null);
+
+        sink.start(dataset.getColumns());
+        long[] rows = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, params, rs -> {
+                try {
+                    sink.row(dataset.read(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; nothing more can be written
+            throw e.getCause();
+        }
+        sink.finish();
+        return rows[0];
+    }
+}
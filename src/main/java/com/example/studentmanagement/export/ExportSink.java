@@ -0,0 +1,15 @@
+package com.example.studentmanagement.export;
+
+import java.io.IOException;
+import java.util.List;
+
+// Receives an export row by row. Values are Long, String or Instant according to the column type,
+// or null. Implementations write straight to the response and keep at most a bounded buffer
+public interface ExportSink {
+
+    void start(List<ExportColumn> columns) throws IOException;
+
+    void row(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
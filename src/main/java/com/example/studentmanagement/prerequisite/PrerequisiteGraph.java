@@ -0,0 +1,171 @@
+package com.example.studentmanagement.prerequisite;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Course prerequisites with their transitive closure, both as bitsets indexed by course.
+ * <p>
+ * Every course that appears in an edge gets a dense index; {@code direct[i]} holds the courses that
+ * course {@code i} requires and {@code closure[i]} everything reachable from it. Checking a student
+ * against a course is then one bitset operation on the student's completed courses, and a cycle is
+ * detected by one bit test. Replacing a course's prerequisites recomputes the closure of that course
+ * and of the courses that (transitively) require it, nothing else. Courses that neither require nor
+ * are required by anything are not indexed at all.
+ * <p>
+ * Not thread-safe; {@link PrerequisiteIndex} guards it.
+ */
+public final class PrerequisiteGraph {
+
+    private final Map<Long, Integer> index = new HashMap<>();
+    private final List<Long> courseIds = new ArrayList<>();
+    private final List<BitSet> direct = new ArrayList<>();
+    private final List<BitSet> closure = new ArrayList<>();
+
+    // Builds the graph from (course, prerequisite) pairs. Edges are applied in order; one that would
+    // close a cycle is skipped and returned, so a bad row cannot make a course impossible to take
+    public static PrerequisiteGraph build(Collection<long[]> edges, List<long[]> rejected) {
+        Map<Long, Set<Long>> byCourse = new HashMap<>();
+        for (long[] edge : edges) {
+            byCourse.computeIfAbsent(edge[0], id -> new LinkedHashSet<>()).add(edge[1]);
+        }
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        for (Map.Entry<Long, Set<Long>> entry : byCourse.entrySet()) {
+            List<Long> accepted = new ArrayList<>();
+            for (Long prerequisiteId : entry.getValue()) {
+                if (graph.wouldCreateCycle(entry.getKey(), prerequisiteId)) {
+                    rejected.add(new long[]{entry.getKey(), prerequisiteId});
+                } else {
+                    accepted.add(prerequisiteId);
+                    graph.setPrerequisites(entry.getKey(), accepted);
+                }
+            }
+        }
+        return graph;
+    }
+
+    public boolean hasPrerequisites(Long courseId) {
+        Integer i = index.get(courseId);
+        return i != null && !direct.get(i).isEmpty();
+    }
+
+    public List<Long> prerequisitesOf(Long courseId) {
+        Integer i = index.get(courseId);
+        return i == null ? List.of() : toIds(direct.get(i));
+    }
+
+    // Everything that has to be taken before the course, directly or through other prerequisites
+    public List<Long> allPrerequisitesOf(Long courseId) {
+        Integer i = index.get(courseId);
+        return i == null ? List.of() : toIds(closure.get(i));
+    }
+
+    // The given courses as a bitset over this graph's index; courses the graph does not know are
+    // nobody's prerequisite and are left out
+    public BitSet toBits(Collection<Long> courseIds) {
+        BitSet bits = new BitSet(this.courseIds.size());
+        for (Long courseId : courseIds) {
+            Integer i = index.get(courseId);
+            if (i != null) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    public boolean isSatisfied(Long courseId, BitSet completed) {
+        Integer i = index.get(courseId);
+        if (i == null) {
+            return true;
+        }
+        BitSet missing = (BitSet) direct.get(i).clone();
+        missing.andNot(completed);
+        return missing.isEmpty();
+    }
+
+    // The direct prerequisites of the course that are not in completed
+    public List<Long> missing(Long courseId, BitSet completed) {
+        Integer i = index.get(courseId);
+        if (i == null) {
+            return List.of();
+        }
+        BitSet missing = (BitSet) direct.get(i).clone();
+        missing.andNot(completed);
+        return toIds(missing);
+    }
+
+    // True when courseId requiring prerequisiteId would make a course (transitively) require itself
+    public boolean wouldCreateCycle(Long courseId, Long prerequisiteId) {
+        if (courseId.equals(prerequisiteId)) {
+            return true;
+        }
+        Integer c = index.get(courseId);
+        Integer p = index.get(prerequisiteId);
+        return c != null && p != null && closure.get(p).get(c);
+    }
+
+    // Replaces the direct prerequisites of a course. The caller checks for cycles first
+    public void setPrerequisites(Long courseId, Collection<Long> prerequisiteIds) {
+        int c = indexOf(courseId);
+        for (Long prerequisiteId : prerequisiteIds) {
+            if (wouldCreateCycle(courseId, prerequisiteId)) {
+                throw new IllegalArgumentException("Course " + prerequisiteId + " already requires course " + courseId);
+            }
+        }
+        BitSet edges = new BitSet();
+        for (Long prerequisiteId : prerequisiteIds) {
+            edges.set(indexOf(prerequisiteId));
+        }
+        direct.set(c, edges);
+
+        // The courses whose closure contains c are exactly the ones affected. Each one's closure
+        // strictly contains the closure of any course it requires, so ordering by the size of the
+        // old closure recomputes every course after the courses it depends on
+        List<Integer> affected = new ArrayList<>();
+        affected.add(c);
+        for (int i = 0; i < closure.size(); i++) {
+            if (closure.get(i).get(c)) {
+                affected.add(i);
+            }
+        }
+        affected.sort(Comparator.comparingInt(i -> i == c ? -1 : closure.get(i).cardinality()));
+        for (int i : affected) {
+            BitSet reachable = new BitSet();
+            BitSet edgesOfI = direct.get(i);
+            for (int p = edgesOfI.nextSetBit(0); p >= 0; p = edgesOfI.nextSetBit(p + 1)) {
+                reachable.set(p);
+                reachable.or(closure.get(p));
+            }
+            closure.set(i, reachable);
+        }
+    }
+
+    public int size() {
+        return courseIds.size();
+    }
+
+    private int indexOf(Long courseId) {
+        return index.computeIfAbsent(courseId, id -> {
+            courseIds.add(id);
+            direct.add(new BitSet());
+            closure.add(new BitSet());
+            return courseIds.size() - 1;
+        });
+    }
+
+    private List<Long> toIds(BitSet bits) {
+        List<Long> ids = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            ids.add(courseIds.get(i));
+        }
+        ids.sort(null);
+        return ids;
+    }
+}
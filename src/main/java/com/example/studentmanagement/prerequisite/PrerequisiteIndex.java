@@ -0,0 +1,111 @@
+package com.example.studentmanagement.prerequisite;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * The application's {@link PrerequisiteGraph}, loaded from {@code course_prerequisites} on first
+ * use.
+ * <p>
+ * The table is tracked by its row count and highest id: edges are only ever inserted and deleted,
+ * so every change moves one of the two. A change made through {@code PrerequisiteService} is applied
+ * to the graph incrementally once its transaction has committed, provided the table then looks
+ * exactly as that change alone would leave it. Anything else (another instance, archival and
+ * department deletion removing courses through the foreign keys) is caught by the periodic check
+ * and rebuilds the graph. Writers do not wait for that: {@code PrerequisiteService} refreshes the
+ * graph under its lock before checking a change for cycles.
+ */
+@Slf4j
+@Component
+public class PrerequisiteIndex {
+
+    private static final String FINGERPRINT = "SELECT COUNT(*), COALESCE(MAX(id), 0) FROM course_prerequisites";
+    private static final String EDGES = "SELECT course_id, prerequisite_id FROM course_prerequisites ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Written under the write lock, and only by the synchronized methods below
+    private PrerequisiteGraph graph;
+    private Fingerprint fingerprint;
+
+    public PrerequisiteIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public <T> T read(Function<PrerequisiteGraph, T> reader) {
+        lock.readLock().lock();
+        try {
+            if (graph != null) {
+                return reader.apply(graph);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        refresh();
+        return read(reader);
+    }
+
+    // After commit only: a rolled back change never happened
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPrerequisitesChanged(PrerequisitesChanged event) {
+        Fingerprint current = currentFingerprint();
+        if (graph == null || !current.equals(fingerprint.after(event))) {
+            load(current);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            graph.setPrerequisites(event.courseId(), event.prerequisiteIds());
+            fingerprint = current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.prerequisites.refresh-interval:1m}",
+            initialDelayString = "${app.prerequisites.refresh-interval:1m}")
+    public synchronized void refresh() {
+        Fingerprint current = currentFingerprint();
+        if (graph == null || !current.equals(fingerprint)) {
+            load(current);
+        }
+    }
+
+    private void load(Fingerprint current) {
+        List<long[]> edges = jdbcTemplate.query(EDGES, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        List<long[]> rejected = new ArrayList<>();
+        PrerequisiteGraph loaded = PrerequisiteGraph.build(edges, rejected);
+        for (long[] edge : rejected) {
+            log.warn("Ignoring prerequisite {} of course {}: it would make the course require itself", edge[1], edge[0]);
+        }
+        lock.writeLock().lock();
+        try {
+            graph = loaded;
+            fingerprint = current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Fingerprint currentFingerprint() {
+        return jdbcTemplate.queryForObject(FINGERPRINT, (rs, rowNum) -> new Fingerprint(rs.getLong(1), rs.getLong(2)));
+    }
+
+    private record Fingerprint(long edges, long maxId) {
+
+        Fingerprint after(PrerequisitesChanged change) {
+            return new Fingerprint(edges - change.removedEdges() + change.prerequisiteIds().size(),
+                    change.prerequisiteIds().isEmpty() ? maxId : change.maxInsertedId());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.studentmanagement.prerequisite;
+
+import java.util.List;
+
+// Published by PrerequisiteService when it replaces a course's prerequisites; PrerequisiteIndex
+// applies it once the transaction has committed. removedEdges and maxInsertedId let the index
+// tell whether the table changed in any other way meanwhile
+public record PrerequisitesChanged(Long courseId, List<Long> prerequisiteIds, int removedEdges, long maxInsertedId) {
+}
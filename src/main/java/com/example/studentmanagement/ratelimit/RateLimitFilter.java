@@ -0,0 +1,106 @@
+package com.example.studentmanagement.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the limits of the matching {@link RateLimiter} route and answers 429 with Retry-After when exceeded.
+ * <p>
+ * Registered twice in the security chain: the {@link Scope#CLIENT} instance runs before authentication so
+ * password checks are throttled too, the {@link Scope#USER} instance runs after it to key on the username.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum Scope {
+        CLIENT,
+        USER
+    }
+
+    private final RateLimiter rateLimiter;
+    private final Scope scope;
+
+    public RateLimitFilter(RateLimiter rateLimiter, Scope scope) {
+        this.rateLimiter = rateLimiter;
+        this.scope = scope;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + scope;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.LimitedRoute route = rateLimiter.match(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (scope == Scope.USER) {
+            String username = authenticatedUsername();
+            if (route.perUser() != null && username != null) {
+                long retryAfter = rateLimiter.tryConsume(route, "user", username, route.perUser());
+                if (retryAfter > 0) {
+                    reject(response, retryAfter, "Too many requests, please retry later");
+                    return;
+                }
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (route.perClient() != null) {
+            long retryAfter = rateLimiter.tryConsume(route, "client", request.getRemoteAddr(), route.perClient());
+            if (retryAfter > 0) {
+                reject(response, retryAfter, "Too many requests, please retry later");
+                return;
+            }
+        }
+
+        // Shed instead of queueing indefinitely so overload degrades into fast 429s, not slow 200s
+        if (!route.tryEnter()) {
+            reject(response, route.retryAfterSeconds(), "Server is busy, please retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            route.exit();
+        }
+    }
+
+    private String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\",\"data\":null}");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.studentmanagement.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on tracked client/user buckets. Idle buckets expire on their own; past this
+    // size Caffeine evicts the least used ones, which resets their limits
+    private int maxTrackedKeys = 100_000;
+
+    // Routes are matched in order, the first matching route wins
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        private String name;
+
+        // Spring path pattern, e.g. /api/auth/register/**
+        private String pattern;
+
+        // HTTP methods this route applies to; empty means all methods
+        private List<String> methods = new ArrayList<>();
+
+        // Token bucket keyed by client IP
+        private Limit perClient;
+
+        // Token bucket keyed by authenticated username
+        private Limit perUser;
+
+        // Maximum requests in flight on this route; 0 disables the concurrency limiter
+        private int maxConcurrent;
+
+        // How long a request may wait for a concurrency permit before it is shed
+        private Duration queueTimeout = Duration.ZERO;
+
+        // Retry-After sent when a request is shed by the concurrency limiter
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Limit {
+
+        // Bucket size, i.e. the largest burst allowed
+        private int capacity;
+
+        // Time to refill a completely empty bucket
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
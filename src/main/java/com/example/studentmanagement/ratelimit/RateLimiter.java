@@ -0,0 +1,158 @@
+package com.example.studentmanagement.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the per-route token buckets and concurrency permits configured under {@code app.rate-limit}.
+ * <p>
+ * Buckets live in a Caffeine cache bounded by {@code max-tracked-keys}. A bucket expires once it has
+ * not been used for its refill period: it is full by then, so dropping it is indistinguishable from
+ * keeping it. Expiry and size eviction are amortized over the cache's reads and writes, so no request
+ * ever scans the tracked keys.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final List<LimitedRoute> routes;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> buckets;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.nanoClock = nanoClock;
+        this.routes = properties.getRoutes().stream().map(LimitedRoute::new).toList();
+        // Maintenance runs on the calling thread: it is cheap, and the tests see its effect at once
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfter(Expiry.accessing((String key, TokenBucket bucket) -> bucket.period()))
+                .ticker(nanoClock::getAsLong)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LimitedRoute match(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token from the bucket for the given key.
+     *
+     * @return 0 when the request may proceed, otherwise the Retry-After in whole seconds
+     */
+    public long tryConsume(LimitedRoute route, String scope, String key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(route.name() + '|' + scope + '|' + key,
+                k -> new TokenBucket(limit.getCapacity(), limit.getPeriod(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    int trackedKeys() {
+        buckets.cleanUp();
+        return (int) buckets.estimatedSize();
+    }
+
+    public static final class LimitedRoute {
+
+        private final String name;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        private final RateLimitProperties.Limit perClient;
+        private final RateLimitProperties.Limit perUser;
+        private final Semaphore permits;
+        private final Duration queueTimeout;
+        private final long retryAfterSeconds;
+
+        LimitedRoute(RateLimitProperties.Route route) {
+            this.name = route.getName() != null ? route.getName() : route.getPattern();
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPattern());
+            this.methods = route.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            this.perClient = route.getPerClient();
+            this.perUser = route.getPerUser();
+            this.permits = route.getMaxConcurrent() > 0 ? new Semaphore(route.getMaxConcurrent(), true) : null;
+            this.queueTimeout = route.getQueueTimeout();
+            this.retryAfterSeconds = Math.max(1, route.getRetryAfter().toSeconds());
+        }
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RateLimitProperties.Limit perClient() {
+            return perClient;
+        }
+
+        public RateLimitProperties.Limit perUser() {
+            return perUser;
+        }
+
+        public long retryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        /**
+         * Waits up to the configured queue timeout for an in-flight slot.
+         * Every successful call must be paired with {@link #exit()}.
+         */
+        public boolean tryEnter() {
+            if (permits == null) {
+                return true;
+            }
+            try {
+                return permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        public void exit() {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.studentmanagement.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously
+ * so that an empty bucket is full again after {@code period}.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final Duration period;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(long capacity, Duration period, long nowNanos) {
+        this.capacity = capacity;
+        this.period = period;
+        this.tokensPerNano = (double) capacity / period.toNanos();
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one becomes available
+     */
+    synchronized long tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - tokens) / tokensPerNano));
+    }
+
+    // Idle for this long, any bucket is full again
+    Duration period() {
+        return period;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.CourseMeeting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseMeetingRepository extends JpaRepository<CourseMeeting, Long> {
+    List<CourseMeeting> findByCourseIdOrderByIdAsc(Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM CourseMeeting m WHERE m.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
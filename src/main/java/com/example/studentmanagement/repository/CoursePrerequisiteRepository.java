@@ -0,0 +1,16 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.CoursePrerequisite;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CoursePrerequisiteRepository extends JpaRepository<CoursePrerequisite, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CoursePrerequisite p WHERE p.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,9 +1,16 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.entity.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +18,61 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCourseCode(String courseCode);
     List<Course> findByTeacherId(Long teacherId);
+
+    @EntityGraph(attributePaths = {"department", "teacher"})
+    List<Course> findByDepartmentIdOrderByCourseCodeAsc(Long departmentId);
     boolean existsByCourseCode(String courseCode);
+
+    // Keyset chunk for streaming the catalog, with the to-one associations that get serialized
+    @EntityGraph(attributePaths = {"department", "teacher"})
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Soft delete: the row and its enrollments stay until ArchivalJob moves them. Clearing
+    // changeVersion puts the deletion in the change feed
+    @Modifying
+    @Query("UPDATE Course c SET c.deletedAt = :deletedAt, c.changeVersion = NULL WHERE c.id = :id AND c.deletedAt IS NULL")
+    int softDeleteById(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+    // Course codes of soft-deleted courses stay taken until they are archived
+    @Query(value = "SELECT COUNT(*) > 0 FROM courses WHERE course_code = :courseCode", nativeQuery = true)
+    boolean existsByCourseCodeIncludingDeleted(@Param("courseCode") String courseCode);
+
+    // Set-based deletion of a department's courses, one chunk of ids at a time. Native so that
+    // soft-deleted courses are purged too
+    @Query(value = "SELECT id FROM courses WHERE department_id = :departmentId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_courses WHERE course_id IN (:courseIds)", nativeQuery = true)
+    int deleteEnrollmentsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // Graded enrollments of students from other departments are counted in those students'
+    // GradeTotals, which outlive the purge. They are moved to the archive like ArchivalJob does,
+    // course snapshot included, so the transcripts keep the grades the totals are made of
+    @Modifying
+    @Query(value = """
+            INSERT INTO courses_archive (id, course_code, course_name, description, credits,
+                                         department_id, teacher_id, deleted_at, archived_at)
+            SELECT c.id, c.course_code, c.course_name, c.description, c.credits, c.department_id, c.teacher_id,
+                   COALESCE(c.deleted_at, :now), :now
+            FROM courses c
+            WHERE c.id IN (:courseIds) AND EXISTS (
+                SELECT 1 FROM student_courses e JOIN students s ON s.id = e.student_id
+                WHERE e.course_id = c.id AND e.grade IS NOT NULL AND s.department_id IS DISTINCT FROM c.department_id)
+            """, nativeQuery = true)
+    int archiveCoursesGradedForOtherDepartments(@Param("courseIds") Collection<Long> courseIds,
+                                                @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_courses_archive (student_id, course_id, term, grade, graded_credits, archived_at)
+            SELECT e.student_id, e.course_id, e.term, e.grade, e.graded_credits, :now
+            FROM student_courses e
+            JOIN students s ON s.id = e.student_id
+            JOIN courses c ON c.id = e.course_id
+            WHERE e.course_id IN (:courseIds) AND e.grade IS NOT NULL AND s.department_id IS DISTINCT FROM c.department_id
+            """, nativeQuery = true)
+    int archiveGradedEnrollmentsOfOtherDepartments(@Param("courseIds") Collection<Long> courseIds,
+                                                   @Param("now") Instant now);
 }
@@ -0,0 +1,14 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+// Read side of the event log; rows are written by EnrollmentEventLog. Filters are combined as
+// Specifications so each query only carries the predicates it needs and can use the matching
+// (course_id, occurred_at) or (student_id, occurred_at) index
+@Repository
+public interface EnrollmentEventRepository extends JpaRepository<EnrollmentEvent, Long>,
+        JpaSpecificationExecutor<EnrollmentEvent> {
+}
@@ -0,0 +1,13 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EnrollmentEventRollupRepository extends JpaRepository<EnrollmentEventRollup, Long> {
+    List<EnrollmentEventRollup> findByCourseIdAndDayBetweenOrderByDayAsc(Long courseId, LocalDate from, LocalDate to);
+}
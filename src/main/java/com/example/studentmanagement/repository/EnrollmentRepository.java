@@ -0,0 +1,27 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+
+    // One term's enrollments for a batch of students, with the course and what its JSON shows.
+    // The term predicate prunes the scan to that term's partition on PostgreSQL
+    @Query("""
+            SELECT e FROM Enrollment e
+            JOIN FETCH e.course c
+            LEFT JOIN FETCH c.department
+            LEFT JOIN FETCH c.teacher
+            WHERE e.id.term = :term AND e.id.studentId IN :studentIds AND c.deletedAt IS NULL
+            """)
+    List<Enrollment> findByTermAndStudentIdIn(@Param("term") String term,
+                                              @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,9 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.GradeTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GradeTotalsRepository extends JpaRepository<GradeTotals, Long> {
+}
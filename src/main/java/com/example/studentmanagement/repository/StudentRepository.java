@@ -1,9 +1,16 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.entity.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +20,46 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByStudentId(String studentId);
     List<Student> findByDepartmentId(Long departmentId);
     boolean existsByStudentId(String studentId);
+
+    // Keyset chunk for streaming the whole roster; the department is fetched with the row so
+    // serializing a chunk does not issue one query per student for it
+    @EntityGraph(attributePaths = "department")
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Soft delete: deleted_at lives on the users base table. The row and its enrollments stay
+    // until ArchivalJob moves them. Clearing change_version puts the deletion in the change feed
+    @Modifying
+    @Query(value = "UPDATE users SET deleted_at = :deletedAt, change_version = NULL WHERE id = :id AND deleted_at IS NULL",
+            nativeQuery = true)
+    int softDeleteById(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+    // Set-based deletion of a department's students, one chunk of ids at a time; native so that
+    // soft-deleted students are purged too. The users row is removed separately
+    // (UserRepository.deleteAllByIdIn) because students is a joined subtable
+    @Query(value = "SELECT id FROM students WHERE department_id = :departmentId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_courses WHERE student_id IN (:studentIds)", nativeQuery = true)
+    int deleteEnrollmentsByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM students WHERE id IN (:studentIds)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    // Serializes writes for one student: enrollments, whose checks read the student's other
+    // enrollments, and GradeService's read-modify-write of their GradeTotals row
+    @Query(value = "SELECT id FROM students WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    // All registration uniqueness checks in one round trip; each row names a field already taken
+    @Query(value = """
+            SELECT 'username' FROM users WHERE username = :username
+            UNION ALL SELECT 'email' FROM users WHERE email = :email
+            UNION ALL SELECT 'studentId' FROM students WHERE student_id = :studentId
+            """, nativeQuery = true)
+    List<String> findRegistrationConflicts(@Param("username") String username,
+                                           @Param("email") String email,
+                                           @Param("studentId") String studentId);
 }
@@ -1,9 +1,15 @@
 package com.example.studentmanagement.repository;
 
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
 import com.example.studentmanagement.entity.Teacher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,40 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByUsername(String username);
     Optional<Teacher> findByEmployeeId(String employeeId);
     boolean existsByEmployeeId(String employeeId);
+
+    // All registration uniqueness checks in one round trip; each row names a field already taken
+    @Query(value = """
+            SELECT 'username' FROM users WHERE username = :username
+            UNION ALL SELECT 'email' FROM users WHERE email = :email
+            UNION ALL SELECT 'employeeId' FROM teachers WHERE employee_id = :employeeId
+            """, nativeQuery = true)
+    List<String> findRegistrationConflicts(@Param("username") String username,
+                                           @Param("email") String email,
+                                           @Param("employeeId") String employeeId);
+
+    // Course count, credits and enrollments per teacher in one pass over courses and student_courses.
+    // Enrollments are counted per course before the join so they do not multiply the credit sum;
+    // teachers without courses are listed with zeros. Soft-deleted teachers, courses and students are
+    // left out, and only the given term's enrollments (a single partition on PostgreSQL) are counted
+    @Query(value = """
+            SELECT t.id AS teacherId, u.full_name AS fullName, t.employee_id AS employeeId,
+                   COUNT(c.id) AS courseCount,
+                   CAST(COALESCE(SUM(c.credits), 0) AS BIGINT) AS totalCredits,
+                   CAST(COALESCE(SUM(e.enrolled), 0) AS BIGINT) AS enrolledStudents
+            FROM teachers t
+            JOIN users u ON u.id = t.id
+            LEFT JOIN courses c ON c.teacher_id = t.id AND c.deleted_at IS NULL
+            LEFT JOIN (SELECT sc.course_id, COUNT(*) AS enrolled
+                       FROM student_courses sc
+                       JOIN users su ON su.id = sc.student_id AND su.deleted_at IS NULL
+                       WHERE sc.term = :term
+                       GROUP BY sc.course_id) e
+                   ON e.course_id = c.id
+            WHERE u.deleted_at IS NULL
+            GROUP BY t.id, u.full_name, t.employee_id
+            ORDER BY t.id
+            """,
+            countQuery = "SELECT COUNT(*) FROM teachers t JOIN users u ON u.id = t.id WHERE u.deleted_at IS NULL",
+            nativeQuery = true)
+    Page<TeacherWorkloadDto> findWorkload(@Param("term") String term, Pageable pageable);
 }
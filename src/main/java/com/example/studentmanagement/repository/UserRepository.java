@@ -2,13 +2,20 @@ package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-    boolean existsByUsername(String username);
-    boolean existsByEmail(String email);
+
+    // Base rows only; the students/teachers subtable rows must already be gone
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:userIds)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,15 @@
+package com.example.studentmanagement.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// A requested course that meets at the same time as one the student already takes (or another
+// course of the same request), with the first overlapping window, widened to whole slots
+public record ScheduleConflict(Long courseId, Long conflictingCourseId, DayOfWeek dayOfWeek,
+                               LocalTime startTime, LocalTime endTime) {
+
+    public String describe() {
+        return "Course " + courseId + " overlaps course " + conflictingCourseId + " on " + dayOfWeek + " "
+                + startTime + "-" + endTime;
+    }
+}
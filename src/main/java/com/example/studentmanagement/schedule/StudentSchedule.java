@@ -0,0 +1,69 @@
+package com.example.studentmanagement.schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One student's weekly schedule for a term together with the courses they ask to add, as loaded by
+ * {@code TimetableService}. The union of the enrolled courses' slots is the student's interval
+ * index: a requested course is checked against it with one intersection, and only when that hits
+ * are the individual courses searched for the one it collides with.
+ */
+public final class StudentSchedule {
+
+    private final Map<Long, WeeklySlots> enrolled;
+    private final Map<Long, WeeklySlots> requested;
+
+    // Both maps are keyed by course id; courses without meetings have empty slots. requested keeps
+    // the order of the request, so conflicts are reported against the earliest course
+    public StudentSchedule(Map<Long, WeeklySlots> enrolled, Map<Long, WeeklySlots> requested) {
+        this.enrolled = enrolled;
+        this.requested = requested;
+    }
+
+    public boolean isEnrolled(Long courseId) {
+        return enrolled.containsKey(courseId);
+    }
+
+    public Map<Long, WeeklySlots> enrolled() {
+        return Collections.unmodifiableMap(enrolled);
+    }
+
+    // Empty when every requested course the student does not take yet fits the week. Requested
+    // courses are also checked against each other
+    public List<ScheduleConflict> conflicts() {
+        WeeklySlots week = new WeeklySlots();
+        enrolled.values().forEach(week::addAll);
+        Map<Long, WeeklySlots> accepted = new LinkedHashMap<>();
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (Map.Entry<Long, WeeklySlots> entry : requested.entrySet()) {
+            Long courseId = entry.getKey();
+            WeeklySlots slots = entry.getValue();
+            if (enrolled.containsKey(courseId) || accepted.containsKey(courseId)) {
+                continue;
+            }
+            if (!week.intersects(slots)) {
+                week.addAll(slots);
+                accepted.put(courseId, slots);
+                continue;
+            }
+            ScheduleConflict conflict = firstConflict(courseId, slots, enrolled);
+            conflicts.add(conflict != null ? conflict : firstConflict(courseId, slots, accepted));
+        }
+        return conflicts;
+    }
+
+    private static ScheduleConflict firstConflict(Long courseId, WeeklySlots slots, Map<Long, WeeklySlots> courses) {
+        for (Map.Entry<Long, WeeklySlots> other : courses.entrySet()) {
+            WeeklySlots.Overlap overlap = slots.firstOverlap(other.getValue());
+            if (overlap != null) {
+                return new ScheduleConflict(courseId, other.getKey(), overlap.dayOfWeek(),
+                        overlap.startTime(), overlap.endTime());
+            }
+        }
+        return null;
+    }
+}
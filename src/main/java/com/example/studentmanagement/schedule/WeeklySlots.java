@@ -0,0 +1,70 @@
+package com.example.studentmanagement.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/**
+ * A set of weekly time slots: the week from Monday 00:00 is cut into {@value #SLOT_MINUTES}-minute
+ * slots, one bit each (2016 bits, 32 words). A meeting covers every slot it touches, so two
+ * meetings conflict exactly when their slot sets intersect, and testing that for a student's
+ * whole week is a handful of word ANDs.
+ */
+public final class WeeklySlots {
+
+    public static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+
+    private final BitSet slots = new BitSet(SLOTS_PER_WEEK);
+
+    // Adds [start, end) on the given day, widened to whole slots
+    public WeeklySlots add(DayOfWeek day, LocalTime start, LocalTime end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Meeting must end after it starts: " + start + "-" + end);
+        }
+        int dayStart = (day.getValue() - 1) * SLOTS_PER_DAY;
+        int from = start.toSecondOfDay() / SLOT_SECONDS;
+        int to = (end.toSecondOfDay() + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        slots.set(dayStart + from, dayStart + to);
+        return this;
+    }
+
+    public WeeklySlots addAll(WeeklySlots other) {
+        slots.or(other.slots);
+        return this;
+    }
+
+    public boolean intersects(WeeklySlots other) {
+        return slots.intersects(other.slots);
+    }
+
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    // The first run of slots both sets share, or null when they do not intersect
+    public Overlap firstOverlap(WeeklySlots other) {
+        BitSet common = (BitSet) slots.clone();
+        common.and(other.slots);
+        int from = common.nextSetBit(0);
+        if (from < 0) {
+            return null;
+        }
+        // A run stops at midnight: the next day's slots are reported as their own overlap
+        int dayStart = from / SLOTS_PER_DAY * SLOTS_PER_DAY;
+        int to = Math.min(common.nextClearBit(from), dayStart + SLOTS_PER_DAY);
+        // The end of a day's last slot is midnight, which LocalTime can only express as MAX
+        LocalTime end = to == dayStart + SLOTS_PER_DAY ? LocalTime.MAX : timeOf(to - dayStart);
+        return new Overlap(DayOfWeek.of(from / SLOTS_PER_DAY + 1), timeOf(from - dayStart), end);
+    }
+
+    private static LocalTime timeOf(int slotOfDay) {
+        return LocalTime.ofSecondOfDay((long) slotOfDay * SLOT_SECONDS);
+    }
+
+    public record Overlap(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+    }
+}
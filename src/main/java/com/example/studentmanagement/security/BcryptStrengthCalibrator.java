@@ -0,0 +1,40 @@
+package com.example.studentmanagement.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks a BCrypt strength for the current CPU. Each strength step doubles the work,
+ * so one measurement at the minimum strength is enough to extrapolate the others.
+ */
+final class BcryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+
+    static int strengthFor(Duration target, Duration measuredAtMin, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long cost = Math.max(1, measuredAtMin.toNanos());
+        while (strength < maxStrength && cost * 2 <= target.toNanos()) {
+            cost *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
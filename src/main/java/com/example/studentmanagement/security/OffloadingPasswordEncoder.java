@@ -0,0 +1,143 @@
+package com.example.studentmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs encode/matches of the delegate on dedicated, bounded pools.
+ * <p>
+ * The calling request thread still blocks until its hash is done or {@code timeout} has passed:
+ * {@link PasswordEncoder} is synchronous, and Basic authentication calls it inside the filter chain.
+ * What the pools bound is the CPU a registration or login burst can take, not the threads it ties
+ * up. Those are bounded by the queues: once one is full, callers are rejected at once with
+ * {@link PasswordHashingBusyException} rather than piling up behind each other, so at most
+ * {@code threads + queueCapacity} request threads wait per pool.
+ * <p>
+ * Verification and encoding have a pool and queue each. Basic authentication verifies on every
+ * request, so a registration burst filling the encode queue must not turn ordinary authenticated
+ * reads into 503s.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final HashingPool verifyPool;
+    private final HashingPool encodePool;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties.Executor verifyProperties,
+                                     PasswordHashingProperties.Executor encodeProperties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verifyPool = new HashingPool("verify", verifyProperties, meterRegistry);
+        this.encodePool = new HashingPool("encode", encodeProperties, meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodePool.submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verifyPool.submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only inspects the hash prefix, not worth a thread hop
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        verifyPool.executor.shutdown();
+        encodePool.executor.shutdown();
+    }
+
+    private static class HashingPool {
+
+        private final ThreadPoolExecutor executor;
+        private final Duration timeout;
+        private final long retryAfterSeconds;
+        private final Counter rejected;
+        private final Timer queueWait;
+
+        HashingPool(String operation, PasswordHashingProperties.Executor properties, MeterRegistry meterRegistry) {
+            int threads = properties.getThreads() > 0
+                    ? properties.getThreads()
+                    : Runtime.getRuntime().availableProcessors();
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "password-" + operation + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.timeout = properties.getTimeout();
+            this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+
+            List<Tag> tags = List.of(Tag.of("operation", operation));
+            new ExecutorServiceMetrics(executor, "passwordHashing", tags).bindTo(meterRegistry);
+            this.rejected = Counter.builder("security.password.hashing.rejected")
+                    .description("Hash requests rejected because the hashing queue was full or too slow")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.queueWait = Timer.builder("security.password.hashing.queue.wait")
+                    .description("Time hash requests spent waiting for a hashing thread")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        <T> T submit(Callable<T> task) {
+            long submittedAt = System.nanoTime();
+            Future<T> future;
+            try {
+                future = executor.submit(() -> {
+                    queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                    return task.call();
+                });
+            } catch (RejectedExecutionException e) {
+                throw busy();
+            }
+
+            try {
+                return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw busy();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw busy();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        }
+
+        private PasswordHashingBusyException busy() {
+            rejected.increment();
+            return new PasswordHashingBusyException("Server is busy, please retry later", retryAfterSeconds);
+        }
+    }
+}
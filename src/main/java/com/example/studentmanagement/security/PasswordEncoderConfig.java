@@ -0,0 +1,64 @@
+package com.example.studentmanagement.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int strength;
+        Duration verifyTime;
+        if (properties.getStrength() != null) {
+            strength = properties.getStrength();
+            verifyTime = BcryptStrengthCalibrator.measure(strength);
+        } else {
+            Duration measured = BcryptStrengthCalibrator.measure(properties.getMinStrength());
+            strength = BcryptStrengthCalibrator.strengthFor(properties.getTargetVerifyTime(), measured,
+                    properties.getMinStrength(), properties.getMaxStrength());
+            verifyTime = measured.multipliedBy(1L << (strength - properties.getMinStrength()));
+            log.info("Calibrated BCrypt strength {} (~{} ms per verification, target {} ms)",
+                    strength, verifyTime.toMillis(), properties.getTargetVerifyTime().toMillis());
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.getEncodingId(), encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt; they still verify
+        // and are reported as outdated so they get rehashed on the next successful login
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        Gauge.builder("security.password.encoder.strength", () -> strength)
+                .description("BCrypt log rounds used for new password hashes")
+                .tag("encoder", "bcrypt")
+                .register(meterRegistry);
+        double verifySeconds = verifyTime.toNanos() / 1e9;
+        Gauge.builder("security.password.encoder.verify.time", () -> verifySeconds)
+                .description("Measured time of one BCrypt verification at the configured strength")
+                .baseUnit("seconds")
+                .tag("encoder", "bcrypt")
+                .register(meterRegistry);
+        PasswordEncoder offloading = new OffloadingPasswordEncoder(encoder, properties.getVerifyExecutor(),
+                properties.getEncodeExecutor(), meterRegistry);
+        if (properties.getVerifiedCache().getTtl().isZero()) {
+            return offloading;
+        }
+        return new CachingPasswordEncoder(offloading, properties.getVerifiedCache(), meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.studentmanagement.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+
+import java.io.IOException;
+
+/**
+ * Basic auth entry point that answers 503 with Retry-After when the login failed only because
+ * the password hashing executor was saturated, instead of a misleading 401.
+ */
+public class PasswordHashingAwareEntryPoint implements AuthenticationEntryPoint {
+
+    private final BasicAuthenticationEntryPoint delegate = new BasicAuthenticationEntryPoint();
+
+    public PasswordHashingAwareEntryPoint() {
+        delegate.setRealmName("Realm");
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        if (authException instanceof PasswordHashingBusyException busy) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(busy.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"" + busy.getMessage() + "\",\"data\":null}");
+            return;
+        }
+        delegate.commence(request, response, authException);
+    }
+}
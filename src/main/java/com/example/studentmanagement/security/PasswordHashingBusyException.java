@@ -0,0 +1,20 @@
+package com.example.studentmanagement.security;
+
+import lombok.Getter;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing executor is saturated. Extends
+ * {@link InternalAuthenticationServiceException} so authentication fails fast instead of
+ * falling through to other providers that would queue the same work again.
+ */
+@Getter
+public class PasswordHashingBusyException extends InternalAuthenticationServiceException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.studentmanagement.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordHashingProperties {
+
+    // Scheme used for new hashes; anything else is rehashed on the next successful login
+    private String encodingId = "bcrypt";
+
+    // Fixed BCrypt strength; when unset the strength is calibrated at startup
+    private Integer strength;
+
+    // Calibration picks the highest strength whose verification stays within this budget. Basic
+    // authentication verifies on every request, so this is a per-request cost, not a per-login one:
+    // each CPU verifies at most 1s / targetVerifyTime requests whose credentials are not in
+    // verifiedCache. Raising it makes stolen hashes slower to crack and uncached requests slower
+    private Duration targetVerifyTime = Duration.ofMillis(50);
+
+    private int minStrength = 10;
+
+    private int maxStrength = 12;
+
+    // Recent successful verifications, so repeated requests with the same credentials skip the hash
+    private VerifiedCache verifiedCache = new VerifiedCache();
+
+    // Verifications: Basic authentication checks the password on every request
+    private Executor verifyExecutor = new Executor();
+
+    // New hashes: registration and rehashes of outdated hashes on login. Kept apart from
+    // verification so a registration burst cannot fill the queue authenticated requests wait in
+    private Executor encodeExecutor = new Executor();
+
+    @Data
+    public static class VerifiedCache {
+
+        // How long a successful verification is remembered; zero turns the cache off. Within it,
+        // the credentials can be checked at HMAC speed by anyone who can read the process memory
+        private Duration ttl = Duration.ofMinutes(5);
+
+        // Credential pairs remembered at once; the least recently used are dropped first
+        private long maxSize = 10_000;
+    }
+
+    @Data
+    public static class Executor {
+
+        // Hashing threads; 0 means one per available CPU
+        private int threads;
+
+        // Hash requests allowed to wait for a thread before new ones are rejected
+        private int queueCapacity = 64;
+
+        // Longest a caller waits for its hash, queueing included
+        private Duration timeout = Duration.ofSeconds(5);
+
+        // Retry-After sent when a hash request is rejected
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -1,19 +1,20 @@
 package com.example.studentmanagement.security;
 
+import com.example.studentmanagement.ratelimit.RateLimitFilter;
+import com.example.studentmanagement.ratelimit.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,16 +29,14 @@ import java.util.List;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final RateLimiter rateLimiter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehash outdated passwords (legacy format or lower strength) on successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -50,7 +49,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(false);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -59,13 +58,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 // Static resources
                 .requestMatchers("/", "/index.html", "/static/**", "/*.html", "/*.js", "/*.css").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/connectionpool/**").hasRole("TEACHER")
 
                 // Public endpoints - anyone can register
                 .requestMatchers("/api/auth/**").permitAll()
@@ -74,12 +75,14 @@ public class SecurityConfig {
                 // Course endpoints - Only TEACHER can create, update, delete courses
                 .requestMatchers(HttpMethod.POST, "/api/courses/**").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.PATCH, "/api/courses/**").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
 
                 // Department management - Only TEACHER can create, update, delete departments
                 .requestMatchers(HttpMethod.POST, "/api/departments/**").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.PUT, "/api/departments/**").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.PATCH, "/api/departments/**").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.DELETE, "/api/departments/**").hasRole("TEACHER")
 
                 // Student delete - Only TEACHER can delete students (single segment only)
@@ -94,8 +97,12 @@ public class SecurityConfig {
                 // Any other request needs authentication
                 .anyRequest().authenticated()
             )
-            .httpBasic(Customizer.withDefaults())
-            .authenticationProvider(authenticationProvider());
+            .httpBasic(basic -> basic.authenticationEntryPoint(new PasswordHashingAwareEntryPoint()))
+            // Per-client limits run before Basic auth so login attempts are throttled before BCrypt,
+            // per-user limits run after it once the username is known
+            .addFilterBefore(new RateLimitFilter(rateLimiter, RateLimitFilter.Scope.CLIENT), BasicAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimiter, RateLimitFilter.Scope.USER), BasicAuthenticationFilter.class)
+            .authenticationProvider(authenticationProvider);
 
         return http.build();
     }
@@ -9,85 +9,129 @@ import com.example.studentmanagement.entity.Teacher;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.StudentRepository;
 import com.example.studentmanagement.repository.TeacherRepository;
-import com.example.studentmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final UserRepository userRepository;
+    // Unique constraint name -> conflicting field, see the @Table declarations on User, Student and Teacher
+    private static final Map<String, String> UNIQUE_CONSTRAINTS = Map.of(
+            "uk_users_username", "username",
+            "uk_users_email", "email",
+            "uk_students_student_id", "studentId",
+            "uk_teachers_employee_id", "employeeId");
+
+    private static final Map<String, String> CONFLICT_MESSAGES = new LinkedHashMap<>();
+
+    static {
+        CONFLICT_MESSAGES.put("username", "Username already exists");
+        CONFLICT_MESSAGES.put("email", "Email already exists");
+        CONFLICT_MESSAGES.put("studentId", "Student ID already exists");
+        CONFLICT_MESSAGES.put("employeeId", "Employee ID already exists");
+    }
+
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // Not @Transactional: the password is hashed before the transaction starts so a queued
+    // hash never holds a pooled connection
     public Student registerStudent(StudentRegistrationDto dto) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(dto.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
+        // Fast path: reject obvious duplicates before spending CPU on the hash
+        rejectConflicts(studentRepository.findRegistrationConflicts(
+                dto.getUsername(), dto.getEmail(), dto.getStudentId()));
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(dto.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
+        // Waits on this request thread for the hashing pool, see OffloadingPasswordEncoder
+        String encodedPassword = passwordEncoder.encode(dto.getPassword());
 
-        // Check if student ID already exists
-        if (studentRepository.existsByStudentId(dto.getStudentId())) {
-            throw new RuntimeException("Student ID already exists");
-        }
+        return transactionTemplate.execute(status -> {
+            Student student = new Student();
+            student.setUsername(dto.getUsername());
+            student.setPassword(encodedPassword);
+            student.setEmail(dto.getEmail());
+            student.setFullName(dto.getFullName());
+            student.setRole(Role.ROLE_STUDENT);
+            student.setStudentId(dto.getStudentId());
+            student.setPhoneNumber(dto.getPhoneNumber());
 
-        Student student = new Student();
-        student.setUsername(dto.getUsername());
-        student.setPassword(passwordEncoder.encode(dto.getPassword()));
-        student.setEmail(dto.getEmail());
-        student.setFullName(dto.getFullName());
-        student.setRole(Role.ROLE_STUDENT);
-        student.setStudentId(dto.getStudentId());
-        student.setPhoneNumber(dto.getPhoneNumber());
-
-        // Set department if provided
-        if (dto.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(dto.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
-            student.setDepartment(department);
-        }
+            // Set department if provided
+            if (dto.getDepartmentId() != null) {
+                Department department = departmentRepository.findById(dto.getDepartmentId())
+                        .orElseThrow(() -> new RuntimeException("Department not found"));
+                student.setDepartment(department);
+            }
 
-        return studentRepository.save(student);
+            // The unique constraints are authoritative: a concurrent registration that passed
+            // the check above fails here and is reported the same way
+            try {
+                return studentRepository.saveAndFlush(student);
+            } catch (DataIntegrityViolationException e) {
+                throw translateConstraintViolation(e);
+            }
+        });
     }
 
-    @Transactional
     public Teacher registerTeacher(TeacherRegistrationDto dto) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(dto.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
+        rejectConflicts(teacherRepository.findRegistrationConflicts(
+                dto.getUsername(), dto.getEmail(), dto.getEmployeeId()));
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(dto.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
+        String encodedPassword = passwordEncoder.encode(dto.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            Teacher teacher = new Teacher();
+            teacher.setUsername(dto.getUsername());
+            teacher.setPassword(encodedPassword);
+            teacher.setEmail(dto.getEmail());
+            teacher.setFullName(dto.getFullName());
+            teacher.setRole(Role.ROLE_TEACHER);
+            teacher.setEmployeeId(dto.getEmployeeId());
+            teacher.setPhoneNumber(dto.getPhoneNumber());
+            teacher.setDesignation(dto.getDesignation());
 
-        // Check if employee ID already exists
-        if (teacherRepository.existsByEmployeeId(dto.getEmployeeId())) {
-            throw new RuntimeException("Employee ID already exists");
+            try {
+                return teacherRepository.saveAndFlush(teacher);
+            } catch (DataIntegrityViolationException e) {
+                throw translateConstraintViolation(e);
+            }
+        });
+    }
+
+    private void rejectConflicts(List<String> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
         }
+        List<String> fields = conflicts.stream().map(String::trim).toList();
+        throw new RuntimeException(CONFLICT_MESSAGES.entrySet().stream()
+                .filter(entry -> fields.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.joining(", ")));
+    }
 
-        Teacher teacher = new Teacher();
-        teacher.setUsername(dto.getUsername());
-        teacher.setPassword(passwordEncoder.encode(dto.getPassword()));
-        teacher.setEmail(dto.getEmail());
-        teacher.setFullName(dto.getFullName());
-        teacher.setRole(Role.ROLE_TEACHER);
-        teacher.setEmployeeId(dto.getEmployeeId());
-        teacher.setPhoneNumber(dto.getPhoneNumber());
-        teacher.setDesignation(dto.getDesignation());
-
-        return teacherRepository.save(teacher);
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException e) {
+        String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        String detail = (constraintName + " " + NestedExceptionUtils.getMostSpecificCause(e).getMessage())
+                .toLowerCase(Locale.ROOT);
+        return UNIQUE_CONSTRAINTS.entrySet().stream()
+                .filter(entry -> detail.contains(entry.getKey()))
+                .findFirst()
+                .<RuntimeException>map(entry -> new RuntimeException(CONFLICT_MESSAGES.get(entry.getValue())))
+                .orElse(e);
     }
 }
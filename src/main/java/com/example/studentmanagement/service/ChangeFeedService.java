@@ -0,0 +1,186 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.changes.ChangeFeedProperties;
+import com.example.studentmanagement.changes.ChangeVersionStamper;
+import com.example.studentmanagement.changes.ChangesStamped;
+import com.example.studentmanagement.dto.ChangeDto;
+import com.example.studentmanagement.dto.ChangeFeedPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class ChangeFeedService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    // Each branch reads its change_version index from the token on and stops after :limit rows;
+    // the outer query merges them. A row is reported once, with its latest version
+    private static final String CHANGES = """
+            SELECT entity, entity_key, op, version FROM (
+                (SELECT CASE WHEN role = 'ROLE_TEACHER' THEN 'teacher' ELSE 'student' END AS entity,
+                        CAST(id AS VARCHAR(64)) AS entity_key,
+                        CASE WHEN deleted_at IS NULL THEN 'UPSERT' ELSE 'DELETE' END AS op,
+                        change_version AS version
+                 FROM users WHERE change_version > :since ORDER BY change_version LIMIT :limit)
+                UNION ALL
+                (SELECT 'course', CAST(id AS VARCHAR(64)),
+                        CASE WHEN deleted_at IS NULL THEN 'UPSERT' ELSE 'DELETE' END, change_version
+                 FROM courses WHERE change_version > :since ORDER BY change_version LIMIT :limit)
+                UNION ALL
+                (SELECT 'department', CAST(id AS VARCHAR(64)), 'UPSERT', change_version
+                 FROM departments WHERE change_version > :since ORDER BY change_version LIMIT :limit)
+                UNION ALL
+                (SELECT 'enrollment', CONCAT(student_id, ':', course_id, ':', term), 'UPSERT', change_version
+                 FROM student_courses WHERE change_version > :since ORDER BY change_version LIMIT :limit)
+                UNION ALL
+                (SELECT entity, entity_key, 'DELETE', change_version
+                 FROM change_tombstones WHERE change_version > :since ORDER BY change_version LIMIT :limit)
+            ) c
+            ORDER BY version
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeVersionStamper stamper;
+    private final ChangeFeedProperties properties;
+    // Named after the bean: the scheduler registered by SchedulingConfig is a TaskExecutor too
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public ChangeFeedService(NamedParameterJdbcTemplate jdbcTemplate, ChangeVersionStamper stamper,
+                             ChangeFeedProperties properties, TaskExecutor applicationTaskExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stamper = stamper;
+        this.properties = properties;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    // Changes after the token, oldest first. No token means from the beginning: every live row,
+    // without the tombstones of rows the caller never saw
+    public ChangeFeedPage getChanges(String since, int limit) {
+        long position = parseToken(since);
+        return read(position, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // Sends everything after the token, then every change as it is stamped. Clients reconnect
+    // with the Last-Event-ID header, which carries the same token
+    public SseEmitter subscribe(String since) {
+        Subscription subscription = new Subscription(new SseEmitter(properties.getStreamTimeout().toMillis()),
+                parseToken(since));
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        subscription.signal();
+        return emitter;
+    }
+
+    @EventListener
+    public void onChangesStamped(ChangesStamped event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.position < event.head()) {
+                subscription.signal();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.heartbeat:30s}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                subscription.close();
+            }
+        }
+    }
+
+    private long parseToken(String since) {
+        if (since == null || since.isBlank()) {
+            return 0;
+        }
+        long position;
+        try {
+            position = Long.parseLong(since.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid change token: " + since);
+        }
+        if (position < 0) {
+            throw new RuntimeException("Invalid change token: " + since);
+        }
+        if (position > 0 && position < stamper.prunedThrough()) {
+            throw new RuntimeException("Change token expired, resync from the beginning");
+        }
+        return position;
+    }
+
+    private ChangeFeedPage read(long position, int limit) {
+        List<ChangeDto> changes = jdbcTemplate.query(CHANGES, new MapSqlParameterSource()
+                        .addValue("since", position)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new ChangeDto(rs.getString(1), rs.getString(2),
+                        ChangeDto.Operation.valueOf(rs.getString(3)), rs.getLong(4)));
+        long next = changes.isEmpty() ? position : changes.getLast().getVersion();
+        return new ChangeFeedPage(changes, Long.toString(next), changes.size() == limit);
+    }
+
+    private class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long position;
+
+        Subscription(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        // At most one catch-up queued per subscriber, so a slow client never holds up the stamper
+        // or piles up tasks
+        void signal() {
+            if (scheduled.compareAndSet(false, true)) {
+                applicationTaskExecutor.execute(this::catchUp);
+            }
+        }
+
+        private synchronized void catchUp() {
+            scheduled.set(false);
+            try {
+                ChangeFeedPage page;
+                do {
+                    page = read(position, MAX_PAGE_SIZE);
+                    if (page.getChanges().isEmpty()) {
+                        return;
+                    }
+                    emitter.send(SseEmitter.event().id(page.getNext()).name("changes").data(page.getChanges()));
+                    position = Long.parseLong(page.getNext());
+                } while (page.isHasMore());
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } catch (RuntimeException e) {
+                log.warn("Could not read the change feed for a stream subscriber", e);
+                emitter.completeWithError(e);
+                subscriptions.remove(this);
+            }
+        }
+
+        private void close() {
+            subscriptions.remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -4,28 +4,51 @@ import com.example.studentmanagement.dto.CourseDto;
 import com.example.studentmanagement.entity.Course;
 import com.example.studentmanagement.entity.Department;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
+    static final int STREAM_CHUNK_SIZE = 500;
+
     private final CourseRepository courseRepository;
     private final TeacherRepository teacherRepository;
     private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate transactionTemplate;
 
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    // Same chunked iteration as StudentService.forEachStudent, one transaction per chunk
+    public void forEachCourse(Consumer<Course> action) {
+        long lastId = 0;
+        List<Course> chunk;
+        do {
+            long after = lastId;
+            chunk = readOnly().execute(status ->
+                    courseRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(STREAM_CHUNK_SIZE)));
+            chunk.forEach(action);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.getLast().getId();
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
+    }
+
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
@@ -43,7 +66,7 @@ public class CourseService {
     // Only Teachers can create courses
     @Transactional
     public Course createCourse(CourseDto dto) {
-        if (courseRepository.existsByCourseCode(dto.getCourseCode())) {
+        if (courseRepository.existsByCourseCodeIncludingDeleted(dto.getCourseCode())) {
             throw new RuntimeException("Course with this code already exists");
         }
 
@@ -73,16 +96,47 @@ public class CourseService {
     @Transactional
     public Course updateCourse(Long id, CourseDto dto) {
         Course course = getCourseById(id);
+        VersionConflictException.check("Course", id, dto.getVersion(), course.getVersion());
         course.setCourseName(dto.getCourseName());
         course.setDescription(dto.getDescription());
         course.setCredits(dto.getCredits());
         return courseRepository.save(course);
     }
 
-    // Only Teachers can delete courses
+    // Partial update, see StudentService.patchStudent. The course code and department are not
+    // patchable, same as for updateCourse
     @Transactional
-    public void deleteCourse(Long id) {
+    public Course patchCourse(Long id, CourseDto patch) {
         Course course = getCourseById(id);
-        courseRepository.delete(course);
+        VersionConflictException.check("Course", id, patch.getVersion(), course.getVersion());
+        if (patch.getCourseName() != null) {
+            if (patch.getCourseName().isBlank()) {
+                throw new RuntimeException("Course name must not be blank");
+            }
+            course.setCourseName(patch.getCourseName());
+        }
+        if (patch.getDescription() != null) {
+            course.setDescription(patch.getDescription());
+        }
+        if (patch.getCredits() != null) {
+            if (patch.getCredits() <= 0) {
+                throw new RuntimeException("Credits must be positive");
+            }
+            course.setCredits(patch.getCredits());
+        }
+        return courseRepository.save(course);
+    }
+
+    // Only Teachers can delete courses. Soft delete, same as StudentService.deleteStudent
+    @Transactional
+    public void deleteCourse(Long id) {
+        getCourseById(id);
+        courseRepository.softDeleteById(id, Instant.now());
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
     }
 }
@@ -1,19 +1,47 @@
 package com.example.studentmanagement.service;
 
+import com.example.studentmanagement.changes.ChangeTombstones;
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
 import com.example.studentmanagement.dto.DepartmentDto;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.exception.VersionConflictException;
+import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DepartmentService {
 
+    static final int DELETE_CHUNK_SIZE = 500;
+
+    // Finished deletions stay queryable for this long
+    static final Duration DELETION_RETENTION = Duration.ofHours(1);
+
     private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final ChangeTombstones changeTombstones;
+    private final TransactionTemplate transactionTemplate;
+    // Named after the bean: the scheduler registered by SchedulingConfig is a TaskExecutor too
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final Map<Long, DepartmentDeletionProgress> deletions = new ConcurrentHashMap<>();
 
     public List<Department> getAllDepartments() {
         return departmentRepository.findAll();
@@ -44,14 +72,125 @@ public class DepartmentService {
     @Transactional
     public Department updateDepartment(Long id, DepartmentDto dto) {
         Department department = getDepartmentById(id);
+        VersionConflictException.check("Department", id, dto.getVersion(), department.getVersion());
         department.setName(dto.getName());
         department.setDescription(dto.getDescription());
         return departmentRepository.save(department);
     }
 
+    // Partial update, see StudentService.patchStudent
     @Transactional
+    public Department patchDepartment(Long id, DepartmentDto patch) {
+        Department department = getDepartmentById(id);
+        VersionConflictException.check("Department", id, patch.getVersion(), department.getVersion());
+        if (patch.getName() != null) {
+            if (patch.getName().isBlank()) {
+                throw new RuntimeException("Department name must not be blank");
+            }
+            department.setName(patch.getName());
+        }
+        if (patch.getDescription() != null) {
+            department.setDescription(patch.getDescription());
+        }
+        return departmentRepository.save(department);
+    }
+
+    // Deletes the department with its courses and students using set-based SQL, committing every
+    // DELETE_CHUNK_SIZE rows instead of loading and removing each entity in one transaction.
+    // Not @Transactional: each chunk commits on its own, and an interrupted run is resumed by
+    // deleting again
     public void deleteDepartment(Long id) {
+        DepartmentDeletionProgress progress = registerDeletion(id);
+        runDeletion(progress);
+        if (progress.getStatus() == DepartmentDeletionProgress.Status.FAILED) {
+            throw new RuntimeException("Department deletion failed: " + progress.getError());
+        }
+    }
+
+    // Same as deleteDepartment, but runs in the background; poll getDeletionProgress for the outcome
+    public DepartmentDeletionProgress startDepartmentDeletion(Long id) {
+        DepartmentDeletionProgress progress = registerDeletion(id);
+        applicationTaskExecutor.execute(() -> runDeletion(progress));
+        return progress;
+    }
+
+    public DepartmentDeletionProgress getDeletionProgress(Long id) {
+        DepartmentDeletionProgress progress = deletions.get(id);
+        if (progress == null) {
+            throw new RuntimeException("No deletion found for department with id: " + id);
+        }
+        return progress;
+    }
+
+    private DepartmentDeletionProgress registerDeletion(Long id) {
         Department department = getDepartmentById(id);
-        departmentRepository.delete(department);
+        Instant cutoff = Instant.now().minus(DELETION_RETENTION);
+        deletions.values().removeIf(p -> p.isFinished() && p.getFinishedAt() != null && p.getFinishedAt().isBefore(cutoff));
+
+        DepartmentDeletionProgress progress = new DepartmentDeletionProgress(id, department.getName());
+        DepartmentDeletionProgress current = deletions.compute(id,
+                (key, existing) -> existing != null && !existing.isFinished() ? existing : progress);
+        if (current != progress) {
+            throw new RuntimeException("Department deletion already in progress for id: " + id);
+        }
+        return progress;
+    }
+
+    private void runDeletion(DepartmentDeletionProgress progress) {
+        Long departmentId = progress.getDepartmentId();
+        try {
+            // Courses first: their enrollments also belong to students of other departments
+            ChunkResult chunk;
+            while ((chunk = transactionTemplate.execute(status -> deleteCourseChunk(departmentId))).rows() > 0) {
+                progress.setCoursesDeleted(progress.getCoursesDeleted() + chunk.rows());
+                progress.setEnrollmentsDeleted(progress.getEnrollmentsDeleted() + chunk.enrollments());
+            }
+            while ((chunk = transactionTemplate.execute(status -> deleteStudentChunk(departmentId))).rows() > 0) {
+                progress.setStudentsDeleted(progress.getStudentsDeleted() + chunk.rows());
+                progress.setEnrollmentsDeleted(progress.getEnrollmentsDeleted() + chunk.enrollments());
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                changeTombstones.record(ChangeTombstones.DEPARTMENT, departmentId.toString());
+                departmentRepository.deleteAllByIdInBatch(List.of(departmentId));
+            });
+            progress.finish(DepartmentDeletionProgress.Status.COMPLETED, null);
+            log.info("Deleted department {} with {} courses, {} students and {} enrollments", departmentId,
+                    progress.getCoursesDeleted(), progress.getStudentsDeleted(), progress.getEnrollmentsDeleted());
+        } catch (RuntimeException e) {
+            log.error("Deletion of department {} failed", departmentId, e);
+            progress.finish(DepartmentDeletionProgress.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private ChunkResult deleteCourseChunk(Long departmentId) {
+        List<Long> ids = courseRepository.findIdsByDepartmentId(departmentId, DELETE_CHUNK_SIZE);
+        if (ids.isEmpty()) {
+            return ChunkResult.EMPTY;
+        }
+        changeTombstones.recordEnrollmentsOfCourses(ids);
+        changeTombstones.recordCourses(ids);
+        Instant now = Instant.now();
+        courseRepository.archiveCoursesGradedForOtherDepartments(ids, now);
+        courseRepository.archiveGradedEnrollmentsOfOtherDepartments(ids, now);
+        int enrollments = courseRepository.deleteEnrollmentsByCourseIdIn(ids);
+        courseRepository.deleteAllByIdInBatch(ids);
+        return new ChunkResult(ids.size(), enrollments);
+    }
+
+    private ChunkResult deleteStudentChunk(Long departmentId) {
+        List<Long> ids = studentRepository.findIdsByDepartmentId(departmentId, DELETE_CHUNK_SIZE);
+        if (ids.isEmpty()) {
+            return ChunkResult.EMPTY;
+        }
+        changeTombstones.recordEnrollmentsOfStudents(ids);
+        changeTombstones.recordStudents(ids);
+        int enrollments = studentRepository.deleteEnrollmentsByStudentIdIn(ids);
+        studentRepository.deleteAllByIdIn(ids);
+        userRepository.deleteAllByIdIn(ids);
+        return new ChunkResult(ids.size(), enrollments);
+    }
+
+    private record ChunkResult(int rows, int enrollments) {
+        static final ChunkResult EMPTY = new ChunkResult(0, 0);
     }
 }
@@ -0,0 +1,60 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import com.example.studentmanagement.repository.EnrollmentEventRepository;
+import com.example.studentmanagement.repository.EnrollmentEventRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EnrollmentHistoryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+
+    private final EnrollmentEventRepository eventRepository;
+    private final EnrollmentEventRollupRepository rollupRepository;
+
+    // Newest first. Without bounds the last DEFAULT_RANGE is searched; events reach the log a
+    // moment after the enrollment commits
+    public Page<EnrollmentEvent> getEvents(Long courseId, Long studentId, Instant from, Instant to,
+                                           int page, int size) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE),
+                Sort.by(Sort.Order.desc("occurredAt"), Sort.Order.desc("id")));
+
+        Specification<EnrollmentEvent> spec = (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("occurredAt"), start),
+                cb.lessThan(root.get("occurredAt"), end));
+        if (courseId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("courseId"), courseId));
+        }
+        if (studentId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("studentId"), studentId));
+        }
+        return eventRepository.findAll(spec, pageRequest);
+    }
+
+    // Daily counts survive the pruning of the raw events, see EnrollmentEventRollupJob
+    public List<EnrollmentEventRollup> getDailyCounts(Long courseId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        return rollupRepository.findByCourseIdAndDayBetweenOrderByDayAsc(courseId, from, to);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.ClassRankDto;
+import com.example.studentmanagement.dto.GradeDistributionDto;
+import com.example.studentmanagement.dto.GradeDto;
+import com.example.studentmanagement.dto.TranscriptDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.GradeTotals;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.GradeTotalsRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class GradeService {
+
+    // The student's enrollments, including those of archived courses. Served by the primary key of
+    // student_courses and the archive's student index; nothing is aggregated
+    private static final String TRANSCRIPT = """
+            SELECT e.term, c.id, c.course_code, c.course_name, COALESCE(e.graded_credits, c.credits), e.grade
+            FROM student_courses e
+            JOIN courses c ON c.id = e.course_id
+            WHERE e.student_id = :studentId
+            UNION ALL
+            SELECT a.term, c.id, c.course_code, c.course_name, COALESCE(a.graded_credits, c.credits), a.grade
+            FROM student_courses_archive a
+            JOIN courses_archive c ON c.id = a.course_id
+            WHERE a.student_id = :studentId
+            """;
+
+    // Read through the course index; with a term, only that term's partition on PostgreSQL
+    private static final String DISTRIBUTION = """
+            SELECT grade, COUNT(*) FROM student_courses
+            WHERE course_id = :courseId AND grade IS NOT NULL
+            GROUP BY grade
+            """;
+
+    private static final String TERM_DISTRIBUTION = """
+            SELECT grade, COUNT(*) FROM student_courses
+            WHERE course_id = :courseId AND term = :term AND grade IS NOT NULL
+            GROUP BY grade
+            """;
+
+    // Students of the department with a higher GPA, and all of them with a GPA. Reads one
+    // GradeTotals row per student of the department, never their enrollments
+    private static final String CLASS_RANK = """
+            SELECT COUNT(CASE WHEN t.gpa > :gpa THEN 1 END), COUNT(*)
+            FROM students s
+            JOIN users u ON u.id = s.id
+            JOIN student_grade_totals t ON t.student_id = s.id
+            WHERE s.department_id = :departmentId AND u.deleted_at IS NULL AND t.gpa IS NOT NULL
+            """;
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeTotalsRepository gradeTotalsRepository;
+    private final AcademicCalendar academicCalendar;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Writes (or clears) the grade of one enrollment and moves the student's totals by the
+    // difference to the previous grade, in the same transaction
+    @Transactional
+    public TranscriptEntry recordGrade(Long courseId, GradeDto dto) {
+        Course course = findCourse(courseId);
+        Long studentId = dto.getStudentId();
+        String term = dto.getTerm() == null
+                ? academicCalendar.currentTerm().code()
+                : AcademicTerm.parse(dto.getTerm()).code();
+        studentRepository.lockById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        Enrollment enrollment = enrollmentRepository.findById(new EnrollmentId(studentId, courseId, term))
+                .orElseThrow(() -> new RuntimeException("Student " + studentId + " is not enrolled in "
+                        + course.getCourseCode() + " for " + term));
+
+        Grade grade = dto.getGrade();
+        int credits = course.getCredits() == null ? 0 : course.getCredits();
+        Instant now = Instant.now();
+        GradeTotals totals = gradeTotalsRepository.findById(studentId).orElseGet(() -> new GradeTotals(studentId));
+        if (enrollment.getGrade() != null) {
+            add(totals, enrollment.getGrade(), enrollment.getGradedCredits(), -1);
+        }
+        if (grade != null) {
+            add(totals, grade, credits, 1);
+        }
+        totals.setGpa(totals.getAttemptedCredits() > 0
+                ? totals.getQualityPoints().divide(BigDecimal.valueOf(totals.getAttemptedCredits()), 3, RoundingMode.HALF_UP)
+                : null);
+        totals.setUpdatedAt(now);
+        gradeTotalsRepository.save(totals);
+
+        enrollment.setGrade(grade);
+        enrollment.setGradedCredits(grade == null ? null : credits);
+        enrollment.setGradedAt(grade == null ? null : now);
+        return new TranscriptEntry(term, courseId, course.getCourseCode(), course.getCourseName(), credits, grade);
+    }
+
+    public TranscriptDto getTranscript(Long studentId) {
+        GradeTotals totals = gradeTotalsRepository.findById(studentId).orElseGet(() -> new GradeTotals(studentId));
+        List<TranscriptEntry> entries = jdbcTemplate.query(TRANSCRIPT, new MapSqlParameterSource("studentId", studentId),
+                (rs, rowNum) -> new TranscriptEntry(rs.getString(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getObject(5, Integer.class),
+                        rs.getString(6) == null ? null : Grade.valueOf(rs.getString(6))));
+        entries.sort(Comparator.comparing((TranscriptEntry entry) -> AcademicTerm.parse(entry.getTerm()))
+                .thenComparing(TranscriptEntry::getCourseCode));
+        return new TranscriptDto(studentId, totals.getGradedCourses(), totals.getAttemptedCredits(),
+                totals.getEarnedCredits(), totals.getGpa(), entries);
+    }
+
+    // Every letter is listed, with zero for grades nobody got
+    public GradeDistributionDto getGradeDistribution(Long courseId, String term) {
+        findCourse(courseId);
+        String termCode = term == null ? null : AcademicTerm.parse(term).code();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("courseId", courseId)
+                .addValue("term", termCode);
+        Map<Grade, Long> byGrade = new LinkedHashMap<>();
+        jdbcTemplate.query(termCode == null ? DISTRIBUTION : TERM_DISTRIBUTION, params, rs -> {
+            byGrade.put(Grade.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long graded = 0;
+        BigDecimal points = BigDecimal.ZERO;
+        for (Grade grade : Grade.values()) {
+            long count = byGrade.getOrDefault(grade, 0L);
+            counts.put(grade.getLetter(), count);
+            graded += count;
+            points = points.add(grade.getPoints().multiply(BigDecimal.valueOf(count)));
+        }
+        BigDecimal average = graded == 0 ? null : points.divide(BigDecimal.valueOf(graded), 2, RoundingMode.HALF_UP);
+        return new GradeDistributionDto(courseId, termCode, graded, average, counts);
+    }
+
+    public ClassRankDto getClassRank(Student student) {
+        BigDecimal gpa = gradeTotalsRepository.findById(student.getId()).map(GradeTotals::getGpa).orElse(null);
+        if (student.getDepartment() == null) {
+            return new ClassRankDto(student.getId(), null, gpa, null, 0);
+        }
+        Long departmentId = student.getDepartment().getId();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("departmentId", departmentId)
+                .addValue("gpa", gpa, Types.NUMERIC);
+        long[] counts = jdbcTemplate.queryForObject(CLASS_RANK, params,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        return new ClassRankDto(student.getId(), departmentId, gpa, gpa == null ? null : (int) counts[0] + 1, counts[1]);
+    }
+
+    private static void add(GradeTotals totals, Grade grade, int credits, int sign) {
+        totals.setGradedCourses(totals.getGradedCourses() + sign);
+        totals.setAttemptedCredits(totals.getAttemptedCredits() + sign * credits);
+        if (grade.isPassing()) {
+            totals.setEarnedCredits(totals.getEarnedCredits() + sign * credits);
+        }
+        totals.setQualityPoints(totals.getQualityPoints()
+                .add(grade.getPoints().multiply(BigDecimal.valueOf((long) sign * credits))));
+    }
+
+    private Course findCourse(Long courseId) {
+        return courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.CoursePrerequisitesDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.CoursePrerequisite;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.prerequisite.PrerequisiteIndex;
+import com.example.studentmanagement.prerequisite.PrerequisitesChanged;
+import com.example.studentmanagement.repository.CoursePrerequisiteRepository;
+import com.example.studentmanagement.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PrerequisiteService {
+
+    private static final String LOCK = "SELECT id FROM course_prerequisites_lock WHERE id = 1 FOR UPDATE";
+
+    private static final String TAKEN_COURSES =
+            "SELECT course_id, term, grade FROM student_courses WHERE student_id = ?";
+
+    private final CoursePrerequisiteRepository coursePrerequisiteRepository;
+    private final CourseRepository courseRepository;
+    private final PrerequisiteIndex prerequisiteIndex;
+    private final AcademicCalendar academicCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CoursePrerequisitesDto getPrerequisites(Long courseId) {
+        findCourse(courseId);
+        return prerequisiteIndex.read(graph -> new CoursePrerequisitesDto(
+                courseId, graph.prerequisitesOf(courseId), graph.allPrerequisitesOf(courseId)));
+    }
+
+    // Replaces the course's direct prerequisites. Students already enrolled keep their enrollment.
+    // Changes take the lock row first and are checked against the table as it is under the lock:
+    // this instance's graph may not have seen a change committed elsewhere yet, and two changes
+    // checked side by side could together close a cycle
+    public CoursePrerequisitesDto replacePrerequisites(Long courseId, List<Long> prerequisiteIds) {
+        ensureLockRow();
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject(LOCK, Integer.class);
+            prerequisiteIndex.refresh();
+            return replaceLocked(courseId, prerequisiteIds);
+        });
+    }
+
+    private CoursePrerequisitesDto replaceLocked(Long courseId, List<Long> prerequisiteIds) {
+        Course course = findCourse(courseId);
+        List<Long> requested = prerequisiteIds.stream().distinct().toList();
+        Map<Long, Course> prerequisites = courseRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Course::getId, c -> c));
+        for (Long prerequisiteId : requested) {
+            Course prerequisite = prerequisites.get(prerequisiteId);
+            if (prerequisite == null) {
+                throw new RuntimeException("Course not found with id: " + prerequisiteId);
+            }
+            if (prerequisiteIndex.read(graph -> graph.wouldCreateCycle(courseId, prerequisiteId))) {
+                throw new RuntimeException(prerequisiteId.equals(courseId)
+                        ? "A course cannot be its own prerequisite"
+                        : prerequisite.getCourseCode() + " already requires " + course.getCourseCode());
+            }
+        }
+
+        int removed = coursePrerequisiteRepository.deleteByCourseId(courseId);
+        List<CoursePrerequisite> edges = coursePrerequisiteRepository.saveAll(
+                requested.stream().map(prerequisiteId -> new CoursePrerequisite(courseId, prerequisiteId)).toList());
+        long maxInsertedId = edges.stream().mapToLong(CoursePrerequisite::getId).max().orElse(0);
+        eventPublisher.publishEvent(new PrerequisitesChanged(courseId, requested, removed, maxInsertedId));
+
+        // The graph only sees the change after commit; answer from the request instead
+        List<Long> all = new ArrayList<>(requested);
+        prerequisiteIndex.read(graph -> {
+            requested.forEach(prerequisiteId -> all.addAll(graph.allPrerequisitesOf(prerequisiteId)));
+            return null;
+        });
+        return new CoursePrerequisitesDto(courseId, requested.stream().sorted().toList(),
+                all.stream().distinct().sorted().toList());
+    }
+
+    // Throws unless the student has completed the direct prerequisites of every given course. The
+    // student's history is only loaded when one of the courses has prerequisites
+    public void checkEligible(Long studentId, Collection<Course> courses) {
+        if (!prerequisiteIndex.read(graph -> courses.stream().anyMatch(c -> graph.hasPrerequisites(c.getId())))) {
+            return;
+        }
+        Set<Long> completed = new HashSet<>();
+        loadHistory(studentId, completed, new HashSet<>());
+        Map<String, List<Long>> missing = prerequisiteIndex.read(graph -> {
+            BitSet completedBits = graph.toBits(completed);
+            Map<String, List<Long>> byCourse = new LinkedHashMap<>();
+            for (Course course : courses) {
+                List<Long> missingIds = graph.missing(course.getId(), completedBits);
+                if (!missingIds.isEmpty()) {
+                    byCourse.put(course.getCourseCode(), missingIds);
+                }
+            }
+            return byCourse;
+        });
+        List<String> problems = new ArrayList<>();
+        missing.forEach((courseCode, missingIds) -> problems.add(courseCode + " requires " + courseCodes(missingIds)));
+        if (!problems.isEmpty()) {
+            throw new RuntimeException("Missing prerequisites: " + String.join("; ", problems));
+        }
+    }
+
+    // Courses of the student's department they could enroll in now: not completed, not registered for
+    // this or a later term, and every direct prerequisite completed
+    public List<Course> getNextCourses(Student student) {
+        if (student.getDepartment() == null) {
+            return List.of();
+        }
+        Set<Long> completed = new HashSet<>();
+        Set<Long> registered = new HashSet<>();
+        loadHistory(student.getId(), completed, registered);
+
+        List<Course> candidates = courseRepository.findByDepartmentIdOrderByCourseCodeAsc(student.getDepartment().getId());
+        return prerequisiteIndex.read(graph -> {
+            BitSet completedBits = graph.toBits(completed);
+            return candidates.stream()
+                    .filter(c -> !completed.contains(c.getId()) && !registered.contains(c.getId()))
+                    .filter(c -> graph.isSatisfied(c.getId(), completedBits))
+                    .toList();
+        });
+    }
+
+    // A course counts as completed once the student has taken it in a term before the current one
+    // without failing it. Courses of the current term or a later one (pre-registration) are only
+    // registered. Terms are compared as terms: their codes do not sort chronologically
+    private void loadHistory(Long studentId, Set<Long> completed, Set<Long> registered) {
+        AcademicTerm current = academicCalendar.currentTerm();
+        jdbcTemplate.query(TAKEN_COURSES, rs -> {
+            if (!AcademicTerm.parse(rs.getString(2)).isBefore(current)) {
+                registered.add(rs.getLong(1));
+            } else if (!Grade.F.name().equals(rs.getString(3))) {
+                completed.add(rs.getLong(1));
+            }
+        }, studentId);
+    }
+
+    // Error path only, so the extra query does not matter
+    private String courseCodes(List<Long> courseIds) {
+        Map<Long, String> codes = new HashMap<>();
+        courseRepository.findAllById(courseIds).forEach(c -> codes.put(c.getId(), c.getCourseCode()));
+        return courseIds.stream().map(id -> codes.getOrDefault(id, "course " + id)).collect(Collectors.joining(", "));
+    }
+
+    // Creates the lock row on first use, outside any transaction: a failed insert would abort the
+    // surrounding transaction on PostgreSQL
+    private void ensureLockRow() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_prerequisites_lock WHERE id = 1", Integer.class);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO course_prerequisites_lock (id) VALUES (1)");
+        } catch (DuplicateKeyException e) {
+            // Another replica created it first
+        }
+    }
+
+    private Course findCourse(Long courseId) {
+        return courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+    }
+}
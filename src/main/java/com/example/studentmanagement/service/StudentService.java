@@ -2,63 +2,146 @@ package com.example.studentmanagement.service;
 
 import com.example.studentmanagement.entity.Course;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentId;
 import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.EnrollmentChanged;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
 import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.schedule.ScheduleConflict;
+import com.example.studentmanagement.schedule.StudentSchedule;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
+    static final int STREAM_CHUNK_SIZE = 500;
+
     private final StudentRepository studentRepository;
     private final DepartmentRepository departmentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TimetableService timetableService;
+    private final PrerequisiteService prerequisiteService;
+    private final AcademicCalendar academicCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+        return withCurrentCourses(studentRepository.findAll());
+    }
+
+    // Hands every student to the action in id order, one chunk per query. Each chunk is read in its
+    // own short read-only transaction and handed over after it ends, so a slow consumer does not
+    // keep a connection checked out (GET /api/students also runs without Open EntityManager in
+    // View, see StreamingAwareOpenEntityManagerInViewInterceptor). The transaction's persistence
+    // context closes with it, so only STREAM_CHUNK_SIZE students are ever managed at once
+    public void forEachStudent(Consumer<Student> action) {
+        long lastId = 0;
+        List<Student> chunk;
+        do {
+            long after = lastId;
+            chunk = readOnly().execute(status -> withCurrentCourses(
+                    studentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(STREAM_CHUNK_SIZE))));
+            chunk.forEach(action);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.getLast().getId();
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
     }
 
     public Student getStudentById(Long id) {
-        return studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        return withCurrentCourses(findStudent(id));
+    }
+
+    // Whether the logged-in user is the student with this id; checked by @PreAuthorize on the
+    // endpoints a student may only call for themselves
+    public boolean isCurrentStudent(Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && studentRepository.findByUsername(authentication.getName())
+                .map(student -> student.getId().equals(id))
+                .orElse(false);
     }
 
     public Student getStudentByUsername(String username) {
-        return studentRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Student not found with username: " + username));
+        return withCurrentCourses(studentRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Student not found with username: " + username)));
     }
 
     public List<Student> getStudentsByDepartment(Long departmentId) {
-        return studentRepository.findByDepartmentId(departmentId);
+        return withCurrentCourses(studentRepository.findByDepartmentId(departmentId));
     }
 
     @Transactional
     public Student updateStudent(Long id, Student updatedStudent) {
-        Student student = getStudentById(id);
+        Student student = findStudent(id);
+        VersionConflictException.check("Student", id, updatedStudent.getVersion(), student.getVersion());
         student.setFullName(updatedStudent.getFullName());
         student.setEmail(updatedStudent.getEmail());
         student.setPhoneNumber(updatedStudent.getPhoneNumber());
-        return studentRepository.save(student);
+        return withCurrentCourses(studentRepository.save(student));
+    }
+
+    // Partial update: only the non-null fields of the patch are applied, and @DynamicUpdate
+    // limits the UPDATE to the columns that actually changed
+    @Transactional
+    public Student patchStudent(Long id, Student patch) {
+        Student student = findStudent(id);
+        VersionConflictException.check("Student", id, patch.getVersion(), student.getVersion());
+        if (patch.getFullName() != null) {
+            if (patch.getFullName().isBlank()) {
+                throw new RuntimeException("Full name must not be blank");
+            }
+            student.setFullName(patch.getFullName());
+        }
+        if (patch.getEmail() != null) {
+            if (patch.getEmail().isBlank()) {
+                throw new RuntimeException("Email must not be blank");
+            }
+            student.setEmail(patch.getEmail());
+        }
+        if (patch.getPhoneNumber() != null) {
+            student.setPhoneNumber(patch.getPhoneNumber());
+        }
+        return withCurrentCourses(studentRepository.save(student));
     }
 
     @Transactional
     public Student assignDepartment(Long studentId, Long departmentId) {
-        Student student = getStudentById(studentId);
+        Student student = findStudent(studentId);
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + departmentId));
         student.setDepartment(department);
-        return studentRepository.save(student);
+        return withCurrentCourses(studentRepository.save(student));
     }
 
+    // Enrolls for the current term; enrolling twice is a no-op. The student row is locked first, so
+    // two concurrent enrollments of the same student run their checks one after the other
     @Transactional
     public Student enrollInCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
+        lockStudent(studentId);
+        Student student = findStudent(studentId);
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
 
@@ -67,6 +150,100 @@ public class StudentService {
             throw new RuntimeException("Student must be assigned to a department before enrolling in courses");
         }
 
+        checkDepartment(student, course);
+
+        EnrollmentId enrollmentId = currentEnrollmentId(studentId, courseId);
+        if (!enrollmentRepository.existsById(enrollmentId)) {
+            prerequisiteService.checkEligible(studentId, List.of(course));
+            timetableService.checkConflicts(studentId, List.of(courseId));
+            Enrollment enrollment = new Enrollment(enrollmentId, Instant.now());
+            // The association is read-only; set so the returned student lists the course it was just
+            // enrolled in rather than the null the persistence context would hand back
+            enrollment.setCourse(course);
+            enrollmentRepository.save(enrollment);
+            publish(enrollmentId, EnrollmentEvent.Type.ENROLLED, enrollment.getEnrolledAt());
+        }
+        return withCurrentCourses(student);
+    }
+
+    // All or nothing: every course is checked (department, prerequisites, meeting times against the
+    // student's week and against each other) before any is enrolled. Courses already taken are skipped. Loading the
+    // courses and the schedule are one query each, whatever the size of the request
+    @Transactional
+    public Student enrollInCourses(Long studentId, List<Long> courseIds) {
+        lockStudent(studentId);
+        Student student = findStudent(studentId);
+        if (student.getDepartment() == null) {
+            throw new RuntimeException("Student must be assigned to a department before enrolling in courses");
+        }
+        List<Long> requested = courseIds.stream().distinct().toList();
+        Map<Long, Course> courses = new HashMap<>();
+        for (Course course : courseRepository.findAllById(requested)) {
+            courses.put(course.getId(), course);
+        }
+        for (Long courseId : requested) {
+            Course course = courses.get(courseId);
+            if (course == null) {
+                throw new RuntimeException("Course not found with id: " + courseId);
+            }
+            checkDepartment(student, course);
+        }
+
+        StudentSchedule schedule = timetableService.loadSchedule(studentId, requested);
+        prerequisiteService.checkEligible(studentId, requested.stream()
+                .filter(courseId -> !schedule.isEnrolled(courseId))
+                .map(courses::get)
+                .toList());
+        List<ScheduleConflict> conflicts = schedule.conflicts();
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(conflicts);
+        }
+        Instant now = Instant.now();
+        for (Long courseId : requested) {
+            if (!schedule.isEnrolled(courseId)) {
+                EnrollmentId enrollmentId = currentEnrollmentId(studentId, courseId);
+                Enrollment enrollment = new Enrollment(enrollmentId, now);
+                enrollment.setCourse(courses.get(courseId));
+                enrollmentRepository.save(enrollment);
+                publish(enrollmentId, EnrollmentEvent.Type.ENROLLED, now);
+            }
+        }
+        return withCurrentCourses(student);
+    }
+
+    // Drops the current term's enrollment; earlier terms are history and stay as they are
+    @Transactional
+    public Student dropCourse(Long studentId, Long courseId) {
+        Student student = findStudent(studentId);
+        courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        enrollmentRepository.findById(currentEnrollmentId(studentId, courseId)).ifPresent(enrollment -> {
+            // The grade is already counted in the student's GPA totals
+            if (enrollment.getGrade() != null) {
+                throw new RuntimeException("Cannot drop a graded course");
+            }
+            enrollmentRepository.delete(enrollment);
+            publish(enrollment.getId(), EnrollmentEvent.Type.DROPPED, Instant.now());
+        });
+        return withCurrentCourses(student);
+    }
+
+    // Only Teachers can delete students. Soft delete: a single UPDATE, the enrollments are kept
+    // and the row is moved to the archive later by ArchivalJob
+    @Transactional
+    public void deleteStudent(Long id) {
+        findStudent(id);
+        studentRepository.softDeleteById(id, Instant.now());
+    }
+
+    // Held until the transaction ends; the existence, prerequisite and schedule checks that follow
+    // then see every enrollment committed before them
+    private void lockStudent(Long studentId) {
+        studentRepository.lockById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+    }
+
+    private void checkDepartment(Student student, Course course) {
         // Check if course belongs to student's department
         if (course.getDepartment() == null) {
             throw new RuntimeException("Course is not assigned to any department");
@@ -76,24 +253,54 @@ public class StudentService {
             throw new RuntimeException("You can only enroll in courses from your department (" +
                 student.getDepartment().getName() + ")");
         }
+    }
 
-        student.getCourses().add(course);
-        return studentRepository.save(student);
+    private Student findStudent(Long id) {
+        return studentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
     }
 
-    @Transactional
-    public Student dropCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        student.getCourses().remove(course);
-        return studentRepository.save(student);
+    private EnrollmentId currentEnrollmentId(Long studentId, Long courseId) {
+        return new EnrollmentId(studentId, courseId, academicCalendar.currentTerm().code());
     }
 
-    // Only Teachers can delete students
-    @Transactional
-    public void deleteStudent(Long id) {
-        Student student = getStudentById(id);
-        studentRepository.delete(student);
+    // Recorded in the enrollment event log once the transaction commits, see EnrollmentEventLog
+    private void publish(EnrollmentId id, EnrollmentEvent.Type type, Instant occurredAt) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        eventPublisher.publishEvent(new EnrollmentChanged(id.getStudentId(), id.getCourseId(), id.getTerm(),
+                type, occurredAt, authentication != null ? authentication.getName() : null));
+    }
+
+    private Student withCurrentCourses(Student student) {
+        withCurrentCourses(List.of(student));
+        return student;
+    }
+
+    // Fills Student.courses for a batch of students with one query per STREAM_CHUNK_SIZE ids, all
+    // against the current term's partition
+    private List<Student> withCurrentCourses(List<Student> students) {
+        if (students.isEmpty()) {
+            return students;
+        }
+        String term = academicCalendar.currentTerm().code();
+        Map<Long, Student> byId = new HashMap<>();
+        for (Student student : students) {
+            student.setCourses(new HashSet<>());
+            byId.put(student.getId(), student);
+        }
+        List<Long> ids = List.copyOf(byId.keySet());
+        for (int from = 0; from < ids.size(); from += STREAM_CHUNK_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + STREAM_CHUNK_SIZE, ids.size()));
+            for (Enrollment enrollment : enrollmentRepository.findByTermAndStudentIdIn(term, batch)) {
+                byId.get(enrollment.getId().getStudentId()).getCourses().add(enrollment.getCourse());
+            }
+        }
+        return students;
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
     }
 }
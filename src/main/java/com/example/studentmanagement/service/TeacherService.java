@@ -1,8 +1,16 @@
 package com.example.studentmanagement.service;
 
+import com.example.studentmanagement.changes.ChangeTombstones;
+import com.example.studentmanagement.config.CacheConfig;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,7 +20,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TeacherService {
 
+    static final int MAX_WORKLOAD_PAGE_SIZE = 100;
+
     private final TeacherRepository teacherRepository;
+    private final AcademicCalendar academicCalendar;
+    private final ChangeTombstones changeTombstones;
 
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
@@ -28,9 +40,18 @@ public class TeacherService {
                 .orElseThrow(() -> new RuntimeException("Teacher not found with username: " + username));
     }
 
+    // Cached briefly (see spring.cache.caffeine.spec): the aggregate scans every course and
+    // enrollment, and a dashboard polling it does not need to-the-second counts
+    @Cacheable(cacheNames = CacheConfig.TEACHER_WORKLOAD, key = "#page + ':' + #size")
+    public Page<TeacherWorkloadDto> getTeacherWorkload(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_WORKLOAD_PAGE_SIZE));
+        return teacherRepository.findWorkload(academicCalendar.currentTerm().code(), pageRequest);
+    }
+
     @Transactional
     public Teacher updateTeacher(Long id, Teacher updatedTeacher) {
         Teacher teacher = getTeacherById(id);
+        VersionConflictException.check("Teacher", id, updatedTeacher.getVersion(), teacher.getVersion());
         teacher.setFullName(updatedTeacher.getFullName());
         teacher.setEmail(updatedTeacher.getEmail());
         teacher.setPhoneNumber(updatedTeacher.getPhoneNumber());
@@ -38,9 +59,36 @@ public class TeacherService {
         return teacherRepository.save(teacher);
     }
 
+    // Partial update, see StudentService.patchStudent
+    @Transactional
+    public Teacher patchTeacher(Long id, Teacher patch) {
+        Teacher teacher = getTeacherById(id);
+        VersionConflictException.check("Teacher", id, patch.getVersion(), teacher.getVersion());
+        if (patch.getFullName() != null) {
+            if (patch.getFullName().isBlank()) {
+                throw new RuntimeException("Full name must not be blank");
+            }
+            teacher.setFullName(patch.getFullName());
+        }
+        if (patch.getEmail() != null) {
+            if (patch.getEmail().isBlank()) {
+                throw new RuntimeException("Email must not be blank");
+            }
+            teacher.setEmail(patch.getEmail());
+        }
+        if (patch.getPhoneNumber() != null) {
+            teacher.setPhoneNumber(patch.getPhoneNumber());
+        }
+        if (patch.getDesignation() != null) {
+            teacher.setDesignation(patch.getDesignation());
+        }
+        return teacherRepository.save(teacher);
+    }
+
     @Transactional
     public void deleteTeacher(Long id) {
         Teacher teacher = getTeacherById(id);
         teacherRepository.delete(teacher);
+        changeTombstones.record(ChangeTombstones.TEACHER, id.toString());
     }
 }
@@ -0,0 +1,149 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.CourseMeetingDto;
+import com.example.studentmanagement.dto.TimetableEntry;
+import com.example.studentmanagement.entity.CourseMeeting;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.repository.CourseMeetingRepository;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.schedule.ScheduleConflict;
+import com.example.studentmanagement.schedule.StudentSchedule;
+import com.example.studentmanagement.schedule.WeeklySlots;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TimetableService {
+
+    // The student's current courses with their meetings (NULL meeting columns for a course without
+    // any) and the meetings of the requested courses, in one round trip. Soft-deleted courses keep
+    // their enrollment rows but no longer occupy the week
+    private static final String LOAD_SCHEDULE = """
+            SELECT e.course_id, TRUE AS enrolled, m.day_of_week, m.start_time, m.end_time
+            FROM student_courses e
+            LEFT JOIN courses c ON c.id = e.course_id AND c.deleted_at IS NULL
+            LEFT JOIN course_meetings m ON m.course_id = c.id
+            WHERE e.student_id = :studentId AND e.term = :term
+            UNION ALL
+            SELECT m.course_id, FALSE, m.day_of_week, m.start_time, m.end_time
+            FROM course_meetings m
+            WHERE m.course_id IN (:courseIds)
+            """;
+
+    private static final String TIMETABLE = """
+            SELECT c.id, c.course_code, c.course_name, m.day_of_week, m.start_time, m.end_time, m.location
+            FROM student_courses e
+            JOIN courses c ON c.id = e.course_id AND c.deleted_at IS NULL
+            JOIN course_meetings m ON m.course_id = c.id
+            WHERE e.student_id = :studentId AND e.term = :term
+            """;
+
+    private final CourseMeetingRepository courseMeetingRepository;
+    private final CourseRepository courseRepository;
+    private final AcademicCalendar academicCalendar;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<CourseMeeting> getMeetings(Long courseId) {
+        findCourse(courseId);
+        return courseMeetingRepository.findByCourseIdOrderByIdAsc(courseId);
+    }
+
+    // Replaces the course's weekly meetings. Students already enrolled are not re-checked: moving a
+    // section is an administrative decision, conflicts it causes show up on their timetables
+    @Transactional
+    public List<CourseMeeting> replaceMeetings(Long courseId, List<CourseMeetingDto> meetings) {
+        findCourse(courseId);
+        WeeklySlots week = new WeeklySlots();
+        List<CourseMeeting> rows = new ArrayList<>(meetings.size());
+        for (CourseMeetingDto dto : meetings) {
+            if (dto.getDayOfWeek() == null || dto.getStartTime() == null || dto.getEndTime() == null) {
+                throw new RuntimeException("Day of week, start time and end time are required");
+            }
+            if (!dto.getStartTime().isBefore(dto.getEndTime())) {
+                throw new RuntimeException("Meeting must end after it starts: " + dto.getDayOfWeek() + " "
+                        + dto.getStartTime() + "-" + dto.getEndTime());
+            }
+            WeeklySlots slots = new WeeklySlots().add(dto.getDayOfWeek(), dto.getStartTime(), dto.getEndTime());
+            if (week.intersects(slots)) {
+                throw new RuntimeException("Meetings of a course must not overlap: " + dto.getDayOfWeek() + " "
+                        + dto.getStartTime() + "-" + dto.getEndTime());
+            }
+            week.addAll(slots);
+
+            CourseMeeting meeting = new CourseMeeting();
+            meeting.setCourseId(courseId);
+            meeting.setDayOfWeek(dto.getDayOfWeek());
+            meeting.setStartTime(dto.getStartTime());
+            meeting.setEndTime(dto.getEndTime());
+            meeting.setLocation(dto.getLocation());
+            rows.add(meeting);
+        }
+        courseMeetingRepository.deleteByCourseId(courseId);
+        return courseMeetingRepository.saveAll(rows);
+    }
+
+    // The student's current-term schedule plus the requested courses, built from a single query
+    public StudentSchedule loadSchedule(Long studentId, Collection<Long> courseIds) {
+        Map<Long, WeeklySlots> enrolled = new HashMap<>();
+        Map<Long, WeeklySlots> requested = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            requested.put(courseId, new WeeklySlots());
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentId", studentId)
+                .addValue("term", academicCalendar.currentTerm().code())
+                .addValue("courseIds", courseIds);
+        jdbcTemplate.query(LOAD_SCHEDULE, params, rs -> {
+            Long courseId = rs.getLong(1);
+            WeeklySlots slots = rs.getBoolean(2)
+                    ? enrolled.computeIfAbsent(courseId, id -> new WeeklySlots())
+                    : requested.get(courseId);
+            String day = rs.getString(3);
+            if (day != null) {
+                slots.add(DayOfWeek.valueOf(day), rs.getObject(4, LocalTime.class), rs.getObject(5, LocalTime.class));
+            }
+        });
+        return new StudentSchedule(enrolled, requested);
+    }
+
+    public void checkConflicts(Long studentId, Collection<Long> courseIds) {
+        List<ScheduleConflict> conflicts = loadSchedule(studentId, courseIds).conflicts();
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(conflicts);
+        }
+    }
+
+    public List<TimetableEntry> getTimetable(Long studentId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentId", studentId)
+                .addValue("term", academicCalendar.currentTerm().code());
+        List<TimetableEntry> entries = jdbcTemplate.query(TIMETABLE, params, (rs, rowNum) -> new TimetableEntry(
+                rs.getLong(1), rs.getString(2), rs.getString(3), DayOfWeek.valueOf(rs.getString(4)),
+                rs.getObject(5, LocalTime.class), rs.getObject(6, LocalTime.class), rs.getString(7)));
+        entries.sort(Comparator.comparing(TimetableEntry::getDayOfWeek)
+                .thenComparing(TimetableEntry::getStartTime)
+                .thenComparing(TimetableEntry::getCourseId));
+        return entries;
+    }
+
+    private void findCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.studentmanagement;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentManagementRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new StudentManagementRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_CoversSerializedEntityGraph() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(ApiResponse.class, "getData")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(Student.class, "getStudentId")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(Student.class, "getUsername")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Department.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Course.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Role.class)).accepts(hints);
+    }
+
+    @Test
+    void registerHints_CoversRepositoryResultConstructors() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onConstructorInvocation(TeacherWorkloadDto.class.getDeclaredConstructor(
+                Long.class, String.class, String.class, Long.class, Long.class, Long.class))).accepts(hints);
+        // A class, not an interface projection: Spring Data never proxies it
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(TeacherWorkloadDto.class)).rejects(hints);
+    }
+
+    @Test
+    void registerHints_IncludesConnectionProxy() {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+    }
+
+    @Test
+    void registerHints_IncludesStaticResources() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("static/index.html")).accepts(hints);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.studentmanagement.benchmark;
+
+import com.example.studentmanagement.controller.ApiResponseWriter;
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.accept.ContentNegotiationManager;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List response built as a materialized {@link ApiResponse} versus streamed through
+ * {@link ApiResponseWriter}. Both variants create the same entities, the way a repository would
+ * hydrate them, so the difference is what the response path itself allocates and keeps alive.
+ * <p>
+ * Run with the GC profiler to see allocations per response (gc.alloc.rate.norm):
+ * {@code ./mvnw -Pbenchmark -DskipTests test -Dbenchmark.include=ApiResponseWriter -Dbenchmark.args="-prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class ApiResponseWriterBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String MESSAGE = "Students retrieved successfully";
+
+    @Param({"1000", "20000"})
+    private int students;
+
+    private JsonMapper jsonMapper;
+    private ApiResponseWriter writer;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        writer = new ApiResponseWriter(new ContentNegotiationManager(), jsonMapper,
+                new StaticListableBeanFactory().getBeanProvider(CBORMapper.class));
+    }
+
+    // Both paths close the target stream, so each call gets a fresh one
+    @Benchmark
+    public void envelope() {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(),
+                new ApiResponse(true, MESSAGE, BenchmarkData.students(students)));
+    }
+
+    @Benchmark
+    public void streamed() {
+        writer.writeList(OutputStream.nullOutputStream(), MediaType.APPLICATION_JSON, MESSAGE, Student.class, sink -> {
+            for (int written = 0; written < students; written += CHUNK_SIZE) {
+                BenchmarkData.students(Math.min(CHUNK_SIZE, students - written)).forEach(sink);
+            }
+        });
+    }
+}
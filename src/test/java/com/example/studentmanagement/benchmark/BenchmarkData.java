@@ -0,0 +1,71 @@
+package com.example.studentmanagement.benchmark;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+final class BenchmarkData {
+
+    private static final int COURSES_PER_STUDENT = 5;
+
+    private BenchmarkData() {
+    }
+
+    // Same shape as the production roster: every student carries its department and enrolled courses
+    static List<Student> students(int size) {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Computer Science");
+        department.setDescription("School of Computing and Information Sciences");
+
+        Teacher teacher = new Teacher();
+        teacher.setId(100L);
+        teacher.setUsername("jsmith");
+        teacher.setEmail("jsmith@university.edu");
+        teacher.setFullName("John Smith");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP100");
+        teacher.setDesignation("Associate Professor");
+
+        List<Course> catalog = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Course course = new Course();
+            course.setId((long) i);
+            course.setCourseCode("CS" + (101 + i));
+            course.setCourseName("Computer Science Course " + (101 + i));
+            course.setDescription("Lectures, labs and a final project covering topic " + i);
+            course.setCredits(3);
+            course.setDepartment(department);
+            course.setTeacher(teacher);
+            catalog.add(course);
+        }
+
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Student student = new Student();
+            student.setId(1000L + i);
+            student.setUsername("student" + i);
+            student.setPassword("{bcrypt}$2a$10$not-serialized");
+            student.setEmail("student" + i + "@university.edu");
+            student.setFullName("Student Number " + i);
+            student.setRole(Role.ROLE_STUDENT);
+            student.setStudentId(String.format("STU%05d", i));
+            student.setPhoneNumber(String.format("555-%07d", i));
+            student.setDepartment(department);
+            Set<Course> courses = new HashSet<>();
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                courses.add(catalog.get((i + c * 3) % catalog.size()));
+            }
+            student.setCourses(courses);
+            students.add(student);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.studentmanagement.benchmark;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a student roster wrapped in {@link ApiResponse}, as served by
+ * {@code GET /api/students}, for each negotiable response format. The payload size of every
+ * format is printed once per trial.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark -DskipTests test -Dbenchmark.include=ResponseFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"50", "1000"})
+    private int students;
+
+    private ObjectMapper mapper;
+    private ApiResponse roster;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        roster = new ApiResponse(true, "Students retrieved successfully", BenchmarkData.students(students));
+        encoded = mapper.writeValueAsBytes(roster);
+        System.out.printf("%n%s, %d students: %d bytes%n", format, students, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public ApiResponse decode() {
+        return mapper.readValue(encoded, ApiResponse.class);
+    }
+}
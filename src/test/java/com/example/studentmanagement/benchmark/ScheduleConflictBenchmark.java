@@ -0,0 +1,80 @@
+package com.example.studentmanagement.benchmark;
+
+import com.example.studentmanagement.schedule.ScheduleConflict;
+import com.example.studentmanagement.schedule.StudentSchedule;
+import com.example.studentmanagement.schedule.WeeklySlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking an enrollment request against a student's week, the in-memory part of
+ * {@code StudentService.enrollInCourses} once {@code TimetableService} has loaded the schedule.
+ * Courses meet two or three times a week for 50 or 75 minutes at random times between 8:00 and
+ * 18:00, so a batch usually contains both fitting and conflicting courses.
+ * <p>
+ * {@code ./mvnw -Pbenchmark -DskipTests test -Dbenchmark.include=ScheduleConflict}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class ScheduleConflictBenchmark {
+
+    @Param({"5"})
+    private int enrolledCourses;
+
+    @Param({"1", "20"})
+    private int requestedCourses;
+
+    private StudentSchedule schedule;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Long, WeeklySlots> enrolled = new HashMap<>();
+        for (long id = 1; id <= enrolledCourses; id++) {
+            enrolled.put(id, randomCourse(random));
+        }
+        Map<Long, WeeklySlots> requested = new LinkedHashMap<>();
+        for (long id = 1; id <= requestedCourses; id++) {
+            requested.put(1000 + id, randomCourse(random));
+        }
+        schedule = new StudentSchedule(enrolled, requested);
+    }
+
+    @Benchmark
+    public List<ScheduleConflict> conflicts() {
+        return schedule.conflicts();
+    }
+
+    private static WeeklySlots randomCourse(SplittableRandom random) {
+        WeeklySlots slots = new WeeklySlots();
+        int meetings = random.nextInt(2, 4);
+        int minutes = random.nextBoolean() ? 50 : 75;
+        LocalTime start = LocalTime.of(8, 0).plusMinutes(random.nextInt(20) * 30L);
+        for (int day = random.nextInt(1, 6 - meetings + 1), i = 0; i < meetings; i++, day++) {
+            slots.add(DayOfWeek.of(day), start, start.plusMinutes(minutes));
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.studentmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter();
+
+    @Test
+    void outputStreamFlush_DoesNotCommit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses"), response, (request, wrapped) -> {
+            wrapped.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            wrapped.getOutputStream().write("{}".getBytes());
+            wrapped.getOutputStream().flush();
+            wrapped.flushBuffer();
+        });
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void writerFlush_DoesNotCommit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses"), response, (request, wrapped) -> {
+            wrapped.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            wrapped.getWriter().write("{}");
+            wrapped.getWriter().flush();
+        });
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void eventStream_KeepsItsFlushes() throws Exception {
+        MockHttpServletResponse streamResponse = new MockHttpServletResponse();
+        MockHttpServletResponse writerResponse = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/changes"), streamResponse, eventStream(false));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/changes"), writerResponse, eventStream(true));
+
+        assertThat(streamResponse.isCommitted()).isTrue();
+        assertThat(writerResponse.isCommitted()).isTrue();
+        assertThat(writerResponse.getContentAsString()).isEqualTo("data:{}\n\n");
+    }
+
+    private static FilterChain eventStream(boolean writer) {
+        return (request, response) -> {
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            if (writer) {
+                response.getWriter().write("data:{}\n\n");
+                response.getWriter().flush();
+            } else {
+                response.getOutputStream().write("data:{}\n\n".getBytes());
+                response.getOutputStream().flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ApiResponse;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.accept.ContentNegotiationManager;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseWriterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private ApiResponseWriter writer;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        writer = new ApiResponseWriter(new ContentNegotiationManager(), jsonMapper,
+                new StaticListableBeanFactory().getBeanProvider(CBORMapper.class));
+
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Computer Science");
+
+        Student student = new Student();
+        student.setId(1L);
+        student.setUsername("student1");
+        student.setPassword("encoded_password");
+        student.setEmail("student1@example.com");
+        student.setFullName("Student One");
+        student.setRole(Role.ROLE_STUDENT);
+        student.setStudentId("STU001");
+        student.setDepartment(department);
+        student.setCourses(new HashSet<>());
+        students = List.of(student, new Student());
+    }
+
+    @Test
+    void writeList_MatchesApiResponseSerialization() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.writeList(new MockHttpServletRequest(), response, "Students retrieved successfully",
+                Student.class, sink -> students.forEach(sink));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        String expected = jsonMapper.writeValueAsString(new ApiResponse(true, "Students retrieved successfully", students));
+        assertThat(jsonMapper.readTree(response.getContentAsByteArray())).isEqualTo(jsonMapper.readTree(expected));
+    }
+
+    @Test
+    void writeList_EmptySource_WritesEmptyArray() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.writeList(new MockHttpServletRequest(), response, "Students retrieved successfully",
+                Student.class, sink -> { });
+
+        JsonNode body = jsonMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.get("success").asBoolean()).isTrue();
+        assertThat(body.get("data").isArray()).isTrue();
+        assertThat(body.get("data").isEmpty()).isTrue();
+    }
+
+    @Test
+    void writeList_NegotiatesCbor() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.writeList(request, response, "Students retrieved successfully", Student.class, sink -> students.forEach(sink));
+
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        JsonNode body = new CBORMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.get("data").get(0).get("studentId").asString()).isEqualTo("STU001");
+        assertThat(body.get("data").get(0).has("password")).isFalse();
+    }
+
+    @Test
+    void writeList_UnsupportedAccept_FallsBackToJson() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "text/csv");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.writeList(request, response, "Students retrieved successfully", Student.class, sink -> { });
+
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+    }
+}
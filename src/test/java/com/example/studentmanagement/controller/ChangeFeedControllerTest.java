@@ -0,0 +1,113 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ChangeDto;
+import com.example.studentmanagement.dto.ChangeFeedPage;
+import com.example.studentmanagement.security.CustomUserDetailsService;
+import com.example.studentmanagement.service.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ChangeFeedController.class)
+@Import(ChangeFeedControllerTest.TestSecurityConfig.class)
+class ChangeFeedControllerTest {
+
+    @TestConfiguration
+    @EnableWebSecurity
+    @EnableMethodSecurity(prePostEnabled = true)
+    static class TestSecurityConfig {
+        @Bean
+        @Primary
+        @Order(1)
+        SecurityFilterChain testFilterChain(HttpSecurity http) throws Exception {
+            http
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                    .requestMatchers("/api/auth/**").permitAll()
+                    .anyRequest().authenticated()
+                )
+                .exceptionHandling(ex -> ex
+                    .authenticationEntryPoint((request, response, authException) ->
+                        response.setStatus(401))
+                );
+            return http.build();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ChangeFeedService changeFeedService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void getChanges_SinceToken() throws Exception {
+        ChangeFeedPage page = new ChangeFeedPage(List.of(
+                new ChangeDto("course", "7", ChangeDto.Operation.UPSERT, 41L),
+                new ChangeDto("enrollment", "3:7:2026-FALL", ChangeDto.Operation.DELETE, 42L)), "42", false);
+        when(changeFeedService.getChanges("40", 500)).thenReturn(page);
+
+        mockMvc.perform(get("/api/changes").param("since", "40").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Changes retrieved successfully")))
+                .andExpect(jsonPath("$.data.changes", hasSize(2)))
+                .andExpect(jsonPath("$.data.changes[1].op", is("DELETE")))
+                .andExpect(jsonPath("$.data.changes[1].id", is("3:7:2026-FALL")))
+                .andExpect(jsonPath("$.data.next", is("42")))
+                .andExpect(jsonPath("$.data.hasMore", is(false)));
+    }
+
+    @Test
+    void getChanges_ExpiredToken() throws Exception {
+        when(changeFeedService.getChanges("3", 500))
+                .thenThrow(new RuntimeException("Change token expired, resync from the beginning"));
+
+        mockMvc.perform(get("/api/changes").param("since", "3").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", containsString("expired")));
+    }
+
+    @Test
+    void stream_PrefersLastEventId() throws Exception {
+        when(changeFeedService.subscribe("42")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/changes/stream").param("since", "10").header("Last-Event-ID", "42")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeedService).subscribe("42");
+    }
+
+    @Test
+    void getChanges_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(get("/api/changes").with(user("student").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(changeFeedService);
+    }
+}
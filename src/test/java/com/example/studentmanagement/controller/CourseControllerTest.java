@@ -1,12 +1,22 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.dto.CourseMeetingDto;
+import com.example.studentmanagement.dto.CoursePrerequisitesDto;
+import com.example.studentmanagement.dto.GradeDistributionDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
 import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.CourseMeeting;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Grade;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.security.CustomUserDetailsService;
 import com.example.studentmanagement.service.CourseService;
+import com.example.studentmanagement.service.GradeService;
+import com.example.studentmanagement.service.PrerequisiteService;
+import com.example.studentmanagement.service.TimetableService;
 import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +28,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -26,10 +37,18 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -37,7 +56,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CourseController.class)
-@Import(CourseControllerTest.TestSecurityConfig.class)
+@Import({CourseControllerTest.TestSecurityConfig.class, ApiResponseWriter.class})
 class CourseControllerTest {
 
     @TestConfiguration
@@ -55,10 +74,12 @@ class CourseControllerTest {
                     .requestMatchers(HttpMethod.GET, "/api/departments/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/departments/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/students/{id}").hasRole("TEACHER")
                     .requestMatchers("/api/students/**").authenticated()
@@ -82,6 +103,15 @@ class CourseControllerTest {
     @MockitoBean
     private CourseService courseService;
 
+    @MockitoBean
+    private TimetableService timetableService;
+
+    @MockitoBean
+    private PrerequisiteService prerequisiteService;
+
+    @MockitoBean
+    private GradeService gradeService;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -129,7 +159,7 @@ class CourseControllerTest {
 
     @Test
     void getAllCourses() throws Exception {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(course1, course2));
+        stubAllCourses(course1, course2);
 
         mockMvc.perform(get("/api/courses").with(user("student").roles("STUDENT")))
                 .andExpect(status().isOk())
@@ -137,7 +167,7 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.message", is("Courses retrieved successfully")))
                 .andExpect(jsonPath("$.data", hasSize(2)));
 
-        verify(courseService, times(1)).getAllCourses();
+        verify(courseService, times(1)).forEachCourse(any());
     }
 
     @Test
@@ -262,6 +292,99 @@ class CourseControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void getCourseById_ReturnsETag() throws Exception {
+        course1.setVersion(3L);
+        when(courseService.getCourseById(1L)).thenReturn(course1);
+
+        mockMvc.perform(get("/api/courses/1").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.data.version", is(3)));
+    }
+
+    @Test
+    void updateCourse_IfMatchPassedAsExpectedVersion() throws Exception {
+        course1.setVersion(4L);
+        when(courseService.updateCourse(eq(1L), any(CourseDto.class))).thenReturn(course1);
+
+        mockMvc.perform(put("/api/courses/1")
+                        .with(user("teacher").roles("TEACHER"))
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(courseService).updateCourse(eq(1L), argThat(dto -> Long.valueOf(3L).equals(dto.getVersion())));
+    }
+
+    @Test
+    void updateCourse_StaleIfMatch() throws Exception {
+        when(courseService.updateCourse(eq(1L), any(CourseDto.class)))
+                .thenThrow(new VersionConflictException("Course 1 was modified by another request (expected version 3, current 4)"));
+
+        mockMvc.perform(put("/api/courses/1")
+                        .with(user("teacher").roles("TEACHER"))
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", containsString("expected version 3")));
+    }
+
+    @Test
+    void updateCourse_ConcurrentUpdateWithoutIfMatch() throws Exception {
+        when(courseService.updateCourse(eq(1L), any(CourseDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Course.class, 1L));
+
+        mockMvc.perform(put("/api/courses/1")
+                        .with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void updateCourse_InvalidIfMatch() throws Exception {
+        mockMvc.perform(put("/api/courses/1")
+                        .with(user("teacher").roles("TEACHER"))
+                        .header("If-Match", "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid If-Match header")));
+
+        verify(courseService, never()).updateCourse(any(), any());
+    }
+
+    @Test
+    void patchCourse() throws Exception {
+        course1.setCredits(5);
+        when(courseService.patchCourse(eq(1L), any(CourseDto.class))).thenReturn(course1);
+
+        mockMvc.perform(patch("/api/courses/1")
+                        .with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"credits\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Course updated successfully")))
+                .andExpect(jsonPath("$.data.credits", is(5)));
+
+        verify(courseService).patchCourse(eq(1L), argThat(dto -> dto.getCredits() == 5 && dto.getCourseName() == null));
+    }
+
+    @Test
+    void patchCourse_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(patch("/api/courses/1")
+                        .with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"credits\":5}"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void deleteCourse() throws Exception {
         doNothing().when(courseService).deleteCourse(1L);
@@ -289,10 +412,189 @@ class CourseControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void getMeetings() throws Exception {
+        when(timetableService.getMeetings(1L)).thenReturn(List.of(saved(meeting(DayOfWeek.MONDAY, 9))));
+
+        mockMvc.perform(get("/api/courses/1/meetings").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].dayOfWeek", is("MONDAY")))
+                .andExpect(jsonPath("$.data[0].startTime", is("09:00:00")));
+    }
+
+    @Test
+    void replaceMeetings() throws Exception {
+        List<CourseMeetingDto> meetings = List.of(meeting(DayOfWeek.MONDAY, 9), meeting(DayOfWeek.WEDNESDAY, 9));
+        when(timetableService.replaceMeetings(eq(1L), any()))
+                .thenReturn(meetings.stream().map(CourseControllerTest::saved).toList());
+
+        mockMvc.perform(put("/api/courses/1/meetings").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meetings)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Meetings updated successfully")))
+                .andExpect(jsonPath("$.data", hasSize(2)));
+
+        verify(timetableService).replaceMeetings(eq(1L), argThat(list -> list.size() == 2
+                && list.get(1).getDayOfWeek() == DayOfWeek.WEDNESDAY));
+    }
+
+    @Test
+    void replaceMeetings_Invalid() throws Exception {
+        when(timetableService.replaceMeetings(eq(1L), any()))
+                .thenThrow(new RuntimeException("Meeting must end after it starts"));
+
+        mockMvc.perform(put("/api/courses/1/meetings").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\",\"startTime\":\"10:00\",\"endTime\":\"09:00\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void replaceMeetings_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(put("/api/courses/1/meetings").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(timetableService);
+    }
+
+    @Test
+    void getPrerequisites() throws Exception {
+        when(prerequisiteService.getPrerequisites(3L))
+                .thenReturn(new CoursePrerequisitesDto(3L, List.of(2L), List.of(1L, 2L)));
+
+        mockMvc.perform(get("/api/courses/3/prerequisites").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.prerequisiteIds", contains(2)))
+                .andExpect(jsonPath("$.data.allPrerequisiteIds", contains(1, 2)));
+    }
+
+    @Test
+    void replacePrerequisites() throws Exception {
+        when(prerequisiteService.replacePrerequisites(3L, List.of(1L, 2L)))
+                .thenReturn(new CoursePrerequisitesDto(3L, List.of(1L, 2L), List.of(1L, 2L)));
+
+        mockMvc.perform(put("/api/courses/3/prerequisites").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Prerequisites updated successfully")));
+    }
+
+    @Test
+    void replacePrerequisites_Cycle() throws Exception {
+        when(prerequisiteService.replacePrerequisites(1L, List.of(3L)))
+                .thenThrow(new RuntimeException("CS301 already requires CS101"));
+
+        mockMvc.perform(put("/api/courses/1/prerequisites").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[3]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("CS301 already requires CS101")));
+    }
+
+    @Test
+    void replacePrerequisites_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(put("/api/courses/3/prerequisites").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(prerequisiteService);
+    }
+
+    @Test
+    void recordGrade() throws Exception {
+        when(gradeService.recordGrade(eq(1L), argThat(dto -> dto.getStudentId().equals(5L) && dto.getGrade() == Grade.B_PLUS)))
+                .thenReturn(new TranscriptEntry("2026-FALL", 1L, "CS101", "Intro", 3, Grade.B_PLUS));
+
+        mockMvc.perform(put("/api/courses/1/grades").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":5,\"grade\":\"B+\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Grade recorded successfully")))
+                .andExpect(jsonPath("$.data.grade", is("B+")));
+    }
+
+    @Test
+    void recordGrade_InvalidGrade() throws Exception {
+        mockMvc.perform(put("/api/courses/1/grades").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":5,\"grade\":\"Z\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void recordGrade_MissingStudent() throws Exception {
+        mockMvc.perform(put("/api/courses/1/grades").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"A\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void recordGrade_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(put("/api/courses/1/grades").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":5,\"grade\":\"A\"}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void getGradeDistribution() throws Exception {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("A", 2L);
+        counts.put("B", 1L);
+        when(gradeService.getGradeDistribution(1L, "2026-FALL"))
+                .thenReturn(new GradeDistributionDto(1L, "2026-FALL", 3, new BigDecimal("3.67"), counts));
+
+        mockMvc.perform(get("/api/courses/1/grades/distribution").param("term", "2026-FALL")
+                        .with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.graded", is(3)))
+                .andExpect(jsonPath("$.data.counts.A", is(2)));
+    }
+
     @Test
     void getAllCourses_Unauthenticated() throws Exception {
         mockMvc.perform(get("/api/courses"))
                 .andExpect(status().isUnauthorized());
     }
-}
 
+    private void stubAllCourses(Course... items) {
+        doAnswer(invocation -> {
+            Consumer<Course> action = invocation.getArgument(0);
+            Arrays.asList(items).forEach(action);
+            return null;
+        }).when(courseService).forEachCourse(any());
+    }
+
+    private static CourseMeetingDto meeting(DayOfWeek day, int hour) {
+        CourseMeetingDto meeting = new CourseMeetingDto();
+        meeting.setDayOfWeek(day);
+        meeting.setStartTime(LocalTime.of(hour, 0));
+        meeting.setEndTime(LocalTime.of(hour, 50));
+        meeting.setLocation("Room 101");
+        return meeting;
+    }
+
+    private static CourseMeeting saved(CourseMeetingDto dto) {
+        CourseMeeting meeting = new CourseMeeting();
+        meeting.setCourseId(1L);
+        meeting.setDayOfWeek(dto.getDayOfWeek());
+        meeting.setStartTime(dto.getStartTime());
+        meeting.setEndTime(dto.getEndTime());
+        meeting.setLocation(dto.getLocation());
+        return meeting;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
 import com.example.studentmanagement.dto.DepartmentDto;
 import com.example.studentmanagement.entity.Department;
 import com.example.studentmanagement.security.CustomUserDetailsService;
@@ -52,10 +53,12 @@ class DepartmentControllerTest {
                     .requestMatchers(HttpMethod.GET, "/api/departments/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/departments/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/students/{id}").hasRole("TEACHER")
                     .requestMatchers("/api/students/**").authenticated()
@@ -246,6 +249,48 @@ class DepartmentControllerTest {
         verify(departmentService, times(1)).deleteDepartment(1L);
     }
 
+    @Test
+    void deleteDepartment_Async() throws Exception {
+        when(departmentService.startDepartmentDeletion(1L))
+                .thenReturn(new DepartmentDeletionProgress(1L, "Computer Science"));
+
+        mockMvc.perform(delete("/api/departments/1").param("async", "true").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/departments/1/deletion"))
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Department deletion started")))
+                .andExpect(jsonPath("$.data.status", is("RUNNING")))
+                .andExpect(jsonPath("$.data.departmentName", is("Computer Science")));
+
+        verify(departmentService, never()).deleteDepartment(any());
+    }
+
+    @Test
+    void getDeletionProgress() throws Exception {
+        DepartmentDeletionProgress progress = new DepartmentDeletionProgress(1L, "Computer Science");
+        progress.setCoursesDeleted(12);
+        progress.setStudentsDeleted(300);
+        progress.setStatus(DepartmentDeletionProgress.Status.COMPLETED);
+        when(departmentService.getDeletionProgress(1L)).thenReturn(progress);
+
+        mockMvc.perform(get("/api/departments/1/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.data.coursesDeleted", is(12)))
+                .andExpect(jsonPath("$.data.studentsDeleted", is(300)))
+                .andExpect(jsonPath("$.data.finished", is(true)));
+    }
+
+    @Test
+    void getDeletionProgress_Unknown() throws Exception {
+        when(departmentService.getDeletionProgress(99L))
+                .thenThrow(new RuntimeException("No deletion found for department with id: 99"));
+
+        mockMvc.perform(get("/api/departments/99/deletion"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
     @Test
     void deleteDepartment_NotFound() throws Exception {
         doThrow(new RuntimeException("Department not found with id: 99"))
@@ -0,0 +1,129 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import com.example.studentmanagement.security.CustomUserDetailsService;
+import com.example.studentmanagement.service.EnrollmentHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EnrollmentEventController.class)
+@Import(EnrollmentEventControllerTest.TestSecurityConfig.class)
+class EnrollmentEventControllerTest {
+
+    @TestConfiguration
+    @EnableWebSecurity
+    @EnableMethodSecurity(prePostEnabled = true)
+    static class TestSecurityConfig {
+        @Bean
+        @Primary
+        @Order(1)
+        SecurityFilterChain testFilterChain(HttpSecurity http) throws Exception {
+            http
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                    .requestMatchers("/api/auth/**").permitAll()
+                    .anyRequest().authenticated()
+                )
+                .exceptionHandling(ex -> ex
+                    .authenticationEntryPoint((request, response, authException) ->
+                        response.setStatus(401))
+                );
+            return http.build();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EnrollmentHistoryService enrollmentHistoryService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void getEvents_ByCourseAndTime() throws Exception {
+        Instant from = Instant.parse("2026-10-12T00:00:00Z");
+        EnrollmentEvent dropped = new EnrollmentEvent(5L, 3L, 7L, "2026-FALL", EnrollmentEvent.Type.DROPPED,
+                Instant.parse("2026-10-14T09:30:00Z"), "student3");
+        when(enrollmentHistoryService.getEvents(7L, null, from, null, 0, 50))
+                .thenReturn(new PageImpl<>(List.of(dropped), PageRequest.of(0, 50), 1));
+
+        mockMvc.perform(get("/api/enrollment-events").param("courseId", "7").param("from", "2026-10-12T00:00:00Z")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Enrollment events retrieved successfully")))
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].type", is("DROPPED")))
+                .andExpect(jsonPath("$.data.content[0].actor", is("student3")))
+                .andExpect(jsonPath("$.data.page.totalElements", is(1)));
+    }
+
+    @Test
+    void getEvents_InvalidRange() throws Exception {
+        when(enrollmentHistoryService.getEvents(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenThrow(new RuntimeException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/enrollment-events")
+                        .param("from", "2026-10-12T00:00:00Z").param("to", "2026-10-01T00:00:00Z")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", containsString("must be before")));
+    }
+
+    @Test
+    void getEvents_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(get("/api/enrollment-events").with(user("student").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(enrollmentHistoryService);
+    }
+
+    @Test
+    void getDailyCounts() throws Exception {
+        EnrollmentEventRollup rollup = new EnrollmentEventRollup();
+        rollup.setCourseId(7L);
+        rollup.setDay(LocalDate.of(2026, 10, 14));
+        rollup.setType(EnrollmentEvent.Type.ENROLLED);
+        rollup.setEvents(12L);
+        when(enrollmentHistoryService.getDailyCounts(eq(7L), eq(LocalDate.of(2026, 10, 1)), eq(LocalDate.of(2026, 10, 31))))
+                .thenReturn(List.of(rollup));
+
+        mockMvc.perform(get("/api/enrollment-events/daily").param("courseId", "7")
+                        .param("from", "2026-10-01").param("to", "2026-10-31")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].events", is(12)));
+    }
+}
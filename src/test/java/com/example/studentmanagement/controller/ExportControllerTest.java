@@ -0,0 +1,121 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.export.ExportDataset;
+import com.example.studentmanagement.export.ExportFormat;
+import com.example.studentmanagement.export.ExportRequest;
+import com.example.studentmanagement.export.ExportService;
+import com.example.studentmanagement.security.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import(ExportControllerTest.TestSecurityConfig.class)
+class ExportControllerTest {
+
+    @TestConfiguration
+    @EnableWebSecurity
+    @EnableMethodSecurity(prePostEnabled = true)
+    static class TestSecurityConfig {
+        @Bean
+        @Primary
+        @Order(1)
+        SecurityFilterChain testFilterChain(HttpSecurity http) throws Exception {
+            http
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                    .requestMatchers("/api/auth/**").permitAll()
+                    .anyRequest().authenticated()
+                )
+                .exceptionHandling(ex -> ex
+                    .authenticationEntryPoint((request, response, authException) ->
+                        response.setStatus(401))
+                );
+            return http.build();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void export_StreamsCsvAttachment() throws Exception {
+        ExportRequest request = new ExportRequest(ExportDataset.STUDENTS, ExportFormat.CSV, 42L, 1000, null);
+        when(exportService.prepare("students", "csv", 42L, 1000, null)).thenReturn(request);
+        when(exportService.export(eq(request), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id\r\n43\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        mockMvc.perform(get("/api/export/students").param("afterId", "42").param("limit", "1000")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""))
+                .andExpect(content().string("id\r\n43\r\n"));
+    }
+
+    @Test
+    void export_ColumnarContentType() throws Exception {
+        ExportRequest request = new ExportRequest(ExportDataset.ENROLLMENTS, ExportFormat.COLUMNAR, 0L, null, "2026-FALL");
+        when(exportService.prepare("enrollments", "columnar", null, null, "2026-FALL")).thenReturn(request);
+
+        mockMvc.perform(get("/api/export/enrollments").param("format", "columnar").param("term", "2026-FALL")
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.student-management.columnar"))
+                .andExpect(header().string("Content-Disposition", containsString("enrollments.smcol")));
+
+        verify(exportService).export(eq(request), any());
+    }
+
+    @Test
+    void export_UnknownEntity_BadRequest() throws Exception {
+        when(exportService.prepare("grades", "csv", null, null, null))
+                .thenThrow(new RuntimeException("Unsupported export entity: grades"));
+
+        mockMvc.perform(get("/api/export/grades").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Unsupported export entity: grades")));
+
+        verify(exportService, never()).export(any(), any());
+    }
+
+    @Test
+    void export_ForbiddenForStudent() throws Exception {
+        mockMvc.perform(get("/api/export/students").with(user("student").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportService);
+    }
+}
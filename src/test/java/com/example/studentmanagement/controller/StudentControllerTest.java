@@ -1,11 +1,25 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.ClassRankDto;
+import com.example.studentmanagement.dto.TimetableEntry;
+import com.example.studentmanagement.dto.TranscriptDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
+import com.example.studentmanagement.entity.Course;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Grade;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.schedule.ScheduleConflict;
 import com.example.studentmanagement.security.CustomUserDetailsService;
+import com.example.studentmanagement.service.GradeService;
 import com.example.studentmanagement.service.StudentService;
+import com.example.studentmanagement.service.PrerequisiteService;
+import com.example.studentmanagement.service.TimetableService;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,10 +38,15 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,7 +56,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(StudentController.class)
-@Import(StudentControllerTest.TestSecurityConfig.class)
+@Import({StudentControllerTest.TestSecurityConfig.class, ApiResponseWriter.class})
 class StudentControllerTest {
 
     @TestConfiguration
@@ -55,10 +74,12 @@ class StudentControllerTest {
                     .requestMatchers(HttpMethod.GET, "/api/departments/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/departments/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/students/{id}").hasRole("TEACHER")
                     .requestMatchers("/api/students/**").authenticated()
@@ -79,9 +100,19 @@ class StudentControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockitoBean
+    // Named so @PreAuthorize can reach it as @studentService
+    @MockitoBean(name = "studentService")
     private StudentService studentService;
 
+    @MockitoBean
+    private TimetableService timetableService;
+
+    @MockitoBean
+    private PrerequisiteService prerequisiteService;
+
+    @MockitoBean
+    private GradeService gradeService;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -113,7 +144,7 @@ class StudentControllerTest {
 
     @Test
     void getAllStudents() throws Exception {
-        when(studentService.getAllStudents()).thenReturn(Arrays.asList(student1, student2));
+        stubAllStudents(student1, student2);
 
         mockMvc.perform(get("/api/students").with(user("student").roles("STUDENT")))
                 .andExpect(status().isOk())
@@ -121,7 +152,50 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.message", is("Students retrieved successfully")))
                 .andExpect(jsonPath("$.data", hasSize(2)));
 
-        verify(studentService, times(1)).getAllStudents();
+        verify(studentService, times(1)).forEachStudent(any());
+    }
+
+    @Test
+    void getAllStudents_NegotiatesCbor() throws Exception {
+        stubAllStudents(student1, student2);
+
+        byte[] body = mockMvc.perform(get("/api/students")
+                        .with(user("student").roles("STUDENT"))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = new CBORMapper().readTree(body);
+        assertThat(response.get("success").asBoolean()).isTrue();
+        assertThat(response.get("data").get(0).get("studentId").asString()).isEqualTo("STU001");
+    }
+
+    @Test
+    void getAllStudents_NegotiatesSmile() throws Exception {
+        stubAllStudents(student1, student2);
+
+        byte[] body = mockMvc.perform(get("/api/students")
+                        .with(user("student").roles("STUDENT"))
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = new SmileMapper().readTree(body);
+        assertThat(response.get("data").size()).isEqualTo(2);
+        assertThat(response.get("data").get(1).has("password")).isFalse();
+    }
+
+    @Test
+    void getAllStudents_DefaultsToJson() throws Exception {
+        stubAllStudents(student1);
+
+        mockMvc.perform(get("/api/students")
+                        .with(user("student").roles("STUDENT"))
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
     }
 
     @Test
@@ -244,6 +318,160 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.success", is(false)));
     }
 
+    @Test
+    void enrollInCourse_ScheduleConflict() throws Exception {
+        when(studentService.enrollInCourse(1L, 2L)).thenThrow(new ScheduleConflictException(List.of(
+                new ScheduleConflict(2L, 1L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 50)))));
+
+        mockMvc.perform(post("/api/students/1/courses/2").with(user("student").roles("STUDENT")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.data[0].conflictingCourseId", is(1)));
+    }
+
+    @Test
+    void enrollInCourses() throws Exception {
+        when(studentService.enrollInCourses(1L, List.of(1L, 2L))).thenReturn(student1);
+
+        mockMvc.perform(post("/api/students/1/courses").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Enrolled in courses successfully")));
+    }
+
+    @Test
+    void enrollInCourses_ScheduleConflict() throws Exception {
+        when(studentService.enrollInCourses(1L, List.of(2L, 3L))).thenThrow(new ScheduleConflictException(List.of(
+                new ScheduleConflict(3L, 2L, DayOfWeek.TUESDAY, LocalTime.of(13, 0), LocalTime.of(13, 30)))));
+
+        mockMvc.perform(post("/api/students/1/courses").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[2,3]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("Course 3 overlaps course 2 on TUESDAY 13:00-13:30")))
+                .andExpect(jsonPath("$.data[0].courseId", is(3)))
+                .andExpect(jsonPath("$.data[0].dayOfWeek", is("TUESDAY")));
+    }
+
+    @Test
+    void enrollInCourses_EmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/students/1/courses").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(studentService, never()).enrollInCourses(any(), any());
+    }
+
+    @Test
+    void getTimetable() throws Exception {
+        TimetableEntry entry = new TimetableEntry();
+        entry.setCourseId(1L);
+        entry.setCourseCode("CS101");
+        entry.setDayOfWeek(DayOfWeek.MONDAY);
+        entry.setStartTime(LocalTime.of(9, 0));
+        entry.setEndTime(LocalTime.of(9, 50));
+        when(studentService.getStudentById(1L)).thenReturn(student1);
+        when(timetableService.getTimetable(1L)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/api/students/1/timetable").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].courseCode", is("CS101")))
+                .andExpect(jsonPath("$.data[0].startTime", is("09:00:00")));
+    }
+
+    @Test
+    void getNextCourses() throws Exception {
+        Course course = new Course();
+        course.setId(3L);
+        course.setCourseCode("CS201");
+        when(studentService.getStudentById(1L)).thenReturn(student1);
+        when(prerequisiteService.getNextCourses(student1)).thenReturn(List.of(course));
+
+        mockMvc.perform(get("/api/students/1/next-courses").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].courseCode", is("CS201")));
+    }
+
+    @Test
+    void getNextCourses_StudentNotFound() throws Exception {
+        when(studentService.getStudentById(99L)).thenThrow(new RuntimeException("Student not found with id: 99"));
+
+        mockMvc.perform(get("/api/students/99/next-courses").with(user("student").roles("STUDENT")))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(prerequisiteService);
+    }
+
+    @Test
+    void getTranscript() throws Exception {
+        when(studentService.isCurrentStudent(1L)).thenReturn(true);
+        when(studentService.getStudentById(1L)).thenReturn(student1);
+        when(gradeService.getTranscript(1L)).thenReturn(new TranscriptDto(1L, 1, 3, 3, new BigDecimal("4.000"),
+                List.of(new TranscriptEntry("2026-FALL", 1L, "CS101", "Intro", 3, Grade.A))));
+
+        mockMvc.perform(get("/api/students/1/transcript").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.gpa", is(4.0)))
+                .andExpect(jsonPath("$.data.entries[0].grade", is("A")));
+    }
+
+    @Test
+    void getTranscript_StudentNotFound() throws Exception {
+        when(studentService.getStudentById(99L)).thenThrow(new RuntimeException("Student not found with id: 99"));
+
+        mockMvc.perform(get("/api/students/99/transcript").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void getTranscript_ForbiddenForAnotherStudent() throws Exception {
+        when(studentService.isCurrentStudent(2L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/students/2/transcript").with(user("student").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        verify(studentService, never()).getStudentById(any());
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void getTranscript_AllowedForTeacher() throws Exception {
+        when(studentService.getStudentById(2L)).thenReturn(student2);
+        when(gradeService.getTranscript(2L)).thenReturn(new TranscriptDto(2L, 0, 0, 0, null, List.of()));
+
+        mockMvc.perform(get("/api/students/2/transcript").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk());
+
+        verify(studentService, never()).isCurrentStudent(any());
+    }
+
+    @Test
+    void getClassRank() throws Exception {
+        when(studentService.isCurrentStudent(1L)).thenReturn(true);
+        when(studentService.getStudentById(1L)).thenReturn(student1);
+        when(gradeService.getClassRank(student1)).thenReturn(new ClassRankDto(1L, 1L, new BigDecimal("3.500"), 2, 10));
+
+        mockMvc.perform(get("/api/students/1/rank").with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rank", is(2)))
+                .andExpect(jsonPath("$.data.classSize", is(10)));
+    }
+
+    @Test
+    void getClassRank_ForbiddenForAnotherStudent() throws Exception {
+        mockMvc.perform(get("/api/students/2/rank").with(user("student").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(gradeService);
+    }
+
     @Test
     void dropCourse() throws Exception {
         when(studentService.dropCourse(1L, 1L)).thenReturn(student1);
@@ -288,6 +516,12 @@ class StudentControllerTest {
         mockMvc.perform(get("/api/students"))
                 .andExpect(status().isUnauthorized());
     }
-}
-
 
+    private void stubAllStudents(Student... items) {
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(0);
+            Arrays.asList(items).forEach(action);
+            return null;
+        }).when(studentService).forEachStudent(any());
+    }
+}
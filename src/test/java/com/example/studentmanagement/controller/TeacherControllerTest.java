@@ -1,5 +1,6 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Teacher;
 import com.example.studentmanagement.security.CustomUserDetailsService;
@@ -14,6 +15,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -24,6 +27,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -53,10 +57,12 @@ class TeacherControllerTest {
                     .requestMatchers(HttpMethod.GET, "/api/departments/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.PUT, "/api/departments/**").hasRole("TEACHER")
+                    .requestMatchers(HttpMethod.PATCH, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/departments/**").hasRole("TEACHER")
                     .requestMatchers(HttpMethod.DELETE, "/api/students/{id}").hasRole("TEACHER")
                     .requestMatchers("/api/students/**").authenticated()
@@ -122,6 +128,48 @@ class TeacherControllerTest {
         verify(teacherService, times(1)).getAllTeachers();
     }
 
+    @Test
+    void getTeacherWorkload() throws Exception {
+        TeacherWorkloadDto workload = new TeacherWorkloadDto(1L, "Teacher One", "EMP001", 2L, 7L, 45L);
+        when(teacherService.getTeacherWorkload(1, 1))
+                .thenReturn(new PageImpl<>(List.of(workload), PageRequest.of(1, 1), 3));
+
+        mockMvc.perform(get("/api/teachers/workload").param("page", "1").param("size", "1")
+                        .with(user("student").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Teacher workload retrieved successfully")))
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].employeeId", is("EMP001")))
+                .andExpect(jsonPath("$.data.content[0].courseCount", is(2)))
+                .andExpect(jsonPath("$.data.content[0].totalCredits", is(7)))
+                .andExpect(jsonPath("$.data.content[0].enrolledStudents", is(45)))
+                .andExpect(jsonPath("$.data.page.number", is(1)))
+                .andExpect(jsonPath("$.data.page.totalElements", is(3)))
+                .andExpect(jsonPath("$.data.page.totalPages", is(3)));
+    }
+
+    @Test
+    void getTeacherWorkload_DefaultPage() throws Exception {
+        when(teacherService.getTeacherWorkload(0, 20)).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        mockMvc.perform(get("/api/teachers/workload").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+
+        verify(teacherService, times(1)).getTeacherWorkload(0, 20);
+    }
+
+    @Test
+    void getTeacherWorkload_InvalidPage() throws Exception {
+        when(teacherService.getTeacherWorkload(-1, 20))
+                .thenThrow(new IllegalArgumentException("Page index must not be less than zero"));
+
+        mockMvc.perform(get("/api/teachers/workload").param("page", "-1").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
     @Test
     void getTeacherById() throws Exception {
         when(teacherService.getTeacherById(1L)).thenReturn(teacher1);
@@ -0,0 +1,20 @@
+package com.example.studentmanagement.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkWriterTest {
+
+    @Test
+    void appendCopyValue_EscapesSeparatorsAndNull() {
+        StringBuilder data = new StringBuilder();
+        BulkWriter.appendCopyValue(data, "a\tb\\c\nd\re");
+        data.append('|');
+        BulkWriter.appendCopyValue(data, null);
+        data.append('|');
+        BulkWriter.appendCopyValue(data, 42L);
+
+        assertThat(data.toString()).isEqualTo("a\\tb\\\\c\\nd\\re|\\N|42");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.studentmanagement.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sample_FollowsRankFrequencies() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[100];
+        for (int i = 0; i < 200_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        // Harmonic number H(100) is about 5.19, so rank 0 gets about 19% and rank 1 half of that
+        assertThat(counts[0] / 200_000.0).isBetween(0.18, 0.21);
+        assertThat((double) counts[0] / counts[1]).isBetween(1.8, 2.2);
+        assertThat(counts[99]).isPositive().isLessThan(counts[9]);
+    }
+
+    @Test
+    void sample_ZeroExponentIsUniform() {
+        ZipfDistribution zipf = new ZipfDistribution(10, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(9_500, 10_500);
+        }
+    }
+
+    @Test
+    void sample_SameSeedSameSequence() {
+        ZipfDistribution zipf = new ZipfDistribution(1_000, 1.2);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            int rank = zipf.sample(first);
+            assertThat(rank).isBetween(0, 999).isEqualTo(zipf.sample(second));
+        }
+    }
+
+    @Test
+    void constructor_RejectsInvalidParameters() {
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfDistribution(10, -0.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
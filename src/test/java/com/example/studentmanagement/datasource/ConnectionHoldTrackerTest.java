@@ -0,0 +1,125 @@
+package com.example.studentmanagement.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionHoldTrackerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionDiagnosticsProperties properties;
+    private ConnectionHoldTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ConnectionDiagnosticsProperties();
+        properties.setSlowestHolders(2);
+        properties.setMaxPaths(2);
+        tracker = new ConnectionHoldTracker(meterRegistry, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void currentPath_UsesMatchedRouteOfRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/courses/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(tracker.currentPath()).isEqualTo("GET /api/courses/{id}");
+    }
+
+    @Test
+    void currentPath_UsesThreadNameOutsideRequests() throws InterruptedException {
+        String[] path = new String[1];
+        Thread thread = Thread.ofPlatform().name("enrollment-events-3").start(() -> path[0] = tracker.currentPath());
+        thread.join();
+
+        assertThat(path[0]).isEqualTo("background enrollment-events");
+    }
+
+    @Test
+    void recordHold_SummarizesPerPathAndPublishesTimers() {
+        tracker.recordAcquire("GET /api/courses", TimeUnit.MILLISECONDS.toNanos(5));
+        tracker.recordHold("GET /api/courses", "http-1", Instant.now(), TimeUnit.MILLISECONDS.toNanos(10));
+        tracker.recordHold("GET /api/courses", "http-2", Instant.now(), TimeUnit.MILLISECONDS.toNanos(30));
+        tracker.recordHold("POST /api/courses", "http-3", Instant.now(), TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(tracker.pathSummaries()).extracting(ConnectionHoldTracker.PathSummary::path)
+                .containsExactly("POST /api/courses", "GET /api/courses");
+        ConnectionHoldTracker.PathSummary courses = tracker.pathSummaries().get(1);
+        assertThat(courses.holds()).isEqualTo(2);
+        assertThat(courses.meanHold()).isEqualTo(Duration.ofMillis(20));
+        assertThat(courses.maxHold()).isEqualTo(Duration.ofMillis(30));
+        assertThat(courses.maxAcquireWait()).isEqualTo(Duration.ofMillis(5));
+
+        assertThat(meterRegistry.get("db.connection.hold").tag("path", "GET /api/courses").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.connection.acquire").tag("path", "GET /api/courses").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordHold_KeepsOnlySlowestHolds() {
+        tracker.recordHold("a", "t1", Instant.now(), 30);
+        tracker.recordHold("a", "t2", Instant.now(), 10);
+        tracker.recordHold("a", "t3", Instant.now(), 50);
+        tracker.recordHold("a", "t4", Instant.now(), 20);
+
+        assertThat(tracker.slowestHolds()).extracting(ConnectionHoldTracker.SlowHold::thread)
+                .containsExactly("t3", "t1");
+    }
+
+    @Test
+    void recordHold_FoldsPathsBeyondLimitIntoOther() {
+        tracker.recordHold("a", "t", Instant.now(), 1);
+        tracker.recordHold("b", "t", Instant.now(), 1);
+        tracker.recordHold("c", "t", Instant.now(), 1);
+
+        assertThat(tracker.pathSummaries()).extracting(ConnectionHoldTracker.PathSummary::path)
+                .containsExactlyInAnyOrder("a", "b", ConnectionHoldTracker.OTHER);
+    }
+
+    @Test
+    void dataSource_RecordsHoldOnceWhenConnectionIsClosed() throws SQLException {
+        HoldTrackingDataSource dataSource = new HoldTrackingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:holds"), tracker);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(connection.isValid(1)).isTrue();
+        assertThat(connection.unwrap(org.h2.jdbc.JdbcConnection.class)).isNotNull();
+        connection.close();
+        connection.close();
+
+        assertThat(tracker.pathSummaries()).singleElement()
+                .satisfies(summary -> assertThat(summary.holds()).isEqualTo(1));
+    }
+
+    @Test
+    void dataSource_SkipsTrackingWhenDisabled() throws SQLException {
+        properties.setEnabled(false);
+        HoldTrackingDataSource dataSource = new HoldTrackingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:holds"), tracker);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isInstanceOf(org.h2.jdbc.JdbcConnection.class);
+        }
+        assertThat(tracker.pathSummaries()).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.studentmanagement.enrollment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AcademicTermTest {
+
+    @Test
+    void of_MapsMonthsToSeasons() {
+        assertThat(AcademicTerm.of(LocalDate.of(2026, 1, 1)).code()).isEqualTo("2026-SPRING");
+        assertThat(AcademicTerm.of(LocalDate.of(2026, 5, 31)).code()).isEqualTo("2026-SPRING");
+        assertThat(AcademicTerm.of(LocalDate.of(2026, 6, 1)).code()).isEqualTo("2026-SUMMER");
+        assertThat(AcademicTerm.of(LocalDate.of(2026, 8, 1)).code()).isEqualTo("2026-FALL");
+        assertThat(AcademicTerm.of(LocalDate.of(2026, 12, 31)).code()).isEqualTo("2026-FALL");
+    }
+
+    @Test
+    void next_RollsOverToSpringOfNextYear() {
+        assertThat(AcademicTerm.parse("2026-SPRING").next()).isEqualTo(AcademicTerm.parse("2026-SUMMER"));
+        assertThat(AcademicTerm.parse("2026-FALL").next()).isEqualTo(AcademicTerm.parse("2027-SPRING"));
+    }
+
+    @Test
+    void compareTo_IsChronologicalUnlikeTheCodes() {
+        AcademicTerm fall = AcademicTerm.parse("2026-FALL");
+        AcademicTerm spring = AcademicTerm.parse("2026-SPRING");
+
+        assertThat(fall.code()).isLessThan(spring.code());
+        assertThat(spring.isBefore(fall)).isTrue();
+        assertThat(fall.isBefore(fall.next())).isTrue();
+        assertThat(AcademicTerm.parse("2025-FALL").isBefore(spring)).isTrue();
+        assertThat(fall.isBefore(fall)).isFalse();
+    }
+
+    @Test
+    void parse_RoundTripsCodeAndNamesPartition() {
+        AcademicTerm term = AcademicTerm.parse("2026-fall");
+
+        assertThat(term.code()).isEqualTo("2026-FALL");
+        assertThat(term.partitionName()).isEqualTo("student_courses_2026_fall");
+    }
+
+    @Test
+    void parse_RejectsAnythingElse() {
+        assertThatThrownBy(() -> AcademicTerm.parse("2026-WINTER")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AcademicTerm.parse("2026')--")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AcademicTerm.parse("fall")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void calendar_UsesPinnedTermOverClock() {
+        EnrollmentProperties properties = new EnrollmentProperties();
+        Clock clock = Clock.fixed(Instant.parse("2026-03-15T12:00:00Z"), ZoneOffset.UTC);
+        AcademicCalendar calendar = new AcademicCalendar(properties, clock);
+
+        assertThat(calendar.currentTerm().code()).isEqualTo("2026-SPRING");
+
+        properties.setCurrentTerm("2025-FALL");
+        assertThat(calendar.currentTerm().code()).isEqualTo("2025-FALL");
+    }
+}
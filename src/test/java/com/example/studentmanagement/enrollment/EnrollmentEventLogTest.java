@@ -0,0 +1,135 @@
+package com.example.studentmanagement.enrollment;
+
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnrollmentEventLogTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private EnrollmentProperties properties;
+    private EnrollmentEventLog eventLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new EnrollmentProperties();
+        properties.getEvents().setOfferTimeout(Duration.ofMillis(1));
+        when(jdbcTemplate.batchUpdate(eq(EnrollmentEventLog.INSERT), anyCollection(), anyInt(),
+                anySetter())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (eventLog != null) {
+            eventLog.destroy();
+        }
+    }
+
+    @Test
+    void append_IsWrittenInBatchesByTheWriterThread() {
+        properties.getEvents().setBatchSize(10);
+        eventLog = new EnrollmentEventLog(jdbcTemplate, properties, meterRegistry);
+
+        for (int i = 0; i < 25; i++) {
+            eventLog.append(event(i));
+        }
+        eventLog.afterPropertiesSet();
+        eventLog.flush(Duration.ofSeconds(5));
+
+        assertThat(batchSizes).containsExactly(10, 10, 5);
+        assertThat(meterRegistry.get("enrollment.events.written").counter().count()).isEqualTo(25);
+    }
+
+    @Test
+    void fullQueue_CallerWritesItsOwnEvent() {
+        properties.getEvents().setQueueCapacity(1);
+        eventLog = new EnrollmentEventLog(jdbcTemplate, properties, meterRegistry);
+
+        // Writer not started, so the first event stays queued
+        eventLog.append(event(1));
+        eventLog.append(event(2));
+
+        assertThat(batchSizes).containsExactly(1);
+        assertThat(meterRegistry.get("enrollment.events.overflow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("enrollment.events.queued").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueue_WriteFailureDoesNotReachTheCaller() {
+        properties.getEvents().setQueueCapacity(1);
+        eventLog = new EnrollmentEventLog(jdbcTemplate, properties, meterRegistry);
+        when(jdbcTemplate.batchUpdate(eq(EnrollmentEventLog.INSERT), anyCollection(), anyInt(),
+                anySetter()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        eventLog.append(event(1));
+        eventLog.append(event(2));
+
+        assertThat(meterRegistry.get("enrollment.events.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("enrollment.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writer_DropsABatchThatKeepsFailing() {
+        eventLog = new EnrollmentEventLog(jdbcTemplate, properties, meterRegistry);
+        when(jdbcTemplate.batchUpdate(eq(EnrollmentEventLog.INSERT), anyCollection(), anyInt(),
+                anySetter()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        eventLog.append(event(1));
+        eventLog.append(event(2));
+        eventLog.afterPropertiesSet();
+        // Three attempts, one and two seconds apart
+        eventLog.flush(Duration.ofSeconds(10));
+
+        assertThat(meterRegistry.get("enrollment.events.failed").counter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("enrollment.events.dropped").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("enrollment.events.written").counter().count()).isZero();
+    }
+
+    @Test
+    void destroy_WritesWhatIsStillQueued() throws Exception {
+        eventLog = new EnrollmentEventLog(jdbcTemplate, properties, meterRegistry);
+        eventLog.append(event(1));
+        eventLog.append(event(2));
+
+        eventLog.afterPropertiesSet();
+        eventLog.destroy();
+        eventLog = null;
+
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+    }
+
+    private static ParameterizedPreparedStatementSetter<EnrollmentChanged> anySetter() {
+        return any();
+    }
+
+    private EnrollmentChanged event(long studentId) {
+        return new EnrollmentChanged(studentId, 1L, "2026-FALL", EnrollmentEvent.Type.ENROLLED, Instant.now(), "user");
+    }
+}
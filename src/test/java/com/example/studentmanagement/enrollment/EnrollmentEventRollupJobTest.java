@@ -0,0 +1,77 @@
+package com.example.studentmanagement.enrollment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnrollmentEventRollupJobTest {
+
+    private static final LocalDate LAST_ROLLED_UP = LocalDate.of(2026, 9, 1);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcTemplate plainJdbcTemplate = mock(JdbcTemplate.class);
+
+    private EnrollmentProperties properties;
+    private EnrollmentEventRollupJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EnrollmentProperties();
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(plainJdbcTemplate);
+        when(plainJdbcTemplate.queryForObject(contains("MAX(event_day)"), eq(LocalDate.class)))
+                .thenReturn(LAST_ROLLED_UP);
+        when(jdbcTemplate.update(contains("DELETE FROM enrollment_events"), any(SqlParameterSource.class)))
+                .thenReturn(0);
+        // Two days to roll up: Sep 2 and Sep 3
+        Clock clock = Clock.fixed(LAST_ROLLED_UP.plusDays(2 + EnrollmentEventRollupJob.ROLLUP_LAG_DAYS)
+                .atTime(2, 30).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        job = new EnrollmentEventRollupJob(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties, clock);
+    }
+
+    @Test
+    void dayRolledUpByAnotherReplica_IsSkippedAndTheRestStillRuns() {
+        when(jdbcTemplate.update(contains("INSERT INTO enrollment_event_rollups"), any(SqlParameterSource.class)))
+                .thenThrow(new DuplicateKeyException("uk_enrollment_event_rollups"))
+                .thenReturn(4);
+
+        assertThat(job.rollUpThrough(LAST_ROLLED_UP.plusDays(2))).isEqualTo(1);
+
+        verify(jdbcTemplate, times(2)).update(contains("INSERT INTO enrollment_event_rollups"),
+                any(SqlParameterSource.class));
+    }
+
+    @Test
+    void failedRollup_StillPrunesWhatIsRolledUp() {
+        properties.getEvents().setRetention(Duration.ZERO);
+        when(jdbcTemplate.update(contains("INSERT INTO enrollment_event_rollups"), any(SqlParameterSource.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        job.rollUpAndPrune();
+
+        ArgumentCaptor<SqlParameterSource> params = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate).update(contains("DELETE FROM enrollment_events"), params.capture());
+        // Up to the last day that has rollups, not the day the failed run was meant to reach
+        assertThat(params.getValue().getValue("cutoff")).isEqualTo(
+                Timestamp.from(LAST_ROLLED_UP.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+}
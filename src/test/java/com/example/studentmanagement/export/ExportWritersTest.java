@@ -0,0 +1,191 @@
+package com.example.studentmanagement.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportWritersTest {
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+            ExportColumn.int64("id"),
+            ExportColumn.string("name"),
+            ExportColumn.timestamp("at"));
+
+    private static final Instant AT = Instant.parse("2026-09-01T08:30:00.123456Z");
+
+    @Test
+    void csv_QuotesOnlyWhenNeeded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportSink sink = ExportFormat.CSV.newWriter(out);
+        sink.start(COLUMNS);
+        sink.row(new Object[]{1L, "plain", AT});
+        sink.row(new Object[]{2L, "Smith, \"Jr\"", null});
+        sink.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,at\r\n"
+                        + "1,plain,2026-09-01T08:30:00.123456Z\r\n"
+                        + "2,\"Smith, \"\"Jr\"\"\",\r\n");
+    }
+
+    @Test
+    void columnar_RoundTripsAcrossRowGroups() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = 0; i < ColumnarExportWriter.ROW_GROUP_SIZE + 10; i++) {
+            rows.add(new Object[]{
+                    i * 3,
+                    i % 7 == 0 ? null : "dept-" + (i % 4),
+                    i % 5 == 0 ? null : AT.plus(i, ChronoUnit.SECONDS)});
+        }
+
+        List<Object[]> read = ColumnarReader.read(write(rows));
+
+        assertThat(read).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(read.get(i)).containsExactly(rows.get(i));
+        }
+    }
+
+    @Test
+    void columnar_PlainStringsAndNegativeDeltas() throws IOException {
+        List<Object[]> rows = List.of(
+                new Object[]{100L, "b", AT},
+                new Object[]{-5L, "a", AT.minusSeconds(3600)},
+                new Object[]{Long.MAX_VALUE, "ü", Instant.EPOCH});
+
+        List<Object[]> read = ColumnarReader.read(write(rows));
+
+        assertThat(read).hasSize(3);
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(read.get(i)).containsExactly(rows.get(i));
+        }
+    }
+
+    @Test
+    void columnar_TruncatedFileIsDetected() throws IOException {
+        byte[] bytes = write(List.<Object[]>of(new Object[]{1L, "x", AT}));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThatThrownBy(() -> ColumnarReader.read(truncated)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void columnar_AscendingIdsCostOneBytePerValue() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = 1; i <= 1000; i++) {
+            rows.add(new Object[]{i, "same", null});
+        }
+
+        // 1000 one-byte ids, a one-entry dictionary with 1000 one-byte indices, a 125-byte bitmap
+        assertThat(write(rows).length).isLessThan(2200);
+    }
+
+    private static byte[] write(List<Object[]> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportSink sink = ExportFormat.COLUMNAR.newWriter(out);
+        sink.start(COLUMNS);
+        for (Object[] row : rows) {
+            sink.row(row);
+        }
+        sink.finish();
+        return out.toByteArray();
+    }
+
+    // Reference reader for the format documented on ColumnarExportWriter
+    static class ColumnarReader {
+
+        static List<Object[]> read(byte[] bytes) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            byte[] magic = new byte[8];
+            in.readFully(magic);
+            assertThat(magic).isEqualTo(ColumnarExportWriter.MAGIC);
+
+            int columnCount = (int) readVarint(in);
+            ExportColumn.Type[] types = new ExportColumn.Type[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                types[c] = ExportColumn.Type.values()[in.readUnsignedByte()];
+                readString(in);
+            }
+
+            List<Object[]> rows = new ArrayList<>();
+            int groupRows;
+            while ((groupRows = (int) readVarint(in)) > 0) {
+                Object[][] group = new Object[groupRows][columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    boolean[] nulls = new boolean[groupRows];
+                    if (in.readUnsignedByte() == 1) {
+                        byte[] bitmap = new byte[(groupRows + 7) / 8];
+                        in.readFully(bitmap);
+                        for (int r = 0; r < groupRows; r++) {
+                            nulls[r] = (bitmap[r / 8] & (1 << (r % 8))) != 0;
+                        }
+                    }
+                    readColumn(in, types[c], nulls, group, c);
+                }
+                rows.addAll(Arrays.asList(group));
+            }
+            return rows;
+        }
+
+        private static void readColumn(DataInputStream in, ExportColumn.Type type, boolean[] nulls,
+                                       Object[][] group, int c) throws IOException {
+            if (type == ExportColumn.Type.STRING) {
+                boolean dictionary = in.readUnsignedByte() == 1;
+                String[] entries = new String[dictionary ? (int) readVarint(in) : 0];
+                for (int i = 0; i < entries.length; i++) {
+                    entries[i] = readString(in);
+                }
+                for (int r = 0; r < group.length; r++) {
+                    if (!nulls[r]) {
+                        group[r][c] = dictionary ? entries[(int) readVarint(in)] : readString(in);
+                    }
+                }
+                return;
+            }
+            long previous = 0;
+            for (int r = 0; r < group.length; r++) {
+                if (!nulls[r]) {
+                    long zigzag = readVarint(in);
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    group[r][c] = type == ExportColumn.Type.INT64
+                            ? (Object) previous
+                            : Instant.EPOCH.plus(previous, ChronoUnit.MICROS);
+                }
+            }
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[(int) readVarint(in)];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static long readVarint(InputStream in) throws IOException {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
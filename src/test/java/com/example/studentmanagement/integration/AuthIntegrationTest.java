@@ -2,6 +2,7 @@ package com.example.studentmanagement.integration;
 
 import com.example.studentmanagement.dto.StudentRegistrationDto;
 import com.example.studentmanagement.dto.TeacherRegistrationDto;
+import com.example.studentmanagement.entity.User;
 import com.example.studentmanagement.repository.UserRepository;
 import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -85,6 +88,30 @@ class AuthIntegrationTest {
                 .andExpect(jsonPath("$.success", is(false)));
     }
 
+    @Test
+    void registerStudent_DuplicateEmailAndStudentId() throws Exception {
+        StudentRegistrationDto dto = new StudentRegistrationDto();
+        dto.setUsername("first_user");
+        dto.setPassword("password123");
+        dto.setEmail("shared@test.com");
+        dto.setFullName("First Student");
+        dto.setStudentId("STU100");
+
+        mockMvc.perform(post("/api/auth/register/student")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        // Every conflicting field is reported at once
+        dto.setUsername("second_user");
+        mockMvc.perform(post("/api/auth/register/student")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Email already exists, Student ID already exists")));
+    }
+
     @Test
     void registerStudent_ValidationError_MissingUsername() throws Exception {
         StudentRegistrationDto dto = new StudentRegistrationDto();
@@ -158,6 +185,33 @@ class AuthIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Login successful")));
     }
 
+    @Test
+    void login_RehashesLegacyPassword() throws Exception {
+        StudentRegistrationDto dto = new StudentRegistrationDto();
+        dto.setUsername("legacyuser");
+        dto.setPassword("password123");
+        dto.setEmail("legacy@test.com");
+        dto.setFullName("Legacy User");
+        dto.setStudentId("STU998");
+
+        mockMvc.perform(post("/api/auth/register/student")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        // Simulate a hash stored before the delegating encoder was introduced
+        User user = userRepository.findByUsername("legacyuser").orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        mockMvc.perform(get("/api/auth/login")
+                        .header("Authorization", basicAuth("legacyuser", "password123")))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findByUsername("legacyuser").orElseThrow().getPassword())
+                .startsWith("{bcrypt}");
+    }
+
     @Test
     void login_WithInvalidCredentials() throws Exception {
         mockMvc.perform(get("/api/auth/login")
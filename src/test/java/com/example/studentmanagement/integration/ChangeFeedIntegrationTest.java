@@ -0,0 +1,318 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.changes.ChangeVersionStamper;
+import com.example.studentmanagement.dto.ChangeDto;
+import com.example.studentmanagement.dto.ChangeFeedPage;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import com.example.studentmanagement.service.ChangeFeedService;
+import com.example.studentmanagement.service.DepartmentService;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The change feed end to end: writes through the services leave rows unversioned, the stamper
+ * numbers them, and the feed reports each row's latest change after a token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeVersionStamper stamper;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private AcademicCalendar academicCalendar;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Department department;
+    private Course course;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        Teacher teacher = new Teacher();
+        teacher.setUsername("prof");
+        teacher.setPassword("encoded");
+        teacher.setEmail("prof@example.com");
+        teacher.setFullName("Prof");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP001");
+        teacher = teacherRepository.save(teacher);
+
+        course = courseRepository.save(course("CS101", department, teacher));
+
+        student = studentRepository.save(student("alice", department));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM enrollment_events");
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+        jdbcTemplate.update("DELETE FROM change_tombstones");
+        jdbcTemplate.update("DELETE FROM change_feed_state");
+    }
+
+    @Test
+    void fromTheBeginning_EveryRowOnceInVersionOrder() {
+        assertThat(changeFeedService.getChanges(null, 100).getChanges()).isEmpty();
+
+        assertThat(stamper.stampPending()).isEqualTo(4);
+        ChangeFeedPage page = changeFeedService.getChanges(null, 100);
+
+        assertThat(page.getChanges()).extracting(ChangeDto::getEntity)
+                .containsExactlyInAnyOrder("department", "teacher", "course", "student");
+        assertThat(page.getChanges()).extracting(ChangeDto::getVersion).isSorted().doesNotHaveDuplicates();
+        assertThat(page.getNext()).isEqualTo(String.valueOf(stamper.head()));
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(changeFeedService.getChanges(page.getNext(), 100).getChanges()).isEmpty();
+
+        ChangeFeedPage first = changeFeedService.getChanges(null, 3);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(changeFeedService.getChanges(first.getNext(), 3).getChanges()).hasSize(1);
+    }
+
+    @Test
+    void updatesAndDeletes_ReportedAfterToken() {
+        stamper.stampPending();
+        String token = String.valueOf(stamper.head());
+
+        // Only the students table changes, the users row is still re-versioned
+        Department other = new Department();
+        other.setName("Mathematics");
+        other = departmentRepository.save(other);
+        Course calculus = courseRepository.save(course("MA101", other));
+        studentService.assignDepartment(student.getId(), other.getId());
+        studentService.enrollInCourse(student.getId(), calculus.getId());
+        stamper.stampPending();
+
+        ChangeFeedPage page = changeFeedService.getChanges(token, 100);
+        assertThat(page.getChanges()).extracting(ChangeDto::getEntity, ChangeDto::getOp)
+                .containsExactlyInAnyOrder(
+                        tuple("department", ChangeDto.Operation.UPSERT),
+                        tuple("course", ChangeDto.Operation.UPSERT),
+                        tuple("student", ChangeDto.Operation.UPSERT),
+                        tuple("enrollment", ChangeDto.Operation.UPSERT));
+
+        token = page.getNext();
+        studentService.dropCourse(student.getId(), calculus.getId());
+        studentService.deleteStudent(student.getId());
+        stamper.stampPending();
+
+        List<ChangeDto> deletes = changeFeedService.getChanges(token, 100).getChanges();
+        assertThat(deletes).extracting(ChangeDto::getEntity, ChangeDto::getId, ChangeDto::getOp)
+                .containsExactlyInAnyOrder(
+                        tuple("enrollment", student.getId() + ":" + calculus.getId() + ":" + academicCalendar.currentTerm().code(),
+                                ChangeDto.Operation.DELETE),
+                        tuple("student", student.getId().toString(), ChangeDto.Operation.DELETE));
+    }
+
+    @Test
+    void departmentDeletion_WritesTombstones() {
+        stamper.stampPending();
+        String token = String.valueOf(stamper.head());
+
+        departmentService.deleteDepartment(department.getId());
+        stamper.stampPending();
+
+        assertThat(changeFeedService.getChanges(token, 100).getChanges())
+                .extracting(ChangeDto::getEntity, ChangeDto::getId, ChangeDto::getOp)
+                .containsExactlyInAnyOrder(
+                        tuple("course", course.getId().toString(), ChangeDto.Operation.DELETE),
+                        tuple("student", student.getId().toString(), ChangeDto.Operation.DELETE),
+                        tuple("department", department.getId().toString(), ChangeDto.Operation.DELETE));
+    }
+
+    @Test
+    void openTransaction_IsStampedAfterItCommits() throws Exception {
+        stamper.stampPending();
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE courses SET course_name = 'Renamed', change_version = NULL WHERE id = ?", course.getId());
+            updated.countDown();
+            await(release);
+        }));
+        assertThat(updated.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Meanwhile another change commits and is stamped
+        studentService.assignDepartment(student.getId(), department.getId());
+        Department other = new Department();
+        other.setName("Physics");
+        departmentRepository.save(other);
+        stamper.stampPending();
+        long seen = stamper.head();
+
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        stamper.stampPending();
+
+        // A consumer that read up to 'seen' still gets the late commit
+        assertThat(changeFeedService.getChanges(String.valueOf(seen), 100).getChanges())
+                .extracting(ChangeDto::getEntity, ChangeDto::getId)
+                .containsExactly(tuple("course", course.getId().toString()));
+    }
+
+    @Test
+    void rowStampedAfterItWasLoaded_IsClearedAgainByTheEdit() {
+        String term = academicCalendar.currentTerm().code();
+        EnrollmentId enrollmentId = new EnrollmentId(student.getId(), course.getId(), term);
+        enrollmentRepository.save(new Enrollment(enrollmentId, Instant.now()));
+
+        // Loaded while change_version is still NULL; the stamper numbers the rows before the edits flush
+        transactionTemplate.executeWithoutResult(status -> {
+            Department loadedDepartment = departmentRepository.findById(department.getId()).orElseThrow();
+            Course loadedCourse = courseRepository.findById(course.getId()).orElseThrow();
+            Student loadedStudent = studentRepository.findById(student.getId()).orElseThrow();
+            Enrollment loadedEnrollment = enrollmentRepository.findById(enrollmentId).orElseThrow();
+            assertThat(CompletableFuture.supplyAsync(stamper::stampPending).join()).isEqualTo(5);
+
+            loadedDepartment.setDescription("Edited");
+            loadedCourse.setDescription("Edited");
+            loadedStudent.setFullName("Alice Edited");
+            loadedEnrollment.setGrade(Grade.A);
+        });
+
+        assertThat(changeVersion("departments", "id = ?", department.getId())).isNull();
+        assertThat(changeVersion("courses", "id = ?", course.getId())).isNull();
+        assertThat(changeVersion("users", "id = ?", student.getId())).isNull();
+        assertThat(changeVersion("student_courses", "student_id = ? AND course_id = ?", student.getId(), course.getId()))
+                .isNull();
+    }
+
+    @Test
+    void prunedTombstones_ExpireOlderTokens() {
+        stamper.stampPending();
+        String token = String.valueOf(stamper.head());
+        departmentService.deleteDepartment(department.getId());
+        stamper.stampPending();
+
+        assertThat(stamper.pruneTombstonesBefore(Instant.now().plusSeconds(60))).isEqualTo(3);
+
+        assertThatThrownBy(() -> changeFeedService.getChanges(token, 100))
+                .hasMessage("Change token expired, resync from the beginning");
+        assertThat(changeFeedService.getChanges(String.valueOf(stamper.head()), 100).getChanges()).isEmpty();
+        assertThatThrownBy(() -> changeFeedService.getChanges("abc", 100)).hasMessage("Invalid change token: abc");
+    }
+
+    @Test
+    void stream_SendsBacklogAndLiveChanges() throws Exception {
+        stamper.stampPending();
+        String token = String.valueOf(stamper.head());
+
+        MvcResult result = mockMvc.perform(get("/api/changes/stream").header("Last-Event-ID", token)
+                        .with(user("teacher").roles("TEACHER")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        studentService.deleteStudent(student.getId());
+        stamper.stampPending();
+
+        String body = awaitContent(result, "\"op\":\"DELETE\"");
+        assertThat(body).contains("event:changes").contains("id:" + stamper.head())
+                .contains("\"id\":\"" + student.getId() + "\"");
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(50);
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long changeVersion(String table, String where, Object... args) {
+        return jdbcTemplate.queryForObject("SELECT change_version FROM " + table + " WHERE " + where, Long.class, args);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Connection hold tracking around the real pool and the connectionpool actuator endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConnectionPoolIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cleanUp();
+        Department created = new Department();
+        created.setName("Computer Science");
+        department = departmentRepository.save(created);
+        mockMvc.perform(delete("/actuator/connectionpool").with(user("prof").roles("TEACHER")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void dataSource_StillExposesPoolAndItsMetrics() throws Exception {
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
+    @Test
+    void endpoint_ReportsHoldsPerRoute() throws Exception {
+        mockMvc.perform(get("/api/departments/" + department.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/connectionpool").with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pool.maximumPoolSize", greaterThan(0)))
+                .andExpect(jsonPath("$.pool.threadsAwaitingConnection", is(0)))
+                .andExpect(jsonPath("$.paths[*].path", hasItem("GET /api/departments/{id}")))
+                .andExpect(jsonPath("$.slowestHolders", not(empty())));
+
+        assertThat(meterRegistry.find("db.connection.hold").tag("path", "GET /api/departments/{id}").timer())
+                .isNotNull();
+    }
+
+    @Test
+    void streamedList_ReleasesTheConnectionBetweenChunks() throws Exception {
+        // One more than a chunk of 500
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            Course course = new Course();
+            course.setCourseCode("POOL" + i);
+            course.setCourseName("Pool " + i);
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+
+        mockMvc.perform(get("/api/courses").with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()", is(501)));
+
+        // A connection per chunk, returned before the chunk is written; one hold would mean the
+        // request kept it for the whole response
+        mockMvc.perform(get("/actuator/connectionpool").with(user("prof").roles("TEACHER")))
+                .andExpect(jsonPath("$.paths[?(@.path == 'GET /api/courses')].holds", contains(2)));
+    }
+
+    @Test
+    void endpoint_ForbiddenForStudents() throws Exception {
+        mockMvc.perform(get("/actuator/connectionpool").with(user("alice").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.datagen.DataGenerator;
+import com.example.studentmanagement.datagen.DataGeneratorProperties;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The data generator on H2 (batched inserts; the COPY path runs in the perf profile): row counts,
+ * valid references, skewed course popularity, and ids the application can continue from.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DataGeneratorIntegrationTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AcademicCalendar academicCalendar;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DataGeneratorProperties settings;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        settings = new DataGeneratorProperties();
+        settings.setPrefix("it");
+        settings.setDepartments(3);
+        settings.setCoursesPerDepartment(10);
+        settings.setTeachers(7);
+        settings.setStudents(500);
+        settings.setEnrollmentsPerStudent(3);
+        settings.setPopularitySkew(1.2);
+        settings.setProducers(3);
+        settings.setChunkSize(64);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void generate_WritesConsistentRows() {
+        DataGenerator.Result result = dataGenerator.generate(settings);
+
+        assertThat(result.courses()).isEqualTo(30);
+        assertThat(count("SELECT COUNT(*) FROM departments")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM courses")).isEqualTo(30);
+        assertThat(count("SELECT COUNT(*) FROM teachers")).isEqualTo(7);
+        assertThat(count("SELECT COUNT(*) FROM students")).isEqualTo(500);
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(507);
+        assertThat(count("SELECT COUNT(*) FROM student_courses")).isEqualTo(result.enrollments());
+        // Every student takes 1 to 5 courses, 3 on average
+        assertThat(count("SELECT MIN(c) FROM (SELECT COUNT(*) c FROM student_courses GROUP BY student_id) t"))
+                .isBetween(1L, 5L);
+        assertThat(count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM student_courses GROUP BY student_id) t"))
+                .isLessThanOrEqualTo(5L);
+        assertThat(result.enrollments()).isBetween(1_200L, 1_800L);
+        assertThat(count("SELECT COUNT(*) FROM student_courses WHERE term <> ?", academicCalendar.currentTerm().code()))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM students s JOIN users u ON u.id = s.id WHERE u.role = 'ROLE_STUDENT'"))
+                .isEqualTo(500);
+    }
+
+    @Test
+    void generate_SkewsCoursePopularity() {
+        dataGenerator.generate(settings);
+
+        List<Long> perCourse = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM student_courses GROUP BY course_id ORDER BY COUNT(*) DESC", Long.class);
+        long total = perCourse.stream().mapToLong(Long::longValue).sum();
+
+        // Under uniform popularity the top three of 30 courses would hold 10%
+        assertThat(perCourse.get(0) + perCourse.get(1) + perCourse.get(2)).isGreaterThan(total / 4);
+    }
+
+    @Test
+    void generate_EnrollsStudentsInTheirOwnDepartment() {
+        dataGenerator.generate(settings);
+
+        assertThat(count("""
+                SELECT COUNT(*) FROM student_courses sc
+                JOIN students s ON s.id = sc.student_id
+                JOIN courses c ON c.id = sc.course_id
+                WHERE c.department_id <> s.department_id
+                """)).isZero();
+    }
+
+    @Test
+    void generate_IsReproducibleAndUsersCanLogIn() {
+        dataGenerator.generate(settings);
+        List<String> first = snapshot();
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'it-student-1'",
+                String.class);
+
+        cleanUp();
+        dataGenerator.generate(settings);
+
+        assertThat(snapshot()).isEqualTo(first);
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+    }
+
+    @Test
+    void generate_ApplicationContinuesAfterGeneratedIds() {
+        dataGenerator.generate(settings);
+
+        Department department = new Department();
+        department.setName("After generation");
+        Long id = departmentRepository.save(department).getId();
+
+        assertThat(id).isEqualTo(count("SELECT MAX(id) FROM departments"));
+        assertThat(count("SELECT COUNT(*) FROM departments")).isEqualTo(4);
+    }
+
+    @Test
+    void generate_RefusesAPrefixAlreadyUsed() {
+        dataGenerator.generate(settings);
+
+        assertThatThrownBy(() -> dataGenerator.generate(settings))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("prefix 'it'");
+    }
+
+    // Students by number with their department and courses, independent of the generated ids
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList("""
+                SELECT u.username || ':' || d.name || ':' || c.course_code
+                FROM student_courses sc
+                JOIN users u ON u.id = sc.student_id
+                JOIN students s ON s.id = sc.student_id
+                JOIN departments d ON d.id = s.department_id
+                JOIN courses c ON c.id = sc.course_id
+                ORDER BY 1
+                """, String.class);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.dto.GradeDto;
+import com.example.studentmanagement.dto.TranscriptDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.UserRepository;
+import com.example.studentmanagement.service.DepartmentService;
+import com.example.studentmanagement.service.GradeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the bulk department deletion against the real schema, including enrollments that cross departments.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationFixtures.class)
+class DepartmentDeletionIntegrationTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private Department physics;
+    private Department chemistry;
+    private Course mechanics;
+    private Course optics;
+    private Course organic;
+    private Student visitor;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        physics = departmentRepository.save(department("Physics"));
+        chemistry = departmentRepository.save(department("Chemistry"));
+
+        mechanics = courseRepository.save(course("PHY101", physics));
+        optics = courseRepository.save(course("PHY201", physics));
+        organic = courseRepository.save(course("CHM101", chemistry));
+
+        fixtures.saveStudent("p1", physics, mechanics, optics);
+        fixtures.saveStudent("p2", physics, mechanics, organic);
+        visitor = fixtures.saveStudent("c1", chemistry, optics, organic);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses_archive");
+        jdbcTemplate.update("DELETE FROM courses_archive");
+        enrollmentRepository.deleteAllInBatch();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deleteDepartment_RemovesCoursesStudentsAndTheirEnrollments() {
+        departmentService.deleteDepartment(physics.getId());
+
+        assertThat(departmentRepository.existsById(physics.getId())).isFalse();
+        assertThat(courseRepository.findAll()).extracting(Course::getCourseCode).containsExactly("CHM101");
+        assertThat(studentRepository.findAll()).extracting(Student::getUsername).containsExactly("c1");
+        assertThat(userRepository.findByUsername("p1")).isEmpty();
+        assertThat(userRepository.findByUsername("p2")).isEmpty();
+
+        // The other department's student keeps only the enrollment in a surviving course
+        assertThat(jdbcTemplate.queryForList("SELECT course_id FROM student_courses", Long.class))
+                .containsExactly(organic.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT student_id FROM student_courses", Long.class))
+                .isEqualTo(visitor.getId());
+
+        DepartmentDeletionProgress progress = departmentService.getDeletionProgress(physics.getId());
+        assertThat(progress.getStatus()).isEqualTo(DepartmentDeletionProgress.Status.COMPLETED);
+        assertThat(progress.getCoursesDeleted()).isEqualTo(2);
+        assertThat(progress.getStudentsDeleted()).isEqualTo(2);
+        // mechanics x2 and optics x2 with the courses, then p2's organic with the students
+        assertThat(progress.getEnrollmentsDeleted()).isEqualTo(5);
+    }
+
+    @Test
+    void deleteDepartment_OutsideStudentsKeepTheirGradesInTheTranscript() {
+        gradeService.recordGrade(optics.getId(), grade(visitor, Grade.A));
+        gradeService.recordGrade(organic.getId(), grade(visitor, Grade.C));
+
+        departmentService.deleteDepartment(physics.getId());
+
+        TranscriptDto transcript = gradeService.getTranscript(visitor.getId());
+        assertThat(transcript.getEntries()).extracting(TranscriptEntry::getCourseCode, TranscriptEntry::getGrade)
+                .containsExactlyInAnyOrder(tuple("PHY201", Grade.A), tuple("CHM101", Grade.C));
+        // The totals still add up to what the transcript lists
+        assertThat(transcript.getGradedCourses()).isEqualTo(2);
+        assertThat(transcript.getAttemptedCredits()).isEqualTo(transcript.getEntries().stream()
+                .mapToInt(TranscriptEntry::getCredits).sum());
+        assertThat(transcript.getGpa()).isEqualByComparingTo("3.000");
+        // Ungraded and in-department enrollments are purged, not archived
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses_archive", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void deleteDepartment_LeavesOtherDepartmentsAlone() {
+        departmentService.deleteDepartment(chemistry.getId());
+
+        assertThat(departmentRepository.findAll()).extracting(Department::getName).containsExactly("Physics");
+        assertThat(courseRepository.count()).isEqualTo(2);
+        assertThat(studentRepository.findAll()).extracting(Student::getUsername).containsExactlyInAnyOrder("p1", "p2");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses", Long.class)).isEqualTo(3);
+    }
+
+    private GradeDto grade(Student student, Grade grade) {
+        GradeDto dto = new GradeDto();
+        dto.setStudentId(student.getId());
+        dto.setGrade(grade);
+        return dto;
+    }
+
+    private Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentEventRollup;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.EnrollmentEventLog;
+import com.example.studentmanagement.enrollment.EnrollmentEventRollupJob;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.UserRepository;
+import com.example.studentmanagement.service.EnrollmentHistoryService;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Enrollment changes end up in the append-only event log, can be queried by course, student and time,
+ * and are rolled up and pruned by the nightly job.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentEventLogIntegrationTest {
+
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EnrollmentHistoryService enrollmentHistoryService;
+
+    @Autowired
+    private EnrollmentEventLog enrollmentEventLog;
+
+    @Autowired
+    private EnrollmentEventRollupJob rollupJob;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Course algorithms;
+    private Course databases;
+    private Student alice;
+    private Student bob;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        algorithms = courseRepository.save(course("CS301", department));
+        databases = courseRepository.save(course("CS302", department));
+        alice = studentRepository.save(student("alice", department));
+        bob = studentRepository.save(student("bob", department));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        enrollmentRepository.deleteAllInBatch();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM enrollment_events");
+        jdbcTemplate.update("DELETE FROM enrollment_event_rollups");
+    }
+
+    @Test
+    void enrollAndDrop_AreLoggedWithActor() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        studentService.enrollInCourse(alice.getId(), algorithms.getId());
+        studentService.enrollInCourse(alice.getId(), databases.getId());
+        studentService.dropCourse(alice.getId(), algorithms.getId());
+        studentService.enrollInCourse(bob.getId(), algorithms.getId());
+        enrollmentEventLog.flush(FLUSH_TIMEOUT);
+
+        List<EnrollmentEvent> forAlgorithms = enrollmentHistoryService
+                .getEvents(algorithms.getId(), null, null, null, 0, 50).getContent();
+        assertThat(forAlgorithms).extracting(EnrollmentEvent::getType).containsExactlyInAnyOrder(
+                EnrollmentEvent.Type.ENROLLED, EnrollmentEvent.Type.DROPPED, EnrollmentEvent.Type.ENROLLED);
+
+        List<EnrollmentEvent> drops = enrollmentHistoryService
+                .getEvents(algorithms.getId(), alice.getId(), null, null, 0, 50).getContent().stream()
+                .filter(event -> event.getType() == EnrollmentEvent.Type.DROPPED)
+                .toList();
+        assertThat(drops).singleElement().satisfies(event -> assertThat(event.getActor()).isEqualTo("alice"));
+
+        assertThat(enrollmentHistoryService.getEvents(null, bob.getId(), null, null, 0, 50).getTotalElements())
+                .isEqualTo(1);
+        assertThat(enrollmentHistoryService.getEvents(null, null, Instant.now().plusSeconds(60),
+                Instant.now().plusSeconds(120), 0, 50).getTotalElements()).isZero();
+    }
+
+    @Test
+    void idempotentEnroll_IsLoggedOnce() {
+        studentService.enrollInCourse(alice.getId(), algorithms.getId());
+        studentService.enrollInCourse(alice.getId(), algorithms.getId());
+        enrollmentEventLog.flush(FLUSH_TIMEOUT);
+
+        assertThat(eventCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackEnrollment_IsNotLogged() {
+        transactionTemplate.executeWithoutResult(status -> {
+            studentService.enrollInCourse(alice.getId(), algorithms.getId());
+            status.setRollbackOnly();
+        });
+        enrollmentEventLog.flush(FLUSH_TIMEOUT);
+
+        assertThat(eventCount()).isZero();
+    }
+
+    @Test
+    void rollup_CountsPerDayThenPrunesRawEvents() {
+        LocalDate day = LocalDate.of(2026, 9, 1);
+        insertEvent(algorithms.getId(), EnrollmentEvent.Type.ENROLLED, day.atTime(9, 0));
+        insertEvent(algorithms.getId(), EnrollmentEvent.Type.ENROLLED, day.atTime(23, 59));
+        insertEvent(algorithms.getId(), EnrollmentEvent.Type.DROPPED, day.atTime(12, 0));
+        insertEvent(algorithms.getId(), EnrollmentEvent.Type.ENROLLED, day.plusDays(2).atTime(8, 0));
+
+        assertThat(rollupJob.rollUpThrough(day.plusDays(2))).isEqualTo(3);
+        // Already rolled up days are not counted twice
+        assertThat(rollupJob.rollUpThrough(day.plusDays(2))).isZero();
+
+        List<EnrollmentEventRollup> counts = enrollmentHistoryService
+                .getDailyCounts(algorithms.getId(), day, day.plusDays(2));
+        assertThat(counts).extracting(EnrollmentEventRollup::getDay, EnrollmentEventRollup::getType,
+                        EnrollmentEventRollup::getEvents)
+                .containsExactlyInAnyOrder(
+                        tuple(day, EnrollmentEvent.Type.ENROLLED, 2L),
+                        tuple(day, EnrollmentEvent.Type.DROPPED, 1L),
+                        tuple(day.plusDays(2), EnrollmentEvent.Type.ENROLLED, 1L));
+
+        assertThat(rollupJob.pruneBefore(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())).isEqualTo(3);
+        assertThat(eventCount()).isEqualTo(1);
+    }
+
+    private void insertEvent(Long courseId, EnrollmentEvent.Type type, LocalDateTime at) {
+        jdbcTemplate.update("""
+                INSERT INTO enrollment_events (student_id, course_id, term, event_type, occurred_at, actor)
+                VALUES (?, ?, '2026-FALL', ?, ?, 'seed')
+                """, alice.getId(), courseId, type.name(), Timestamp.from(at.toInstant(ZoneOffset.UTC)));
+    }
+
+    private long eventCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollment_events", Long.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import com.example.studentmanagement.repository.UserRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrollments carry their term: only the current term's rows show up as a student's courses, and
+ * earlier terms are kept as history. H2 has no partitions, the same queries run against the plain table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentTermIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private AcademicCalendar academicCalendar;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AcademicTerm current;
+    private AcademicTerm previous;
+    private Teacher teacher;
+    private Course algorithms;
+    private Course databases;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        current = academicCalendar.currentTerm();
+        previous = new AcademicTerm(current.year() - 1, current.season());
+
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        teacher = new Teacher();
+        teacher.setUsername("prof");
+        teacher.setPassword("encoded");
+        teacher.setEmail("prof@example.com");
+        teacher.setFullName("Prof");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP001");
+        teacher = teacherRepository.save(teacher);
+
+        algorithms = courseRepository.save(course("CS301", department, teacher));
+        databases = courseRepository.save(course("CS302", department, teacher));
+
+        student = studentRepository.save(student("alice", department));
+
+        // Last year's enrollment in databases, history that must not leak into this term
+        enrollmentRepository.save(new Enrollment(
+                new EnrollmentId(student.getId(), databases.getId(), previous.code()), Instant.now()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllInBatch();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void currentCourses_LeaveOutEarlierTerms() {
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+
+        assertThat(studentService.getStudentById(student.getId()).getCourses())
+                .extracting(Course::getCourseCode).containsExactly("CS301");
+    }
+
+    @Test
+    void enrollAgain_KeepsEarlierTermAsHistory() {
+        studentService.enrollInCourse(student.getId(), databases.getId());
+        studentService.enrollInCourse(student.getId(), databases.getId());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT term FROM student_courses WHERE student_id = ? ORDER BY term", String.class, student.getId()))
+                .containsExactlyInAnyOrder(previous.code(), current.code());
+    }
+
+    @Test
+    void dropCourse_OnlyRemovesCurrentTerm() {
+        studentService.enrollInCourse(student.getId(), databases.getId());
+
+        Student result = studentService.dropCourse(student.getId(), databases.getId());
+
+        assertThat(result.getCourses()).isEmpty();
+        assertThat(enrollmentRepository.existsById(
+                new EnrollmentId(student.getId(), databases.getId(), previous.code()))).isTrue();
+    }
+
+    @Test
+    void workload_CountsCurrentTermOnly() {
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+
+        TeacherWorkloadDto workload = teacherRepository.findWorkload(current.code(), PageRequest.of(0, 20))
+                .getContent().getFirst();
+
+        assertThat(workload.getEnrolledStudents()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.export.ExportService;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exports straight from the database: soft-deleted rows are left out, afterId and limit page through
+ * the key so a resumed export neither repeats nor skips rows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Student> students = new ArrayList<>();
+    private Course algorithms;
+    private Course databases;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        Teacher teacher = new Teacher();
+        teacher.setUsername("prof");
+        teacher.setPassword("encoded");
+        teacher.setEmail("prof@example.com");
+        teacher.setFullName("Prof, PhD");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP001");
+        teacher = teacherRepository.save(teacher);
+
+        algorithms = courseRepository.save(course("CS301", department, teacher));
+        databases = courseRepository.save(course("CS302", department, teacher));
+
+        for (int i = 1; i <= 5; i++) {
+            Student student = new Student();
+            student.setUsername("student" + i);
+            student.setPassword("encoded");
+            student.setEmail("student" + i + "@example.com");
+            student.setFullName("Student " + i);
+            student.setRole(Role.ROLE_STUDENT);
+            student.setStudentId("STU00" + i);
+            student.setDepartment(i % 2 == 0 ? department : null);
+            students.add(studentRepository.save(student));
+            enroll(students.getLast(), algorithms, "2026-FALL");
+            enroll(students.getLast(), databases, "2026-SPRING");
+        }
+        jdbcTemplate.update("UPDATE users SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", students.get(2).getId());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Plain SQL: the repositories no longer see the soft-deleted student
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+        students.clear();
+    }
+
+    @Test
+    void students_CsvSkipsDeletedAndQuotes() throws IOException {
+        List<String> lines = export("students", "csv", null, null, null);
+
+        assertThat(lines.getFirst())
+                .isEqualTo("id,username,email,full_name,student_id,phone_number,department_id,department_name");
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(1)).isEqualTo(students.get(0).getId() + ",student1,student1@example.com,Student 1,STU001,,,");
+        assertThat(lines.get(2)).endsWith(",Computer Science");
+        assertThat(lines).noneMatch(line -> line.contains("student3"));
+        assertThat(String.join("\n", export("courses", "csv", null, null, null))).contains("\"Prof, PhD\"");
+    }
+
+    @Test
+    void students_ResumeWithAfterIdAndLimit() throws IOException {
+        List<String> first = export("students", "csv", null, 2, null);
+        long lastKey = Long.parseLong(first.getLast().split(",")[0]);
+        List<String> rest = export("students", "csv", lastKey, null, null);
+
+        assertThat(first).hasSize(3);
+        assertThat(rest).hasSize(3);
+        List<String> resumed = new ArrayList<>(first);
+        resumed.addAll(rest.subList(1, rest.size()));
+        assertThat(resumed).isEqualTo(export("students", "csv", null, null, null));
+    }
+
+    @Test
+    void enrollments_FilteredByTermAndKeyedByStudent() throws IOException {
+        List<String> fall = export("enrollments", "csv", null, null, "2026-fall");
+        assertThat(fall).hasSize(5);
+        assertThat(fall.subList(1, fall.size())).allMatch(line -> line.contains(",2026-FALL,"));
+
+        // Both of a student's enrollments come in the same request
+        List<String> limited = export("enrollments", "csv", students.get(0).getId(), 1, null);
+        assertThat(limited).hasSize(3);
+        assertThat(limited.subList(1, 3)).allMatch(line -> line.startsWith(students.get(1).getId() + ","));
+    }
+
+    @Test
+    void columnar_WritesEveryRowAndTerminates() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(exportService.prepare("enrollments", "columnar", null, null, null), out);
+
+        byte[] bytes = out.toByteArray();
+        assertThat(rows).isEqualTo(8);
+        assertThat(new String(bytes, 0, 8, StandardCharsets.US_ASCII)).isEqualTo("SMCOL001");
+        assertThat(bytes[bytes.length - 1]).isZero();
+    }
+
+    @Test
+    void prepare_RejectsInvalidRequests() {
+        assertThatThrownBy(() -> exportService.prepare("grades", "csv", null, null, null))
+                .hasMessage("Unsupported export entity: grades");
+        assertThatThrownBy(() -> exportService.prepare("students", "xlsx", null, null, null))
+                .hasMessage("Unsupported export format: xlsx");
+        assertThatThrownBy(() -> exportService.prepare("students", "csv", null, 0, null))
+                .hasMessageContaining("'limit'");
+        assertThatThrownBy(() -> exportService.prepare("students", "csv", null, null, "2026-FALL"))
+                .hasMessage("'term' is only supported for enrollments");
+        assertThatThrownBy(() -> exportService.prepare("enrollments", "csv", null, null, "someday"))
+                .hasMessage("Invalid academic term: someday");
+    }
+
+    private List<String> export(String entity, String format, Long afterId, Integer limit, String term)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(exportService.prepare(entity, format, afterId, limit, term), out);
+        return List.of(out.toString(StandardCharsets.UTF_8).split("\r\n"));
+    }
+
+    private void enroll(Student student, Course course, String term) {
+        enrollmentRepository.save(new Enrollment(new EnrollmentId(student.getId(), course.getId(), term), Instant.now()));
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.archive.ArchivalJob;
+import com.example.studentmanagement.dto.GradeDto;
+import com.example.studentmanagement.dto.TranscriptDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.GradeService;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Grades through the API and the totals kept alongside them: the GPA and credits of the transcript
+ * always match a recomputation from student_courses, whatever sequence of grade writes led there.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GradeIntegrationTest {
+
+    // What student_grade_totals is a cache of
+    private static final String RECOMPUTED_TOTALS = """
+            SELECT COUNT(*) AS graded_courses, SUM(graded_credits) AS attempted_credits,
+                   SUM(CASE WHEN grade <> 'F' THEN graded_credits ELSE 0 END) AS earned_credits
+            FROM student_courses WHERE student_id = ? AND grade IS NOT NULL
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private ArchivalJob archivalJob;
+
+    @Autowired
+    private AcademicCalendar academicCalendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Course intro;
+    private Course dataStructures;
+    private Student alice;
+    private Student bob;
+    private Student carol;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        intro = courseRepository.save(course("CS101", 3, department, null));
+        dataStructures = courseRepository.save(course("CS201", 4, department, null));
+
+        alice = studentRepository.save(student("alice", department));
+        bob = studentRepository.save(student("bob", department));
+        carol = studentRepository.save(student("carol", department));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM student_grade_totals");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+        jdbcTemplate.update("DELETE FROM student_courses_archive");
+        jdbcTemplate.update("DELETE FROM courses_archive");
+    }
+
+    @Test
+    void recordGrade_TranscriptTotalsFollowRegrades() throws Exception {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+        studentService.enrollInCourse(alice.getId(), dataStructures.getId());
+
+        putGrade(intro, alice, "A");
+        putGrade(dataStructures, alice, "B")
+                .andExpect(jsonPath("$.data.courseCode", is("CS201")))
+                .andExpect(jsonPath("$.data.credits", is(4)))
+                .andExpect(jsonPath("$.data.grade", is("B")));
+
+        // (4.0 * 3 + 3.0 * 4) / 7
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/transcript").with(user("alice").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.gradedCourses", is(2)))
+                .andExpect(jsonPath("$.data.attemptedCredits", is(7)))
+                .andExpect(jsonPath("$.data.earnedCredits", is(7)))
+                .andExpect(jsonPath("$.data.gpa", is(3.429)))
+                .andExpect(jsonPath("$.data.entries[*].courseCode", contains("CS101", "CS201")))
+                .andExpect(jsonPath("$.data.entries[*].grade", contains("A", "B")));
+
+        putGrade(dataStructures, alice, "F");
+
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/transcript").with(user("alice").roles("STUDENT")))
+                .andExpect(jsonPath("$.data.gradedCourses", is(2)))
+                .andExpect(jsonPath("$.data.attemptedCredits", is(7)))
+                .andExpect(jsonPath("$.data.earnedCredits", is(3)))
+                .andExpect(jsonPath("$.data.gpa", is(1.714)));
+        assertTotalsMatchEnrollments(alice);
+    }
+
+    @Test
+    void recordGrade_CreditsAreThoseAtGradingTime() {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.B));
+
+        // A regrade takes back the credits the old grade was counted with, whatever the course says now
+        jdbcTemplate.update("UPDATE courses SET credits = 5 WHERE id = ?", intro.getId());
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.A));
+
+        assertThat(gradeService.getTranscript(alice.getId()).getAttemptedCredits()).isEqualTo(5);
+        assertTotalsMatchEnrollments(alice);
+
+        gradeService.recordGrade(intro.getId(), grade(alice, null, null));
+
+        assertThat(gradeService.getTranscript(alice.getId()).getGpa()).isNull();
+        assertThat(gradeService.getTranscript(alice.getId()).getGradedCourses()).isZero();
+        assertTotalsMatchEnrollments(alice);
+    }
+
+    @Test
+    void recordGrade_RejectsInvalidRequests() throws Exception {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+
+        mockMvc.perform(put("/api/courses/" + intro.getId() + "/grades")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + alice.getId() + ",\"grade\":\"Z\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/courses/" + dataStructures.getId() + "/grades")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + alice.getId() + ",\"grade\":\"A\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", startsWith("Student " + alice.getId() + " is not enrolled in CS201")));
+
+        mockMvc.perform(put("/api/courses/" + intro.getId() + "/grades")
+                        .with(user("alice").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + alice.getId() + ",\"grade\":\"A\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void distribution_CountsEveryLetter() throws Exception {
+        for (Student student : new Student[]{alice, bob, carol}) {
+            studentService.enrollInCourse(student.getId(), intro.getId());
+        }
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.A));
+        gradeService.recordGrade(intro.getId(), grade(bob, null, Grade.A));
+        gradeService.recordGrade(intro.getId(), grade(carol, null, Grade.B));
+
+        mockMvc.perform(get("/api/courses/" + intro.getId() + "/grades/distribution").with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.graded", is(3)))
+                .andExpect(jsonPath("$.data.averagePoints", is(3.67)))
+                .andExpect(jsonPath("$.data.counts.A", is(2)))
+                .andExpect(jsonPath("$.data.counts.B", is(1)))
+                .andExpect(jsonPath("$.data.counts.F", is(0)))
+                .andExpect(jsonPath("$.data.counts.length()", is(Grade.values().length)));
+
+        mockMvc.perform(get("/api/courses/" + intro.getId() + "/grades/distribution")
+                        .param("term", lastYear().code())
+                        .with(user("prof").roles("TEACHER")))
+                .andExpect(jsonPath("$.data.term", is(lastYear().code())))
+                .andExpect(jsonPath("$.data.graded", is(0)))
+                .andExpect(jsonPath("$.data.averagePoints", nullValue()));
+    }
+
+    @Test
+    void rank_EqualGpasShareARank() throws Exception {
+        for (Student student : new Student[]{alice, bob, carol}) {
+            studentService.enrollInCourse(student.getId(), intro.getId());
+        }
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.B));
+        gradeService.recordGrade(intro.getId(), grade(bob, null, Grade.A));
+        gradeService.recordGrade(intro.getId(), grade(carol, null, Grade.A));
+
+        mockMvc.perform(get("/api/students/" + bob.getId() + "/rank").with(user("bob").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rank", is(1)))
+                .andExpect(jsonPath("$.data.classSize", is(3)));
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/rank").with(user("alice").roles("STUDENT")))
+                .andExpect(jsonPath("$.data.gpa", is(3.0)))
+                .andExpect(jsonPath("$.data.rank", is(3)));
+
+        // Deleted students leave the class
+        transactionTemplate.executeWithoutResult(status -> studentRepository.softDeleteById(carol.getId(), Instant.now()));
+        assertThat(gradeService.getClassRank(alice).getRank()).isEqualTo(2);
+        assertThat(gradeService.getClassRank(alice).getClassSize()).isEqualTo(2);
+    }
+
+    @Test
+    void transcriptAndRank_OnlyForTheStudentOrATeacher() throws Exception {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.A));
+
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/transcript").with(user("bob").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/rank").with(user("bob").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+        // A student whose username is unknown is nobody's own
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/rank").with(user("mallory").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/transcript").with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.gpa", is(4.0)));
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/rank").with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rank", is(1)));
+    }
+
+    @Test
+    void failedCourse_DoesNotSatisfyPrerequisites() throws Exception {
+        mockMvc.perform(put("/api/courses/" + dataStructures.getId() + "/prerequisites")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + intro.getId() + "]"))
+                .andExpect(status().isOk());
+        enrollmentRepository.save(new Enrollment(
+                new EnrollmentId(alice.getId(), intro.getId(), lastYear().code()), Instant.now()));
+        gradeService.recordGrade(intro.getId(), grade(alice, lastYear().code(), Grade.F));
+
+        assertThatThrownBy(() -> studentService.enrollInCourse(alice.getId(), dataStructures.getId()))
+                .hasMessageContaining("CS201 requires CS101");
+        mockMvc.perform(get("/api/students/" + alice.getId() + "/next-courses").with(user("alice").roles("STUDENT")))
+                .andExpect(jsonPath("$.data[*].courseCode", contains("CS101")));
+
+        gradeService.recordGrade(intro.getId(), grade(alice, lastYear().code(), Grade.C));
+        studentService.enrollInCourse(alice.getId(), dataStructures.getId());
+    }
+
+    @Test
+    void dropCourse_GradedCourseIsRejected() throws Exception {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.B));
+
+        mockMvc.perform(delete("/api/students/" + alice.getId() + "/courses/" + intro.getId())
+                        .with(user("alice").roles("STUDENT")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cannot drop a graded course")));
+    }
+
+    @Test
+    void transcript_KeepsGradesOfArchivedCourses() {
+        studentService.enrollInCourse(alice.getId(), intro.getId());
+        studentService.enrollInCourse(alice.getId(), dataStructures.getId());
+        gradeService.recordGrade(intro.getId(), grade(alice, null, Grade.A));
+
+        Instant deletedAt = Instant.now().minus(40, ChronoUnit.DAYS);
+        transactionTemplate.executeWithoutResult(status -> courseRepository.softDeleteById(intro.getId(), deletedAt));
+        archivalJob.archiveDeletedBefore(Instant.now().minus(30, ChronoUnit.DAYS));
+
+        TranscriptDto transcript = gradeService.getTranscript(alice.getId());
+        assertThat(transcript.getEntries()).extracting(e -> e.getCourseCode() + ":" + e.getGrade())
+                .containsExactly("CS101:A", "CS201:null");
+        assertThat(transcript.getEntries().get(0).getCredits()).isEqualTo(3);
+        assertThat(transcript.getGpa()).isEqualByComparingTo("4.0");
+    }
+
+    private ResultActions putGrade(Course course, Student student, String letter) throws Exception {
+        return mockMvc.perform(put("/api/courses/" + course.getId() + "/grades")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + student.getId() + ",\"grade\":\"" + letter + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private void assertTotalsMatchEnrollments(Student student) {
+        Map<String, Object> recomputed = jdbcTemplate.queryForMap(RECOMPUTED_TOTALS, student.getId());
+        TranscriptDto transcript = gradeService.getTranscript(student.getId());
+        assertThat(((Number) recomputed.get("graded_courses")).intValue()).isEqualTo(transcript.getGradedCourses());
+        assertThat(recomputed.get("attempted_credits") == null ? 0 : ((Number) recomputed.get("attempted_credits")).intValue())
+                .isEqualTo(transcript.getAttemptedCredits());
+        assertThat(recomputed.get("earned_credits") == null ? 0 : ((Number) recomputed.get("earned_credits")).intValue())
+                .isEqualTo(transcript.getEarnedCredits());
+    }
+
+    private GradeDto grade(Student student, String term, Grade grade) {
+        GradeDto dto = new GradeDto();
+        dto.setStudentId(student.getId());
+        dto.setTerm(term);
+        dto.setGrade(grade);
+        return dto;
+    }
+
+    private AcademicTerm lastYear() {
+        AcademicTerm current = academicCalendar.currentTerm();
+        return new AcademicTerm(current.year() - 1, current.season());
+    }
+}
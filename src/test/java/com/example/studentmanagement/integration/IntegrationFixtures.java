@@ -0,0 +1,70 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entities the integration tests build over and over. The static builders only create them;
+ * {@link #saveStudent} needs the repositories, so tests that use it {@code @Import} this class.
+ */
+@RequiredArgsConstructor
+class IntegrationFixtures {
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final AcademicCalendar academicCalendar;
+
+    // A 3-credit course named after its code
+    static Course course(String code, Department department) {
+        return course(code, 3, department, null);
+    }
+
+    static Course course(String code, Department department, Teacher teacher) {
+        return course(code, 3, department, teacher);
+    }
+
+    static Course course(String code, int credits, Department department, Teacher teacher) {
+        Course course = new Course();
+        course.setCourseCode(code);
+        course.setCourseName(code);
+        course.setCredits(credits);
+        course.setDepartment(department);
+        course.setTeacher(teacher);
+        return course;
+    }
+
+    // Username, full name and the local part of the email are the name; the student id is the name in upper case
+    static Student student(String name, Department department) {
+        Student student = new Student();
+        student.setUsername(name);
+        student.setPassword("encoded");
+        student.setEmail(name + "@example.com");
+        student.setFullName(name);
+        student.setRole(Role.ROLE_STUDENT);
+        student.setStudentId(name.toUpperCase());
+        student.setDepartment(department);
+        return student;
+    }
+
+    // Saves the student enrolled in the courses for the current term
+    Student saveStudent(String name, Department department, Course... courses) {
+        Student student = studentRepository.save(student(name, department));
+        String term = academicCalendar.currentTerm().code();
+        for (Course course : courses) {
+            enrollmentRepository.save(new Enrollment(
+                    new EnrollmentId(student.getId(), course.getId(), term), Instant.now()));
+        }
+        return student;
+    }
+}
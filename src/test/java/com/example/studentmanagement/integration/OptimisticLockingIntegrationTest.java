@@ -0,0 +1,220 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import com.example.studentmanagement.service.CourseService;
+import tools.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Version checks on updates through the API: ETag / If-Match, lost updates caught by the
+ * {@code @Version} column, and PATCH writing only the columns it changed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Course course;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        Teacher teacher = new Teacher();
+        teacher.setUsername("prof");
+        teacher.setPassword("encoded");
+        teacher.setEmail("prof@example.com");
+        teacher.setFullName("Prof");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP001");
+        teacher = teacherRepository.save(teacher);
+
+        course = new Course();
+        course.setCourseCode("CS301");
+        course.setCourseName("Algorithms");
+        course.setDescription("Algorithm Design");
+        course.setCredits(3);
+        course.setDepartment(department);
+        course.setTeacher(teacher);
+        course = courseRepository.save(course);
+
+        student = new Student();
+        student.setUsername("alice");
+        student.setPassword("encoded");
+        student.setEmail("alice@example.com");
+        student.setFullName("Alice");
+        student.setRole(Role.ROLE_STUDENT);
+        student.setStudentId("ALICE");
+        student.setPhoneNumber("1234567890");
+        student = studentRepository.save(student);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void put_WithCurrentETagSucceedsAndStaleETagFails() throws Exception {
+        mockMvc.perform(get("/api/courses/" + course.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(put("/api/courses/" + course.getId())
+                        .with(user("prof").roles("TEACHER"))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto("Algorithms I"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        // A second client still holding version 0
+        mockMvc.perform(put("/api/courses/" + course.getId())
+                        .with(user("prof").roles("TEACHER"))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDto("Algorithms II"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", containsString("expected version 0, current 1")));
+
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getCourseName()).isEqualTo("Algorithms I");
+    }
+
+    @Test
+    void put_StaleBodyVersionIsConflict() throws Exception {
+        CourseDto dto = courseDto("Algorithms I");
+        dto.setVersion(5L);
+
+        mockMvc.perform(put("/api/courses/" + course.getId())
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void concurrentUpdate_LaterWriterLoses() {
+        // Both transactions read version 0; the first one commits, the second is rejected at flush
+        // instead of overwriting the first change
+        Course stale = courseRepository.findById(course.getId()).orElseThrow();
+        courseService.updateCourse(course.getId(), courseDto("Algorithms I"));
+
+        stale.setCourseName("Algorithms II");
+        assertThatThrownBy(() -> courseRepository.save(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        Course current = courseRepository.findById(course.getId()).orElseThrow();
+        assertThat(current.getCourseName()).isEqualTo("Algorithms I");
+        assertThat(current.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patch_WritesOnlyChangedColumns() {
+        transactionTemplate.executeWithoutResult(status -> {
+            courseRepository.findById(course.getId()).orElseThrow();
+            // Changed behind the persistence context's back: a full-row UPDATE would write the
+            // credits it loaded (3) back over this value
+            jdbcTemplate.update("UPDATE courses SET credits = 7 WHERE id = ?", course.getId());
+
+            CourseDto patch = new CourseDto();
+            patch.setDescription("Graphs and dynamic programming");
+            courseService.patchCourse(course.getId(), patch);
+        });
+
+        Course current = courseRepository.findById(course.getId()).orElseThrow();
+        assertThat(current.getDescription()).isEqualTo("Graphs and dynamic programming");
+        assertThat(current.getCredits()).isEqualTo(7);
+        assertThat(current.getCourseName()).isEqualTo("Algorithms");
+        assertThat(current.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patchStudent_WithIfMatch() throws Exception {
+        mockMvc.perform(patch("/api/students/" + student.getId())
+                        .with(user("alice").roles("STUDENT"))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phoneNumber\":\"5550000\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.data.phoneNumber", is("5550000")))
+                .andExpect(jsonPath("$.data.fullName", is("Alice")));
+
+        mockMvc.perform(patch("/api/students/" + student.getId())
+                        .with(user("alice").roles("STUDENT"))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Alice B\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private CourseDto courseDto(String name) {
+        CourseDto dto = new CourseDto();
+        dto.setCourseCode("CS301");
+        dto.setCourseName(name);
+        dto.setDescription("Algorithm Design");
+        dto.setCredits(3);
+        return dto;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.prerequisite.PrerequisiteIndex;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.PrerequisiteService;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Prerequisite edges through the API and their effect on enrollment: a course can only be taken once
+ * its prerequisites were taken in an earlier term, and cycles are rejected.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrerequisiteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+
+    @Autowired
+    private PrerequisiteIndex prerequisiteIndex;
+
+    @Autowired
+    private AcademicCalendar academicCalendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Course intro;
+    private Course dataStructures;
+    private Course algorithms;
+    private Course discreteMath;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        intro = courseRepository.save(course("CS101", department));
+        dataStructures = courseRepository.save(course("CS201", department));
+        algorithms = courseRepository.save(course("CS301", department));
+        discreteMath = courseRepository.save(course("CS102", department));
+
+        student = studentRepository.save(student("alice", department));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void prerequisites_ClosureAndCycles() throws Exception {
+        putPrerequisites(dataStructures, intro);
+        putPrerequisites(algorithms, dataStructures);
+
+        mockMvc.perform(get("/api/courses/" + algorithms.getId() + "/prerequisites").with(user("alice").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.prerequisiteIds", contains(dataStructures.getId().intValue())))
+                .andExpect(jsonPath("$.data.allPrerequisiteIds",
+                        contains(intro.getId().intValue(), dataStructures.getId().intValue())));
+
+        mockMvc.perform(put("/api/courses/" + intro.getId() + "/prerequisites")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + algorithms.getId() + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("CS301 already requires CS101")));
+
+        mockMvc.perform(get("/api/courses/" + intro.getId() + "/prerequisites").with(user("alice").roles("STUDENT")))
+                .andExpect(jsonPath("$.data.prerequisiteIds", empty()));
+    }
+
+    @Test
+    void enroll_RequiresPrerequisitesFromAnEarlierTerm() throws Exception {
+        putPrerequisites(dataStructures, intro);
+
+        mockMvc.perform(post("/api/students/" + student.getId() + "/courses/" + dataStructures.getId())
+                        .with(user("alice").roles("STUDENT")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Missing prerequisites: CS201 requires CS101")));
+
+        // Taking the prerequisite in the same term is not enough
+        studentService.enrollInCourse(student.getId(), intro.getId());
+        assertThatThrownBy(() -> studentService.enrollInCourse(student.getId(), dataStructures.getId()))
+                .hasMessageContaining("CS201 requires CS101");
+
+        completedLastTerm(intro);
+        studentService.enrollInCourse(student.getId(), dataStructures.getId());
+
+        assertThat(currentCourseIds()).containsExactlyInAnyOrder(intro.getId(), dataStructures.getId());
+    }
+
+    @Test
+    void enroll_RegistrationForALaterTermIsNotCompletion() throws Exception {
+        // Pre-registered for the prerequisite next term: neither completed nor open to take again
+        putPrerequisites(dataStructures, intro);
+        enrollmentRepository.save(new Enrollment(new EnrollmentId(student.getId(), intro.getId(),
+                academicCalendar.currentTerm().next().code()), Instant.now()));
+
+        assertThatThrownBy(() -> studentService.enrollInCourse(student.getId(), dataStructures.getId()))
+                .hasMessageContaining("CS201 requires CS101");
+        assertThat(prerequisiteService.getNextCourses(student)).extracting(Course::getCourseCode)
+                .containsExactly("CS102", "CS301");
+    }
+
+    @Test
+    void enrollInCourses_MissingPrerequisiteEnrollsNothing() throws Exception {
+        putPrerequisites(algorithms, dataStructures, discreteMath);
+        completedLastTerm(dataStructures);
+
+        mockMvc.perform(post("/api/students/" + student.getId() + "/courses")
+                        .with(user("alice").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[" + intro.getId() + "," + algorithms.getId() + "]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Missing prerequisites: CS301 requires CS102")));
+
+        assertThat(currentCourseIds()).isEmpty();
+    }
+
+    @Test
+    void nextCourses_OnlyCoursesWithCompletedPrerequisites() throws Exception {
+        putPrerequisites(dataStructures, intro);
+        putPrerequisites(algorithms, dataStructures);
+        completedLastTerm(intro);
+        studentService.enrollInCourse(student.getId(), discreteMath.getId());
+
+        mockMvc.perform(get("/api/students/" + student.getId() + "/next-courses").with(user("alice").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].courseCode", contains("CS201")));
+    }
+
+    @Test
+    void concurrentReplacements_CannotCloseACycle() throws Exception {
+        // CS201 -> CS101 is held uncommitted while CS101 -> CS201 is requested. The second change
+        // waits for the first and is then checked against it
+        prerequisiteService.replacePrerequisites(algorithms.getId(), List.of());
+        CountDownLatch written = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                prerequisiteService.replacePrerequisites(dataStructures.getId(), List.of(intro.getId()));
+                written.countDown();
+                sleep(300);
+            }));
+            assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> prerequisiteService.replacePrerequisites(intro.getId(), List.of(dataStructures.getId())))
+                    .hasMessage("CS201 already requires CS101");
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForList("SELECT course_id FROM course_prerequisites", Long.class))
+                .containsExactly(dataStructures.getId());
+    }
+
+    @Test
+    void refresh_PicksUpChangesMadeOutsideTheService() throws Exception {
+        putPrerequisites(dataStructures, intro);
+        jdbcTemplate.update("DELETE FROM course_prerequisites WHERE course_id = ?", dataStructures.getId());
+
+        prerequisiteIndex.refresh();
+        studentService.enrollInCourse(student.getId(), dataStructures.getId());
+
+        assertThat(currentCourseIds()).containsExactly(dataStructures.getId());
+    }
+
+    @Test
+    void deletingCourseRow_RemovesEdgesOnBothEnds() throws Exception {
+        putPrerequisites(dataStructures, intro);
+        putPrerequisites(algorithms, dataStructures);
+
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", dataStructures.getId());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_prerequisites", Integer.class)).isZero();
+    }
+
+    private void putPrerequisites(Course course, Course... prerequisites) throws Exception {
+        mockMvc.perform(put("/api/courses/" + course.getId() + "/prerequisites")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(List.of(prerequisites).stream().map(c -> c.getId().toString()).toList().toString()))
+                .andExpect(status().isOk());
+    }
+
+    private void completedLastTerm(Course course) {
+        AcademicTerm current = academicCalendar.currentTerm();
+        AcademicTerm previous = new AcademicTerm(current.year() - 1, current.season());
+        enrollmentRepository.save(new Enrollment(
+                new EnrollmentId(student.getId(), course.getId(), previous.code()), Instant.now()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Long> currentCourseIds() {
+        return jdbcTemplate.queryForList("SELECT course_id FROM student_courses WHERE student_id = ? AND term = ?",
+                Long.class, student.getId(), academicCalendar.currentTerm().code());
+    }
+}
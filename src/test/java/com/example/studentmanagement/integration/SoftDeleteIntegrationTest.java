@@ -0,0 +1,213 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.archive.ArchivalJob;
+import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import com.example.studentmanagement.repository.UserRepository;
+import tools.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Soft delete of students and courses through the API, and the archival job that moves them out.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(IntegrationFixtures.class)
+class SoftDeleteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchivalJob archivalJob;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private Course algorithms;
+    private Course databases;
+    private Student alice;
+    private Student bob;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        Teacher teacher = new Teacher();
+        teacher.setUsername("prof");
+        teacher.setPassword("encoded");
+        teacher.setEmail("prof@example.com");
+        teacher.setFullName("Prof");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId("EMP001");
+        teacher = teacherRepository.save(teacher);
+
+        algorithms = courseRepository.save(course("CS301", department, teacher));
+        databases = courseRepository.save(course("CS302", department, teacher));
+        alice = fixtures.saveStudent("alice", department, algorithms, databases);
+        bob = fixtures.saveStudent("bob", department, algorithms);
+    }
+
+    // Repository deleteAll() cannot see soft-deleted rows, and the other integration tests share
+    // this database, so everything is removed with plain SQL
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+        jdbcTemplate.update("DELETE FROM student_courses_archive");
+        jdbcTemplate.update("DELETE FROM courses_archive");
+        jdbcTemplate.update("DELETE FROM students_archive");
+        jdbcTemplate.update("DELETE FROM change_tombstones");
+    }
+
+    @Test
+    void deleteCourse_HidesCourseButKeepsEnrollmentRows() throws Exception {
+        mockMvc.perform(delete("/api/courses/" + algorithms.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/courses/" + algorithms.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/courses").with(user("prof").roles("TEACHER")))
+                .andExpect(jsonPath("$.data[*].courseCode", contains("CS302")));
+        mockMvc.perform(get("/api/students/" + alice.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(jsonPath("$.data.courses[*].courseCode", contains("CS302")));
+
+        assertThat(enrollmentCount()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted_at FROM courses WHERE id = ?", Instant.class,
+                algorithms.getId())).isNotNull();
+    }
+
+    @Test
+    void deleteCourse_KeepsCodeReservedUntilArchived() throws Exception {
+        softDeleteCourse(algorithms, Instant.now());
+
+        CourseDto dto = new CourseDto();
+        dto.setCourseCode("CS301");
+        dto.setCourseName("Algorithms again");
+        dto.setCredits(3);
+
+        mockMvc.perform(post("/api/courses")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Course with this code already exists")));
+    }
+
+    @Test
+    void deleteStudent_HidesStudentEverywhere() throws Exception {
+        mockMvc.perform(delete("/api/students/" + bob.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/students").with(user("prof").roles("TEACHER")))
+                .andExpect(jsonPath("$.data[*].username", contains("alice")));
+        mockMvc.perform(delete("/api/students/" + bob.getId()).with(user("prof").roles("TEACHER")))
+                .andExpect(status().isBadRequest());
+
+        assertThat(userRepository.findByUsername("bob")).isEmpty();
+        assertThat(enrollmentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void archive_MovesRowsDeletedBeforeCutoff() {
+        Instant deletedAt = Instant.now().minus(40, ChronoUnit.DAYS);
+        softDeleteCourse(algorithms, deletedAt);
+        transactionTemplate.executeWithoutResult(status -> studentRepository.softDeleteById(bob.getId(), deletedAt));
+
+        ArchivalJob.ArchiveResult result = archivalJob.archiveDeletedBefore(Instant.now().minus(30, ChronoUnit.DAYS));
+
+        assertThat(result).isEqualTo(new ArchivalJob.ArchiveResult(1, 1, 2));
+        assertThat(jdbcTemplate.queryForList("SELECT course_code FROM courses", String.class)).containsExactly("CS302");
+        assertThat(jdbcTemplate.queryForList("SELECT username FROM users", String.class))
+                .containsExactlyInAnyOrder("prof", "alice");
+        assertThat(enrollmentCount()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT course_code FROM courses_archive", String.class)).isEqualTo("CS301");
+        assertThat(jdbcTemplate.queryForObject("SELECT student_id FROM students_archive", String.class)).isEqualTo("BOB");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses_archive WHERE course_id = ?",
+                Long.class, algorithms.getId())).isEqualTo(2);
+        // The change feed reports the archived rows as deleted from their tombstones
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT entity || ':' || entity_key FROM change_tombstones WHERE entity <> 'enrollment'", String.class))
+                .containsExactlyInAnyOrder("course:" + algorithms.getId(), "student:" + bob.getId());
+    }
+
+    @Test
+    void archive_LeavesRecentlyDeletedRows() {
+        softDeleteCourse(algorithms, Instant.now());
+
+        ArchivalJob.ArchiveResult result = archivalJob.archiveDeletedBefore(Instant.now().minus(30, ChronoUnit.DAYS));
+
+        assertThat(result).isEqualTo(new ArchivalJob.ArchiveResult(0, 0, 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courses", Long.class)).isEqualTo(2);
+    }
+
+    private void softDeleteCourse(Course course, Instant deletedAt) {
+        transactionTemplate.executeWithoutResult(status -> courseRepository.softDeleteById(course.getId(), deletedAt));
+    }
+
+    private long enrollmentCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses", Long.class);
+    }
+}
@@ -6,6 +6,7 @@ import com.example.studentmanagement.dto.TeacherRegistrationDto;
 import com.example.studentmanagement.dto.CourseDto;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
 import com.example.studentmanagement.repository.StudentRepository;
 import com.example.studentmanagement.repository.UserRepository;
 import tools.jackson.databind.ObjectMapper;
@@ -51,8 +52,12 @@ class StudentManagementFlowIntegrationTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
     @BeforeEach
     void setUp() {
+        enrollmentRepository.deleteAllInBatch();
         courseRepository.deleteAll();
         studentRepository.deleteAll();
         departmentRepository.deleteAll();
@@ -161,14 +166,16 @@ class StudentManagementFlowIntegrationTest {
                         .with(user("john_doe").roles("STUDENT")))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.message", is("Enrolled in course successfully")));
+                .andExpect(jsonPath("$.message", is("Enrolled in course successfully")))
+                .andExpect(jsonPath("$.data.courses", hasSize(1)));
 
         // 10. Student drops the course
         mockMvc.perform(delete("/api/students/" + studentId + "/courses/" + courseId)
                         .with(user("john_doe").roles("STUDENT")))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.message", is("Dropped course successfully")));
+                .andExpect(jsonPath("$.message", is("Dropped course successfully")))
+                .andExpect(jsonPath("$.data.courses", hasSize(0)));
     }
 
     @Test
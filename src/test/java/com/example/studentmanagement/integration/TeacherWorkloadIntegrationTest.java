@@ -0,0 +1,155 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.config.CacheConfig;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Role;
+import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import com.example.studentmanagement.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the workload aggregate against the real schema and checks that results are served from the cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationFixtures.class)
+class TeacherWorkloadIntegrationTest {
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private Teacher busy;
+    private Teacher idle;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        cacheManager.getCache(CacheConfig.TEACHER_WORKLOAD).clear();
+
+        busy = teacherRepository.save(teacher("busy", "EMP100"));
+        idle = teacherRepository.save(teacher("idle", "EMP200"));
+
+        Course algorithms = courseRepository.save(course("CS301", 4, null, busy));
+        Course databases = courseRepository.save(course("CS302", 3, null, busy));
+        courseRepository.save(course("CS303", 2, null, busy));
+
+        fixtures.saveStudent("s1", null, algorithms, databases);
+        fixtures.saveStudent("s2", null, algorithms);
+        fixtures.saveStudent("s3", null, algorithms);
+    }
+
+    // The other integration tests share this database and delete courses first, which
+    // enrollment rows left behind would block. Plain SQL: repository deleteAll() cannot see
+    // soft-deleted users
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void workload_AggregatesCoursesCreditsAndEnrollments() {
+        Page<TeacherWorkloadDto> page = teacherService.getTeacherWorkload(0, 20);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(TeacherWorkloadDto::getTeacherId)
+                .containsExactly(busy.getId(), idle.getId());
+
+        TeacherWorkloadDto busyLoad = page.getContent().get(0);
+        assertThat(busyLoad.getFullName()).isEqualTo("busy");
+        assertThat(busyLoad.getEmployeeId()).isEqualTo("EMP100");
+        assertThat(busyLoad.getCourseCount()).isEqualTo(3);
+        // Credits are not multiplied by the number of students enrolled in each course
+        assertThat(busyLoad.getTotalCredits()).isEqualTo(9);
+        assertThat(busyLoad.getEnrolledStudents()).isEqualTo(4);
+
+        TeacherWorkloadDto idleLoad = page.getContent().get(1);
+        assertThat(idleLoad.getCourseCount()).isZero();
+        assertThat(idleLoad.getTotalCredits()).isZero();
+        assertThat(idleLoad.getEnrolledStudents()).isZero();
+    }
+
+    @Test
+    void workload_PagesThroughTeachers() {
+        Page<TeacherWorkloadDto> second = teacherService.getTeacherWorkload(1, 1);
+
+        assertThat(second.getTotalElements()).isEqualTo(2);
+        assertThat(second.getTotalPages()).isEqualTo(2);
+        assertThat(second.getContent()).extracting(TeacherWorkloadDto::getTeacherId).containsExactly(idle.getId());
+    }
+
+    @Test
+    void workload_LeavesOutDeletedTeachers() {
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ?", Timestamp.from(Instant.now()), idle.getId());
+
+        Page<TeacherWorkloadDto> page = teacherService.getTeacherWorkload(0, 20);
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(TeacherWorkloadDto::getTeacherId).containsExactly(busy.getId());
+    }
+
+    @Test
+    void workload_IsServedFromCache() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.TEACHER_WORKLOAD);
+        long hits = cache.getNativeCache().stats().hitCount();
+        Page<TeacherWorkloadDto> first = teacherService.getTeacherWorkload(0, 20);
+
+        courseRepository.save(course("CS304", 5, null, idle));
+
+        assertThat(teacherService.getTeacherWorkload(0, 20)).isSameAs(first);
+        // Statistics are recorded, so the hit shows up in the cache metrics
+        assertThat(cache.getNativeCache().stats().hitCount()).isEqualTo(hits + 1);
+
+        cacheManager.getCache(CacheConfig.TEACHER_WORKLOAD).clear();
+        assertThat(teacherService.getTeacherWorkload(0, 20).getContent().get(1).getTotalCredits()).isEqualTo(5);
+    }
+
+    private Teacher teacher(String name, String employeeId) {
+        Teacher teacher = new Teacher();
+        teacher.setUsername(name);
+        teacher.setPassword("encoded");
+        teacher.setEmail(name + "@example.com");
+        teacher.setFullName(name);
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setEmployeeId(employeeId);
+        return teacher;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.studentmanagement.integration;
+
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.studentmanagement.integration.IntegrationFixtures.course;
+import static com.example.studentmanagement.integration.IntegrationFixtures.student;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Course meetings and the schedule checks on enrollment: a course that meets at the same time as
+ * one the student takes is rejected, and a batch enrollment either enrolls every course or none.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimetableIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Course algorithms;
+    private Course databases;
+    private Course networks;
+    private Student student;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cleanUp();
+        Department department = new Department();
+        department.setName("Computer Science");
+        department = departmentRepository.save(department);
+
+        algorithms = courseRepository.save(course("CS301", department));
+        databases = courseRepository.save(course("CS302", department));
+        networks = courseRepository.save(course("CS303", department));
+
+        student = studentRepository.save(student("alice", department));
+
+        // Algorithms Mon/Wed 9:00-10:15, databases Wed 10:00-11:00, networks Tue 9:00-10:15
+        putMeetings(algorithms, """
+                [{"dayOfWeek":"MONDAY","startTime":"09:00","endTime":"10:15","location":"B12"},
+                 {"dayOfWeek":"WEDNESDAY","startTime":"09:00","endTime":"10:15","location":"B12"}]""");
+        putMeetings(databases, """
+                [{"dayOfWeek":"WEDNESDAY","startTime":"10:00","endTime":"11:00","location":"Lab 2"}]""");
+        putMeetings(networks, """
+                [{"dayOfWeek":"TUESDAY","startTime":"09:00","endTime":"10:15"}]""");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM student_courses");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void enrollInCourse_RejectsOverlappingCourse() throws Exception {
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+
+        mockMvc.perform(post("/api/students/" + student.getId() + "/courses/" + databases.getId())
+                        .with(user("alice").roles("STUDENT")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.data[0].courseId", is(databases.getId().intValue())))
+                .andExpect(jsonPath("$.data[0].conflictingCourseId", is(algorithms.getId().intValue())))
+                .andExpect(jsonPath("$.data[0].dayOfWeek", is("WEDNESDAY")))
+                .andExpect(jsonPath("$.data[0].startTime", is("10:00:00")))
+                .andExpect(jsonPath("$.data[0].endTime", is("10:15:00")));
+
+        assertThat(enrolledCourseIds()).containsExactly(algorithms.getId());
+    }
+
+    @Test
+    void enrollInCourse_AgainIsNotAConflictWithItself() {
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+
+        assertThat(enrolledCourseIds()).containsExactly(algorithms.getId());
+    }
+
+    @Test
+    void enrollInCourses_AllOrNothing() throws Exception {
+        mockMvc.perform(post("/api/students/" + student.getId() + "/courses")
+                        .with(user("alice").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[" + algorithms.getId() + "," + networks.getId() + "," + databases.getId() + "]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].courseId", is(databases.getId().intValue())));
+
+        assertThat(enrolledCourseIds()).isEmpty();
+
+        mockMvc.perform(post("/api/students/" + student.getId() + "/courses")
+                        .with(user("alice").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseIds\":[" + algorithms.getId() + "," + networks.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.courses", hasSize(2)));
+
+        assertThat(enrolledCourseIds()).containsExactlyInAnyOrder(algorithms.getId(), networks.getId());
+    }
+
+    @Test
+    void concurrentEnrollments_SecondSeesTheFirst() throws Exception {
+        // The first transaction holds its enrollment uncommitted for a while; the second one, started
+        // meanwhile, must wait for it and then find the overlap instead of committing a second course
+        CountDownLatch enrolled = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                studentService.enrollInCourse(student.getId(), algorithms.getId());
+                enrolled.countDown();
+                sleep(300);
+            }));
+            assertThat(enrolled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> studentService.enrollInCourse(student.getId(), databases.getId()))
+                    .isInstanceOf(ScheduleConflictException.class);
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(enrolledCourseIds()).containsExactly(algorithms.getId());
+    }
+
+    @Test
+    void timetable_ListsMeetingsByDayAndTime() throws Exception {
+        studentService.enrollInCourses(student.getId(), List.of(networks.getId(), algorithms.getId()));
+
+        mockMvc.perform(get("/api/students/" + student.getId() + "/timetable").with(user("alice").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[*].dayOfWeek", contains("MONDAY", "TUESDAY", "WEDNESDAY")))
+                .andExpect(jsonPath("$.data[0].courseCode", is("CS301")))
+                .andExpect(jsonPath("$.data[0].location", is("B12")))
+                .andExpect(jsonPath("$.data[1].courseCode", is("CS303")));
+    }
+
+    @Test
+    void softDeletedCourse_NoLongerOccupiesTheWeek() {
+        studentService.enrollInCourse(student.getId(), algorithms.getId());
+        assertThatThrownBy(() -> studentService.enrollInCourse(student.getId(), databases.getId()))
+                .isInstanceOf(ScheduleConflictException.class);
+
+        jdbcTemplate.update("UPDATE courses SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", algorithms.getId());
+        studentService.enrollInCourse(student.getId(), databases.getId());
+
+        assertThat(enrolledCourseIds()).contains(databases.getId());
+    }
+
+    @Test
+    void replaceMeetings_RejectsInvalidMeetings() throws Exception {
+        mockMvc.perform(put("/api/courses/" + networks.getId() + "/meetings")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"dayOfWeek":"FRIDAY","startTime":"09:00","endTime":"10:00"},
+                                 {"dayOfWeek":"FRIDAY","startTime":"09:30","endTime":"10:30"}]"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("must not overlap")));
+
+        // The earlier meetings are left as they were
+        mockMvc.perform(get("/api/courses/" + networks.getId() + "/meetings").with(user("alice").roles("STUDENT")))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].dayOfWeek", is("TUESDAY")));
+    }
+
+    @Test
+    void deletingCourseRow_RemovesItsMeetings() {
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", algorithms.getId());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM course_meetings WHERE course_id = ?", Integer.class, algorithms.getId()))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_meetings", Integer.class)).isEqualTo(2);
+    }
+
+    private void putMeetings(Course course, String meetings) throws Exception {
+        mockMvc.perform(put("/api/courses/" + course.getId() + "/meetings")
+                        .with(user("prof").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(meetings))
+                .andExpect(status().isOk());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Long> enrolledCourseIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT course_id FROM student_courses WHERE student_id = ?", Long.class, student.getId());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentmanagement.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every response time of a run, kept exactly per operation (a run records at most a few hundred
+ * thousand samples). Samples are recorded only while {@link #setRecording(boolean) recording},
+ * which excludes the warm-up.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> operations = new ConcurrentHashMap<>();
+    private volatile boolean recording = true;
+
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    // status -1 stands for an I/O failure; anything outside 2xx is an error
+    void record(String operation, long startNanos, long endNanos, int status) {
+        if (recording) {
+            operations.computeIfAbsent(operation, key -> new Samples()).add(startNanos, endNanos, status);
+        }
+    }
+
+    List<OperationStats> snapshot() {
+        return operations.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparing(OperationStats::operation))
+                .toList();
+    }
+
+    /**
+     * @param throughput completed requests per second between the first request start and the last
+     *                   response of the operation
+     */
+    record OperationStats(String operation, int count, int errors, Duration p50, Duration p95, Duration p99,
+                          Duration max, double throughput, Map<Integer, Integer> errorStatuses) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+
+        synchronized void add(long startNanos, long endNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = endNanos - startNanos;
+            if (status / 100 != 2) {
+                errors++;
+                errorStatuses.merge(status, 1, Integer::sum);
+            }
+            firstStart = Math.min(firstStart, startNanos);
+            lastEnd = Math.max(lastEnd, endNanos);
+        }
+
+        synchronized OperationStats stats(String operation) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = Math.max(lastEnd - firstStart, 1) / 1e9;
+            return new OperationStats(operation, count, errors, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), percentile(sorted, 1.0), count / seconds, Map.copyOf(errorStatuses));
+        }
+
+        // Nearest rank
+        private static Duration percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return Duration.ofNanos(sorted[Math.max(rank, 1) - 1]);
+        }
+    }
+}
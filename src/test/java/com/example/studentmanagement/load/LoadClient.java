@@ -0,0 +1,95 @@
+package com.example.studentmanagement.load;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Sends one API call as a given user and records its response time under an operation name. Any
+ * status outside 2xx, and any I/O failure, counts as an error of that operation.
+ */
+final class LoadClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+
+    LoadClient(URI baseUri, LatencyRecorder recorder) {
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+    }
+
+    Response get(String operation, String path, Credentials user) {
+        return send(operation, "GET", path, user, null);
+    }
+
+    Response post(String operation, String path, Credentials user, Object body) {
+        return send(operation, "POST", path, user, body);
+    }
+
+    Response delete(String operation, String path, Credentials user) {
+        return send(operation, "DELETE", path, user, null);
+    }
+
+    private Response send(String operation, String method, String path, Credentials user, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (user != null) {
+            request.header("Authorization", user.basicAuthorization());
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(operation, start, System.nanoTime(), response.statusCode());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            recorder.record(operation, start, System.nanoTime(), -1);
+            return new Response(-1, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, e.toString());
+        }
+    }
+
+    // The id of the entity in an ApiResponse body
+    long id(Response response) {
+        JsonNode id = json.readTree(response.body()).path("data").path("id");
+        if (!id.isNumber()) {
+            throw new IllegalStateException("No id in response " + response.status() + ": " + response.body());
+        }
+        return id.asLong();
+    }
+
+    record Response(int status, String body) {
+
+        boolean ok() {
+            return status / 100 == 2;
+        }
+    }
+
+    record Credentials(String username, String password) {
+
+        String basicAuthorization() {
+            return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.studentmanagement.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The per-operation latency and throughput table of a run, printed and written to
+ * {@code <report-dir>/<name>.txt} and, for comparing runs in a spreadsheet, {@code <name>.csv}.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static String format(String title, List<LatencyRecorder.OperationStats> stats) {
+        StringBuilder text = new StringBuilder(title).append('\n');
+        text.append(String.format(Locale.ROOT, "%-16s %8s %7s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "req/s"));
+        for (LatencyRecorder.OperationStats operation : stats) {
+            text.append(String.format(Locale.ROOT, "%-16s %8d %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.operation(), operation.count(), operation.errors(), millis(operation.p50()),
+                    millis(operation.p95()), millis(operation.p99()), millis(operation.max()), operation.throughput()));
+        }
+        for (LatencyRecorder.OperationStats operation : stats) {
+            if (!operation.errorStatuses().isEmpty()) {
+                // -1: no response (connection or timeout failure)
+                text.append(String.format("%s errors by status: %s%n", operation.operation(), operation.errorStatuses()));
+            }
+        }
+        return text.toString();
+    }
+
+    static void write(Path directory, String name, String title, List<LatencyRecorder.OperationStats> stats) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(name + ".txt"), format(title, stats));
+
+        StringBuilder csv = new StringBuilder("operation,count,errors,p50_ms,p95_ms,p99_ms,max_ms,throughput_per_s\n");
+        for (LatencyRecorder.OperationStats operation : stats) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    operation.operation(), operation.count(), operation.errors(), millis(operation.p50()),
+                    millis(operation.p95()), millis(operation.p99()), millis(operation.max()), operation.throughput()));
+        }
+        Files.writeString(directory.resolve(name + ".csv"), csv);
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
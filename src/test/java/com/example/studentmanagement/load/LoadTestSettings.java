@@ -0,0 +1,55 @@
+package com.example.studentmanagement.load;
+
+import com.example.studentmanagement.perf.EmbeddedPostgresDatabase;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Knobs of a load run, read from {@code -Dload.*} system properties so the same test runs on a
+ * laptop against H2 and against the Dockerised PostgreSQL.
+ *
+ * @param jdbcUrl      database of the embedded application; empty means a private H2 database
+ * @param embeddedPostgres whether jdbcUrl is the perf profile's embedded PostgreSQL
+ *                     ({@code -Dload.embedded-postgres=true}); the perf dataset is seeded first
+ * @param students     virtual students: registered, logged in together, then running the mix
+ * @param teachers     virtual teachers viewing rosters and workload during the mix
+ * @param departments  departments, each with {@code coursesPerDepartment} courses
+ * @param warmup       start of the mix that is not measured (JIT, caches, pool warm-up)
+ * @param duration     measured part of the mix
+ * @param thinkTime    mean pause of a virtual user between two actions (exponentially distributed)
+ * @param seed         seed of the random choices, for reproducible runs
+ */
+record LoadTestSettings(String jdbcUrl, boolean embeddedPostgres, String jdbcUsername, String jdbcPassword,
+                        int students, int teachers, int departments, int coursesPerDepartment,
+                        Duration warmup, Duration duration, Duration thinkTime, long seed,
+                        String thresholds, Path reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        boolean embeddedPostgres = Boolean.getBoolean("load.embedded-postgres");
+        return new LoadTestSettings(
+                embeddedPostgres ? EmbeddedPostgresDatabase.jdbcUrl() : System.getProperty("load.jdbc-url", ""),
+                embeddedPostgres,
+                System.getProperty("load.jdbc-username", "postgres"),
+                System.getProperty("load.jdbc-password", "postgres"),
+                Integer.getInteger("load.students", 200),
+                Integer.getInteger("load.teachers", 10),
+                Integer.getInteger("load.departments", 4),
+                Integer.getInteger("load.courses-per-department", 12),
+                duration("load.warmup", "5s"),
+                duration("load.duration", "30s"),
+                duration("load.think-time", "250ms"),
+                Long.getLong("load.seed", 42),
+                System.getProperty("load.thresholds", "load-test/thresholds.properties"),
+                Path.of(System.getProperty("load.report-dir", "target/load-test")));
+    }
+
+    boolean postgres() {
+        return !jdbcUrl.isBlank();
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.studentmanagement.load;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Regression budgets of a load run, one line per limit:
+ * <pre>
+ * &lt;operation&gt;.p50=100ms
+ * &lt;operation&gt;.p99=500ms
+ * &lt;operation&gt;.max-error-rate=0.01
+ * &lt;operation&gt;.min-throughput=50      (requests per second)
+ * </pre>
+ * {@code *} as the operation applies a limit to every operation without its own. An operation that
+ * has a budget but no samples is a violation too, so a broken scenario cannot pass silently.
+ */
+final class LoadThresholds {
+
+    private final Properties limits;
+
+    private LoadThresholds(Properties limits) {
+        this.limits = limits;
+    }
+
+    // A file path, or a classpath resource
+    static LoadThresholds load(String location) {
+        Resource resource = Files.exists(Path.of(location))
+                ? new FileSystemResource(location)
+                : new ClassPathResource(location);
+        try {
+            return new LoadThresholds(PropertiesLoaderUtils.loadProperties(resource));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read load test thresholds " + location, e);
+        }
+    }
+
+    List<String> violations(List<LatencyRecorder.OperationStats> stats) {
+        Map<String, LatencyRecorder.OperationStats> byOperation = stats.stream()
+                .collect(Collectors.toMap(LatencyRecorder.OperationStats::operation, Function.identity()));
+        List<String> violations = new ArrayList<>();
+
+        for (String key : limits.stringPropertyNames()) {
+            String operation = key.substring(0, key.lastIndexOf('.'));
+            if (!operation.equals("*") && !byOperation.containsKey(operation)) {
+                violations.add(operation + ": no requests recorded");
+            }
+        }
+        for (LatencyRecorder.OperationStats operation : stats) {
+            String name = operation.operation();
+            Duration p50 = duration(name, "p50");
+            if (p50 != null && operation.p50().compareTo(p50) > 0) {
+                violations.add(name + ": p50 " + millis(operation.p50()) + " exceeds " + millis(p50));
+            }
+            Duration p99 = duration(name, "p99");
+            if (p99 != null && operation.p99().compareTo(p99) > 0) {
+                violations.add(name + ": p99 " + millis(operation.p99()) + " exceeds " + millis(p99));
+            }
+            Double maxErrorRate = number(name, "max-error-rate");
+            if (maxErrorRate != null && operation.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f (%d of %d)", name,
+                        operation.errorRate(), maxErrorRate, operation.errors(), operation.count()));
+            }
+            Double minThroughput = number(name, "min-throughput");
+            if (minThroughput != null && operation.throughput() < minThroughput) {
+                violations.add(String.format("%s: throughput %.1f/s below %.1f/s", name, operation.throughput(), minThroughput));
+            }
+        }
+        return violations;
+    }
+
+    private String limit(String operation, String kind) {
+        String value = limits.getProperty(operation + "." + kind);
+        return value != null ? value : limits.getProperty("*." + kind);
+    }
+
+    private Duration duration(String operation, String kind) {
+        String value = limit(operation, kind);
+        return value != null ? DurationStyle.detectAndParse(value.trim()) : null;
+    }
+
+    private Double number(String operation, String kind) {
+        String value = limit(operation, kind);
+        return value != null ? Double.valueOf(value.trim()) : null;
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.1fms", duration.toNanos() / 1e6);
+    }
+}
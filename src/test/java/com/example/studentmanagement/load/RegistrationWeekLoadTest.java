@@ -0,0 +1,77 @@
+package com.example.studentmanagement.load;
+
+import com.example.studentmanagement.StudentManagementApplication;
+import com.example.studentmanagement.perf.PerfDataset;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration-week load test, see {@link RegistrationWeekScenario}. Only runs with
+ * {@code ./mvnw -Pload-test test}; settings are described on {@link LoadTestSettings} and in
+ * PERFORMANCE.md. Fails when a budget in {@code load-test/thresholds.properties} is exceeded.
+ */
+@Tag("load")
+class RegistrationWeekLoadTest {
+
+    @Test
+    void registrationWeek() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (ConfigurableApplicationContext app = start(settings)) {
+            if (settings.embeddedPostgres()) {
+                app.getAutowireCapableBeanFactory().createBean(PerfDataset.class).ensureSeeded();
+            }
+            URI baseUri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+            new RegistrationWeekScenario(settings, new LoadClient(baseUri, recorder), recorder).run();
+        }
+
+        List<LatencyRecorder.OperationStats> stats = recorder.snapshot();
+        String database = settings.embeddedPostgres() ? "embedded PostgreSQL"
+                : settings.postgres() ? settings.jdbcUrl() : "H2";
+        String title = String.format("Registration week on %s: %d students, %d teachers, %s measured after %s warm-up",
+                database, settings.students(), settings.teachers(),
+                settings.duration(), settings.warmup());
+        System.out.println(LoadReport.format(title, stats));
+        LoadReport.write(settings.reportDir(), "registration-week", title, stats);
+
+        assertThat(LoadThresholds.load(settings.thresholds()).violations(stats)).isEmpty();
+    }
+
+    // The application under test runs in this JVM with the test profile: cheap BCrypt, no rate
+    // limits, so the numbers show the application and the database rather than the protections.
+    // With -Dload.jdbc-url it uses that PostgreSQL database instead of H2, with
+    // -Dload.embedded-postgres the perf profile's embedded server and dataset
+    private static ConfigurableApplicationContext start(LoadTestSettings settings) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        properties.put("app.changes.stamping-enabled", true);
+        if (settings.postgres()) {
+            properties.put("spring.datasource.url", settings.jdbcUrl());
+            properties.put("spring.datasource.username", settings.jdbcUsername());
+            properties.put("spring.datasource.password", settings.jdbcPassword());
+            properties.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+            properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        }
+        // As arguments: they must win over application-test.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(StudentManagementApplication.class)
+                .profiles(settings.embeddedPostgres() ? new String[]{"test", "perf"} : new String[]{"test"})
+                .run(args);
+    }
+}
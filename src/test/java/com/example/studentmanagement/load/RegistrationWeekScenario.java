@@ -0,0 +1,249 @@
+package com.example.studentmanagement.load;
+
+import com.example.studentmanagement.dto.CourseDto;
+import com.example.studentmanagement.dto.DepartmentDto;
+import com.example.studentmanagement.dto.StudentRegistrationDto;
+import com.example.studentmanagement.dto.TeacherRegistrationDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * The traffic of the first days of a term, in the order it arrives:
+ * <ol>
+ *     <li>teachers set up departments and courses (operations {@code setup-*}, not budgeted)</li>
+ *     <li>every student registers at once ({@code register})</li>
+ *     <li>every student logs in at once ({@code login})</li>
+ *     <li>for the warm-up and then the measured duration, each student repeatedly browses
+ *     ({@code departments}, {@code courses}, {@code course}, {@code profile}), enrolls in a batch of
+ *     one to three courses of their department ({@code enroll}, one call per course) or drops one
+ *     ({@code drop}); teachers meanwhile look at department rosters ({@code roster}), the workload
+ *     report ({@code workload}) and their own courses ({@code teacher-courses})</li>
+ * </ol>
+ * Every virtual user runs on its own virtual thread with an exponentially distributed think time,
+ * so the request rate follows the response times (a closed model, like real users).
+ */
+final class RegistrationWeekScenario {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final LoadTestSettings settings;
+    private final LoadClient client;
+    private final LatencyRecorder recorder;
+    // Usernames are unique per run, so runs can share a persistent database
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<Teacher> teachers = new ArrayList<>();
+    private final Map<Long, List<Long>> coursesByDepartment = new ConcurrentHashMap<>();
+    private final List<Student> students = new ArrayList<>();
+
+    RegistrationWeekScenario(LoadTestSettings settings, LoadClient client, LatencyRecorder recorder) {
+        this.settings = settings;
+        this.client = client;
+        this.recorder = recorder;
+    }
+
+    void run() throws InterruptedException {
+        setUpCatalog();
+        registerStudents();
+        loginBurst();
+        mix();
+    }
+
+    private void setUpCatalog() throws InterruptedException {
+        Teacher[] registered = new Teacher[settings.teachers()];
+        parallel(settings.teachers(), i -> {
+            TeacherRegistrationDto dto = new TeacherRegistrationDto();
+            dto.setUsername("t" + run + "x" + i);
+            dto.setPassword(PASSWORD);
+            dto.setEmail(dto.getUsername() + "@load.test");
+            dto.setFullName("Teacher " + i);
+            dto.setEmployeeId("E" + run + "X" + i);
+            LoadClient.Response response = client.post("setup-teacher", "/api/auth/register/teacher", null, dto);
+            registered[i] = new Teacher(client.id(response), new LoadClient.Credentials(dto.getUsername(), PASSWORD));
+        });
+        teachers.addAll(List.of(registered));
+
+        for (int d = 0; d < settings.departments(); d++) {
+            DepartmentDto department = new DepartmentDto();
+            department.setName("Department " + run + "-" + d);
+            long departmentId = client.id(client.post("setup-department", "/api/departments", teachers.getFirst().credentials(), department));
+            List<Long> courses = new ArrayList<>();
+            for (int c = 0; c < settings.coursesPerDepartment(); c++) {
+                CourseDto course = new CourseDto();
+                course.setCourseCode("L" + run + "-" + d + "-" + c);
+                course.setCourseName("Course " + d + "-" + c);
+                course.setCredits(3);
+                course.setDepartmentId(departmentId);
+                Teacher teacher = teachers.get((d * settings.coursesPerDepartment() + c) % teachers.size());
+                courses.add(client.id(client.post("setup-course", "/api/courses", teacher.credentials(), course)));
+            }
+            coursesByDepartment.put(departmentId, courses);
+        }
+    }
+
+    private void registerStudents() throws InterruptedException {
+        List<Long> departments = List.copyOf(coursesByDepartment.keySet());
+        Student[] registered = new Student[settings.students()];
+        parallel(settings.students(), i -> {
+            StudentRegistrationDto dto = new StudentRegistrationDto();
+            dto.setUsername("s" + run + "x" + i);
+            dto.setPassword(PASSWORD);
+            dto.setEmail(dto.getUsername() + "@load.test");
+            dto.setFullName("Student " + i);
+            dto.setStudentId("S" + run + "X" + i);
+            dto.setDepartmentId(departments.get(i % departments.size()));
+            LoadClient.Response response = client.post("register", "/api/auth/register/student", null, dto);
+            if (response.ok()) {
+                registered[i] = new Student(client.id(response), dto.getDepartmentId(),
+                        new LoadClient.Credentials(dto.getUsername(), PASSWORD));
+            }
+        });
+        for (Student student : registered) {
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        if (students.isEmpty()) {
+            throw new IllegalStateException("No student could register");
+        }
+    }
+
+    private void loginBurst() throws InterruptedException {
+        parallel(students.size(), i -> client.get("login", "/api/auth/login", students.get(i).credentials()));
+    }
+
+    private void mix() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+        recorder.setRecording(settings.warmup().isZero());
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < students.size(); i++) {
+                Student student = students.get(i);
+                Random random = new Random(settings.seed() + i);
+                users.submit(() -> loop(end, random, () -> studentAction(student, random)));
+            }
+            for (int i = 0; i < teachers.size(); i++) {
+                Teacher teacher = teachers.get(i);
+                Random random = new Random(settings.seed() - i - 1);
+                users.submit(() -> loop(end, random, () -> teacherAction(teacher, random)));
+            }
+            long untilWarmupEnd = warmupEnd - System.nanoTime();
+            if (untilWarmupEnd > 0) {
+                TimeUnit.NANOSECONDS.sleep(untilWarmupEnd);
+            }
+            recorder.setRecording(true);
+        }
+    }
+
+    private void loop(long end, Random random, Runnable action) {
+        double meanThinkNanos = settings.thinkTime().toNanos();
+        while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+            action.run();
+            long think = (long) (-Math.log(1 - random.nextDouble()) * meanThinkNanos);
+            try {
+                TimeUnit.NANOSECONDS.sleep(think);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void studentAction(Student student, Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            client.get("courses", "/api/courses", student.credentials());
+        } else if (roll < 50) {
+            List<Long> courses = coursesByDepartment.get(student.departmentId());
+            client.get("course", "/api/courses/" + courses.get(random.nextInt(courses.size())), student.credentials());
+        } else if (roll < 60) {
+            client.get("departments", "/api/departments", student.credentials());
+        } else if (roll < 65) {
+            client.get("profile", "/api/students/" + student.id(), student.credentials());
+        } else if (roll < 85) {
+            enrollBatch(student, random);
+        } else {
+            dropOne(student, random);
+        }
+    }
+
+    private void enrollBatch(Student student, Random random) {
+        List<Long> courses = coursesByDepartment.get(student.departmentId());
+        int batch = 1 + random.nextInt(3);
+        for (int i = 0; i < batch; i++) {
+            Long courseId = courses.get(random.nextInt(courses.size()));
+            if (client.post("enroll", "/api/students/" + student.id() + "/courses/" + courseId,
+                    student.credentials(), null).ok()) {
+                student.enrolled().add(courseId);
+            }
+        }
+    }
+
+    private void dropOne(Student student, Random random) {
+        List<Long> enrolled = student.enrolled();
+        if (enrolled.isEmpty()) {
+            enrollBatch(student, random);
+            return;
+        }
+        Long courseId = enrolled.remove(random.nextInt(enrolled.size()));
+        client.delete("drop", "/api/students/" + student.id() + "/courses/" + courseId, student.credentials());
+    }
+
+    private void teacherAction(Teacher teacher, Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            List<Long> departments = List.copyOf(coursesByDepartment.keySet());
+            client.get("roster", "/api/students/department/" + departments.get(random.nextInt(departments.size())),
+                    teacher.credentials());
+        } else if (roll < 75) {
+            client.get("workload", "/api/teachers/workload", teacher.credentials());
+        } else {
+            client.get("teacher-courses", "/api/courses/teacher/" + teacher.id(), teacher.credentials());
+        }
+    }
+
+    // Runs the tasks together: all of them are released at once, like a burst of real users
+    private static void parallel(int count, IntConsumer task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load scenario setup failed", e.getCause());
+            }
+        }
+    }
+
+    private record Teacher(long id, LoadClient.Credentials credentials) {
+    }
+
+    // enrolled is only touched by the student's own virtual user
+    private record Student(long id, long departmentId, LoadClient.Credentials credentials, List<Long> enrolled) {
+
+        Student(long id, long departmentId, LoadClient.Credentials credentials) {
+            this(id, departmentId, credentials, new ArrayList<>());
+        }
+    }
+}
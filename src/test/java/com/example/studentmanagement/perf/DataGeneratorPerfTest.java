@@ -0,0 +1,46 @@
+package com.example.studentmanagement.perf;
+
+import com.example.studentmanagement.datagen.DataGenerator;
+import com.example.studentmanagement.datagen.DataGeneratorProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The data generator's COPY path on PostgreSQL, into the partitioned student_courses table, with
+ * its own prefix next to the perf dataset.
+ */
+@PerfTest
+class DataGeneratorPerfTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generate_CopiesIntoPostgres() {
+        DataGeneratorProperties settings = new DataGeneratorProperties();
+        settings.setPrefix("perfgen");
+        settings.setDepartments(10);
+        settings.setCoursesPerDepartment(20);
+        settings.setTeachers(50);
+        settings.setStudents(20_000);
+        settings.setChunkSize(2_500);
+
+        DataGenerator.Result result = dataGenerator.generate(settings);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE student_id LIKE 'PERFGEN-%'",
+                Long.class)).isEqualTo(20_000);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM student_courses sc JOIN courses c ON c.id = sc.course_id
+                WHERE c.course_code LIKE 'PERFGEN-%'
+                """, Long.class)).isEqualTo(result.enrollments());
+        // The sequences were moved past the reserved ranges, so the next insert does not collide
+        assertThat(jdbcTemplate.update("INSERT INTO departments (name, version) VALUES ('After perfgen', 0)"))
+                .isEqualTo(1);
+    }
+}
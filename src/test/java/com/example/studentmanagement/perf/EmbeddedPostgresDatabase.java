@@ -0,0 +1,53 @@
+package com.example.studentmanagement.perf;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A PostgreSQL server started from the zonky binaries on the test classpath: no Docker, no
+ * network. Started once per JVM on a free port and stopped when the JVM exits, so every perf test
+ * context (and the load test) shares the server and the seeded dataset.
+ */
+public final class EmbeddedPostgresDatabase {
+
+    public static final String DATABASE = "postgres";
+    public static final String USERNAME = "postgres";
+    public static final String PASSWORD = "postgres";
+
+    private static EmbeddedPostgres server;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    public static synchronized String jdbcUrl() {
+        if (server == null) {
+            server = start();
+            Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedPostgresDatabase::stop, "embedded-postgres-stop"));
+        }
+        return server.getJdbcUrl(USERNAME, DATABASE);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            // Durability settings off: the data is thrown away at exit, and fsync on the CI disk
+            // would dominate the write numbers. Planner-relevant settings stay at their defaults
+            return EmbeddedPostgres.builder()
+                    .setServerConfig("fsync", "off")
+                    .setServerConfig("synchronous_commit", "off")
+                    .setServerConfig("full_page_writes", "off")
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    private static synchronized void stop() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            // The JVM is exiting; the data directory is temporary anyway
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.studentmanagement.perf;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// Points the context at the embedded server. Added first so it wins over the H2 settings of
+// application-test.properties
+public class EmbeddedPostgresInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("embeddedPostgres", Map.of(
+                "spring.datasource.url", EmbeddedPostgresDatabase.jdbcUrl(),
+                "spring.datasource.username", EmbeddedPostgresDatabase.USERNAME,
+                "spring.datasource.password", EmbeddedPostgresDatabase.PASSWORD,
+                "spring.datasource.driver-class-name", "org.postgresql.Driver")));
+    }
+}
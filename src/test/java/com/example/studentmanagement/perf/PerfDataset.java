@@ -0,0 +1,166 @@
+package com.example.studentmanagement.perf;
+
+import com.example.studentmanagement.changes.ChangeVersionStamper;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Synthetic dataset of the perf tests: departments × courses × students × enrollments, sized by
+ * {@code perf.dataset.*}. Generated server-side with {@code generate_series}, so seeding a
+ * hundred thousand enrollments takes seconds rather than a hundred thousand round trips.
+ * <p>
+ * Seeded once per database: the embedded server outlives the Spring contexts of the individual
+ * test classes. The rows are then stamped into the change feed and analyzed, so the planner sees
+ * statistics like those of a database that has been running for a term.
+ */
+@Slf4j
+public class PerfDataset {
+
+    public static final String PASSWORD = "perf-password";
+
+    /**
+     * @param departments           departments, each with {@code coursesPerDepartment} courses
+     * @param teachers              teachers; courses are dealt out to them round-robin
+     * @param students              students, spread evenly over the departments
+     * @param enrollmentsPerStudent distinct courses of their department each student takes in the current term
+     * @param nextTermEnrollments   courses each student already registered for next term
+     */
+    public record Settings(int departments, int coursesPerDepartment, int teachers, int students,
+                           int enrollmentsPerStudent, int nextTermEnrollments) {
+
+        public int courses() {
+            return departments * coursesPerDepartment;
+        }
+
+        public long enrollments() {
+            return (long) students * (enrollmentsPerStudent + nextTermEnrollments);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ChangeVersionStamper stamper;
+    private final AcademicCalendar academicCalendar;
+    private final Settings settings;
+
+    public PerfDataset(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ChangeVersionStamper stamper,
+                       AcademicCalendar academicCalendar, Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.stamper = stamper;
+        this.academicCalendar = academicCalendar;
+        this.settings = Binder.get(environment).bindOrCreate("perf.dataset", Settings.class);
+        if (settings.enrollmentsPerStudent() + settings.nextTermEnrollments() > settings.coursesPerDepartment()) {
+            throw new IllegalStateException(
+                    "perf.dataset asks for more enrollments per student than a department has courses");
+        }
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    public AcademicTerm currentTerm() {
+        return academicCalendar.currentTerm();
+    }
+
+    public synchronized void ensureSeeded() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM departments WHERE name LIKE 'Perf %'", Integer.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        seedDepartments();
+        seedTeachers();
+        seedCourses();
+        seedStudents();
+        AcademicTerm current = currentTerm();
+        seedEnrollments(current, settings.enrollmentsPerStudent(), 0);
+        seedEnrollments(current.next(), settings.nextTermEnrollments(), settings.enrollmentsPerStudent());
+        long seededAt = System.nanoTime();
+        int stamped = stamper.stampPending();
+        long stampedAt = System.nanoTime();
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Seeded {} departments, {} courses, {} teachers, {} students, {} enrollments in {} ms; "
+                        + "stamped {} changes in {} ms",
+                settings.departments(), settings.courses(), settings.teachers(), settings.students(),
+                settings.enrollments(), (seededAt - start) / 1_000_000, stamped, (stampedAt - seededAt) / 1_000_000);
+    }
+
+    private void seedDepartments() {
+        jdbcTemplate.update("""
+                INSERT INTO departments (name, description, version)
+                SELECT 'Perf ' || g, 'Synthetic department ' || g, 0
+                FROM generate_series(1, ?) g
+                """, settings.departments());
+    }
+
+    // users and teachers in one statement: the CTE hands the generated ids to the subtable insert
+    private void seedTeachers() {
+        jdbcTemplate.update("""
+                WITH u AS (
+                    INSERT INTO users (username, password, email, full_name, role, version)
+                    SELECT 'perf-teacher-' || g, ?, 'perf-teacher-' || g || '@example.com', 'Teacher ' || g,
+                           'ROLE_TEACHER', 0
+                    FROM generate_series(1, ?) g
+                    RETURNING id, username)
+                INSERT INTO teachers (id, employee_id, designation)
+                SELECT id, 'PERF-' || substr(username, 14), 'Lecturer' FROM u
+                """, passwordEncoder.encode(PASSWORD), settings.teachers());
+    }
+
+    private void seedCourses() {
+        jdbcTemplate.update("""
+                WITH d AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM departments WHERE name LIKE 'Perf %'),
+                     t AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM teachers WHERE employee_id LIKE 'PERF-%')
+                INSERT INTO courses (course_code, course_name, description, credits, department_id, teacher_id, version)
+                SELECT 'PERF' || lpad(g::text, 6, '0'), 'Course ' || g, 'Synthetic course ' || g, 1 + g % 4, d.id, t.id, 0
+                FROM generate_series(0, ? - 1) g
+                JOIN d ON d.n = g / ?
+                JOIN t ON t.n = g % ?
+                """, settings.courses(), settings.coursesPerDepartment(), settings.teachers());
+    }
+
+    private void seedStudents() {
+        jdbcTemplate.update("""
+                WITH d AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM departments WHERE name LIKE 'Perf %'),
+                     u AS (
+                         INSERT INTO users (username, password, email, full_name, role, version)
+                         SELECT 'perf-student-' || g, ?, 'perf-student-' || g || '@example.com', 'Student ' || g,
+                                'ROLE_STUDENT', 0
+                         FROM generate_series(1, ?) g
+                         RETURNING id, username)
+                INSERT INTO students (id, student_id, phone_number, department_id)
+                SELECT u.id, 'PS' || substr(u.username, 14), '555' || lpad(substr(u.username, 14), 7, '0'), d.id
+                FROM u JOIN d ON d.n = substr(u.username, 14)::int % ?
+                """, passwordEncoder.encode(PASSWORD), settings.students(), settings.departments());
+    }
+
+    // Students take courses of their own department, as enroll() requires. The n-th student of a
+    // department takes its courses n + offset, n + offset + stride, ... (mod the courses per
+    // department); with stride = coursesPerDepartment / enrollments those are distinct, and every
+    // course gets about the same number of students
+    private void seedEnrollments(AcademicTerm term, int perStudent, int offset) {
+        if (perStudent == 0) {
+            return;
+        }
+        int stride = Math.max(1, settings.coursesPerDepartment()
+                / (settings.enrollmentsPerStudent() + settings.nextTermEnrollments()));
+        jdbcTemplate.update("""
+                WITH c AS (SELECT id, department_id, row_number() OVER (PARTITION BY department_id ORDER BY id) - 1 AS n
+                           FROM courses WHERE course_code LIKE 'PERF%'),
+                     s AS (SELECT id, department_id, row_number() OVER (PARTITION BY department_id ORDER BY id) - 1 AS n
+                           FROM students WHERE student_id LIKE 'PS%')
+                INSERT INTO student_courses (student_id, course_id, term, enrolled_at)
+                SELECT s.id, c.id, ?, now() - (random() * interval '30 days')
+                FROM s CROSS JOIN generate_series(0, ? - 1) k
+                JOIN c ON c.department_id = s.department_id AND c.n = (s.n + (k + ?) * ?) % ?
+                """, term.code(), perStudent, offset, stride, settings.coursesPerDepartment());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.studentmanagement.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A Spring Boot test against the embedded PostgreSQL with the synthetic dataset available as
+ * {@link PerfDataset}. Tagged "perf", so it only runs with {@code ./mvnw -Pperf test}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@ActiveProfiles({"test", "perf"})
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@Import(PerfDataset.class)
+@Tag("perf")
+public @interface PerfTest {
+}
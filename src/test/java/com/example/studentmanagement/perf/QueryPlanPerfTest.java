@@ -0,0 +1,127 @@
+package com.example.studentmanagement.perf;
+
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans PostgreSQL picks for the hot queries on the seeded dataset: term predicates pruned to one
+ * partition, lookups by foreign key and change version served by an index. H2 plans none of this
+ * the same way, which is why these only run here. The native queries are read from the
+ * repositories' {@code @Query} annotations so the checks follow the code.
+ */
+@PerfTest
+class QueryPlanPerfTest {
+
+    @Autowired
+    private PerfDataset dataset;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private AcademicTerm term;
+    private long studentId;
+    private long teacherId;
+    private long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        dataset.ensureSeeded();
+        term = dataset.currentTerm();
+        studentId = id("SELECT MIN(id) FROM students WHERE student_id LIKE 'PS%'");
+        teacherId = id("SELECT MIN(id) FROM teachers WHERE employee_id LIKE 'PERF-%'");
+        departmentId = id("SELECT MIN(id) FROM departments WHERE name LIKE 'Perf %'");
+    }
+
+    @Test
+    void enrollmentsOfStudents_ScanOnlyTheTermPartitionByKey() {
+        // What EnrollmentRepository.findByTermAndStudentIdIn turns into
+        String plan = explain("""
+                SELECT e.*, c.* FROM student_courses e
+                JOIN courses c ON c.id = e.course_id
+                WHERE e.term = :term AND e.student_id IN (:studentIds) AND c.deleted_at IS NULL
+                """, Map.of("term", term.code(), "studentIds", List.of(studentId, studentId + 1, studentId + 2)));
+
+        assertThat(plan).contains(term.partitionName()).doesNotContain(term.next().partitionName());
+        assertThat(plan).doesNotContain("Seq Scan on " + term.partitionName());
+    }
+
+    @Test
+    void teacherWorkload_CountsOnlyTheTermPartition() throws Exception {
+        String plan = explain(nativeQuery(TeacherRepository.class, "findWorkload", String.class, Pageable.class),
+                Map.of("term", term.code()));
+
+        assertThat(plan).contains(term.partitionName()).doesNotContain(term.next().partitionName());
+    }
+
+    @Test
+    void coursesOfTeacher_UseTeacherIndex() {
+        // CourseRepository.findByTeacherId, run for every teacher dashboard
+        String plan = explain("SELECT * FROM courses WHERE teacher_id = :teacherId", Map.of("teacherId", teacherId));
+
+        assertThat(plan).contains("idx_courses_teacher_id").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void departmentChunks_UseDepartmentIndexes() throws Exception {
+        Map<String, Object> params = Map.of("departmentId", departmentId, "limit", 500);
+
+        assertThat(explain(nativeQuery(StudentRepository.class, "findIdsByDepartmentId", Long.class, int.class), params))
+                .contains("idx_students_department_id").doesNotContain("Seq Scan");
+        assertThat(explain(nativeQuery(CourseRepository.class, "findIdsByDepartmentId", Long.class, int.class), params))
+                .contains("idx_courses_department_id").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void changeFeedBranches_ReadChangeVersionIndexes() {
+        // Two branches of ChangeFeedService's query, for a consumer a little behind the head
+        Long head = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT head FROM change_feed_state", Long.class);
+        Map<String, Object> params = Map.of("since", head - 500, "limit", 100);
+
+        assertThat(explain("SELECT id FROM users WHERE change_version > :since ORDER BY change_version LIMIT :limit",
+                params)).contains("idx_users_change_version").doesNotContain("Seq Scan");
+        assertThat(explain("""
+                SELECT student_id, course_id, term FROM student_courses
+                WHERE change_version > :since ORDER BY change_version LIMIT :limit
+                """, params)).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void gradeDistributionOfTerm_ReadsOnlyThatPartition() {
+        // GradeService.getGradeDistribution with a term
+        long courseId = id("SELECT MIN(course_id) FROM student_courses");
+        String plan = explain("""
+                SELECT grade, COUNT(*) FROM student_courses
+                WHERE course_id = :courseId AND term = :term AND grade IS NOT NULL
+                GROUP BY grade
+                """, Map.of("courseId", courseId, "term", term.code()));
+
+        assertThat(plan).contains(term.partitionName()).doesNotContain(term.next().partitionName());
+        assertThat(plan).doesNotContain("Seq Scan on " + term.partitionName());
+    }
+
+    private String explain(String sql, Map<String, ?> params) {
+        // A failed assertion prints the whole plan
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, params, String.class));
+    }
+
+    private static String nativeQuery(Class<?> repository, String method, Class<?>... parameterTypes) throws Exception {
+        return repository.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    private long id(String sql) {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(sql, Long.class);
+    }
+}
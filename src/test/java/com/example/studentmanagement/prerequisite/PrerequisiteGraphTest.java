@@ -0,0 +1,104 @@
+package com.example.studentmanagement.prerequisite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrerequisiteGraphTest {
+
+    // 101 <- 201 <- 301, 102 <- 202 <- 301, 301 <- 401
+    private PrerequisiteGraph chain() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.setPrerequisites(201L, List.of(101L));
+        graph.setPrerequisites(202L, List.of(102L));
+        graph.setPrerequisites(301L, List.of(201L, 202L));
+        graph.setPrerequisites(401L, List.of(301L));
+        return graph;
+    }
+
+    @Test
+    void closure_FollowsEveryPath() {
+        PrerequisiteGraph graph = chain();
+
+        assertThat(graph.prerequisitesOf(401L)).containsExactly(301L);
+        assertThat(graph.allPrerequisitesOf(401L)).containsExactly(101L, 102L, 201L, 202L, 301L);
+        assertThat(graph.allPrerequisitesOf(101L)).isEmpty();
+        assertThat(graph.allPrerequisitesOf(999L)).isEmpty();
+    }
+
+    @Test
+    void setPrerequisites_BeforeTheDependentsExist() {
+        // Edges added top-down still end up with the full closure
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.setPrerequisites(401L, List.of(301L));
+        graph.setPrerequisites(301L, List.of(201L));
+        graph.setPrerequisites(201L, List.of(101L));
+
+        assertThat(graph.allPrerequisitesOf(401L)).containsExactly(101L, 201L, 301L);
+    }
+
+    @Test
+    void setPrerequisites_RemovingAnEdgeUpdatesDependents() {
+        PrerequisiteGraph graph = chain();
+
+        graph.setPrerequisites(301L, List.of(202L));
+
+        assertThat(graph.allPrerequisitesOf(301L)).containsExactly(102L, 202L);
+        assertThat(graph.allPrerequisitesOf(401L)).containsExactly(102L, 202L, 301L);
+        assertThat(graph.allPrerequisitesOf(201L)).containsExactly(101L);
+    }
+
+    @Test
+    void setPrerequisites_AddingAnEdgeUpdatesDependents() {
+        PrerequisiteGraph graph = chain();
+
+        graph.setPrerequisites(101L, List.of(100L));
+
+        assertThat(graph.allPrerequisitesOf(201L)).containsExactly(100L, 101L);
+        assertThat(graph.allPrerequisitesOf(401L)).contains(100L);
+        assertThat(graph.allPrerequisitesOf(202L)).doesNotContain(100L);
+    }
+
+    @Test
+    void wouldCreateCycle() {
+        PrerequisiteGraph graph = chain();
+
+        assertThat(graph.wouldCreateCycle(101L, 401L)).isTrue();
+        assertThat(graph.wouldCreateCycle(201L, 201L)).isTrue();
+        assertThat(graph.wouldCreateCycle(202L, 201L)).isFalse();
+        assertThatThrownBy(() -> graph.setPrerequisites(102L, List.of(301L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Rejected changes leave the graph as it was
+        assertThat(graph.prerequisitesOf(102L)).isEmpty();
+    }
+
+    @Test
+    void missing_OnlyDirectPrerequisites() {
+        PrerequisiteGraph graph = chain();
+
+        assertThat(graph.missing(301L, graph.toBits(List.of(201L)))).containsExactly(202L);
+        assertThat(graph.isSatisfied(301L, graph.toBits(List.of(201L, 202L)))).isTrue();
+        assertThat(graph.isSatisfied(401L, graph.toBits(List.of(101L, 102L)))).isFalse();
+        // Courses outside the graph have no prerequisites
+        assertThat(graph.isSatisfied(999L, graph.toBits(List.of()))).isTrue();
+        assertThat(graph.hasPrerequisites(101L)).isFalse();
+        assertThat(graph.hasPrerequisites(201L)).isTrue();
+    }
+
+    @Test
+    void build_SkipsEdgesThatCloseACycle() {
+        List<long[]> rejected = new ArrayList<>();
+        PrerequisiteGraph graph = PrerequisiteGraph.build(List.of(
+                new long[]{201, 101}, new long[]{301, 201}, new long[]{101, 301}, new long[]{101, 101}), rejected);
+
+        assertThat(rejected).hasSize(2);
+        assertThat(graph.wouldCreateCycle(101L, 101L)).isTrue();
+        for (Long courseId : List.of(101L, 201L, 301L)) {
+            assertThat(graph.allPrerequisitesOf(courseId)).doesNotContain(courseId);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.studentmanagement.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit perClient = new RateLimitProperties.Limit();
+        perClient.setCapacity(2);
+        perClient.setPeriod(Duration.ofSeconds(10));
+
+        RateLimitProperties.Route registration = new RateLimitProperties.Route();
+        registration.setName("registration");
+        registration.setPattern("/api/auth/register/**");
+        registration.setMethods(List.of("POST"));
+        registration.setPerClient(perClient);
+
+        RateLimitProperties.Limit perUser = new RateLimitProperties.Limit();
+        perUser.setCapacity(1);
+        perUser.setPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties.Route enrollment = new RateLimitProperties.Route();
+        enrollment.setName("enrollment");
+        enrollment.setPattern("/api/students/*/courses/**");
+        enrollment.setPerUser(perUser);
+
+        properties = new RateLimitProperties();
+        properties.setRoutes(List.of(registration, enrollment));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void perClient_RejectsBurstWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.CLIENT);
+
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform(filter, "POST", "/api/auth/register/teacher");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(rejected.getContentAsString()).contains("\"success\":false");
+    }
+
+    @Test
+    void perClient_RefillsOverTime() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.CLIENT);
+
+        perform(filter, "POST", "/api/auth/register/student");
+        perform(filter, "POST", "/api/auth/register/student");
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(429);
+
+        nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unmatchedRoutesAndMethods_AreNotLimited() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.CLIENT);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform(filter, "GET", "/api/departments").getStatus()).isEqualTo(200);
+            assertThat(perform(filter, "GET", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void perUser_KeysOnAuthenticatedUsername() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.USER);
+
+        authenticate("alice");
+        assertThat(perform(filter, "POST", "/api/students/1/courses/1").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "POST", "/api/students/1/courses/2").getStatus()).isEqualTo(429);
+
+        authenticate("bob");
+        assertThat(perform(filter, "POST", "/api/students/2/courses/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrencyLimit_ShedsWhenNoPermitIsFree() throws Exception {
+        RateLimitProperties.Route route = properties.getRoutes().get(0);
+        route.setPerClient(null);
+        route.setMaxConcurrent(1);
+        route.setQueueTimeout(Duration.ZERO);
+        route.setRetryAfter(Duration.ofSeconds(3));
+        RateLimiter rateLimiter = new RateLimiter(properties, nanoTime::get);
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimitFilter.Scope.CLIENT);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register/student");
+        RateLimiter.LimitedRoute limitedRoute = rateLimiter.match(request);
+        assertThat(limitedRoute.tryEnter()).isTrue();
+        try {
+            MockHttpServletResponse shed = perform(filter, "POST", "/api/auth/register/student");
+            assertThat(shed.getStatus()).isEqualTo(429);
+            assertThat(shed.getHeader("Retry-After")).isEqualTo("3");
+        } finally {
+            limitedRoute.exit();
+        }
+
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void disabled_PassesEverythingThrough() throws Exception {
+        properties.setEnabled(false);
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.CLIENT);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void idleBuckets_AreEvictedAboveTrackedKeyLimit() {
+        properties.setMaxTrackedKeys(2);
+        RateLimiter rateLimiter = new RateLimiter(properties, nanoTime::get);
+        RateLimiter.LimitedRoute route = rateLimiter.match(
+                new MockHttpServletRequest("POST", "/api/auth/register/student"));
+
+        rateLimiter.tryConsume(route, "client", "10.0.0.1", route.perClient());
+        rateLimiter.tryConsume(route, "client", "10.0.0.2", route.perClient());
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+        rateLimiter.tryConsume(route, "client", "10.0.0.3", route.perClient());
+
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void trackedKeys_StayBoundedWhileBucketsAreBusy() {
+        properties.setMaxTrackedKeys(2);
+        RateLimiter rateLimiter = new RateLimiter(properties, nanoTime::get);
+        RateLimiter.LimitedRoute route = rateLimiter.match(
+                new MockHttpServletRequest("POST", "/api/auth/register/student"));
+
+        // None of these is idle long enough to expire
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.tryConsume(route, "client", "10.0.1." + i, route.perClient());
+        }
+
+        assertThat(rateLimiter.trackedKeys()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void usedBucket_DoesNotExpire() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, nanoTime::get),
+                RateLimitFilter.Scope.CLIENT);
+
+        // Two tokens, refilled one per 5 seconds: a request every 4 seconds keeps the bucket from
+        // ever being idle for its period
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "POST", "/api/auth/register/student").getStatus()).isEqualTo(429);
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+}
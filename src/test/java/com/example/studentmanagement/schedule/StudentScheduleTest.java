@@ -0,0 +1,78 @@
+package com.example.studentmanagement.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class StudentScheduleTest {
+
+    @Test
+    void conflicts_NoneWhenRequestFitsTheWeek() {
+        StudentSchedule schedule = new StudentSchedule(
+                Map.of(1L, slots(DayOfWeek.MONDAY, 9), 2L, slots(DayOfWeek.TUESDAY, 9)),
+                requested(3L, slots(DayOfWeek.MONDAY, 10), 4L, new WeeklySlots()));
+
+        assertThat(schedule.conflicts()).isEmpty();
+    }
+
+    @Test
+    void conflicts_AgainstEnrolledCourse() {
+        StudentSchedule schedule = new StudentSchedule(
+                Map.of(1L, slots(DayOfWeek.MONDAY, 9), 2L, slots(DayOfWeek.TUESDAY, 9)),
+                requested(3L, slots(DayOfWeek.TUESDAY, 9)));
+
+        assertThat(schedule.conflicts()).containsExactly(
+                new ScheduleConflict(3L, 2L, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(9, 50)));
+    }
+
+    @Test
+    void conflicts_BetweenRequestedCourses() {
+        // The earlier course of the request is kept, the later one is reported against it
+        StudentSchedule schedule = new StudentSchedule(Map.of(),
+                requested(3L, slots(DayOfWeek.FRIDAY, 13), 4L, slots(DayOfWeek.FRIDAY, 13)));
+
+        assertThat(schedule.conflicts())
+                .extracting(ScheduleConflict::courseId, ScheduleConflict::conflictingCourseId)
+                .containsExactly(tuple(4L, 3L));
+    }
+
+    @Test
+    void conflicts_IgnoresCoursesAlreadyTaken() {
+        StudentSchedule schedule = new StudentSchedule(Map.of(1L, slots(DayOfWeek.MONDAY, 9)),
+                requested(1L, slots(DayOfWeek.MONDAY, 9)));
+
+        assertThat(schedule.isEnrolled(1L)).isTrue();
+        assertThat(schedule.conflicts()).isEmpty();
+    }
+
+    @Test
+    void conflicts_ReportsEveryConflictingCourse() {
+        StudentSchedule schedule = new StudentSchedule(
+                Map.of(1L, slots(DayOfWeek.MONDAY, 9), 2L, slots(DayOfWeek.WEDNESDAY, 9)),
+                requested(3L, slots(DayOfWeek.MONDAY, 9), 4L, slots(DayOfWeek.THURSDAY, 9), 5L, slots(DayOfWeek.WEDNESDAY, 9)));
+
+        assertThat(schedule.conflicts())
+                .extracting(ScheduleConflict::courseId, ScheduleConflict::conflictingCourseId)
+                .containsExactly(tuple(3L, 1L),
+                        tuple(5L, 2L));
+    }
+
+    // A 50-minute meeting starting on the hour
+    private static WeeklySlots slots(DayOfWeek day, int hour) {
+        return new WeeklySlots().add(day, LocalTime.of(hour, 0), LocalTime.of(hour, 50));
+    }
+
+    private static Map<Long, WeeklySlots> requested(Object... courseIdsAndSlots) {
+        Map<Long, WeeklySlots> requested = new LinkedHashMap<>();
+        for (int i = 0; i < courseIdsAndSlots.length; i += 2) {
+            requested.put((Long) courseIdsAndSlots[i], (WeeklySlots) courseIdsAndSlots[i + 1]);
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.studentmanagement.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeeklySlotsTest {
+
+    @Test
+    void intersects_BackToBackMeetingsDoNotOverlap() {
+        WeeklySlots first = new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        WeeklySlots second = new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+        assertThat(first.intersects(second)).isFalse();
+        assertThat(first.firstOverlap(second)).isNull();
+    }
+
+    @Test
+    void intersects_SameTimeOnAnotherDayDoesNotOverlap() {
+        WeeklySlots monday = new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        WeeklySlots tuesday = new WeeklySlots().add(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertThat(monday.intersects(tuesday)).isFalse();
+    }
+
+    @Test
+    void firstOverlap_ReportsTheSharedWindow() {
+        WeeklySlots lecture = new WeeklySlots()
+                .add(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))
+                .add(DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        WeeklySlots lab = new WeeklySlots().add(DayOfWeek.WEDNESDAY, LocalTime.of(9, 30), LocalTime.of(11, 0));
+
+        assertThat(lecture.intersects(lab)).isTrue();
+        assertThat(lecture.firstOverlap(lab))
+                .isEqualTo(new WeeklySlots.Overlap(DayOfWeek.WEDNESDAY, LocalTime.of(9, 30), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void add_WidensToWholeSlots() {
+        // 9:52-9:58 occupies the 9:50 slot, which 9:00-9:51 also touches
+        WeeklySlots early = new WeeklySlots().add(DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(9, 51));
+        WeeklySlots late = new WeeklySlots().add(DayOfWeek.FRIDAY, LocalTime.of(9, 52), LocalTime.of(9, 58));
+
+        assertThat(early.firstOverlap(late))
+                .isEqualTo(new WeeklySlots.Overlap(DayOfWeek.FRIDAY, LocalTime.of(9, 50), LocalTime.of(9, 55)));
+    }
+
+    @Test
+    void firstOverlap_RunEndingAtMidnight() {
+        WeeklySlots evening = new WeeklySlots().add(DayOfWeek.SUNDAY, LocalTime.of(22, 0), LocalTime.MAX);
+        WeeklySlots late = new WeeklySlots().add(DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.MAX);
+
+        assertThat(evening.firstOverlap(late))
+                .isEqualTo(new WeeklySlots.Overlap(DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.MAX));
+    }
+
+    @Test
+    void addAll_IsTheUnion() {
+        WeeklySlots week = new WeeklySlots();
+        assertThat(week.isEmpty()).isTrue();
+
+        week.addAll(new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0)))
+                .addAll(new WeeklySlots().add(DayOfWeek.THURSDAY, LocalTime.of(14, 0), LocalTime.of(15, 0)));
+
+        assertThat(week.isEmpty()).isFalse();
+        assertThat(week.intersects(new WeeklySlots().add(DayOfWeek.THURSDAY, LocalTime.of(14, 55), LocalTime.of(16, 0))))
+                .isTrue();
+        assertThat(week.intersects(new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0))))
+                .isFalse();
+    }
+
+    @Test
+    void add_RejectsEmptyMeeting() {
+        assertThatThrownBy(() -> new WeeklySlots().add(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(10, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingPasswordEncoderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong();
+
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties.VerifiedCache properties = new PasswordHashingProperties.VerifiedCache();
+        properties.setTtl(Duration.ofMinutes(5));
+        encoder = new CachingPasswordEncoder(new CountingEncoder(), properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void repeatedSuccess_VerifiesOncePerTtl() {
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(verifications).hasValue(1);
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void failures_AreNeverCached() {
+        assertThat(encoder.matches("wrong", "hash:secret")).isFalse();
+        assertThat(encoder.matches("wrong", "hash:secret")).isFalse();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void changedHash_IsVerifiedAgain() {
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+
+        // Same password, new stored hash: the old entry must not vouch for it
+        assertThat(encoder.matches("secret", "other:secret")).isFalse();
+        assertThat(verifications).hasValue(2);
+    }
+
+    private class CountingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            verifications.incrementAndGet();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingProperties.Executor properties;
+    private OffloadingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PasswordHashingProperties.Executor();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(Duration.ofSeconds(5));
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        encoder = new OffloadingPasswordEncoder(new BlockingEncoder(), properties, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnHashingThread() {
+        release.countDown();
+
+        assertThat(encoder.encode("secret")).startsWith("hashed-by-password-encode-");
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(encoder.matches("secret", "other")).isFalse();
+    }
+
+    @Test
+    void saturatedQueue_RejectsWithRetryAfter() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(PasswordHashingBusyException.class)
+                .satisfies(e -> assertThat(((PasswordHashingBusyException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(meterRegistry.get("security.password.hashing.rejected").tag("operation", "encode").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("hashed-by-");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("hashed-by-");
+    }
+
+    @Test
+    void saturatedEncodeQueue_DoesNotRejectVerification() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued(1);
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingBusyException.class);
+
+        // Registration is shedding; authenticated requests still verify on their own pool
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(meterRegistry.get("security.password.hashing.rejected").tag("operation", "verify").counter().count())
+                .isZero();
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("hashed-by-");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("hashed-by-");
+    }
+
+    @Test
+    void slowHash_TimesOutAsBusy() {
+        properties.setTimeout(Duration.ofMillis(50));
+        encoder.destroy();
+        encoder = new OffloadingPasswordEncoder(new BlockingEncoder(), properties, properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> encoder.encode("slow"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+    }
+
+    @Test
+    void upgradeEncoding_IsDelegatedInline() {
+        assertThat(encoder.upgradeEncoding("legacy")).isTrue();
+        assertThat(encoder.upgradeEncoding("current")).isFalse();
+    }
+
+    @Test
+    void executorMetrics_AreRegistered() {
+        for (String operation : new String[]{"verify", "encode"}) {
+            assertThat(meterRegistry.find("executor.queued").tags("name", "passwordHashing", "operation", operation)
+                    .gauge()).isNotNull();
+            assertThat(meterRegistry.find("executor.active").tags("name", "passwordHashing", "operation", operation)
+                    .gauge()).isNotNull();
+        }
+    }
+
+    private void awaitQueued(double expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (meterRegistry.get("executor.queued").tags("name", "passwordHashing", "operation", "encode")
+                    .gauge().value() >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-by-" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return "legacy".equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PasswordHashingProperties();
+        properties.setStrength(5);
+    }
+
+    @Test
+    void strengthFor_DoublesCostPerStep() {
+        Duration measured = Duration.ofMillis(60);
+
+        assertThat(BcryptStrengthCalibrator.strengthFor(Duration.ofMillis(250), measured, 10, 14)).isEqualTo(12);
+        assertThat(BcryptStrengthCalibrator.strengthFor(Duration.ofMillis(30), measured, 10, 14)).isEqualTo(10);
+        assertThat(BcryptStrengthCalibrator.strengthFor(Duration.ofSeconds(60), measured, 10, 14)).isEqualTo(14);
+    }
+
+    @Test
+    void passwordEncoder_CalibratesWithinBounds() {
+        properties.setStrength(null);
+        properties.setMinStrength(4);
+        properties.setMaxStrength(6);
+        properties.setTargetVerifyTime(Duration.ofSeconds(10));
+
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(properties, meterRegistry);
+
+        assertThat(encoder.encode("password123")).startsWith("{bcrypt}$2a$06$");
+        assertThat(meterRegistry.get("security.password.encoder.strength").gauge().value()).isEqualTo(6);
+    }
+
+    @Test
+    void passwordEncoder_PrefixesNewHashesAndReportsMetrics() {
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(properties, meterRegistry);
+
+        String hash = encoder.encode("password123");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(meterRegistry.get("security.password.encoder.strength").gauge().value()).isEqualTo(5);
+        assertThat(meterRegistry.get("security.password.encoder.verify.time").gauge().value()).isPositive();
+    }
+
+    @Test
+    void passwordEncoder_VerifiesAndUpgradesLegacyHashes() {
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(properties, meterRegistry);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertThat(encoder.matches("password123", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void passwordEncoder_UpgradesWeakerAndForeignSchemes() {
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(properties, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+
+        properties.setEncodingId("pbkdf2");
+        PasswordEncoder pbkdf2 = new PasswordEncoderConfig().passwordEncoder(properties, new SimpleMeterRegistry());
+        String bcryptHash = encoder.encode("password123");
+
+        assertThat(pbkdf2.matches("password123", bcryptHash)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(pbkdf2.encode("password123")).startsWith("{pbkdf2}");
+    }
+}
@@ -9,16 +9,22 @@ import com.example.studentmanagement.entity.Teacher;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.StudentRepository;
 import com.example.studentmanagement.repository.TeacherRepository;
-import com.example.studentmanagement.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,9 +36,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private StudentRepository studentRepository;
 
@@ -45,6 +48,9 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AuthService authService;
 
@@ -83,11 +89,10 @@ class AuthServiceTest {
 
     @Test
     void registerStudent() {
-        when(userRepository.existsByUsername("newstudent")).thenReturn(false);
-        when(userRepository.existsByEmail("student@example.com")).thenReturn(false);
-        when(studentRepository.existsByStudentId("STU001")).thenReturn(false);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of());
         when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> {
+        when(studentRepository.saveAndFlush(any(Student.class))).thenAnswer(invocation -> {
             Student saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
@@ -100,19 +105,34 @@ class AuthServiceTest {
         assertThat(result.getEmail()).isEqualTo("student@example.com");
         assertThat(result.getRole()).isEqualTo(Role.ROLE_STUDENT);
         assertThat(result.getStudentId()).isEqualTo("STU001");
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
+    }
+
+    @Test
+    void registerStudent_HashesPasswordBeforeTransaction() {
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of());
+        when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
+        when(studentRepository.saveAndFlush(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Student result = authService.registerStudent(studentDto);
+
+        assertThat(result.getPassword()).isEqualTo("encoded_password");
+        var inOrder = inOrder(passwordEncoder, transactionTemplate, studentRepository);
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(studentRepository).saveAndFlush(any(Student.class));
     }
 
     @Test
     void registerStudent_WithDepartment() {
         studentDto.setDepartmentId(1L);
 
-        when(userRepository.existsByUsername("newstudent")).thenReturn(false);
-        when(userRepository.existsByEmail("student@example.com")).thenReturn(false);
-        when(studentRepository.existsByStudentId("STU001")).thenReturn(false);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of());
         when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> {
+        when(studentRepository.saveAndFlush(any(Student.class))).thenAnswer(invocation -> {
             Student saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
@@ -129,9 +149,8 @@ class AuthServiceTest {
     void registerStudent_DepartmentNotFound() {
         studentDto.setDepartmentId(99L);
 
-        when(userRepository.existsByUsername("newstudent")).thenReturn(false);
-        when(userRepository.existsByEmail("student@example.com")).thenReturn(false);
-        when(studentRepository.existsByStudentId("STU001")).thenReturn(false);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of());
         when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
         when(departmentRepository.findById(99L)).thenReturn(Optional.empty());
 
@@ -142,47 +161,74 @@ class AuthServiceTest {
 
     @Test
     void registerStudent_UsernameExists() {
-        when(userRepository.existsByUsername("newstudent")).thenReturn(true);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of("username"));
 
         assertThatThrownBy(() -> authService.registerStudent(studentDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Username already exists");
 
-        verify(studentRepository, never()).save(any());
+        verify(studentRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void registerStudent_EmailExists() {
-        when(userRepository.existsByUsername("newstudent")).thenReturn(false);
-        when(userRepository.existsByEmail("student@example.com")).thenReturn(true);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of("email"));
 
         assertThatThrownBy(() -> authService.registerStudent(studentDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Email already exists");
 
-        verify(studentRepository, never()).save(any());
+        verify(studentRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void registerStudent_StudentIdExists() {
-        when(userRepository.existsByUsername("newstudent")).thenReturn(false);
-        when(userRepository.existsByEmail("student@example.com")).thenReturn(false);
-        when(studentRepository.existsByStudentId("STU001")).thenReturn(true);
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of("studentId"));
 
         assertThatThrownBy(() -> authService.registerStudent(studentDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Student ID already exists");
 
-        verify(studentRepository, never()).save(any());
+        verify(studentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void registerStudent_ReportsAllConflictsFromSingleQuery() {
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of("studentId", "username"));
+
+        assertThatThrownBy(() -> authService.registerStudent(studentDto))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Username already exists, Student ID already exists");
+
+        verify(studentRepository, times(1)).findRegistrationConflicts(anyString(), anyString(), anyString());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void registerStudent_ConcurrentDuplicateTranslatedFromConstraint() {
+        when(studentRepository.findRegistrationConflicts("newstudent", "student@example.com", "STU001"))
+                .thenReturn(List.of());
+        when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException(
+                        "duplicate key value violates unique constraint \"uk_users_email\""), "uk_users_email")));
+
+        assertThatThrownBy(() -> authService.registerStudent(studentDto))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Email already exists");
     }
 
     @Test
     void registerTeacher() {
-        when(userRepository.existsByUsername("newteacher")).thenReturn(false);
-        when(userRepository.existsByEmail("teacher@example.com")).thenReturn(false);
-        when(teacherRepository.existsByEmployeeId("EMP001")).thenReturn(false);
+        when(teacherRepository.findRegistrationConflicts("newteacher", "teacher@example.com", "EMP001"))
+                .thenReturn(List.of());
         when(passwordEncoder.encode("password123")).thenReturn("encoded_password");
-        when(teacherRepository.save(any(Teacher.class))).thenAnswer(invocation -> {
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenAnswer(invocation -> {
             Teacher saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
@@ -196,42 +242,42 @@ class AuthServiceTest {
         assertThat(result.getRole()).isEqualTo(Role.ROLE_TEACHER);
         assertThat(result.getEmployeeId()).isEqualTo("EMP001");
         assertThat(result.getDesignation()).isEqualTo("Professor");
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).saveAndFlush(any(Teacher.class));
     }
 
     @Test
     void registerTeacher_UsernameExists() {
-        when(userRepository.existsByUsername("newteacher")).thenReturn(true);
+        when(teacherRepository.findRegistrationConflicts("newteacher", "teacher@example.com", "EMP001"))
+                .thenReturn(List.of("username"));
 
         assertThatThrownBy(() -> authService.registerTeacher(teacherDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Username already exists");
 
-        verify(teacherRepository, never()).save(any());
+        verify(teacherRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void registerTeacher_EmailExists() {
-        when(userRepository.existsByUsername("newteacher")).thenReturn(false);
-        when(userRepository.existsByEmail("teacher@example.com")).thenReturn(true);
+        when(teacherRepository.findRegistrationConflicts("newteacher", "teacher@example.com", "EMP001"))
+                .thenReturn(List.of("email"));
 
         assertThatThrownBy(() -> authService.registerTeacher(teacherDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Email already exists");
 
-        verify(teacherRepository, never()).save(any());
+        verify(teacherRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void registerTeacher_EmployeeIdExists() {
-        when(userRepository.existsByUsername("newteacher")).thenReturn(false);
-        when(userRepository.existsByEmail("teacher@example.com")).thenReturn(false);
-        when(teacherRepository.existsByEmployeeId("EMP001")).thenReturn(true);
+        when(teacherRepository.findRegistrationConflicts("newteacher", "teacher@example.com", "EMP001"))
+                .thenReturn(List.of("employeeId"));
 
         assertThatThrownBy(() -> authService.registerTeacher(teacherDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Employee ID already exists");
 
-        verify(teacherRepository, never()).save(any());
+        verify(teacherRepository, never()).saveAndFlush(any());
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.example.studentmanagement.entity.Course;
 import com.example.studentmanagement.entity.Department;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.TeacherRepository;
@@ -14,11 +15,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +35,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +50,9 @@ class CourseServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private CourseService courseService;
 
@@ -99,6 +111,28 @@ class CourseServiceTest {
         verify(courseRepository, times(1)).findAll();
     }
 
+    @Test
+    void forEachCourse_ReadsInKeysetChunksAndClearsBetweenThem() {
+        List<Course> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= CourseService.STREAM_CHUNK_SIZE; id++) {
+            Course course = new Course();
+            course.setId(id);
+            firstChunk.add(course);
+        }
+        when(courseRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CourseService.STREAM_CHUNK_SIZE)))
+                .thenReturn(firstChunk);
+        when(courseRepository.findByIdGreaterThanOrderByIdAsc((long) CourseService.STREAM_CHUNK_SIZE,
+                Limit.of(CourseService.STREAM_CHUNK_SIZE))).thenReturn(List.of());
+
+        List<Long> seen = new ArrayList<>();
+        courseService.forEachCourse(course -> seen.add(course.getId()));
+
+        assertThat(seen).hasSize(CourseService.STREAM_CHUNK_SIZE);
+        // One short read-only transaction per chunk, not one around the whole stream
+        verify(transactionTemplate.getTransactionManager(), times(2))
+                .getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
     @Test
     void getAllCourses_EmptyList() {
         when(courseRepository.findAll()).thenReturn(List.of());
@@ -173,7 +207,7 @@ class CourseServiceTest {
         dto.setCredits(3);
         dto.setDepartmentId(1L);
 
-        when(courseRepository.existsByCourseCode("CS301")).thenReturn(false);
+        when(courseRepository.existsByCourseCodeIncludingDeleted("CS301")).thenReturn(false);
         when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
         when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
@@ -205,7 +239,7 @@ class CourseServiceTest {
         dto.setCredits(3);
         // No departmentId set
 
-        when(courseRepository.existsByCourseCode("CS301")).thenReturn(false);
+        when(courseRepository.existsByCourseCodeIncludingDeleted("CS301")).thenReturn(false);
         when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
         when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -225,7 +259,7 @@ class CourseServiceTest {
         CourseDto dto = new CourseDto();
         dto.setCourseCode("CS101");
 
-        when(courseRepository.existsByCourseCode("CS101")).thenReturn(true);
+        when(courseRepository.existsByCourseCodeIncludingDeleted("CS101")).thenReturn(true);
 
         assertThatThrownBy(() -> courseService.createCourse(dto))
                 .isInstanceOf(RuntimeException.class)
@@ -245,7 +279,7 @@ class CourseServiceTest {
         dto.setCourseName("Algorithms");
         dto.setCredits(3);
 
-        when(courseRepository.existsByCourseCode("CS301")).thenReturn(false);
+        when(courseRepository.existsByCourseCodeIncludingDeleted("CS301")).thenReturn(false);
         when(teacherRepository.findByUsername("unknown")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> courseService.createCourse(dto))
@@ -265,7 +299,7 @@ class CourseServiceTest {
         dto.setCredits(3);
         dto.setDepartmentId(99L);
 
-        when(courseRepository.existsByCourseCode("CS301")).thenReturn(false);
+        when(courseRepository.existsByCourseCodeIncludingDeleted("CS301")).thenReturn(false);
         when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
         when(departmentRepository.findById(99L)).thenReturn(Optional.empty());
 
@@ -302,15 +336,59 @@ class CourseServiceTest {
                 .hasMessageContaining("Course not found with id: 99");
     }
 
+    @Test
+    void updateCourse_StaleVersion() {
+        course1.setVersion(4L);
+        CourseDto dto = new CourseDto();
+        dto.setCourseName("Updated Course");
+        dto.setCredits(5);
+        dto.setVersion(3L);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course1));
+
+        assertThatThrownBy(() -> courseService.updateCourse(1L, dto))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessageContaining("expected version 3, current 4");
+        assertThat(course1.getCourseName()).isEqualTo("Intro to CS");
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void patchCourse_AppliesOnlyPresentFields() {
+        course1.setVersion(4L);
+        CourseDto patch = new CourseDto();
+        patch.setCredits(5);
+        patch.setVersion(4L);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course1));
+        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Course patched = courseService.patchCourse(1L, patch);
+
+        assertThat(patched.getCredits()).isEqualTo(5);
+        assertThat(patched.getCourseName()).isEqualTo("Intro to CS");
+        assertThat(patched.getDescription()).isEqualTo(course1.getDescription());
+    }
+
+    @Test
+    void patchCourse_RejectsInvalidValues() {
+        CourseDto patch = new CourseDto();
+        patch.setCredits(0);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course1));
+
+        assertThatThrownBy(() -> courseService.patchCourse(1L, patch))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Credits must be positive");
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
     @Test
     void deleteCourse() {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course1));
-        doNothing().when(courseRepository).delete(course1);
 
         courseService.deleteCourse(1L);
 
         verify(courseRepository, times(1)).findById(1L);
-        verify(courseRepository, times(1)).delete(course1);
+        verify(courseRepository, times(1)).softDeleteById(eq(1L), any(Instant.class));
+        verify(courseRepository, never()).delete(any(Course.class));
     }
 
     @Test
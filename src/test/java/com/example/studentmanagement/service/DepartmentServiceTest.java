@@ -1,22 +1,35 @@
 package com.example.studentmanagement.service;
 
+import com.example.studentmanagement.changes.ChangeTombstones;
+import com.example.studentmanagement.dto.DepartmentDeletionProgress;
 import com.example.studentmanagement.dto.DepartmentDto;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +38,24 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private ChangeTombstones changeTombstones;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -168,13 +199,114 @@ class DepartmentServiceTest {
 
     @Test
     void deleteDepartment() {
+        List<Long> firstCourses = LongStream.rangeClosed(1, DepartmentService.DELETE_CHUNK_SIZE).boxed().toList();
+        int chunk = DepartmentService.DELETE_CHUNK_SIZE;
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
-        doNothing().when(departmentRepository).delete(department1);
+        when(courseRepository.findIdsByDepartmentId(1L, chunk))
+                .thenReturn(firstCourses, List.of(501L), List.of());
+        when(courseRepository.deleteEnrollmentsByCourseIdIn(firstCourses)).thenReturn(40);
+        when(courseRepository.deleteEnrollmentsByCourseIdIn(List.of(501L))).thenReturn(2);
+        when(studentRepository.findIdsByDepartmentId(1L, chunk)).thenReturn(List.of(10L, 11L), List.of());
+        when(studentRepository.deleteEnrollmentsByStudentIdIn(List.of(10L, 11L))).thenReturn(3);
 
         departmentService.deleteDepartment(1L);
 
-        verify(departmentRepository, times(1)).findById(1L);
-        verify(departmentRepository, times(1)).delete(department1);
+        var inOrder = inOrder(changeTombstones, courseRepository, studentRepository, userRepository, departmentRepository);
+        // Tombstones are written while the rows still exist
+        inOrder.verify(changeTombstones).recordEnrollmentsOfCourses(firstCourses);
+        inOrder.verify(changeTombstones).recordCourses(firstCourses);
+        // Grades other departments' students keep are archived before the purge
+        inOrder.verify(courseRepository).archiveCoursesGradedForOtherDepartments(eq(firstCourses), any());
+        inOrder.verify(courseRepository).archiveGradedEnrollmentsOfOtherDepartments(eq(firstCourses), any());
+        inOrder.verify(courseRepository).deleteEnrollmentsByCourseIdIn(firstCourses);
+        inOrder.verify(courseRepository).deleteAllByIdInBatch(firstCourses);
+        inOrder.verify(courseRepository).deleteAllByIdInBatch(List.of(501L));
+        inOrder.verify(studentRepository).deleteEnrollmentsByStudentIdIn(List.of(10L, 11L));
+        inOrder.verify(studentRepository).deleteAllByIdIn(List.of(10L, 11L));
+        inOrder.verify(userRepository).deleteAllByIdIn(List.of(10L, 11L));
+        inOrder.verify(changeTombstones).record(ChangeTombstones.DEPARTMENT, "1");
+        inOrder.verify(departmentRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(changeTombstones).recordStudents(List.of(10L, 11L));
+        verify(departmentRepository, never()).delete(any(Department.class));
+        // One transaction per chunk, one per empty probe and one for the department row
+        verify(transactionTemplate, times(6)).execute(any());
+
+        DepartmentDeletionProgress progress = departmentService.getDeletionProgress(1L);
+        assertThat(progress.getStatus()).isEqualTo(DepartmentDeletionProgress.Status.COMPLETED);
+        assertThat(progress.getCoursesDeleted()).isEqualTo(DepartmentService.DELETE_CHUNK_SIZE + 1);
+        assertThat(progress.getStudentsDeleted()).isEqualTo(2);
+        assertThat(progress.getEnrollmentsDeleted()).isEqualTo(45);
+        assertThat(progress.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void deleteDepartment_FailedChunk() {
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
+        when(courseRepository.findIdsByDepartmentId(eq(1L), anyInt())).thenReturn(List.of(5L));
+        when(courseRepository.deleteEnrollmentsByCourseIdIn(List.of(5L))).thenThrow(new RuntimeException("lock timeout"));
+
+        assertThatThrownBy(() -> departmentService.deleteDepartment(1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Department deletion failed: lock timeout");
+
+        verify(departmentRepository, never()).deleteAllByIdInBatch(any());
+        DepartmentDeletionProgress progress = departmentService.getDeletionProgress(1L);
+        assertThat(progress.getStatus()).isEqualTo(DepartmentDeletionProgress.Status.FAILED);
+        assertThat(progress.getError()).isEqualTo("lock timeout");
+    }
+
+    @Test
+    void startDepartmentDeletion_RunsInBackground() {
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
+        when(courseRepository.findIdsByDepartmentId(eq(1L), anyInt())).thenReturn(List.of());
+        when(studentRepository.findIdsByDepartmentId(eq(1L), anyInt())).thenReturn(List.of());
+
+        DepartmentDeletionProgress progress = departmentService.startDepartmentDeletion(1L);
+
+        assertThat(progress.getDepartmentName()).isEqualTo("Computer Science");
+        assertThat(progress.getStatus()).isEqualTo(DepartmentDeletionProgress.Status.RUNNING);
+        assertThatThrownBy(() -> departmentService.startDepartmentDeletion(1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("already in progress");
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskExecutor).execute(task.capture());
+        task.getValue().run();
+
+        assertThat(departmentService.getDeletionProgress(1L).getStatus())
+                .isEqualTo(DepartmentDeletionProgress.Status.COMPLETED);
+        verify(departmentRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void startDepartmentDeletion_ToleratesAnEntryFinishingMeanwhile() {
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
+        when(departmentRepository.findById(2L)).thenReturn(Optional.of(department2));
+        DepartmentDeletionProgress other = departmentService.startDepartmentDeletion(2L);
+        // What a registration racing a status write could see, had finishedAt not been written first
+        other.setStatus(DepartmentDeletionProgress.Status.COMPLETED);
+
+        departmentService.startDepartmentDeletion(1L);
+
+        assertThat(departmentService.getDeletionProgress(2L)).isSameAs(other);
+    }
+
+    @Test
+    void deleteDepartment_FinishedAtIsSetWithTheStatus() {
+        DepartmentDeletionProgress progress = new DepartmentDeletionProgress(1L, "Computer Science");
+
+        progress.finish(DepartmentDeletionProgress.Status.FAILED, "lock timeout");
+
+        assertThat(progress.isFinished()).isTrue();
+        assertThat(progress.getFinishedAt()).isNotNull();
+        assertThat(progress.getError()).isEqualTo("lock timeout");
+    }
+
+    @Test
+    void getDeletionProgress_Unknown() {
+        assertThatThrownBy(() -> departmentService.getDeletionProgress(7L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("No deletion found for department with id: 7");
     }
 
     @Test
@@ -0,0 +1,181 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.GradeDto;
+import com.example.studentmanagement.dto.TranscriptEntry;
+import com.example.studentmanagement.entity.Course;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Grade;
+import com.example.studentmanagement.entity.GradeTotals;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import com.example.studentmanagement.repository.GradeTotalsRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradeServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private GradeTotalsRepository gradeTotalsRepository;
+
+    @Mock
+    private AcademicCalendar academicCalendar;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GradeService gradeService;
+
+    private Course course;
+    private Enrollment enrollment;
+    private GradeTotals totals;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setId(10L);
+        course.setCourseCode("CS101");
+        course.setCourseName("Intro");
+        course.setCredits(4);
+
+        enrollment = new Enrollment(new EnrollmentId(1L, 10L, "2026-FALL"), Instant.now());
+
+        // Already holds a 3-credit A from another course
+        totals = new GradeTotals(1L);
+        totals.setGradedCourses(1);
+        totals.setAttemptedCredits(3);
+        totals.setEarnedCredits(3);
+        totals.setQualityPoints(new BigDecimal("12.0"));
+        totals.setGpa(new BigDecimal("4.000"));
+
+        lenient().when(academicCalendar.currentTerm()).thenReturn(new AcademicTerm(2026, AcademicTerm.Season.FALL));
+        lenient().when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        lenient().when(studentRepository.lockById(1L)).thenReturn(Optional.of(1L));
+        lenient().when(enrollmentRepository.findById(new EnrollmentId(1L, 10L, "2026-FALL")))
+                .thenReturn(Optional.of(enrollment));
+        lenient().when(gradeTotalsRepository.findById(1L)).thenReturn(Optional.of(totals));
+    }
+
+    @Test
+    void recordGrade_AddsToTotals() {
+        TranscriptEntry entry = gradeService.recordGrade(10L, grade(Grade.B));
+
+        // (12.0 + 3.0 * 4) / 7
+        assertThat(totals.getGradedCourses()).isEqualTo(2);
+        assertThat(totals.getAttemptedCredits()).isEqualTo(7);
+        assertThat(totals.getEarnedCredits()).isEqualTo(7);
+        assertThat(totals.getQualityPoints()).isEqualByComparingTo("24.0");
+        assertThat(totals.getGpa()).isEqualByComparingTo("3.429");
+        assertThat(enrollment.getGrade()).isEqualTo(Grade.B);
+        assertThat(enrollment.getGradedCredits()).isEqualTo(4);
+        assertThat(enrollment.getGradedAt()).isNotNull();
+        assertThat(entry.getTerm()).isEqualTo("2026-FALL");
+        assertThat(entry.getCredits()).isEqualTo(4);
+        verify(gradeTotalsRepository).save(totals);
+    }
+
+    @Test
+    void recordGrade_RegradeReplacesOldContribution() {
+        // Graded B when the course still had 3 credits
+        enrollment.setGrade(Grade.B);
+        enrollment.setGradedCredits(3);
+        totals.setGradedCourses(2);
+        totals.setAttemptedCredits(6);
+        totals.setEarnedCredits(6);
+        totals.setQualityPoints(new BigDecimal("21.0"));
+
+        gradeService.recordGrade(10L, grade(Grade.F));
+
+        assertThat(totals.getGradedCourses()).isEqualTo(2);
+        assertThat(totals.getAttemptedCredits()).isEqualTo(7);
+        assertThat(totals.getEarnedCredits()).isEqualTo(3);
+        assertThat(totals.getQualityPoints()).isEqualByComparingTo("12.0");
+        assertThat(totals.getGpa()).isEqualByComparingTo("1.714");
+        assertThat(enrollment.getGradedCredits()).isEqualTo(4);
+    }
+
+    @Test
+    void recordGrade_ClearingTheOnlyGradeLeavesNoGpa() {
+        enrollment.setGrade(Grade.A);
+        enrollment.setGradedCredits(3);
+        enrollment.setGradedAt(Instant.now());
+
+        gradeService.recordGrade(10L, grade(null));
+
+        assertThat(totals.getGradedCourses()).isZero();
+        assertThat(totals.getAttemptedCredits()).isZero();
+        assertThat(totals.getQualityPoints()).isEqualByComparingTo("0");
+        assertThat(totals.getGpa()).isNull();
+        assertThat(enrollment.getGrade()).isNull();
+        assertThat(enrollment.getGradedCredits()).isNull();
+        assertThat(enrollment.getGradedAt()).isNull();
+    }
+
+    @Test
+    void recordGrade_FirstGradeCreatesTotals() {
+        when(gradeTotalsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        gradeService.recordGrade(10L, grade(Grade.A_MINUS));
+
+        verify(gradeTotalsRepository).save(argThat(saved -> saved.getStudentId().equals(1L)
+                && saved.getAttemptedCredits() == 4
+                && saved.getGpa().compareTo(new BigDecimal("3.700")) == 0));
+    }
+
+    @Test
+    void recordGrade_NotEnrolled() {
+        when(enrollmentRepository.findById(new EnrollmentId(1L, 10L, "2025-FALL"))).thenReturn(Optional.empty());
+        GradeDto dto = grade(Grade.A);
+        dto.setTerm("2025-fall");
+
+        assertThatThrownBy(() -> gradeService.recordGrade(10L, dto))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Student 1 is not enrolled in CS101 for 2025-FALL");
+        verify(gradeTotalsRepository, never()).save(any());
+    }
+
+    @Test
+    void recordGrade_StudentNotFound() {
+        when(studentRepository.lockById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> gradeService.recordGrade(10L, grade(Grade.A)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Student not found with id: 1");
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    private GradeDto grade(Grade grade) {
+        GradeDto dto = new GradeDto();
+        dto.setStudentId(1L);
+        dto.setGrade(grade);
+        return dto;
+    }
+}
@@ -2,23 +2,48 @@ package com.example.studentmanagement.service;
 
 import com.example.studentmanagement.entity.Course;
 import com.example.studentmanagement.entity.Department;
+import com.example.studentmanagement.entity.Enrollment;
+import com.example.studentmanagement.entity.EnrollmentEvent;
+import com.example.studentmanagement.entity.EnrollmentId;
+import com.example.studentmanagement.entity.Grade;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
+import com.example.studentmanagement.enrollment.EnrollmentChanged;
+import com.example.studentmanagement.exception.ScheduleConflictException;
+import com.example.studentmanagement.exception.VersionConflictException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
 import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.schedule.ScheduleConflict;
+import com.example.studentmanagement.schedule.StudentSchedule;
+import com.example.studentmanagement.schedule.WeeklySlots;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +58,24 @@ class StudentServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private TimetableService timetableService;
+
+    @Mock
+    private PrerequisiteService prerequisiteService;
+
+    @Mock
+    private AcademicCalendar academicCalendar;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private StudentService studentService;
 
@@ -76,6 +119,9 @@ class StudentServiceTest {
         course.setCourseName("Intro to CS");
         course.setCredits(3);
         course.setDepartment(department);
+
+        lenient().when(academicCalendar.currentTerm()).thenReturn(new AcademicTerm(2026, AcademicTerm.Season.FALL));
+        lenient().when(studentRepository.lockById(1L)).thenReturn(Optional.of(1L));
     }
 
     @Test
@@ -88,6 +134,44 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).findAll();
     }
 
+    @Test
+    void forEachStudent_ReadsInKeysetChunksAndClearsBetweenThem() {
+        List<Student> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= StudentService.STREAM_CHUNK_SIZE; id++) {
+            Student student = new Student();
+            student.setId(id);
+            firstChunk.add(student);
+        }
+        Student last = new Student();
+        last.setId(StudentService.STREAM_CHUNK_SIZE + 7L);
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(StudentService.STREAM_CHUNK_SIZE)))
+                .thenReturn(firstChunk);
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc((long) StudentService.STREAM_CHUNK_SIZE,
+                Limit.of(StudentService.STREAM_CHUNK_SIZE))).thenReturn(List.of(last));
+
+        List<Long> seen = new ArrayList<>();
+        studentService.forEachStudent(student -> seen.add(student.getId()));
+
+        assertThat(seen).hasSize(StudentService.STREAM_CHUNK_SIZE + 1).endsWith(last.getId());
+        verify(enrollmentRepository, times(2)).findByTermAndStudentIdIn(eq("2026-FALL"), any());
+        // One short read-only transaction per chunk, not one around the whole stream
+        verify(transactionTemplate.getTransactionManager(), times(2))
+                .getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(studentRepository, never()).findAll();
+    }
+
+    @Test
+    void forEachStudent_EmptyTable() {
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(StudentService.STREAM_CHUNK_SIZE)))
+                .thenReturn(List.of());
+
+        studentService.forEachStudent(student -> {
+            throw new AssertionError("no students expected");
+        });
+
+        verify(studentRepository, times(1)).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
     @Test
     void getAllStudents_EmptyList() {
         when(studentRepository.findAll()).thenReturn(List.of());
@@ -109,6 +193,17 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getStudentById_FillsCurrentTermCourses() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(enrollmentRepository.findByTermAndStudentIdIn("2026-FALL", List.of(1L)))
+                .thenReturn(List.of(enrollment(student1, course)));
+
+        Student found = studentService.getStudentById(1L);
+
+        assertThat(found.getCourses()).containsExactly(course);
+    }
+
     @Test
     void getStudentById_NotFound() {
         when(studentRepository.findById(99L)).thenReturn(Optional.empty());
@@ -177,6 +272,34 @@ class StudentServiceTest {
                 .hasMessageContaining("Student not found with id: 99");
     }
 
+    @Test
+    void updateStudent_StaleVersion() {
+        student1.setVersion(2L);
+        Student updatedData = new Student();
+        updatedData.setFullName("Updated Name");
+        updatedData.setVersion(1L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+
+        assertThatThrownBy(() -> studentService.updateStudent(1L, updatedData))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessageContaining("Student 1 was modified");
+        verify(studentRepository, never()).save(any(Student.class));
+    }
+
+    @Test
+    void patchStudent_AppliesOnlyPresentFields() {
+        Student patch = new Student();
+        patch.setPhoneNumber("1111111111");
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Student patched = studentService.patchStudent(1L, patch);
+
+        assertThat(patched.getPhoneNumber()).isEqualTo("1111111111");
+        assertThat(patched.getFullName()).isEqualTo("Student One");
+        assertThat(patched.getEmail()).isEqualTo("student1@example.com");
+    }
+
     @Test
     void assignDepartment() {
         student1.setDepartment(null); // Start without a department
@@ -212,14 +335,37 @@ class StudentServiceTest {
 
     @Test
     void enrollInCourse() {
+        EnrollmentId enrollmentId = new EnrollmentId(1L, 1L, "2026-FALL");
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(enrollmentRepository.existsById(enrollmentId)).thenReturn(false);
+        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(enrollmentRepository.findByTermAndStudentIdIn("2026-FALL", List.of(1L)))
+                .thenReturn(List.of(enrollment(student1, course)));
 
         Student result = studentService.enrollInCourse(1L, 1L);
 
         assertThat(result.getCourses()).contains(course);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        InOrder inOrder = inOrder(studentRepository, enrollmentRepository);
+        inOrder.verify(studentRepository).lockById(1L);
+        inOrder.verify(enrollmentRepository).existsById(enrollmentId);
+        verify(enrollmentRepository, times(1)).save(argThat(enrollment ->
+                enrollment.getId().equals(enrollmentId) && enrollment.isNew()));
+        verify(studentRepository, never()).save(any(Student.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EnrollmentChanged changed
+                && changed.type() == EnrollmentEvent.Type.ENROLLED && changed.term().equals("2026-FALL")));
+    }
+
+    @Test
+    void enrollInCourse_AlreadyEnrolled() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(true);
+
+        studentService.enrollInCourse(1L, 1L);
+
+        verify(enrollmentRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -269,17 +415,140 @@ class StudentServiceTest {
                 .hasMessageContaining("Course not found with id: 99");
     }
 
+    @Test
+    void enrollInCourse_ScheduleConflict() {
+        ScheduleConflict conflict = new ScheduleConflict(1L, 7L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 50));
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(false);
+        doThrow(new ScheduleConflictException(List.of(conflict))).when(timetableService).checkConflicts(1L, List.of(1L));
+
+        assertThatThrownBy(() -> studentService.enrollInCourse(1L, 1L))
+                .isInstanceOf(ScheduleConflictException.class)
+                .hasMessageContaining("Course 1 overlaps course 7 on MONDAY 09:00-09:50");
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    @Test
+    void enrollInCourse_MissingPrerequisites() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(false);
+        doThrow(new RuntimeException("Missing prerequisites: CS101 requires CS100"))
+                .when(prerequisiteService).checkEligible(1L, List.of(course));
+
+        assertThatThrownBy(() -> studentService.enrollInCourse(1L, 1L))
+                .hasMessageContaining("CS101 requires CS100");
+        verify(enrollmentRepository, never()).save(any());
+        verifyNoInteractions(timetableService);
+    }
+
+    @Test
+    void enrollInCourses_EnrollsOnlyCoursesNotTakenYet() {
+        Course course2 = course(2L, "CS102");
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(course, course2));
+        when(timetableService.loadSchedule(1L, List.of(1L, 2L))).thenReturn(new StudentSchedule(
+                Map.of(1L, slots(DayOfWeek.MONDAY, 9)),
+                new LinkedHashMap<>(Map.of(1L, slots(DayOfWeek.MONDAY, 9), 2L, slots(DayOfWeek.TUESDAY, 9)))));
+
+        studentService.enrollInCourses(1L, List.of(1L, 2L, 2L));
+
+        verify(enrollmentRepository, times(1)).save(any(Enrollment.class));
+        verify(enrollmentRepository).save(argThat(enrollment ->
+                enrollment.getId().equals(new EnrollmentId(1L, 2L, "2026-FALL"))));
+        verify(eventPublisher, times(1)).publishEvent(any(EnrollmentChanged.class));
+        verify(prerequisiteService).checkEligible(1L, List.of(course2));
+    }
+
+    @Test
+    void enrollInCourses_ConflictEnrollsNothing() {
+        Course course2 = course(2L, "CS102");
+        Course course3 = course(3L, "CS103");
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(course2, course3));
+        Map<Long, WeeklySlots> requested = new LinkedHashMap<>();
+        requested.put(2L, slots(DayOfWeek.TUESDAY, 9));
+        requested.put(3L, slots(DayOfWeek.MONDAY, 9));
+        when(timetableService.loadSchedule(1L, List.of(2L, 3L)))
+                .thenReturn(new StudentSchedule(Map.of(1L, slots(DayOfWeek.MONDAY, 9)), requested));
+
+        assertThatThrownBy(() -> studentService.enrollInCourses(1L, List.of(2L, 3L)))
+                .isInstanceOf(ScheduleConflictException.class)
+                .satisfies(e -> assertThat(((ScheduleConflictException) e).getConflicts())
+                        .extracting(ScheduleConflict::courseId, ScheduleConflict::conflictingCourseId)
+                        .containsExactly(tuple(3L, 1L)));
+        verify(enrollmentRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void enrollInCourses_CourseFromOtherDepartment() {
+        Department otherDept = new Department();
+        otherDept.setId(2L);
+        otherDept.setName("Mathematics");
+        Course course2 = course(2L, "MATH101");
+        course2.setDepartment(otherDept);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(course, course2));
+
+        assertThatThrownBy(() -> studentService.enrollInCourses(1L, List.of(1L, 2L)))
+                .hasMessageContaining("You can only enroll in courses from your department");
+        verifyNoInteractions(timetableService);
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    @Test
+    void enrollInCourses_CourseNotFound() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(course));
+
+        assertThatThrownBy(() -> studentService.enrollInCourses(1L, List.of(1L, 99L)))
+                .hasMessageContaining("Course not found with id: 99");
+        verify(enrollmentRepository, never()).save(any());
+    }
+
     @Test
     void dropCourse() {
         student1.getCourses().add(course);
+        Enrollment enrollment = enrollment(student1, course);
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(enrollmentRepository.findById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(Optional.of(enrollment));
 
         Student result = studentService.dropCourse(1L, 1L);
 
         assertThat(result.getCourses()).doesNotContain(course);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(enrollmentRepository, times(1)).delete(enrollment);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EnrollmentChanged changed
+                && changed.type() == EnrollmentEvent.Type.DROPPED && changed.courseId().equals(1L)));
+    }
+
+    @Test
+    void dropCourse_NotEnrolled() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.findById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(Optional.empty());
+
+        studentService.dropCourse(1L, 1L);
+
+        verify(enrollmentRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void dropCourse_Graded() {
+        Enrollment enrollment = enrollment(student1, course);
+        enrollment.setGrade(Grade.B);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.findById(new EnrollmentId(1L, 1L, "2026-FALL"))).thenReturn(Optional.of(enrollment));
+
+        assertThatThrownBy(() -> studentService.dropCourse(1L, 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cannot drop a graded course");
+        verify(enrollmentRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -295,12 +564,12 @@ class StudentServiceTest {
     @Test
     void deleteStudent() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        doNothing().when(studentRepository).delete(student1);
 
         studentService.deleteStudent(1L);
 
         verify(studentRepository, times(1)).findById(1L);
-        verify(studentRepository, times(1)).delete(student1);
+        verify(studentRepository, times(1)).softDeleteById(eq(1L), any(Instant.class));
+        verify(studentRepository, never()).delete(any(Student.class));
     }
 
     @Test
@@ -311,4 +580,27 @@ class StudentServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Student not found with id: 99");
     }
-}
\ No newline at end of file
+
+    private Enrollment enrollment(Student student, Course course) {
+        Enrollment enrollment = new Enrollment(new EnrollmentId(student.getId(), course.getId(), "2026-FALL"),
+                Instant.now());
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        return enrollment;
+    }
+
+    private Course course(Long id, String code) {
+        Course other = new Course();
+        other.setId(id);
+        other.setCourseCode(code);
+        other.setCourseName(code);
+        other.setCredits(3);
+        other.setDepartment(department);
+        return other;
+    }
+
+    // A 50-minute meeting starting on the hour
+    private static WeeklySlots slots(DayOfWeek day, int hour) {
+        return new WeeklySlots().add(day, LocalTime.of(hour, 0), LocalTime.of(hour, 50));
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.studentmanagement.service;
 
+import com.example.studentmanagement.changes.ChangeTombstones;
+import com.example.studentmanagement.dto.TeacherWorkloadDto;
 import com.example.studentmanagement.entity.Role;
 import com.example.studentmanagement.entity.Teacher;
+import com.example.studentmanagement.enrollment.AcademicCalendar;
+import com.example.studentmanagement.enrollment.AcademicTerm;
 import com.example.studentmanagement.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +32,12 @@ class TeacherServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private AcademicCalendar academicCalendar;
+
+    @Mock
+    private ChangeTombstones changeTombstones;
+
     @InjectMocks
     private TeacherService teacherService;
 
@@ -157,6 +170,7 @@ class TeacherServiceTest {
 
         verify(teacherRepository, times(1)).findById(1L);
         verify(teacherRepository, times(1)).delete(teacher1);
+        verify(changeTombstones).record(ChangeTombstones.TEACHER, "1");
     }
 
     @Test
@@ -167,4 +181,34 @@ class TeacherServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Teacher not found with id: 99");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTeacherWorkload() {
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        TeacherWorkloadDto workload = new TeacherWorkloadDto(1L, "Teacher One", "EMP001", 2L, 7L, 45L);
+        when(academicCalendar.currentTerm()).thenReturn(new AcademicTerm(2026, AcademicTerm.Season.FALL));
+        when(teacherRepository.findWorkload("2026-FALL", pageRequest)).thenReturn(new PageImpl<>(List.of(workload), pageRequest, 1));
+
+        Page<TeacherWorkloadDto> result = teacherService.getTeacherWorkload(0, 20);
+
+        assertThat(result.getContent()).containsExactly(workload);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void getTeacherWorkload_CapsPageSize() {
+        PageRequest capped = PageRequest.of(2, TeacherService.MAX_WORKLOAD_PAGE_SIZE);
+        when(academicCalendar.currentTerm()).thenReturn(new AcademicTerm(2026, AcademicTerm.Season.FALL));
+        when(teacherRepository.findWorkload("2026-FALL", capped)).thenReturn(Page.empty(capped));
+
+        teacherService.getTeacherWorkload(2, 10_000);
+
+        verify(teacherRepository).findWorkload("2026-FALL", capped);
+    }
+
+    @Test
+    void getTeacherWorkload_NegativePage() {
+        assertThatThrownBy(() -> teacherService.getTeacherWorkload(-1, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}